@@ -2,6 +2,8 @@ package de.feelix.leviathan.command.argument;
 
 import de.feelix.leviathan.annotations.NotNull;
 import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.command.completion.AsyncCompletionPolicy;
+import de.feelix.leviathan.command.completion.CompletionIndex;
 import de.feelix.leviathan.command.completion.DynamicCompletionContext;
 import de.feelix.leviathan.command.transform.Transformer;
 import de.feelix.leviathan.util.Preconditions;
@@ -229,6 +231,12 @@ public final class ArgContext {
     private final boolean greedy;
     private final @Nullable String permission;
     private final @NotNull List<String> completionsPredefined;
+    // Whether predefined completions also match candidates that only contain the typed text
+    private final boolean substringCompletions;
+    // Predefined completions compiled for prefix lookups (empty index if there are none)
+    private final @NotNull CompletionIndex completionIndex;
+    // Whether provider completions may be narrowed from the sender's previous key press
+    private final boolean narrowCompletions;
     /**
      * Optional dynamic completion provider. When present, SlashCommand will invoke it on tab-complete.
      */
@@ -243,6 +251,8 @@ public final class ArgContext {
      * tab-complete.
      */
     private final @Nullable AsyncPredefinedCompletionSupplier completionsPredefinedAsync;
+    // Whether tab completion waits for the async sources or serves their last known result
+    private final @NotNull AsyncCompletionPolicy asyncCompletionPolicy;
 
     // Validation fields
     private final @Nullable Integer intMin;
@@ -286,9 +296,12 @@ public final class ArgContext {
                        boolean greedy,
                        @Nullable String permission,
                        @Nullable List<String> completionsPredefined,
+                       boolean substringCompletions,
+                       boolean narrowCompletions,
                        @Nullable DynamicCompletionProvider completionsDynamic,
                        @Nullable AsyncDynamicCompletionProvider completionsDynamicAsync,
                        @Nullable AsyncPredefinedCompletionSupplier completionsPredefinedAsync,
+                       @Nullable AsyncCompletionPolicy asyncCompletionPolicy,
                        @Nullable Integer intMin,
                        @Nullable Integer intMax,
                        @Nullable Long longMin,
@@ -314,9 +327,15 @@ public final class ArgContext {
         this.permission = (permission == null || permission.isBlank()) ? null : permission;
         List<String> list = (completionsPredefined == null) ? List.of() : new ArrayList<>(completionsPredefined);
         this.completionsPredefined = Collections.unmodifiableList(list);
+        this.substringCompletions = substringCompletions;
+        this.completionIndex = CompletionIndex.of(list, substringCompletions);
+        this.narrowCompletions = narrowCompletions;
         this.completionsDynamic = completionsDynamic;
         this.completionsDynamicAsync = completionsDynamicAsync;
         this.completionsPredefinedAsync = completionsPredefinedAsync;
+        this.asyncCompletionPolicy = (asyncCompletionPolicy == null)
+            ? AsyncCompletionPolicy.blocking()
+            : asyncCompletionPolicy;
 
         // Validation fields
         this.intMin = intMin;
@@ -368,6 +387,27 @@ public final class ArgContext {
         return completionsPredefined;
     }
 
+    /**
+     * @return true if predefined completions also match candidates containing the typed text
+     */
+    public boolean substringCompletions() {
+        return substringCompletions;
+    }
+
+    /**
+     * @return the predefined completions compiled for prefix lookups
+     */
+    public @NotNull CompletionIndex completionIndex() {
+        return completionIndex;
+    }
+
+    /**
+     * @return true if dynamic and async completions may be narrowed from the previous key press
+     */
+    public boolean narrowCompletions() {
+        return narrowCompletions;
+    }
+
     public @Nullable DynamicCompletionProvider completionsDynamic() {
         return completionsDynamic;
     }
@@ -380,6 +420,13 @@ public final class ArgContext {
         return completionsPredefinedAsync;
     }
 
+    /**
+     * @return how tab completion waits for the async completion sources
+     */
+    public @NotNull AsyncCompletionPolicy asyncCompletionPolicy() {
+        return asyncCompletionPolicy;
+    }
+
     // Validation getters
     public @Nullable Integer intMin() {
         return intMin;
@@ -571,9 +618,12 @@ public final class ArgContext {
         private boolean greedy;
         private @Nullable String permission;
         private @NotNull List<String> completionsPredefined = new ArrayList<>();
+        private boolean substringCompletions = true;
+        private boolean narrowCompletions = true;
         private @Nullable DynamicCompletionProvider completionsDynamic;
         private @Nullable AsyncDynamicCompletionProvider completionsDynamicAsync;
         private @Nullable AsyncPredefinedCompletionSupplier completionsPredefinedAsync;
+        private @Nullable AsyncCompletionPolicy asyncCompletionPolicy;
 
         // Validation fields
         private @Nullable Integer intMin;
@@ -639,6 +689,35 @@ public final class ArgContext {
             return completionsPredefined(completions);
         }
 
+        /**
+         * Set whether predefined completions also suggest candidates that contain the typed text
+         * without starting with it (enabled by default). They are listed after the prefix matches.
+         * Disabling this makes every completion a binary-search range lookup, which helps for very
+         * large lists.
+         *
+         * @param substringCompletions true to include substring matches
+         * @return this builder
+         */
+        public @NotNull Builder substringCompletions(boolean substringCompletions) {
+            this.substringCompletions = substringCompletions;
+            return this;
+        }
+
+        /**
+         * Set whether dynamic and async completions may be narrowed from the sender's previous key
+         * press (enabled by default). When the typed prefix extends the previous one for the same
+         * argument, the previous suggestions are filtered again instead of calling the provider.
+         * Disable this for providers that cap or rank their results, or whose results for a longer
+         * prefix are not a subset of those for a shorter one.
+         *
+         * @param narrowCompletions true to narrow from the previous key press
+         * @return this builder
+         */
+        public @NotNull Builder narrowCompletions(boolean narrowCompletions) {
+            this.narrowCompletions = narrowCompletions;
+            return this;
+        }
+
         public @NotNull Builder completionsDynamic(@Nullable DynamicCompletionProvider provider) {
             this.completionsDynamic = provider;
             return this;
@@ -692,6 +771,20 @@ public final class ArgContext {
             return completionsPredefinedAsync(supplier);
         }
 
+        /**
+         * Set how tab completion waits for the async completion sources of this argument.
+         * By default it blocks for up to {@value AsyncCompletionPolicy#DEFAULT_TIMEOUT_MS} ms;
+         * {@link AsyncCompletionPolicy#staleWhileRevalidate(long, long, java.util.concurrent.TimeUnit)}
+         * answers immediately from the last known result and refreshes it in the background.
+         *
+         * @param policy the policy, or null for the default
+         * @return this builder
+         */
+        public @NotNull Builder asyncCompletionPolicy(@Nullable AsyncCompletionPolicy policy) {
+            this.asyncCompletionPolicy = policy;
+            return this;
+        }
+
         // Integer range validation
         public @NotNull Builder intMin(@Nullable Integer min) {
             this.intMin = min;
@@ -1252,9 +1345,12 @@ public final class ArgContext {
             this.greedy = context.greedy();
             this.permission = context.permission();
             this.completionsPredefined = new ArrayList<>(context.completionsPredefined());
+            this.substringCompletions = context.substringCompletions();
+            this.narrowCompletions = context.narrowCompletions();
             this.completionsDynamic = context.completionsDynamic();
             this.completionsDynamicAsync = context.completionsDynamicAsync();
             this.completionsPredefinedAsync = context.completionsPredefinedAsync();
+            this.asyncCompletionPolicy = context.asyncCompletionPolicy();
             this.intMin = context.intMin();
             this.intMax = context.intMax();
             this.longMin = context.longMin();
@@ -1281,8 +1377,8 @@ public final class ArgContext {
 
         public @NotNull ArgContext build() {
             return new ArgContext(
-                optional, greedy, permission, completionsPredefined, completionsDynamic,
-                completionsDynamicAsync, completionsPredefinedAsync,
+                optional, greedy, permission, completionsPredefined, substringCompletions, narrowCompletions,
+                completionsDynamic, completionsDynamicAsync, completionsPredefinedAsync, asyncCompletionPolicy,
                 intMin, intMax, longMin, longMax, doubleMin, doubleMax, floatMin, floatMax,
                 stringMinLength, stringMaxLength, stringPattern, customValidators, didYouMean,
                 defaultValue, description, aliases, transformers, interactive, group, variadic
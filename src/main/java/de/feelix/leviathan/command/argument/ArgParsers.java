@@ -6,11 +6,13 @@ import org.bukkit.OfflinePlayer;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import de.feelix.leviathan.command.performance.OfflinePlayerResolver;
+import de.feelix.leviathan.command.performance.OnlinePlayerIndex;
+import de.feelix.leviathan.exceptions.InvalidArgumentValueException;
 import de.feelix.leviathan.exceptions.ParsingException;
 import de.feelix.leviathan.annotations.NotNull;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -20,6 +22,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -31,19 +34,13 @@ public final class ArgParsers {
     private ArgParsers() {
     }
 
-    // Cached Material completions for performance (Material enum has ~900 constants)
-    private static final List<String> MATERIAL_COMPLETIONS = Collections.unmodifiableList(
-        Arrays.stream(Material.values())
-            .map(m -> m.name().toLowerCase(Locale.ROOT))
-            .collect(Collectors.toList())
-    );
-
+    // Prefix filter for small or changing option sets; fixed sets use a SymbolTable instead
     private static List<String> startingWith(String prefix, Collection<String> options) {
         // Optimized: simple loop instead of stream, with pre-computed lowercase prefix
         String lowPrefix = prefix.toLowerCase(Locale.ROOT);
         List<String> result = new ArrayList<>();
         for (String option : options) {
-            // Most options are already lowercase (e.g., MATERIAL_COMPLETIONS), so check both cases
+            // Options may be mixed case (e.g. player names), so match case-insensitively
             if (option.toLowerCase(Locale.ROOT).startsWith(lowPrefix)) {
                 result.add(option);
             }
@@ -57,19 +54,19 @@ public final class ArgParsers {
      *
      * @return an ArgumentParser that parses {@code int} values
      */
-    public static @NotNull ArgumentParser<Integer> intParser() {
-        return new ArgumentParser<>() {
+    public static @NotNull IntArgumentParser intParser() {
+        return new IntArgumentParser() {
             @Override
             public String getTypeName() {
                 return "int";
             }
 
             @Override
-            public ParseResult<Integer> parse(String input, CommandSender sender) {
+            public int parseInt(String input, CommandSender sender) {
                 try {
-                    return ParseResult.success(Integer.parseInt(input));
+                    return Integer.parseInt(input);
                 } catch (NumberFormatException e) {
-                    return ParseResult.error("not an integer");
+                    throw new InvalidArgumentValueException(ParseErrorCode.NOT_AN_INTEGER);
                 }
             }
 
@@ -85,19 +82,19 @@ public final class ArgParsers {
      *
      * @return an ArgumentParser that parses {@code long} values
      */
-    public static @NotNull ArgumentParser<Long> longParser() {
-        return new ArgumentParser<>() {
+    public static @NotNull LongArgumentParser longParser() {
+        return new LongArgumentParser() {
             @Override
             public String getTypeName() {
                 return "long";
             }
 
             @Override
-            public ParseResult<Long> parse(String input, CommandSender sender) {
+            public long parseLong(String input, CommandSender sender) {
                 try {
-                    return ParseResult.success(Long.parseLong(input));
+                    return Long.parseLong(input);
                 } catch (NumberFormatException e) {
-                    return ParseResult.error("not a long");
+                    throw new InvalidArgumentValueException(ParseErrorCode.NOT_A_LONG);
                 }
             }
 
@@ -149,7 +146,7 @@ public final class ArgParsers {
                 try {
                     return ParseResult.success(UUID.fromString(input));
                 } catch (IllegalArgumentException e) {
-                    return ParseResult.error("invalid uuid");
+                    return ParseResult.error(ParseErrorCode.INVALID_UUID);
                 }
             }
 
@@ -162,7 +159,7 @@ public final class ArgParsers {
 
     /**
      * Create a parser that accepts only a predefined set of aliases and maps them to values.
-     * Keys are matched case-insensitively.
+     * Keys are matched case-insensitively; completions are the lowercase aliases in alphabetical order.
      *
      * @param aliasToValue     mapping from alias to value (must be non-empty; keys non-blank; values non-null)
      * @param typeNameForError short type label for error messages (e.g., "gamemode")
@@ -193,11 +190,11 @@ public final class ArgParsers {
                 throw new ParsingException("choices contains duplicate aliases differing only by case: '" + k + "'");
             }
         }
-        Map<String, T> lower = aliasToValue.entrySet().stream()
-            .collect(Collectors.toMap(
-                e -> e.getKey().toLowerCase(Locale.ROOT), Map.Entry::getValue, (a, b) -> a,
-                LinkedHashMap::new
-            ));
+        SymbolTable.Builder<T> builder = SymbolTable.builder();
+        for (Map.Entry<String, T> e : aliasToValue.entrySet()) {
+            builder.name(e.getKey().toLowerCase(Locale.ROOT), e.getValue());
+        }
+        SymbolTable<T> table = builder.build();
         return new ArgumentParser<>() {
             @Override
             public String getTypeName() {
@@ -206,14 +203,14 @@ public final class ArgParsers {
 
             @Override
             public ParseResult<T> parse(String input, CommandSender sender) {
-                T v = lower.get(input.toLowerCase(Locale.ROOT));
-                if (v == null) return ParseResult.error("expected one of: " + String.join(", ", lower.keySet()));
+                T v = table.get(input);
+                if (v == null) return ParseResult.error(ParseErrorCode.EXPECTED_ONE_OF, table.names());
                 return ParseResult.success(v);
             }
 
             @Override
             public List<String> complete(String input, CommandSender sender) {
-                return startingWith(input, lower.keySet());
+                return table.startingWith(input);
             }
         };
     }
@@ -257,7 +254,7 @@ public final class ArgParsers {
                         return ParseResult.success(res.value().orElse(null));
                     }
                 }
-                return ParseResult.error("no matching parser for input");
+                return ParseResult.error(ParseErrorCode.NO_MATCHING_PARSER);
             }
 
             @Override
@@ -277,24 +274,25 @@ public final class ArgParsers {
      *
      * @return an ArgumentParser that parses {@code double} values
      */
-    public static @NotNull ArgumentParser<Double> doubleParser() {
-        return new ArgumentParser<>() {
+    public static @NotNull DoubleArgumentParser doubleParser() {
+        return new DoubleArgumentParser() {
             @Override
             public String getTypeName() {
                 return "double";
             }
 
             @Override
-            public ParseResult<Double> parse(String input, CommandSender sender) {
+            public double parseDouble(String input, CommandSender sender) {
+                double value;
                 try {
-                    double value = Double.parseDouble(input);
-                    if (Double.isNaN(value) || Double.isInfinite(value)) {
-                        return ParseResult.error("special values (NaN, Infinity) are not allowed");
-                    }
-                    return ParseResult.success(value);
+                    value = Double.parseDouble(input);
                 } catch (NumberFormatException e) {
-                    return ParseResult.error("not a valid number");
+                    throw new InvalidArgumentValueException(ParseErrorCode.NOT_A_NUMBER);
+                }
+                if (Double.isNaN(value) || Double.isInfinite(value)) {
+                    throw new InvalidArgumentValueException(ParseErrorCode.SPECIAL_NUMBER);
                 }
+                return value;
             }
 
             @Override
@@ -322,11 +320,11 @@ public final class ArgParsers {
                 try {
                     float value = Float.parseFloat(input);
                     if (Float.isNaN(value) || Float.isInfinite(value)) {
-                        return ParseResult.error("special values (NaN, Infinity) are not allowed");
+                        return ParseResult.error(ParseErrorCode.SPECIAL_NUMBER);
                     }
                     return ParseResult.success(value);
                 } catch (NumberFormatException e) {
-                    return ParseResult.error("not a valid number");
+                    return ParseResult.error(ParseErrorCode.NOT_A_NUMBER);
                 }
             }
 
@@ -343,20 +341,20 @@ public final class ArgParsers {
      *
      * @return an ArgumentParser that parses {@code boolean} values
      */
-    public static @NotNull ArgumentParser<Boolean> booleanParser() {
-        return new ArgumentParser<>() {
+    public static @NotNull BooleanArgumentParser booleanParser() {
+        return new BooleanArgumentParser() {
             @Override
             public String getTypeName() {
                 return "boolean";
             }
 
             @Override
-            public ParseResult<Boolean> parse(String input, CommandSender sender) {
+            public boolean parseBoolean(String input, CommandSender sender) {
                 String lower = input.toLowerCase(Locale.ROOT);
                 return switch (lower) {
-                    case "true", "yes", "on", "1" -> ParseResult.success(true);
-                    case "false", "no", "off", "0" -> ParseResult.success(false);
-                    default -> ParseResult.error("expected true/false, yes/no, on/off, or 1/0");
+                    case "true", "yes", "on", "1" -> true;
+                    case "false", "no", "off", "0" -> false;
+                    default -> throw new InvalidArgumentValueException(ParseErrorCode.NOT_A_BOOLEAN);
                 };
             }
 
@@ -367,6 +365,17 @@ public final class ArgParsers {
         };
     }
 
+    private static List<String> onlinePlayersStartingWith(String prefix) {
+        if (OnlinePlayerIndex.isRegistered()) {
+            return OnlinePlayerIndex.startingWith(prefix);
+        }
+        return startingWith(
+            prefix, Bukkit.getOnlinePlayers().stream()
+                .map(Player::getName)
+                .collect(Collectors.toList())
+        );
+    }
+
     /**
      * Parser for online players by name.
      *
@@ -381,51 +390,50 @@ public final class ArgParsers {
 
             @Override
             public ParseResult<Player> parse(String input, CommandSender sender) {
-                Player player = Bukkit.getPlayer(input);
+                Player player = OnlinePlayerIndex.isRegistered()
+                    ? OnlinePlayerIndex.match(input)
+                    : Bukkit.getPlayer(input);
                 if (player == null) {
-                    return ParseResult.error("player '" + input + "' not found or offline");
+                    return ParseResult.error(ParseErrorCode.PLAYER_NOT_FOUND, input);
                 }
                 return ParseResult.success(player);
             }
 
             @Override
             public List<String> complete(String input, CommandSender sender) {
-                return startingWith(
-                    input, Bukkit.getOnlinePlayers().stream()
-                        .map(Player::getName)
-                        .collect(Collectors.toList())
-                );
+                return onlinePlayersStartingWith(input);
             }
         };
     }
 
     /**
      * Parser for offline players by name (includes online players).
-     * Uses Bukkit's getOfflinePlayer which may perform blocking lookups.
+     * Known names resolve from the {@link OfflinePlayerResolver} index; unknown names are looked up
+     * asynchronously, so the main thread never blocks on a profile lookup.
      *
-     * @return an ArgumentParser that parses {@link OfflinePlayer} objects
+     * @return an AsyncArgumentParser that parses {@link OfflinePlayer} objects
      */
-    public static @NotNull ArgumentParser<OfflinePlayer> offlinePlayerParser() {
-        return new ArgumentParser<>() {
+    public static @NotNull AsyncArgumentParser<OfflinePlayer> offlinePlayerParser() {
+        return new AsyncArgumentParser<>() {
             @Override
             public String getTypeName() {
                 return "offlinePlayer";
             }
 
             @Override
-            public ParseResult<OfflinePlayer> parse(String input, CommandSender sender) {
-                @SuppressWarnings("deprecation")
-                OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(input);
-                return ParseResult.success(offlinePlayer);
+            public ParseResult<OfflinePlayer> parseNow(String input, CommandSender sender) {
+                OfflinePlayer offlinePlayer = OfflinePlayerResolver.resolveNow(input);
+                return offlinePlayer != null ? ParseResult.success(offlinePlayer) : null;
+            }
+
+            @Override
+            public CompletableFuture<ParseResult<OfflinePlayer>> parseAsync(String input, CommandSender sender) {
+                return OfflinePlayerResolver.resolve(input).thenApply(ParseResult::success);
             }
 
             @Override
             public List<String> complete(String input, CommandSender sender) {
-                return startingWith(
-                    input, Bukkit.getOnlinePlayers().stream()
-                        .map(Player::getName)
-                        .collect(Collectors.toList())
-                );
+                return onlinePlayersStartingWith(input);
             }
         };
     }
@@ -446,7 +454,7 @@ public final class ArgParsers {
             public ParseResult<World> parse(String input, CommandSender sender) {
                 World world = Bukkit.getWorld(input);
                 if (world == null) {
-                    return ParseResult.error("world '" + input + "' not found");
+                    return ParseResult.error(ParseErrorCode.WORLD_NOT_FOUND, input);
                 }
                 return ParseResult.success(world);
             }
@@ -468,6 +476,7 @@ public final class ArgParsers {
      * @return an ArgumentParser that parses {@link Material} values
      */
     public static @NotNull ArgumentParser<Material> materialParser() {
+        SymbolTable<Material> materials = SymbolTable.ofEnum(Material.class);
         return new ArgumentParser<>() {
             @Override
             public String getTypeName() {
@@ -476,17 +485,16 @@ public final class ArgParsers {
 
             @Override
             public ParseResult<Material> parse(String input, CommandSender sender) {
-                try {
-                    Material material = Material.valueOf(input.toUpperCase(Locale.ROOT));
-                    return ParseResult.success(material);
-                } catch (IllegalArgumentException e) {
-                    return ParseResult.error("unknown material '" + input + "'");
+                Material material = materials.get(input);
+                if (material == null) {
+                    return ParseResult.error(ParseErrorCode.UNKNOWN_MATERIAL, input);
                 }
+                return ParseResult.success(material);
             }
 
             @Override
             public List<String> complete(String input, CommandSender sender) {
-                return startingWith(input, MATERIAL_COMPLETIONS);
+                return materials.startingWith(input);
             }
         };
     }
@@ -507,8 +515,7 @@ public final class ArgParsers {
         if (constants == null || constants.length == 0) {
             throw new ParsingException("enumParser requires an enum class with at least one constant");
         }
-        Map<String, E> lowerMap = Arrays.stream(constants)
-            .collect(Collectors.toMap(e -> e.name().toLowerCase(Locale.ROOT), e -> e));
+        SymbolTable<E> table = SymbolTable.ofEnum(enumClass);
         String typeName = enumClass.getSimpleName().toLowerCase(Locale.ROOT);
 
         return new ArgumentParser<>() {
@@ -519,16 +526,16 @@ public final class ArgParsers {
 
             @Override
             public ParseResult<E> parse(String input, CommandSender sender) {
-                E value = lowerMap.get(input.toLowerCase(Locale.ROOT));
+                E value = table.get(input);
                 if (value == null) {
-                    return ParseResult.error("unknown " + typeName + " '" + input + "'");
+                    return ParseResult.error(ParseErrorCode.UNKNOWN_CONSTANT, typeName, input);
                 }
                 return ParseResult.success(value);
             }
 
             @Override
             public List<String> complete(String input, CommandSender sender) {
-                return startingWith(input, lowerMap.keySet());
+                return table.startingWith(input);
             }
         };
     }
@@ -576,21 +583,19 @@ public final class ArgParsers {
             throw new ParsingException("enumParserWithAliases requires an enum class with at least one constant");
         }
 
-        Map<String, E> combined = new LinkedHashMap<>();
+        // Constant names complete; aliases are only accepted (and win over a constant of the same name)
+        SymbolTable.Builder<E> builder = SymbolTable.builder();
         for (E constant : constants) {
-            combined.put(constant.name().toLowerCase(Locale.ROOT), constant);
+            builder.name(constant.name().toLowerCase(Locale.ROOT), constant);
         }
         for (Map.Entry<String, E> entry : aliases.entrySet()) {
             if (entry.getKey() != null && entry.getValue() != null) {
-                combined.put(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue());
+                builder.alias(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue());
             }
         }
+        SymbolTable<E> table = builder.build();
 
         String typeName = enumClass.getSimpleName().toLowerCase(Locale.ROOT);
-        Set<String> completions = new LinkedHashSet<>();
-        for (E constant : constants) {
-            completions.add(constant.name().toLowerCase(Locale.ROOT));
-        }
 
         return new ArgumentParser<>() {
             @Override
@@ -600,16 +605,16 @@ public final class ArgParsers {
 
             @Override
             public ParseResult<E> parse(String input, CommandSender sender) {
-                E value = combined.get(input.toLowerCase(Locale.ROOT));
+                E value = table.get(input);
                 if (value == null) {
-                    return ParseResult.error("unknown " + typeName + " '" + input + "'");
+                    return ParseResult.error(ParseErrorCode.UNKNOWN_CONSTANT, typeName, input);
                 }
                 return ParseResult.success(value);
             }
 
             @Override
             public List<String> complete(String input, CommandSender sender) {
-                return startingWith(input, completions);
+                return table.startingWith(input);
             }
         };
     }
@@ -726,7 +731,7 @@ public final class ArgParsers {
         public ParseResult<Long> parse(String input, CommandSender sender) {
             String trimmed = input.trim().toLowerCase(Locale.ROOT);
             if (trimmed.isEmpty()) {
-                return ParseResult.error("duration cannot be empty");
+                return ParseResult.error(ParseErrorCode.DURATION_EMPTY);
             }
 
             // Check for special keywords
@@ -738,11 +743,11 @@ public final class ArgParsers {
             try {
                 long seconds = Long.parseLong(trimmed);
                 if (seconds < 0) {
-                    return ParseResult.error("duration values cannot be negative");
+                    return ParseResult.error(ParseErrorCode.DURATION_NEGATIVE);
                 }
                 // Security: Check for overflow when converting to milliseconds
                 if (!returnSeconds && seconds > Long.MAX_VALUE / 1000) {
-                    return ParseResult.error("duration value too large - would cause overflow");
+                    return ParseResult.error(ParseErrorCode.DURATION_OVERFLOW);
                 }
                 long result = returnSeconds ? seconds : seconds * 1000;
                 return ParseResult.success(result);
@@ -763,7 +768,7 @@ public final class ArgParsers {
                 }
 
                 if (numEnd == 0) {
-                    return ParseResult.error("invalid duration format: expected number at '" + remaining + "'");
+                    return ParseResult.error(ParseErrorCode.DURATION_EXPECTED_NUMBER, remaining);
                 }
 
                 String numStr = remaining.substring(0, numEnd);
@@ -773,11 +778,11 @@ public final class ArgParsers {
                 try {
                     value = Double.parseDouble(numStr);
                 } catch (NumberFormatException e) {
-                    return ParseResult.error("invalid number '" + numStr + "' in duration");
+                    return ParseResult.error(ParseErrorCode.DURATION_INVALID_NUMBER, numStr);
                 }
 
                 if (value < 0) {
-                    return ParseResult.error("duration values cannot be negative");
+                    return ParseResult.error(ParseErrorCode.DURATION_NEGATIVE);
                 }
 
                 // Find the unit
@@ -795,18 +800,17 @@ public final class ArgParsers {
                         long addition = (long) (value * 1000);
                         // Security: Check for overflow before addition
                         if (addition < 0 || (Long.MAX_VALUE - totalMillis < addition)) {
-                            return ParseResult.error("duration value too large - would cause overflow");
+                            return ParseResult.error(ParseErrorCode.DURATION_OVERFLOW);
                         }
                         totalMillis += addition;
                     } else {
-                        return ParseResult.error("unknown time unit at '" + remaining + "'. " +
-                            "Valid units: s, m, h, d, w, mo, y");
+                        return ParseResult.error(ParseErrorCode.DURATION_UNKNOWN_UNIT, remaining);
                     }
                 } else {
                     long addition = (long) (value * UNIT_MILLIS.get(matchedUnit));
                     // Security: Check for overflow before addition
                     if (addition < 0 || (Long.MAX_VALUE - totalMillis < addition)) {
-                        return ParseResult.error("duration value too large - would cause overflow");
+                        return ParseResult.error(ParseErrorCode.DURATION_OVERFLOW);
                     }
                     totalMillis += addition;
                     remaining = remaining.substring(matchedUnit.length());
@@ -814,7 +818,7 @@ public final class ArgParsers {
             }
 
             if (totalMillis == 0 && !trimmed.equals("0") && !trimmed.equals("0s")) {
-                return ParseResult.error("invalid duration: '" + input + "'");
+                return ParseResult.error(ParseErrorCode.INVALID_DURATION, input);
             }
 
             long result = returnSeconds ? totalMillis / 1000 : totalMillis;
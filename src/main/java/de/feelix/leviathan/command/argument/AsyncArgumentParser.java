@@ -0,0 +1,53 @@
+package de.feelix.leviathan.command.argument;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import org.bukkit.command.CommandSender;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ArgumentParser} whose values may need a slow lookup (disk, network, database).
+ * <p>
+ * {@link #parseNow(String, CommandSender)} answers from local data and must never block. When it
+ * cannot, the command dispatcher calls {@link #parseAsync(String, CommandSender)}, returns from the
+ * command immediately and resumes parsing on the main thread once the lookup has completed, so the
+ * main thread never waits for it.
+ * <p>
+ * Callers that cannot wait, such as tab completion and {@code SlashCommand.parse(...)}, use
+ * {@link #parse(String, CommandSender)}, which reports a {@link ParseErrorCode#LOOKUP_PENDING}
+ * error instead of blocking on a miss.
+ *
+ * @param <T> parsed value type
+ */
+public interface AsyncArgumentParser<T> extends ArgumentParser<T> {
+    /**
+     * Parse the input from local data without blocking.
+     *
+     * @param input  The raw token for this argument position.
+     * @param sender The command sender (for context such as permissions, world, etc.).
+     * @return the parse result, or null if the input needs {@link #parseAsync(String, CommandSender)}
+     */
+    @Nullable
+    ParseResult<T> parseNow(@NotNull String input, @NotNull CommandSender sender);
+
+    /**
+     * Parse the input off the main thread. Called for inputs {@link #parseNow(String, CommandSender)}
+     * could not answer.
+     *
+     * @param input  The raw token for this argument position.
+     * @param sender The command sender.
+     * @return a future completing with the (non-null) parse result
+     */
+    @NotNull
+    CompletableFuture<ParseResult<T>> parseAsync(@NotNull String input, @NotNull CommandSender sender);
+
+    /**
+     * Non-blocking form of the parse: the local result, or a {@link ParseErrorCode#LOOKUP_PENDING} error.
+     */
+    @Override
+    default @NotNull ParseResult<T> parse(@NotNull String input, @NotNull CommandSender sender) {
+        ParseResult<T> result = parseNow(input, sender);
+        return result != null ? result : ParseResult.error(ParseErrorCode.LOOKUP_PENDING, input);
+    }
+}
@@ -0,0 +1,35 @@
+package de.feelix.leviathan.command.argument;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.exceptions.InvalidArgumentValueException;
+import org.bukkit.command.CommandSender;
+
+/**
+ * {@link ArgumentParser} specialised for {@code boolean} values, read unboxed via
+ * {@code CommandContext.getBoolean(ArgHandle)}.
+ *
+ * @see IntArgumentParser
+ */
+public interface BooleanArgumentParser extends ArgumentParser<Boolean> {
+    /**
+     * Parse the given raw input token.
+     *
+     * @param input  The raw token for this argument position.
+     * @param sender The command sender (for context such as permissions, world, etc.).
+     * @return the parsed value
+     * @throws InvalidArgumentValueException if the input is not a valid value; its reason is shown to the sender
+     */
+    boolean parseBoolean(@NotNull String input, @NotNull CommandSender sender);
+
+    /**
+     * Boxed form of {@link #parseBoolean(String, CommandSender)}.
+     */
+    @Override
+    default @NotNull ParseResult<Boolean> parse(@NotNull String input, @NotNull CommandSender sender) {
+        try {
+            return ParseResult.ofBoolean(parseBoolean(input, sender));
+        } catch (InvalidArgumentValueException e) {
+            return ParseResult.error(e.code(), e.arguments());
+        }
+    }
+}
@@ -8,7 +8,6 @@ import org.bukkit.command.CommandSender;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -60,8 +59,8 @@ public final class ChoiceArg<T> {
     private final boolean caseSensitive;
     private final String description;
     private final ArgumentParser<T> parser;
-    // Cached lowercase choice map for O(1) case-insensitive lookups
-    private final Map<String, Choice<T>> lowerCaseChoices;
+    // Case-insensitive lookup and prefix completion over the choice keys
+    private final SymbolTable<Choice<T>> symbolTable;
 
     private ChoiceArg(Builder<T> builder) {
         this.name = builder.name;
@@ -70,15 +69,15 @@ public final class ChoiceArg<T> {
         this.caseSensitive = builder.caseSensitive;
         this.description = builder.description;
 
-        // Build lowercase lookup map once at construction time for case-insensitive matching
+        // Build the symbol table once at construction time for case-insensitive matching
         if (!caseSensitive) {
-            Map<String, Choice<T>> lowerMap = new HashMap<>();
+            SymbolTable.Builder<Choice<T>> table = SymbolTable.builder();
             for (Map.Entry<String, Choice<T>> entry : builder.choices.entrySet()) {
-                lowerMap.put(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue());
+                table.name(entry.getKey(), entry.getValue());
             }
-            this.lowerCaseChoices = Collections.unmodifiableMap(lowerMap);
+            this.symbolTable = table.build();
         } else {
-            this.lowerCaseChoices = null;
+            this.symbolTable = null;
         }
 
         this.parser = createParser();
@@ -297,7 +296,7 @@ public final class ChoiceArg<T> {
         if (caseSensitive) {
             return choices.get(key);
         }
-        return lowerCaseChoices.get(key.toLowerCase(Locale.ROOT));
+        return symbolTable.get(key);
     }
 
     private ArgumentParser<T> createParser() {
@@ -306,19 +305,19 @@ public final class ChoiceArg<T> {
             public @NotNull ParseResult<T> parse(@NotNull String input, @NotNull CommandSender sender) {
                 Choice<T> choice = findChoice(input);
                 if (choice == null) {
-                    String validChoices = String.join(", ", choiceKeys);
-                    return ParseResult.failure("must be one of: " + validChoices);
+                    return ParseResult.error(ParseErrorCode.MUST_BE_ONE_OF, choiceKeys);
                 }
                 return ParseResult.success(choice.value());
             }
 
             @Override
             public @NotNull List<String> complete(@NotNull String partial, @NotNull CommandSender sender) {
-                String lowerPartial = caseSensitive ? partial : partial.toLowerCase(Locale.ROOT);
+                if (!caseSensitive) {
+                    return symbolTable.startingWithDeclared(partial);
+                }
                 List<String> suggestions = new ArrayList<>();
                 for (String key : choiceKeys) {
-                    String matchKey = caseSensitive ? key : key.toLowerCase(Locale.ROOT);
-                    if (matchKey.startsWith(lowerPartial)) {
+                    if (key.startsWith(partial)) {
                         suggestions.add(key);
                     }
                 }
@@ -0,0 +1,35 @@
+package de.feelix.leviathan.command.argument;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.exceptions.InvalidArgumentValueException;
+import org.bukkit.command.CommandSender;
+
+/**
+ * {@link ArgumentParser} specialised for {@code double} values, read unboxed via
+ * {@code CommandContext.getDouble(ArgHandle)}. Implementations should reject NaN and infinities.
+ *
+ * @see IntArgumentParser
+ */
+public interface DoubleArgumentParser extends ArgumentParser<Double> {
+    /**
+     * Parse the given raw input token.
+     *
+     * @param input  The raw token for this argument position.
+     * @param sender The command sender (for context such as permissions, world, etc.).
+     * @return the parsed value
+     * @throws InvalidArgumentValueException if the input is not a valid value; its reason is shown to the sender
+     */
+    double parseDouble(@NotNull String input, @NotNull CommandSender sender);
+
+    /**
+     * Boxed form of {@link #parseDouble(String, CommandSender)}.
+     */
+    @Override
+    default @NotNull ParseResult<Double> parse(@NotNull String input, @NotNull CommandSender sender) {
+        try {
+            return ParseResult.success(parseDouble(input, sender));
+        } catch (InvalidArgumentValueException e) {
+            return ParseResult.error(e.code(), e.arguments());
+        }
+    }
+}
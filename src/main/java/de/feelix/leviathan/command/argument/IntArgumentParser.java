@@ -0,0 +1,37 @@
+package de.feelix.leviathan.command.argument;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.exceptions.InvalidArgumentValueException;
+import org.bukkit.command.CommandSender;
+
+/**
+ * {@link ArgumentParser} specialised for {@code int} values.
+ * <p>
+ * The command dispatcher calls {@link #parseInt(String, CommandSender)} and stores the result in a
+ * primitive slot of the {@code CommandContext}, so the value is never boxed when read through
+ * {@code CommandContext.getInt(ArgHandle)}. Arguments with transformers or custom validators fall
+ * back to the boxed {@link #parse(String, CommandSender)} path.
+ */
+public interface IntArgumentParser extends ArgumentParser<Integer> {
+    /**
+     * Parse the given raw input token.
+     *
+     * @param input  The raw token for this argument position.
+     * @param sender The command sender (for context such as permissions, world, etc.).
+     * @return the parsed value
+     * @throws InvalidArgumentValueException if the input is not a valid value; its reason is shown to the sender
+     */
+    int parseInt(@NotNull String input, @NotNull CommandSender sender);
+
+    /**
+     * Boxed form of {@link #parseInt(String, CommandSender)}.
+     */
+    @Override
+    default @NotNull ParseResult<Integer> parse(@NotNull String input, @NotNull CommandSender sender) {
+        try {
+            return ParseResult.ofInt(parseInt(input, sender));
+        } catch (InvalidArgumentValueException e) {
+            return ParseResult.error(e.code(), e.arguments());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package de.feelix.leviathan.command.argument;
+
+import de.feelix.leviathan.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Reason codes for failed {@link ParseResult}s.
+ * <p>
+ * Parsers report a code plus its arguments instead of a finished sentence; the text is only
+ * formatted when the error is shown, through
+ * {@link de.feelix.leviathan.command.message.MessageProvider#parseError(ParseErrorCode, Object...)}.
+ * Tab completion parses earlier arguments on every keystroke and discards most failures, so it
+ * never pays for the formatting.
+ * <p>
+ * Each code carries an English {@link #template()} in {@link String#format(String, Object...)}
+ * syntax. Collection arguments are joined with {@code ", "} before formatting.
+ */
+public enum ParseErrorCode {
+    /**
+     * Free-form message; the single argument is the message itself.
+     */
+    CUSTOM("%s"),
+    NOT_AN_INTEGER("not an integer"),
+    NOT_A_LONG("not a long"),
+    NOT_A_NUMBER("not a valid number"),
+    SPECIAL_NUMBER("special values (NaN, Infinity) are not allowed"),
+    NOT_A_BOOLEAN("expected true/false, yes/no, on/off, or 1/0"),
+    INVALID_UUID("invalid uuid"),
+    /**
+     * Arguments: the accepted values.
+     */
+    EXPECTED_ONE_OF("expected one of: %s"),
+    /**
+     * Arguments: the accepted values.
+     */
+    MUST_BE_ONE_OF("must be one of: %s"),
+    NO_MATCHING_PARSER("no matching parser for input"),
+    /**
+     * Arguments: the input.
+     */
+    PLAYER_NOT_FOUND("player '%s' not found or offline"),
+    /**
+     * Arguments: the input.
+     */
+    WORLD_NOT_FOUND("world '%s' not found"),
+    /**
+     * Arguments: the input.
+     */
+    UNKNOWN_MATERIAL("unknown material '%s'"),
+    /**
+     * Arguments: the type name, the input.
+     */
+    UNKNOWN_CONSTANT("unknown %s '%s'"),
+    /**
+     * Arguments: the input.
+     */
+    LOOKUP_PENDING("'%s' could not be resolved yet, please try again"),
+    DURATION_EMPTY("duration cannot be empty"),
+    DURATION_NEGATIVE("duration values cannot be negative"),
+    DURATION_OVERFLOW("duration value too large - would cause overflow"),
+    /**
+     * Arguments: the unparsed remainder.
+     */
+    DURATION_EXPECTED_NUMBER("invalid duration format: expected number at '%s'"),
+    /**
+     * Arguments: the malformed number.
+     */
+    DURATION_INVALID_NUMBER("invalid number '%s' in duration"),
+    /**
+     * Arguments: the unparsed remainder.
+     */
+    DURATION_UNKNOWN_UNIT("unknown time unit at '%s'. Valid units: s, m, h, d, w, mo, y"),
+    /**
+     * Arguments: the input.
+     */
+    INVALID_DURATION("invalid duration: '%s'");
+
+    private final String template;
+
+    ParseErrorCode(String template) {
+        this.template = template;
+    }
+
+    /**
+     * @return the English message template
+     */
+    public @NotNull String template() {
+        return template;
+    }
+
+    /**
+     * Format the English message for this code.
+     *
+     * @param args the arguments reported by the parser
+     * @return the formatted message
+     */
+    public @NotNull String format(@NotNull Object... args) {
+        if (args.length == 0) {
+            return template;
+        }
+        if (this == CUSTOM) {
+            return String.valueOf(args[0]);
+        }
+        Object[] formatted = args;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof Collection) {
+                if (formatted == args) {
+                    formatted = args.clone();
+                }
+                formatted[i] = joinCollection((Collection<?>) args[i]);
+            }
+        }
+        return String.format(Locale.ROOT, template, formatted);
+    }
+
+    private static String joinCollection(Collection<?> values) {
+        StringBuilder sb = new StringBuilder();
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                sb.append(", ");
+            }
+            sb.append(value);
+            first = false;
+        }
+        return sb.toString();
+    }
+}
@@ -4,23 +4,50 @@ import java.util.Optional;
 
 import de.feelix.leviathan.annotations.NotNull;
 import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.command.message.MessageProvider;
 import de.feelix.leviathan.util.Preconditions;
 
 /**
  * Represents the outcome of parsing a single argument token.
  * <p>
  * Exactly one of {@code value} or {@code error} is present. Instances are immutable.
- * Use the factory methods {@link #success(Object)} and {@link #error(String)} to create results.
+ * Use the factory methods {@link #success(Object)} and {@link #error(ParseErrorCode, Object...)} to
+ * create results.
+ * <p>
+ * Errors are stored as a {@link ParseErrorCode} plus arguments and only formatted when the message
+ * is requested, so speculative parses (e.g. during tab completion) that discard the failure never
+ * build a string. Results for booleans, small integers and {@code null} are shared instances.
  *
  * @param <T> parsed value type
  */
 public final class ParseResult<T> {
+    private static final Object[] NO_ARGS = new Object[0];
+
+    // Shared success results (ints cover the same range as Integer.valueOf's cache)
+    private static final int SMALL_INT_MIN = -128;
+    private static final int SMALL_INT_MAX = 127;
+    private static final ParseResult<Boolean> TRUE = new ParseResult<>(Boolean.TRUE, null, NO_ARGS);
+    private static final ParseResult<Boolean> FALSE = new ParseResult<>(Boolean.FALSE, null, NO_ARGS);
+    private static final ParseResult<?> EMPTY = new ParseResult<>(null, null, NO_ARGS);
+    @SuppressWarnings("unchecked")
+    private static final ParseResult<Integer>[] SMALL_INTS = new ParseResult[SMALL_INT_MAX - SMALL_INT_MIN + 1];
+
+    static {
+        for (int i = 0; i < SMALL_INTS.length; i++) {
+            SMALL_INTS[i] = new ParseResult<>(i + SMALL_INT_MIN, null, NO_ARGS);
+        }
+    }
+
     private final T value;
-    private final String error;
+    private final @Nullable ParseErrorCode errorCode;
+    private final Object[] errorArgs;
+    // Default-formatted error message, built on first request
+    private volatile String error;
 
-    private ParseResult(T value, String error) {
+    private ParseResult(T value, @Nullable ParseErrorCode errorCode, Object[] errorArgs) {
         this.value = value;
-        this.error = error;
+        this.errorCode = errorCode;
+        this.errorArgs = errorArgs;
     }
 
     /**
@@ -29,19 +56,69 @@ public final class ParseResult<T> {
      * @param value parsed value (may be null, depending on parser contract)
      * @return success result
      */
+    @SuppressWarnings("unchecked")
     public static <T> @NotNull ParseResult<T> success(@Nullable T value) {
-        return new ParseResult<>(value, null);
+        if (value == null) {
+            return (ParseResult<T>) EMPTY;
+        }
+        if (value instanceof Boolean) {
+            return (ParseResult<T>) ofBoolean((Boolean) value);
+        }
+        if (value instanceof Integer) {
+            return (ParseResult<T>) ofInt((Integer) value);
+        }
+        return new ParseResult<>(value, null, NO_ARGS);
+    }
+
+    /**
+     * Create a successful result for an {@code int}, reusing shared instances for small values.
+     *
+     * @param value parsed value
+     * @return success result
+     */
+    public static @NotNull ParseResult<Integer> ofInt(int value) {
+        if (value >= SMALL_INT_MIN && value <= SMALL_INT_MAX) {
+            return SMALL_INTS[value - SMALL_INT_MIN];
+        }
+        return new ParseResult<>(value, null, NO_ARGS);
+    }
+
+    /**
+     * Create a successful result for a {@code boolean}, reusing shared instances.
+     *
+     * @param value parsed value
+     * @return success result
+     */
+    public static @NotNull ParseResult<Boolean> ofBoolean(boolean value) {
+        return value ? TRUE : FALSE;
     }
 
     /**
      * Create a failed parse result with a human-readable error message.
+     * <p>
+     * Prefer {@link #error(ParseErrorCode, Object...)} in parsers that may fail often, so the
+     * message is only built when it is shown.
      *
      * @param message error message to surface to the user
      * @return error result
      */
     public static <T> @NotNull ParseResult<T> error(@NotNull String message) {
         Preconditions.checkNotNull(message, "message");
-        return new ParseResult<>(null, message);
+        ParseResult<T> result = new ParseResult<>(null, ParseErrorCode.CUSTOM, new Object[]{message});
+        result.error = message;
+        return result;
+    }
+
+    /**
+     * Create a failed parse result from a reason code. The message is formatted lazily.
+     *
+     * @param code the reason code
+     * @param args arguments for the code's message
+     * @return error result
+     */
+    public static <T> @NotNull ParseResult<T> error(@NotNull ParseErrorCode code, @NotNull Object... args) {
+        Preconditions.checkNotNull(code, "code");
+        return new ParseResult<>(null, code, args.length == 0 ? NO_ARGS : args);
     }
 
     /**
@@ -59,7 +136,7 @@ public final class ParseResult<T> {
      * @return true if the parse succeeded
      */
     public boolean isSuccess() {
-        return error == null;
+        return errorCode == null;
     }
 
     /**
@@ -73,7 +150,7 @@ public final class ParseResult<T> {
      * @return optional error message
      */
     public @NotNull Optional<String> error() {
-        return Optional.ofNullable(error);
+        return Optional.ofNullable(errorMessage());
     }
 
     /**
@@ -81,6 +158,42 @@ public final class ParseResult<T> {
      * @return the error message, or null if successful
      */
     public @Nullable String errorMessage() {
-        return error;
+        if (errorCode == null) {
+            return null;
+        }
+        String message = error;
+        if (message == null) {
+            message = errorCode.format(errorArgs);
+            error = message;
+        }
+        return message;
+    }
+
+    /**
+     * Format the error message through a message provider, e.g. for translated output.
+     *
+     * @param messages the message provider
+     * @return the error message, or null if successful
+     */
+    public @Nullable String errorMessage(@NotNull MessageProvider messages) {
+        Preconditions.checkNotNull(messages, "messages");
+        if (errorCode == null) {
+            return null;
+        }
+        return messages.parseError(errorCode, errorArgs.clone());
+    }
+
+    /**
+     * @return the reason code, or null if successful
+     */
+    public @Nullable ParseErrorCode errorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return a copy of the arguments for the reason code (empty if successful)
+     */
+    public @NotNull Object[] errorArguments() {
+        return errorArgs.clone();
     }
 }
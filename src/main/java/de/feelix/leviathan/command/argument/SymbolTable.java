@@ -0,0 +1,448 @@
+package de.feelix.leviathan.command.argument;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, case-insensitive table of names (and aliases) mapped to values.
+ * <p>
+ * Exact lookups go through a minimal perfect hash built once over the case-folded keys: one hash
+ * of the input, one displacement read and one comparison, without lower-casing or otherwise
+ * allocating. Prefix completion binary-searches a case-insensitively sorted name array and returns
+ * the matching range, so it costs {@code O(log n + k)} rather than a scan over every name.
+ * <p>
+ * Names are both looked up and completed; aliases are only looked up. Tables for enums are built
+ * once per class and shared:
+ * <pre>{@code
+ * SymbolTable<Material> materials = SymbolTable.ofEnum(Material.class);
+ * Material stone = materials.get("STONE");          // case-insensitive
+ * List<String> swords = materials.startingWith("diamond_s");
+ *
+ * SymbolTable<GameMode> modes = SymbolTable.<GameMode>builder()
+ *     .name("survival", GameMode.SURVIVAL)
+ *     .alias("s", GameMode.SURVIVAL)
+ *     .build();
+ * }</pre>
+ *
+ * @param <T> value type
+ */
+public final class SymbolTable<T> {
+
+    private static final Comparator<String> ORDER = String.CASE_INSENSITIVE_ORDER;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    // Minimum displacements tried per bucket before the table is rebuilt with a new seed
+    private static final int MIN_DISPLACEMENT_TRIES = 1 << 16;
+
+    private static final ClassValue<SymbolTable<?>> ENUM_TABLES = new ClassValue<>() {
+        @Override
+        protected SymbolTable<?> computeValue(Class<?> type) {
+            return buildEnumTable(type.asSubclass(Enum.class));
+        }
+    };
+
+    // Perfect hash: key and value at the slot each key hashes to
+    private final long seed;
+    private final int[] displacements;
+    private final String[] slotKeys;
+    private final Object[] slotValues;
+
+    // Completion: names sorted case-insensitively, with their declaration index
+    private final String[] sortedNames;
+    private final int[] sortedOrdinals;
+    private final List<String> names;
+
+    private SymbolTable(long seed, int[] displacements, String[] slotKeys, Object[] slotValues,
+                        String[] sortedNames, int[] sortedOrdinals, List<String> names) {
+        this.seed = seed;
+        this.displacements = displacements;
+        this.slotKeys = slotKeys;
+        this.slotValues = slotValues;
+        this.sortedNames = sortedNames;
+        this.sortedOrdinals = sortedOrdinals;
+        this.names = names;
+    }
+
+    /**
+     * Get the shared table of an enum's constants, keyed by their lower-case names.
+     *
+     * @param enumClass the enum class
+     * @param <E>       enum type
+     * @return the table, built on first use
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> @NotNull SymbolTable<E> ofEnum(@NotNull Class<E> enumClass) {
+        Preconditions.checkNotNull(enumClass, "enumClass");
+        return (SymbolTable<E>) ENUM_TABLES.get(enumClass);
+    }
+
+    /**
+     * Create a builder for a custom table.
+     *
+     * @param <T> value type
+     * @return a new builder
+     */
+    public static <T> @NotNull Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    // ==================== Lookup ====================
+
+    /**
+     * Look up a name or alias, ignoring case.
+     *
+     * @param key the input
+     * @return the value, or null if the key is unknown
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T get(@NotNull String key) {
+        int slot = slotOf(key);
+        return slot >= 0 ? (T) slotValues[slot] : null;
+    }
+
+    /**
+     * Check whether a name or alias is known, ignoring case.
+     *
+     * @param key the input
+     * @return true if the key maps to a value
+     */
+    public boolean contains(@NotNull String key) {
+        return slotOf(key) >= 0;
+    }
+
+    private int slotOf(String key) {
+        int n = slotKeys.length;
+        if (n == 0) {
+            return -1;
+        }
+        long h = hash(key, seed);
+        int slot = slot(h, displacements[bucket(h, n)], n);
+        return foldEquals(slotKeys[slot], key) ? slot : -1;
+    }
+
+    // ==================== Completion ====================
+
+    /**
+     * Get the names starting with a prefix, ignoring case.
+     *
+     * @param prefix the typed prefix
+     * @return matching names in case-insensitive order
+     */
+    public @NotNull List<String> startingWith(@NotNull String prefix) {
+        Preconditions.checkNotNull(prefix, "prefix");
+        int from = lowerBound(prefix);
+        int to = matchEnd(from, prefix);
+        return new ArrayList<>(Arrays.asList(sortedNames).subList(from, to));
+    }
+
+    /**
+     * Get the names starting with a prefix, ignoring case, in the order they were declared.
+     *
+     * @param prefix the typed prefix
+     * @return matching names in declaration order
+     */
+    public @NotNull List<String> startingWithDeclared(@NotNull String prefix) {
+        Preconditions.checkNotNull(prefix, "prefix");
+        int from = lowerBound(prefix);
+        int to = matchEnd(from, prefix);
+        int[] ordinals = Arrays.copyOfRange(sortedOrdinals, from, to);
+        Arrays.sort(ordinals);
+        List<String> result = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            result.add(names.get(ordinal));
+        }
+        return result;
+    }
+
+    /**
+     * @return an unmodifiable list of all names (without aliases) in declaration order
+     */
+    public @NotNull List<String> names() {
+        return names;
+    }
+
+    /**
+     * @return the number of names and aliases
+     */
+    public int size() {
+        return slotKeys.length;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = sortedNames.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ORDER.compare(sortedNames[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int matchEnd(int from, String prefix) {
+        int length = prefix.length();
+        int to = from;
+        while (to < sortedNames.length && sortedNames[to].regionMatches(true, 0, prefix, 0, length)) {
+            to++;
+        }
+        return to;
+    }
+
+    // ==================== Hashing ====================
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static boolean foldEquals(String a, String b) {
+        int length = a.length();
+        if (length != b.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char x = a.charAt(i);
+            char y = b.charAt(i);
+            if (x != y && fold(x) != fold(y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(String key, long seed) {
+        long h = seed ^ (key.length() * GOLDEN);
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ fold(key.charAt(i))) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int bucket(long h, int n) {
+        return (int) Long.remainderUnsigned(h >>> 32, n);
+    }
+
+    private static int slot(long h, int displacement, int n) {
+        return (int) Long.remainderUnsigned(mix(h ^ ((displacement + 1L) * GOLDEN)), n);
+    }
+
+    // ==================== Construction ====================
+
+    private static <E extends Enum<E>> SymbolTable<E> buildEnumTable(Class<E> enumClass) {
+        Builder<E> builder = new Builder<>();
+        for (E constant : enumClass.getEnumConstants()) {
+            builder.name(constant.name().toLowerCase(Locale.ROOT), constant);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builder for {@link SymbolTable}. Keys are unique ignoring case; a later name or alias replaces
+     * the value of an earlier key that differs only by case.
+     *
+     * @param <T> value type
+     */
+    public static final class Builder<T> {
+        // Folded key -> entry, in declaration order
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a name that is looked up and offered in completions.
+         *
+         * @param name  the name
+         * @param value the value it maps to
+         * @return this builder
+         */
+        public @NotNull Builder<T> name(@NotNull String name, @NotNull T value) {
+            return put(name, value, true);
+        }
+
+        /**
+         * Add an alias that is looked up but not offered in completions.
+         *
+         * @param alias the alias
+         * @param value the value it maps to
+         * @return this builder
+         */
+        public @NotNull Builder<T> alias(@NotNull String alias, @NotNull T value) {
+            return put(alias, value, false);
+        }
+
+        private Builder<T> put(String key, T value, boolean completable) {
+            Preconditions.checkNotNull(key, "key");
+            Preconditions.checkNotNull(value, "value");
+            StringBuilder folded = new StringBuilder(key.length());
+            for (int i = 0; i < key.length(); i++) {
+                folded.append(fold(key.charAt(i)));
+            }
+            Entry existing = entries.get(folded.toString());
+            if (existing != null) {
+                // Keep the original spelling and whether it completes; only the value changes
+                existing.value = value;
+            } else {
+                entries.put(folded.toString(), new Entry(key, value, completable));
+            }
+            return this;
+        }
+
+        /**
+         * Build the table.
+         *
+         * @return the immutable table
+         */
+        public @NotNull SymbolTable<T> build() {
+            int n = entries.size();
+            String[] keys = new String[n];
+            Object[] values = new Object[n];
+            List<String> names = new ArrayList<>();
+            int index = 0;
+            for (Entry entry : entries.values()) {
+                keys[index] = entry.key;
+                values[index] = entry.value;
+                if (entry.completable) {
+                    names.add(entry.key);
+                }
+                index++;
+            }
+
+            Integer[] order = new Integer[names.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> ORDER.compare(names.get(a), names.get(b)));
+            String[] sortedNames = new String[order.length];
+            int[] sortedOrdinals = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedNames[i] = names.get(order[i]);
+                sortedOrdinals[i] = order[i];
+            }
+            List<String> nameList = Collections.unmodifiableList(names);
+
+            if (n == 0) {
+                return new SymbolTable<>(0L, new int[0], keys, values, sortedNames, sortedOrdinals, nameList);
+            }
+            for (long seed = 0; ; seed++) {
+                int[] displacements = new int[n];
+                int[] slotOwners = placeKeys(keys, seed, displacements);
+                if (slotOwners != null) {
+                    String[] slotKeys = new String[n];
+                    Object[] slotValues = new Object[n];
+                    for (int slot = 0; slot < n; slot++) {
+                        slotKeys[slot] = keys[slotOwners[slot]];
+                        slotValues[slot] = values[slotOwners[slot]];
+                    }
+                    return new SymbolTable<>(seed, displacements, slotKeys, slotValues,
+                                             sortedNames, sortedOrdinals, nameList);
+                }
+            }
+        }
+
+        /**
+         * Hash-and-displace: group keys into buckets, then place the largest buckets first, searching
+         * for a displacement that sends all of a bucket's keys to free slots.
+         *
+         * @return the key index at each slot, or null if this seed does not work
+         */
+        private static int[] placeKeys(String[] keys, long seed, int[] displacements) {
+            int n = keys.length;
+            long[] hashes = new long[n];
+            int[] bucketSizes = new int[n];
+            for (int i = 0; i < n; i++) {
+                hashes[i] = hash(keys[i], seed);
+                bucketSizes[bucket(hashes[i], n)]++;
+            }
+            // Keys grouped by bucket
+            int[] bucketStart = new int[n + 1];
+            for (int b = 0; b < n; b++) {
+                bucketStart[b + 1] = bucketStart[b] + bucketSizes[b];
+            }
+            int[] bucketKeys = new int[n];
+            int[] fill = Arrays.copyOf(bucketStart, n);
+            for (int i = 0; i < n; i++) {
+                bucketKeys[fill[bucket(hashes[i], n)]++] = i;
+            }
+            Integer[] bucketOrder = new Integer[n];
+            for (int b = 0; b < n; b++) {
+                bucketOrder[b] = b;
+            }
+            Arrays.sort(bucketOrder, (a, b) -> Integer.compare(bucketSizes[b], bucketSizes[a]));
+
+            int[] slotOwners = new int[n];
+            Arrays.fill(slotOwners, -1);
+            int[] candidate = new int[n];
+            // Late singleton buckets may need about n tries to find the last free slots
+            int maxDisplacement = Math.max(MIN_DISPLACEMENT_TRIES, n << 3);
+            for (int b : bucketOrder) {
+                int size = bucketSizes[b];
+                if (size == 0) {
+                    break;
+                }
+                int start = bucketStart[b];
+                boolean placed = false;
+                for (int d = 0; d < maxDisplacement && !placed; d++) {
+                    placed = true;
+                    for (int j = 0; j < size && placed; j++) {
+                        int slot = slot(hashes[bucketKeys[start + j]], d, n);
+                        if (slotOwners[slot] != -1) {
+                            placed = false;
+                        }
+                        for (int k = 0; k < j && placed; k++) {
+                            if (candidate[k] == slot) {
+                                placed = false;
+                            }
+                        }
+                        candidate[j] = slot;
+                    }
+                    if (placed) {
+                        for (int j = 0; j < size; j++) {
+                            slotOwners[candidate[j]] = bucketKeys[start + j];
+                        }
+                        displacements[b] = d;
+                    }
+                }
+                if (!placed) {
+                    return null;
+                }
+            }
+            return slotOwners;
+        }
+
+        private static final class Entry {
+            final String key;
+            Object value;
+            final boolean completable;
+
+            Entry(String key, Object value, boolean completable) {
+                this.key = key;
+                this.value = value;
+                this.completable = completable;
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package de.feelix.leviathan.command.async;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * {@link CommandExecutionBackend} decorator that caps how many tasks run concurrently.
+ * <p>
+ * Submissions beyond the limit are parked in a bounded FIFO queue and handed to the delegate as
+ * running tasks finish; nothing blocks while waiting. Once the queue is full, further submissions
+ * are rejected so the command can tell the sender to retry later instead of piling up work. A queued
+ * task the delegate refuses when its turn comes is reported through the {@code onRejected} callback
+ * of {@link #submit(Plugin, Runnable, Runnable)}, or logged if there is none.
+ * <p>
+ * Created via {@link CommandExecutionBackend#withConcurrencyLimit(int, int)}. Thread-safe.
+ */
+public final class BoundedExecutionBackend implements CommandExecutionBackend {
+
+    private final CommandExecutionBackend delegate;
+    private final int maxConcurrent;
+    private final int maxQueued;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<PendingTask> pending = new ConcurrentLinkedQueue<>();
+
+    // Metrics
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    BoundedExecutionBackend(@NotNull CommandExecutionBackend delegate, int maxConcurrent, int maxQueued) {
+        this.delegate = Preconditions.checkNotNull(delegate, "delegate");
+        Preconditions.checkArgument(maxConcurrent > 0, "maxConcurrent must be positive");
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = Preconditions.checkNonNegative(maxQueued, "maxQueued");
+    }
+
+    @Override
+    public boolean submit(@NotNull Plugin plugin, @NotNull Runnable task) {
+        Preconditions.checkNotNull(plugin, "plugin");
+        return submit(plugin, task, () -> plugin.getLogger().warning(
+            "A queued task was refused by the execution backend and dropped"));
+    }
+
+    @Override
+    public boolean submit(@NotNull Plugin plugin, @NotNull Runnable task, @NotNull Runnable onRejected) {
+        Preconditions.checkNotNull(plugin, "plugin");
+        Preconditions.checkNotNull(task, "task");
+        Preconditions.checkNotNull(onRejected, "onRejected");
+        if (tryAcquire()) {
+            if (dispatch(plugin, task)) {
+                submittedCount.incrementAndGet();
+                return true;
+            }
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        pending.offer(new PendingTask(plugin, task, onRejected));
+        // A slot may have been released between tryAcquire() and offer()
+        drain();
+        return true;
+    }
+
+    @Override
+    public void runOnMainThread(@NotNull Plugin plugin, @NotNull Runnable task) {
+        delegate.runOnMainThread(plugin, task);
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = active.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+            if (active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Hands a task to the delegate; the slot is released when the task finishes or is refused
+    private boolean dispatch(@NotNull Plugin plugin, @NotNull Runnable task) {
+        boolean accepted;
+        try {
+            accepted = delegate.submit(plugin, releasing(task));
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+        if (!accepted) {
+            release();
+        }
+        return accepted;
+    }
+
+    private @NotNull Runnable releasing(@NotNull Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } finally {
+                release();
+            }
+        };
+    }
+
+    private void release() {
+        active.decrementAndGet();
+        drain();
+    }
+
+    // Moves queued tasks into free slots; re-checks the queue after giving a slot back so no task is stranded
+    private void drain() {
+        while (!pending.isEmpty() && tryAcquire()) {
+            PendingTask next = pending.poll();
+            if (next == null) {
+                active.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            boolean accepted;
+            try {
+                accepted = delegate.submit(next.plugin, releasing(next.task));
+            } catch (RuntimeException e) {
+                // The delegate refused (e.g. the plugin was disabled)
+                accepted = false;
+            }
+            if (accepted) {
+                submittedCount.incrementAndGet();
+            } else {
+                active.decrementAndGet();
+                rejectedCount.incrementAndGet();
+                reportRejected(next);
+            }
+        }
+    }
+
+    // Runs the rejection path of a queued task the delegate refused, then keeps draining
+    private void reportRejected(@NotNull PendingTask task) {
+        try {
+            delegate.runOnMainThread(task.plugin, task.onRejected);
+        } catch (RuntimeException e) {
+            task.plugin.getLogger().log(Level.WARNING,
+                "A queued task was refused by the execution backend and could not be reported", e);
+        }
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * @return the maximum number of concurrently running tasks
+     */
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * @return the maximum number of waiting tasks
+     */
+    public int maxQueued() {
+        return maxQueued;
+    }
+
+    /**
+     * @return the number of tasks currently running
+     */
+    public int activeCount() {
+        return active.get();
+    }
+
+    /**
+     * @return the number of tasks currently waiting for a free slot
+     */
+    public int queuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * @return the total number of tasks handed to the delegate (queued tasks count once they start)
+     */
+    public long submittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * @return the total number of rejected submissions, including queued tasks the delegate refused
+     */
+    public long rejectedCount() {
+        return rejectedCount.get();
+    }
+
+    private static final class PendingTask {
+        final Plugin plugin;
+        final Runnable task;
+        final Runnable onRejected;
+
+        PendingTask(Plugin plugin, Runnable task, Runnable onRejected) {
+            this.plugin = plugin;
+            this.task = task;
+            this.onRejected = onRejected;
+        }
+    }
+}
@@ -1,19 +1,47 @@
 package de.feelix.leviathan.command.async;
 
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Cancellation token for cooperative cancellation of async command actions.
  * <p>
  * This class is used by async command handlers to check if the operation should be cancelled.
  * The token uses a volatile boolean for thread-safe cancellation signaling.
+ * <p>
+ * Handlers blocked in I/O that does not react to interrupts can register an
+ * {@link #onCancel(Runnable)} callback (e.g. to close a connection or abort a request).
  */
 public final class CancellationToken {
     private volatile boolean cancelled;
+    // Registered callbacks, null once cancelled (guarded by this)
+    private List<Runnable> listeners;
 
     /**
-     * Marks this token as cancelled.
+     * Marks this token as cancelled and runs the registered callbacks once.
      */
     public void cancel() {
-        this.cancelled = true;
+        List<Runnable> toRun;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toRun = listeners;
+            listeners = null;
+        }
+        if (toRun != null) {
+            for (Runnable listener : toRun) {
+                try {
+                    listener.run();
+                } catch (RuntimeException ignored) {
+                    // A failing callback must not prevent the others from running
+                }
+            }
+        }
     }
 
     /**
@@ -24,4 +52,26 @@ public final class CancellationToken {
     public boolean cancelled() {
         return cancelled;
     }
+
+    /**
+     * Register a callback to run when this token is cancelled.
+     * <p>
+     * The callback runs on the thread that cancels the token (for timeouts, the deadline thread),
+     * so it should be short. If the token is already cancelled, the callback runs immediately.
+     *
+     * @param listener the callback
+     */
+    public void onCancel(@NotNull Runnable listener) {
+        Preconditions.checkNotNull(listener, "listener");
+        synchronized (this) {
+            if (!cancelled) {
+                if (listeners == null) {
+                    listeners = new ArrayList<>(2);
+                }
+                listeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
 }
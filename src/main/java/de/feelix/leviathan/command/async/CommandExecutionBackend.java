@@ -0,0 +1,148 @@
+package de.feelix.leviathan.command.async;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Strategy that runs asynchronous command actions off the main server thread.
+ * <p>
+ * Commands configured with {@code async(true)} or {@code executesAsync(...)} hand their action to
+ * a backend instead of calling the Bukkit scheduler directly. Built-in backends:
+ * <ul>
+ *   <li>{@link #bukkit()} - the Bukkit async pool (default)</li>
+ *   <li>{@link #virtualThreads()} - one virtual thread per task on Java 21+, falling back to
+ *       {@link #bukkit()} on older runtimes</li>
+ *   <li>{@link #executor(Executor)} - any caller-supplied executor</li>
+ * </ul>
+ * Virtual threads suit handlers that spend most of their time blocked on I/O (database lookups,
+ * HTTP calls): a blocked virtual thread does not pin a platform thread, so hundreds of concurrent
+ * lookups cost little. Any backend can be capped with {@link #withConcurrencyLimit(int, int)}.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * CommandExecutionBackend backend = CommandExecutionBackend.virtualThreads().withConcurrencyLimit(256, 1024);
+ * SlashCommand.create("lookup")
+ *     .argString("name")
+ *     .executionBackend(backend)
+ *     .executesAsync((sender, ctx) -> {
+ *         String result = database.lookup(ctx.getStringOrDefault("name", ""));
+ *         backend.runOnMainThread(plugin, () -> sender.sendMessage(result));
+ *     });
+ * }</pre>
+ */
+public interface CommandExecutionBackend {
+
+    /**
+     * Submit a task for asynchronous execution.
+     *
+     * @param plugin the owning plugin
+     * @param task   the task to run
+     * @return true if the task was accepted, false if the backend is saturated and rejected it
+     */
+    boolean submit(@NotNull Plugin plugin, @NotNull Runnable task);
+
+    /**
+     * Submit a task for asynchronous execution, with a callback for when it is refused after
+     * having been accepted.
+     * <p>
+     * Backends that queue tasks may hand a queued task to an executor that refuses it (e.g. because
+     * the plugin was disabled) after this method returned true. They run {@code onRejected} on the
+     * main thread instead of dropping the task silently. The default implementation does not queue
+     * and just calls {@link #submit(Plugin, Runnable)}.
+     *
+     * @param plugin     the owning plugin
+     * @param task       the task to run
+     * @param onRejected run if the accepted task is refused later; not run if this method returns false
+     * @return true if the task was accepted, false if the backend is saturated and rejected it
+     */
+    default boolean submit(@NotNull Plugin plugin, @NotNull Runnable task, @NotNull Runnable onRejected) {
+        Preconditions.checkNotNull(onRejected, "onRejected");
+        return submit(plugin, task);
+    }
+
+    /**
+     * Run a task on the main server thread, e.g. to reply to a sender or touch the world.
+     * <p>
+     * Runs the task inline if the caller already is on the main thread.
+     *
+     * @param plugin the owning plugin
+     * @param task   the task to run
+     */
+    default void runOnMainThread(@NotNull Plugin plugin, @NotNull Runnable task) {
+        Preconditions.checkNotNull(plugin, "plugin");
+        Preconditions.checkNotNull(task, "task");
+        if (plugin.getServer().isPrimaryThread()) {
+            task.run();
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Wrap this backend so that at most {@code maxConcurrent} tasks run at the same time.
+     * <p>
+     * Tasks beyond the limit wait in a queue of up to {@code maxQueued} entries; submissions that
+     * find the queue full are rejected.
+     *
+     * @param maxConcurrent maximum number of tasks running at once (must be positive)
+     * @param maxQueued     maximum number of waiting tasks ({@code 0} = reject immediately when full)
+     * @return a bounded backend delegating to this one
+     */
+    default @NotNull BoundedExecutionBackend withConcurrencyLimit(int maxConcurrent, int maxQueued) {
+        return new BoundedExecutionBackend(this, maxConcurrent, maxQueued);
+    }
+
+    // ==================== Built-in Backends ====================
+
+    /**
+     * The Bukkit async scheduler pool. This is the default backend.
+     *
+     * @return the shared Bukkit backend
+     */
+    static @NotNull CommandExecutionBackend bukkit() {
+        return ExecutionBackends.BUKKIT;
+    }
+
+    /**
+     * One virtual thread per task, if the runtime supports virtual threads (Java 21+).
+     * Falls back to {@link #bukkit()} otherwise.
+     *
+     * @return the shared virtual-thread backend, or the Bukkit backend as fallback
+     */
+    static @NotNull CommandExecutionBackend virtualThreads() {
+        CommandExecutionBackend backend = ExecutionBackends.VIRTUAL_THREADS;
+        return backend != null ? backend : ExecutionBackends.BUKKIT;
+    }
+
+    /**
+     * Check whether {@link #virtualThreads()} is backed by real virtual threads on this runtime.
+     *
+     * @return true if virtual threads are available
+     */
+    static boolean virtualThreadsAvailable() {
+        return ExecutionBackends.VIRTUAL_THREADS != null;
+    }
+
+    /**
+     * Run tasks on the given executor. A {@link RejectedExecutionException} from the executor is
+     * reported as a rejected submission.
+     *
+     * @param executor the executor to use
+     * @return a backend delegating to the executor
+     */
+    static @NotNull CommandExecutionBackend executor(@NotNull Executor executor) {
+        Preconditions.checkNotNull(executor, "executor");
+        return (plugin, task) -> {
+            try {
+                executor.execute(task);
+                return true;
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package de.feelix.leviathan.command.async;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.util.Preconditions;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fires callbacks when async command deadlines pass.
+ * <p>
+ * Used to enforce {@code executesAsync(action, timeoutMillis)}: the deadline is armed when the
+ * action is submitted and disarmed when it completes. If it fires first, the command's
+ * {@link CancellationToken} is cancelled, the worker is interrupted and the sender is told about
+ * the timeout immediately, without waiting for the handler to return.
+ * <p>
+ * Expiry callbacks run on a single daemon thread and must be short; anything heavier should be
+ * handed off to another executor.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * DeadlineScheduler scheduler = DeadlineScheduler.shared();
+ * System.out.println("Deadlines fired: " + scheduler.expiredCount());
+ * }</pre>
+ */
+public final class DeadlineScheduler {
+
+    private static final DeadlineScheduler SHARED = new DeadlineScheduler();
+
+    // Started on first use and after a shutdown (guarded by this)
+    private @Nullable ScheduledThreadPoolExecutor executor;
+
+    // Metrics
+    private final LongAdder scheduledCount = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder cancelledCount = new LongAdder();
+
+    private DeadlineScheduler() {
+    }
+
+    /**
+     * @return the scheduler shared by all commands
+     */
+    public static @NotNull DeadlineScheduler shared() {
+        return SHARED;
+    }
+
+    /**
+     * Arm a deadline.
+     *
+     * @param delayMillis time until the deadline fires (values {@code <= 0} fire immediately)
+     * @param onExpire    callback run on the scheduler thread when the deadline passes
+     * @return a handle used to disarm the deadline
+     */
+    public @NotNull Deadline schedule(long delayMillis, @NotNull Runnable onExpire) {
+        Preconditions.checkNotNull(onExpire, "onExpire");
+        scheduledCount.increment();
+        ScheduledFuture<?> future = executor().schedule(() -> {
+            expiredCount.increment();
+            onExpire.run();
+        }, Math.max(0L, delayMillis), TimeUnit.MILLISECONDS);
+        return new Deadline(future);
+    }
+
+    /**
+     * Stop the scheduler thread. Call this when the plugin is disabled.
+     * <p>
+     * Armed deadlines are dropped without firing. The thread is started again by the next
+     * {@link #schedule}.
+     */
+    public void shutdown() {
+        ScheduledThreadPoolExecutor stopped;
+        synchronized (this) {
+            stopped = executor;
+            executor = null;
+        }
+        if (stopped != null) {
+            stopped.shutdownNow();
+        }
+    }
+
+    private synchronized @NotNull ScheduledThreadPoolExecutor executor() {
+        if (executor == null) {
+            ScheduledThreadPoolExecutor created = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "leviathan-deadlines");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Most deadlines are disarmed long before they fire; drop them from the queue right away
+            created.setRemoveOnCancelPolicy(true);
+            executor = created;
+        }
+        return executor;
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * @return the total number of deadlines armed
+     */
+    public long scheduledCount() {
+        return scheduledCount.sum();
+    }
+
+    /**
+     * @return the total number of deadlines that fired, i.e. timed-out actions
+     */
+    public long expiredCount() {
+        return expiredCount.sum();
+    }
+
+    /**
+     * @return the total number of deadlines disarmed before firing
+     */
+    public long cancelledCount() {
+        return cancelledCount.sum();
+    }
+
+    /**
+     * @return the number of deadlines currently armed
+     */
+    public synchronized int pendingCount() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    /**
+     * Handle for an armed deadline.
+     */
+    public final class Deadline {
+        private final ScheduledFuture<?> future;
+
+        private Deadline(ScheduledFuture<?> future) {
+            this.future = future;
+        }
+
+        /**
+         * Disarm the deadline.
+         *
+         * @return true if the deadline was disarmed before it fired
+         */
+        public boolean cancel() {
+            boolean cancelled = future.cancel(false);
+            if (cancelled) {
+                cancelledCount.increment();
+            }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package de.feelix.leviathan.command.async;
+
+import de.feelix.leviathan.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Shared instances of the built-in {@link CommandExecutionBackend}s.
+ */
+final class ExecutionBackends {
+
+    private ExecutionBackends() {
+    }
+
+    static final CommandExecutionBackend BUKKIT = (plugin, task) -> {
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+        return true;
+    };
+
+    // Null if the runtime has no virtual threads
+    @Nullable
+    static final CommandExecutionBackend VIRTUAL_THREADS = createVirtualThreadBackend();
+
+    private static @Nullable CommandExecutionBackend createVirtualThreadBackend() {
+        ThreadFactory factory = virtualThreadFactory();
+        if (factory == null) {
+            return null;
+        }
+        return (plugin, task) -> {
+            factory.newThread(task).start();
+            return true;
+        };
+    }
+
+    // The library targets Java 17, so Thread.ofVirtual() is looked up reflectively
+    private static @Nullable ThreadFactory virtualThreadFactory() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Object builder = ofVirtual.invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class)
+                .invoke(builder, "leviathan-command-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+}
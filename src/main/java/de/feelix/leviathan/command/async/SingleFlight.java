@@ -0,0 +1,179 @@
+package de.feelix.leviathan.command.async;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.command.core.CommandContext;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.command.CommandSender;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight group: concurrent calls with the same key share one computation.
+ * <p>
+ * The first caller for a key (the leader) runs the computation; callers arriving while it is still
+ * in flight attach to it and receive the same result or exception. The key is released as soon as
+ * the computation completes, so a later call starts a fresh computation. This covers the window
+ * before a result reaches {@code ResultCache}: ten players running {@code /stats global} at once
+ * cause one database query, not ten.
+ * <p>
+ * Followers wait on the async worker they were already scheduled on, so the command's timeout,
+ * cancellation and error reporting apply to each of them as usual. The computation itself runs with
+ * the leader's cancellation token; if the leader times out, followers receive the same failure.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * SlashCommand.create("stats")
+ *     .argString("scope")
+ *     .executesSingleFlight(
+ *         ctx -> ResultCache.CacheKeyBuilder.forCommand("stats")
+ *             .withArg("scope", ctx.getStringOrDefault("scope", "global"))
+ *             .global()
+ *             .build(),
+ *         (ctx, token) -> database.loadStats(ctx.getStringOrDefault("scope", "global")),
+ *         (sender, ctx, stats) -> sender.sendMessage(stats.format()))
+ *     .build();
+ * }</pre>
+ */
+public final class SingleFlight {
+
+    // Key -> in-flight computation (removed once it completes)
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+
+    private SingleFlight() {
+    }
+
+    /**
+     * Create an empty single-flight group.
+     *
+     * @return the group
+     */
+    public static @NotNull SingleFlight create() {
+        return new SingleFlight();
+    }
+
+    /**
+     * Run the computation for the key, or wait for the one already in flight.
+     * <p>
+     * Blocks the calling thread while another caller's computation is in flight, so call this
+     * only from async workers.
+     *
+     * @param key         identifies identical invocations
+     * @param computation the computation to run if none is in flight for the key
+     * @param <T>         the result type
+     * @return the result of the shared computation
+     * @throws InterruptedException if the thread is interrupted while waiting (e.g. at its timeout)
+     * @throws Exception            the exception thrown by the shared computation
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T run(@NotNull String key, @NotNull Callable<? extends T> computation) throws Exception {
+        Preconditions.checkNotNull(key, "key");
+        Preconditions.checkNotNull(computation, "computation");
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            joined.increment();
+            return (T) await(existing);
+        }
+        executed.increment();
+        try {
+            T result = computation.call();
+            mine.complete(result);
+            return result;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if a computation is in flight for the key
+     */
+    public boolean isInFlight(@NotNull String key) {
+        Preconditions.checkNotNull(key, "key");
+        return inFlight.containsKey(key);
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * @return the number of computations currently in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * @return the total number of computations that were run
+     */
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * @return the total number of calls that attached to an in-flight computation
+     */
+    public long getJoinedCount() {
+        return joined.sum();
+    }
+
+    /**
+     * Computation shared by identical invocations of a single-flight command.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface Computation<T> {
+        /**
+         * Compute the result. Runs on the leader's async worker.
+         *
+         * @param ctx   the leader's parsed context
+         * @param token the leader's cancellation token
+         * @return the result delivered to every attached invocation
+         * @throws Exception on failure; reported to every attached invocation
+         */
+        T compute(@NotNull CommandContext ctx, @NotNull CancellationToken token) throws Exception;
+    }
+
+    /**
+     * Delivers the shared result to one invocation.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface ResultHandler<T> {
+        /**
+         * Handle the result for this invocation. Runs on the invocation's async worker.
+         *
+         * @param sender the invocation's sender
+         * @param ctx    the invocation's parsed context
+         * @param result the shared result
+         */
+        void accept(@NotNull CommandSender sender, @NotNull CommandContext ctx, T result);
+    }
+}
@@ -0,0 +1,123 @@
+package de.feelix.leviathan.command.completion;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.util.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How tab completion waits for async completion sources
+ * ({@code completionsPredefinedAsync} and {@code completionsDynamicAsync}).
+ * <ul>
+ *   <li>{@link #blocking()} waits for the future on the completing thread, up to a timeout.
+ *       This is the default.</li>
+ *   <li>{@link #staleWhileRevalidate(long, long, TimeUnit)} never waits. It answers from the last
+ *       known result (see {@link StaleCompletionCache}) or falls back to the parser's completions,
+ *       and starts a refresh in the background whose result serves the next key press.</li>
+ * </ul>
+ * <pre>{@code
+ * ArgContext.builder()
+ *     .completionsPredefinedAsync(() -> warpService.loadWarpNames())
+ *     .asyncCompletionPolicy(AsyncCompletionPolicy.staleWhileRevalidate(10, 300, TimeUnit.SECONDS))
+ *     .build();
+ * }</pre>
+ */
+public final class AsyncCompletionPolicy {
+
+    /**
+     * Default timeout of the blocking policy in milliseconds.
+     */
+    public static final long DEFAULT_TIMEOUT_MS = 2000;
+
+    private static final AsyncCompletionPolicy BLOCKING = new AsyncCompletionPolicy(true, DEFAULT_TIMEOUT_MS, 0L, 0L);
+
+    private final boolean blocking;
+    private final long timeoutMillis;
+    private final long freshMillis;
+    private final long maxStaleMillis;
+
+    private AsyncCompletionPolicy(boolean blocking, long timeoutMillis, long freshMillis, long maxStaleMillis) {
+        this.blocking = blocking;
+        this.timeoutMillis = timeoutMillis;
+        this.freshMillis = freshMillis;
+        this.maxStaleMillis = maxStaleMillis;
+    }
+
+    /**
+     * Wait up to {@value #DEFAULT_TIMEOUT_MS} ms for async completions.
+     *
+     * @return the blocking policy
+     */
+    public static @NotNull AsyncCompletionPolicy blocking() {
+        return BLOCKING;
+    }
+
+    /**
+     * Wait up to the given time for async completions.
+     *
+     * @param timeout the maximum time to wait (must be positive)
+     * @param unit    the time unit
+     * @return a blocking policy
+     */
+    public static @NotNull AsyncCompletionPolicy blocking(long timeout, @NotNull TimeUnit unit) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(timeout > 0, "timeout must be positive");
+        return new AsyncCompletionPolicy(true, unit.toMillis(timeout), 0L, 0L);
+    }
+
+    /**
+     * Never wait for async completions; answer from the last known result and refresh it in the
+     * background.
+     * <p>
+     * A result younger than {@code freshFor} is served as is. An older one is still served, but
+     * a refresh is started. A result older than {@code maxStale} is no longer served; the parser's
+     * completions are shown until the refresh completes.
+     *
+     * @param freshFor how long a result is served without refreshing it (may be zero)
+     * @param maxStale how long a result may be served at all (at least {@code freshFor})
+     * @param unit     the time unit
+     * @return a non-blocking policy
+     */
+    public static @NotNull AsyncCompletionPolicy staleWhileRevalidate(long freshFor, long maxStale,
+                                                                      @NotNull TimeUnit unit) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkNonNegative(freshFor, "freshFor");
+        Preconditions.checkArgument(maxStale >= freshFor, "maxStale must not be shorter than freshFor");
+        return new AsyncCompletionPolicy(false, 0L, unit.toMillis(freshFor), unit.toMillis(maxStale));
+    }
+
+    /**
+     * @return true if tab completion waits for the async source
+     */
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    /**
+     * @return the maximum wait in milliseconds (blocking policy only)
+     */
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * @return how long a result is served without refreshing it, in milliseconds
+     */
+    public long freshMillis() {
+        return freshMillis;
+    }
+
+    /**
+     * @return how long a result may be served at all, in milliseconds
+     */
+    public long maxStaleMillis() {
+        return maxStaleMillis;
+    }
+
+    @Override
+    public String toString() {
+        return blocking
+            ? "AsyncCompletionPolicy{blocking, timeout=" + timeoutMillis + "ms}"
+            : "AsyncCompletionPolicy{staleWhileRevalidate, fresh=" + freshMillis + "ms, maxStale=" + maxStaleMillis + "ms}";
+    }
+}
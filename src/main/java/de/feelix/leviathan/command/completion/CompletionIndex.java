@@ -0,0 +1,161 @@
+package de.feelix.leviathan.command.completion;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Predefined completions compiled for prefix matching.
+ * <p>
+ * Built once per argument from {@code ArgContext.completionsPredefined()}. Candidates are sorted
+ * case-insensitively, so every candidate that equals or starts with the typed prefix lies in one
+ * contiguous range with the exact matches first, found by binary search in {@code O(log n)}. That
+ * range is returned as a view, without copying, lower-casing or sorting anything per key press.
+ * <p>
+ * When substring matching is enabled, candidates that only contain the prefix follow the range.
+ * They are found by scanning lower-cased copies prepared at build time, and a new list is only
+ * built when there are such matches.
+ */
+public final class CompletionIndex {
+
+    private static final CompletionIndex EMPTY = new CompletionIndex(new String[0], new String[0], List.of(), false);
+
+    // Candidates sorted case-insensitively (exact and prefix matches form one range)
+    private final String[] sorted;
+    // Lower-cased candidates at the same positions, for substring matching
+    private final String[] folded;
+    private final List<String> sortedView;
+    // All candidates in natural order, returned for an empty prefix
+    private final List<String> all;
+    private final boolean substringMatches;
+
+    private CompletionIndex(String[] sorted, String[] folded, List<String> all, boolean substringMatches) {
+        this.sorted = sorted;
+        this.folded = folded;
+        this.sortedView = Collections.unmodifiableList(Arrays.asList(sorted));
+        this.all = all;
+        this.substringMatches = substringMatches;
+    }
+
+    /**
+     * Compile an index over the given candidates. Null entries are ignored.
+     *
+     * @param completions      the candidates
+     * @param substringMatches whether candidates that contain (but do not start with) the prefix also match
+     * @return the index
+     */
+    public static @NotNull CompletionIndex of(@NotNull List<String> completions, boolean substringMatches) {
+        Preconditions.checkNotNull(completions, "completions");
+        List<String> candidates = new ArrayList<>(completions.size());
+        for (String completion : completions) {
+            if (completion != null) {
+                candidates.add(completion);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return EMPTY;
+        }
+        String[] sorted = candidates.toArray(new String[0]);
+        Arrays.sort(sorted, String.CASE_INSENSITIVE_ORDER);
+        String[] folded = null;
+        if (substringMatches) {
+            folded = new String[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                folded[i] = sorted[i].toLowerCase(Locale.ROOT);
+            }
+        }
+        Collections.sort(candidates);
+        return new CompletionIndex(sorted, folded, Collections.unmodifiableList(candidates), substringMatches);
+    }
+
+    /**
+     * Get the candidates matching a prefix: exact matches first, then prefix matches, then (if
+     * enabled) substring matches, each tier in case-insensitive order.
+     *
+     * @param prefix the typed prefix
+     * @return an unmodifiable list of matches; all candidates in natural order for an empty prefix
+     */
+    public @NotNull List<String> matching(@NotNull String prefix) {
+        Preconditions.checkNotNull(prefix, "prefix");
+        if (prefix.isEmpty()) {
+            return all;
+        }
+        int from = lowerBound(prefix);
+        int to = prefixEnd(from, prefix);
+        if (!substringMatches) {
+            return sortedView.subList(from, to);
+        }
+
+        // Substring tier: everything outside the prefix range, which is already matched
+        String needle = prefix.toLowerCase(Locale.ROOT);
+        List<String> result = collectContaining(needle, 0, from, null, from, to);
+        result = collectContaining(needle, to, sorted.length, result, from, to);
+        return (result != null) ? Collections.unmodifiableList(result) : sortedView.subList(from, to);
+    }
+
+    private List<String> collectContaining(String needle, int start, int end, List<String> result, int from, int to) {
+        for (int i = start; i < end; i++) {
+            if (folded[i].contains(needle)) {
+                if (result == null) {
+                    result = new ArrayList<>(sortedView.subList(from, to));
+                }
+                result.add(sorted[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the candidates equal to or starting with a prefix, ignoring case.
+     *
+     * @param prefix the typed prefix
+     * @return an unmodifiable view of the matches in case-insensitive order (exact matches first)
+     */
+    public @NotNull List<String> startingWith(@NotNull String prefix) {
+        Preconditions.checkNotNull(prefix, "prefix");
+        int from = lowerBound(prefix);
+        return sortedView.subList(from, prefixEnd(from, prefix));
+    }
+
+    /**
+     * @return the number of candidates
+     */
+    public int size() {
+        return sorted.length;
+    }
+
+    /**
+     * @return true if there are no candidates
+     */
+    public boolean isEmpty() {
+        return sorted.length == 0;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(sorted[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int prefixEnd(int from, String prefix) {
+        int length = prefix.length();
+        int to = from;
+        while (to < sorted.length && sorted[to].regionMatches(true, 0, prefix, 0, length)) {
+            to++;
+        }
+        return to;
+    }
+}
@@ -0,0 +1,249 @@
+package de.feelix.leviathan.command.completion;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.command.argument.Arg;
+import de.feelix.leviathan.command.core.SlashCommand;
+import de.feelix.leviathan.util.LazyCleanupProvider;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-sender memory of the last tab completion: the provider-backed suggestions and the parsed
+ * arguments before the cursor.
+ * <p>
+ * While a player types an argument, each key press usually appends one character to the prefix
+ * of the previous request. Since completions are filtered by exact, prefix and substring matches,
+ * every candidate that matches the longer prefix also matched the shorter one, so the previous
+ * result can simply be filtered again instead of calling the completion provider.
+ * <p>
+ * A session only answers for the same command, the same argument and the same preceding tokens,
+ * and only while the sender keeps typing; it expires after {@link #IDLE_TIMEOUT_MS} without a
+ * request. Arguments whose provider caps or ranks its results can opt out with
+ * {@code ArgContext.Builder.narrowCompletions(false)}.
+ * <p>
+ * With {@code validateOnTab}, every argument before the cursor is parsed and validated on each key
+ * press. The parsed values are remembered with the raw tokens they came from, so the next request
+ * for the same command only parses the tokens that changed or were added. They are kept for
+ * {@value #PARSED_TIMEOUT_MS} ms without a request; within that time a value is not re-checked
+ * (e.g. a player argument still holds a player who has since left).
+ */
+public final class CompletionSession {
+
+    /**
+     * Time in milliseconds after which an unused session no longer answers.
+     */
+    public static final long IDLE_TIMEOUT_MS = 3000;
+
+    /**
+     * Time in milliseconds after which unused parsed arguments are parsed again.
+     */
+    public static final long PARSED_TIMEOUT_MS = 10_000;
+
+    // Player UUID or sender name -> last completion
+    private static final Map<Object, Session> sessions = new ConcurrentHashMap<>();
+    // Player UUID or sender name -> arguments parsed before the cursor
+    private static final Map<Object, ParsedPrefix> parsedPrefixes = new ConcurrentHashMap<>();
+    private static final LazyCleanupProvider cleanupProvider = LazyCleanupProvider.createDefault();
+
+    private CompletionSession() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * The last completion of one sender.
+     */
+    private static final class Session {
+        final SlashCommand command;
+        final Arg<?> arg;
+        final String[] preceding;
+        final String prefix;
+        final List<String> completions;
+        final long lastUsed;
+
+        Session(SlashCommand command, Arg<?> arg, String[] preceding, String prefix,
+                List<String> completions, long lastUsed) {
+            this.command = command;
+            this.arg = arg;
+            this.preceding = preceding;
+            this.prefix = prefix;
+            this.completions = completions;
+            this.lastUsed = lastUsed;
+        }
+
+        boolean isExpired(long now) {
+            return now - lastUsed > IDLE_TIMEOUT_MS;
+        }
+    }
+
+    /**
+     * Validated arguments before the cursor, by position.
+     */
+    private static final class ParsedPrefix {
+        final SlashCommand command;
+        final String[] tokens;
+        final Object[] values;
+        final long lastUsed;
+
+        ParsedPrefix(SlashCommand command, String[] tokens, Object[] values, long lastUsed) {
+            this.command = command;
+            this.tokens = tokens;
+            this.values = values;
+            this.lastUsed = lastUsed;
+        }
+
+        boolean isExpired(long now) {
+            return now - lastUsed > PARSED_TIMEOUT_MS;
+        }
+    }
+
+    // ==================== Suggestions ====================
+
+    /**
+     * Get the previous completions of a sender if the new prefix extends the previous one for the
+     * same argument.
+     *
+     * @param sender   the command sender
+     * @param command  the command being completed
+     * @param arg      the argument being completed
+     * @param args     the positional tokens typed so far
+     * @param argIndex the index of the argument being completed
+     * @param prefix   the typed prefix
+     * @return the previous completions to filter, or null if the provider must be called
+     */
+    static @Nullable List<String> previous(@NotNull CommandSender sender, @NotNull SlashCommand command,
+                                           @NotNull Arg<?> arg, @NotNull String[] args, int argIndex,
+                                           @NotNull String prefix) {
+        cleanupProvider.maybeCleanup(CompletionSession::evictExpired);
+        Session session = sessions.get(keyOf(sender));
+        if (session == null
+            || session.command != command
+            || session.arg != arg
+            || session.isExpired(System.currentTimeMillis())
+            || prefix.length() < session.prefix.length()
+            || !prefix.regionMatches(true, 0, session.prefix, 0, session.prefix.length())
+            || !Arrays.equals(session.preceding, 0, session.preceding.length, args, 0, Math.min(argIndex, args.length))) {
+            return null;
+        }
+        return session.completions;
+    }
+
+    /**
+     * Remember the completions of a sender for the next key press.
+     *
+     * @param sender      the command sender
+     * @param command     the command being completed
+     * @param arg         the argument being completed
+     * @param args        the positional tokens typed so far
+     * @param argIndex    the index of the argument being completed
+     * @param prefix      the typed prefix
+     * @param completions the completions matching the prefix
+     */
+    static void remember(@NotNull CommandSender sender, @NotNull SlashCommand command, @NotNull Arg<?> arg,
+                         @NotNull String[] args, int argIndex, @NotNull String prefix,
+                         @NotNull List<String> completions) {
+        String[] preceding = Arrays.copyOf(args, Math.min(argIndex, args.length));
+        sessions.put(keyOf(sender), new Session(command, arg, preceding, prefix,
+            List.copyOf(completions), System.currentTimeMillis()));
+    }
+
+    // ==================== Parsed arguments ====================
+
+    /**
+     * Restore the parsed values of the leading tokens that are unchanged since the sender's previous
+     * request for the same command.
+     *
+     * @param sender      the command sender
+     * @param command     the command being completed
+     * @param args        the positional tokens typed so far
+     * @param count       the number of tokens before the cursor
+     * @param parsedSoFar receives the restored values by argument name, in argument order
+     * @return the number of leading tokens restored; the rest must be parsed
+     */
+    static int restoreParsed(@NotNull CommandSender sender, @NotNull SlashCommand command,
+                             @NotNull String[] args, int count, @NotNull Map<String, Object> parsedSoFar) {
+        cleanupProvider.maybeCleanup(CompletionSession::evictExpired);
+        ParsedPrefix prefix = parsedPrefixes.get(keyOf(sender));
+        if (prefix == null || prefix.command != command || prefix.isExpired(System.currentTimeMillis())) {
+            return 0;
+        }
+        int limit = Math.min(Math.min(count, args.length), prefix.tokens.length);
+        int reused = 0;
+        while (reused < limit && prefix.tokens[reused].equals(args[reused])) {
+            parsedSoFar.put(command.args().get(reused).name(), prefix.values[reused]);
+            reused++;
+        }
+        return reused;
+    }
+
+    /**
+     * Remember the validated values of the leading tokens for the sender's next request.
+     *
+     * @param sender      the command sender
+     * @param command     the command being completed
+     * @param args        the positional tokens typed so far
+     * @param count       the number of leading tokens that were validated
+     * @param parsedSoFar the validated values by argument name
+     */
+    static void rememberParsed(@NotNull CommandSender sender, @NotNull SlashCommand command,
+                               @NotNull String[] args, int count, @NotNull Map<String, Object> parsedSoFar) {
+        Object key = keyOf(sender);
+        if (count <= 0) {
+            parsedPrefixes.remove(key);
+            return;
+        }
+        String[] tokens = Arrays.copyOf(args, count);
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = parsedSoFar.get(command.args().get(i).name());
+        }
+        parsedPrefixes.put(key, new ParsedPrefix(command, tokens, values, System.currentTimeMillis()));
+    }
+
+    // ==================== Maintenance ====================
+
+    /**
+     * Forget the session of a player, e.g. on disconnect.
+     *
+     * @param playerUuid the player's UUID
+     */
+    public static void forget(@NotNull UUID playerUuid) {
+        Preconditions.checkNotNull(playerUuid, "playerUuid");
+        sessions.remove(playerUuid);
+        parsedPrefixes.remove(playerUuid);
+    }
+
+    /**
+     * Forget all sessions.
+     */
+    public static void clearAll() {
+        sessions.clear();
+        parsedPrefixes.clear();
+    }
+
+    /**
+     * @return the number of remembered sessions, including expired ones not yet evicted
+     */
+    public static int size() {
+        return sessions.size();
+    }
+
+    private static int evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = sessions.size() + parsedPrefixes.size();
+        sessions.values().removeIf(session -> session.isExpired(now));
+        parsedPrefixes.values().removeIf(prefix -> prefix.isExpired(now));
+        return Math.max(0, before - sessions.size() - parsedPrefixes.size());
+    }
+
+    private static Object keyOf(CommandSender sender) {
+        return (sender instanceof Player) ? ((Player) sender).getUniqueId() : sender.getName();
+    }
+}
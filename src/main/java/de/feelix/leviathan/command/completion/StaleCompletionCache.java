@@ -0,0 +1,316 @@
+package de.feelix.leviathan.command.completion;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.command.argument.ArgContext;
+import de.feelix.leviathan.util.LazyCleanupProvider;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Last known results of async completion sources that use
+ * {@link AsyncCompletionPolicy#staleWhileRevalidate(long, long, TimeUnit)}.
+ * <p>
+ * Predefined suppliers do not depend on the sender, so one result per supplier is shared by
+ * everyone. Dynamic providers are asked for a particular prefix, so their result is kept per
+ * provider and sender together with the preceding tokens and the prefix it was computed for; it
+ * is reused while the typed prefix extends that one. At most one refresh per entry is in flight,
+ * so fast typing does not queue up requests.
+ * <p>
+ * Metrics on served, stale and missing results and on refresh latency are kept for tuning the
+ * freshness policies.
+ */
+public final class StaleCompletionCache {
+
+    // A refresh that has not completed after this long is abandoned, so the entry can refresh again
+    private static final long REFRESH_TIMEOUT_MS = 30_000;
+
+    private static final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private static final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+    private static final LazyCleanupProvider cleanupProvider = LazyCleanupProvider.createDefault();
+
+    // Metrics
+    private static final LongAdder freshHits = new LongAdder();
+    private static final LongAdder staleHits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder totalStaleAgeMillis = new LongAdder();
+    private static final LongAdder refreshes = new LongAdder();
+    private static final LongAdder completedRefreshes = new LongAdder();
+    private static final LongAdder failedRefreshes = new LongAdder();
+    private static final LongAdder totalRefreshNanos = new LongAdder();
+    private static volatile long maxRefreshNanos;
+
+    private StaleCompletionCache() {
+        throw new AssertionError("Utility class");
+    }
+
+    private record DynamicKey(ArgContext.AsyncDynamicCompletionProvider provider, Object sender) {}
+
+    /**
+     * A loaded result. For dynamic providers, also the input it was computed for.
+     */
+    private static final class Entry {
+        final List<String> completions;
+        final @Nullable String[] preceding;
+        final @Nullable String prefix;
+        final long loadedAt;
+        final long maxStaleMillis;
+
+        Entry(List<String> completions, @Nullable String[] preceding, @Nullable String prefix, long maxStaleMillis) {
+            this.completions = completions;
+            this.preceding = preceding;
+            this.prefix = prefix;
+            this.loadedAt = System.currentTimeMillis();
+            this.maxStaleMillis = maxStaleMillis;
+        }
+
+        long age(long now) {
+            return now - loadedAt;
+        }
+    }
+
+    // ==================== Lookup ====================
+
+    /**
+     * Get the last known result of a predefined supplier, refreshing it if it is no longer fresh.
+     *
+     * @param supplier  the async supplier
+     * @param policy    the argument's freshness policy
+     * @param onFailure called with the cause if a refresh fails
+     * @return the completions to filter, or null if there is no usable result yet
+     */
+    static @Nullable List<String> predefined(@NotNull ArgContext.AsyncPredefinedCompletionSupplier supplier,
+                                             @NotNull AsyncCompletionPolicy policy,
+                                             @NotNull Consumer<Throwable> onFailure) {
+        cleanupProvider.maybeCleanup(StaleCompletionCache::evictExpired);
+        Entry entry = entries.get(supplier);
+        List<String> served = serve(entry, policy);
+        if (entry == null || entry.age(System.currentTimeMillis()) >= policy.freshMillis()) {
+            refresh(supplier, policy, null, null, onFailure, supplier::supplyAsync);
+        }
+        return served;
+    }
+
+    /**
+     * Get the last known result of a dynamic provider for a sender, if it was computed for the same
+     * preceding tokens and a prefix the typed one extends. A refresh for the typed prefix is
+     * started unless the result is fresh and was computed for exactly that prefix.
+     *
+     * @param provider  the async provider
+     * @param ctx       the completion context used for a refresh
+     * @param args      the positional tokens typed so far
+     * @param argIndex  the index of the argument being completed
+     * @param narrow    whether a result for a shorter prefix may be filtered (see
+     *                  {@code ArgContext.narrowCompletions()}); otherwise only the same prefix matches
+     * @param policy    the argument's freshness policy
+     * @param onFailure called with the cause if a refresh fails
+     * @return the completions to filter, or null if there is no usable result yet
+     */
+    static @Nullable List<String> dynamic(@NotNull ArgContext.AsyncDynamicCompletionProvider provider,
+                                          @NotNull DynamicCompletionContext ctx,
+                                          @NotNull String[] args, int argIndex, boolean narrow,
+                                          @NotNull AsyncCompletionPolicy policy,
+                                          @NotNull Consumer<Throwable> onFailure) {
+        cleanupProvider.maybeCleanup(StaleCompletionCache::evictExpired);
+        DynamicKey key = new DynamicKey(provider, keyOf(ctx.sender()));
+        String[] preceding = Arrays.copyOf(args, Math.min(argIndex, args.length));
+        String prefix = ctx.prefix();
+        Entry entry = entries.get(key);
+        boolean matches = entry != null
+            && Arrays.equals(entry.preceding, preceding)
+            && (narrow
+                ? prefix.regionMatches(true, 0, entry.prefix, 0, entry.prefix.length())
+                  && prefix.length() >= entry.prefix.length()
+                : prefix.equals(entry.prefix));
+        List<String> served = serve(matches ? entry : null, policy);
+        if (!matches || !prefix.equals(entry.prefix) || entry.age(System.currentTimeMillis()) >= policy.freshMillis()) {
+            refresh(key, policy, preceding, prefix, onFailure, () -> provider.provideAsync(ctx));
+        }
+        return served;
+    }
+
+    private static @Nullable List<String> serve(@Nullable Entry entry, AsyncCompletionPolicy policy) {
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        long age = entry.age(System.currentTimeMillis());
+        if (age > policy.maxStaleMillis()) {
+            misses.increment();
+            return null;
+        }
+        if (age < policy.freshMillis()) {
+            freshHits.increment();
+        } else {
+            staleHits.increment();
+            totalStaleAgeMillis.add(age);
+        }
+        return entry.completions;
+    }
+
+    private static void refresh(Object key, AsyncCompletionPolicy policy, @Nullable String[] preceding,
+                                @Nullable String prefix, Consumer<Throwable> onFailure,
+                                Supplier<CompletableFuture<List<String>>> source) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        refreshes.increment();
+        long start = System.nanoTime();
+        CompletableFuture<List<String>> future;
+        try {
+            future = source.get().copy().orTimeout(REFRESH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (Throwable t) {
+            refreshing.remove(key);
+            failedRefreshes.increment();
+            onFailure.accept(t);
+            return;
+        }
+        future.whenComplete((completions, error) -> {
+            try {
+                long elapsed = System.nanoTime() - start;
+                completedRefreshes.increment();
+                totalRefreshNanos.add(elapsed);
+                if (elapsed > maxRefreshNanos) {
+                    maxRefreshNanos = elapsed;
+                }
+                if (error != null) {
+                    failedRefreshes.increment();
+                    onFailure.accept(error);
+                    return;
+                }
+                List<String> loaded = (completions == null) ? List.of() : completions.stream()
+                    .filter(Objects::nonNull)
+                    .toList();
+                entries.put(key, new Entry(loaded, preceding, prefix, policy.maxStaleMillis()));
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    // ==================== Maintenance ====================
+
+    /**
+     * Forget the dynamic completion results of a player, e.g. on disconnect.
+     *
+     * @param playerUuid the player's UUID
+     */
+    public static void forget(@NotNull UUID playerUuid) {
+        Preconditions.checkNotNull(playerUuid, "playerUuid");
+        entries.keySet().removeIf(key -> key instanceof DynamicKey && playerUuid.equals(((DynamicKey) key).sender()));
+    }
+
+    /**
+     * Forget all results. Refreshes still in flight store their result when they complete.
+     */
+    public static void clearAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of stored results
+     */
+    public static int size() {
+        return entries.size();
+    }
+
+    private static int evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.age(now) > entry.maxStaleMillis);
+        return Math.max(0, before - entries.size());
+    }
+
+    private static Object keyOf(CommandSender sender) {
+        return (sender instanceof Player) ? ((Player) sender).getUniqueId() : sender.getName();
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * @return lookups answered with a result younger than the fresh period
+     */
+    public static long getFreshHits() {
+        return freshHits.sum();
+    }
+
+    /**
+     * @return lookups answered with a stale result while it was being refreshed
+     */
+    public static long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    /**
+     * @return lookups without a usable result (the parser's completions were shown)
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the average age of stale results when they were served, in milliseconds
+     */
+    public static double getAverageStalenessMillis() {
+        long count = staleHits.sum();
+        return count == 0 ? 0.0 : (double) totalStaleAgeMillis.sum() / count;
+    }
+
+    /**
+     * @return the number of refreshes started
+     */
+    public static long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    /**
+     * @return the number of refreshes that failed or timed out
+     */
+    public static long getFailedRefreshCount() {
+        return failedRefreshes.sum();
+    }
+
+    /**
+     * @return the average time from starting a refresh to its completion, in milliseconds
+     */
+    public static double getAverageRefreshMillis() {
+        long completed = completedRefreshes.sum();
+        return completed == 0 ? 0.0 : totalRefreshNanos.sum() / 1_000_000.0 / completed;
+    }
+
+    /**
+     * @return the longest refresh so far, in milliseconds
+     */
+    public static double getMaxRefreshMillis() {
+        return maxRefreshNanos / 1_000_000.0;
+    }
+
+    /**
+     * Reset all metrics.
+     */
+    public static void resetStatistics() {
+        freshHits.reset();
+        staleHits.reset();
+        misses.reset();
+        totalStaleAgeMillis.reset();
+        refreshes.reset();
+        completedRefreshes.reset();
+        failedRefreshes.reset();
+        totalRefreshNanos.reset();
+        maxRefreshNanos = 0L;
+    }
+}
@@ -6,14 +6,15 @@ import de.feelix.leviathan.command.argument.Arg;
 import de.feelix.leviathan.command.argument.ArgContext;
 import de.feelix.leviathan.command.argument.ParseResult;
 import de.feelix.leviathan.command.core.SlashCommand;
+import de.feelix.leviathan.command.core.SubcommandRouter;
 import de.feelix.leviathan.command.flag.Flag;
 import de.feelix.leviathan.command.flag.KeyValue;
 import de.feelix.leviathan.command.guard.Guard;
 import de.feelix.leviathan.command.message.MessageProvider;
+import de.feelix.leviathan.command.permission.PermissionDecisionCache;
 import de.feelix.leviathan.command.validation.ValidationHelper;
 import de.feelix.leviathan.exceptions.ParsingException;
 import de.feelix.leviathan.util.Preconditions;
-import de.feelix.leviathan.util.StringSimilarity;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
@@ -50,7 +51,7 @@ public final class TabCompletionHandler {
      * @return true if permission is defined and the sender does not have it
      */
     private static boolean lacksPermission(@NotNull CommandSender sender, @Nullable String permission) {
-        return permission != null && !permission.isEmpty() && !sender.hasPermission(permission);
+        return permission != null && !permission.isEmpty() && !PermissionDecisionCache.hasPermission(sender, permission);
     }
 
     /**
@@ -179,7 +180,7 @@ public final class TabCompletionHandler {
             return Collections.emptyList();
         }
 
-        boolean lastIsGreedy = command.args().get(command.args().size() - 1).greedy();
+        boolean lastIsGreedy = command.executionPlan().hasGreedyArgument();
         int argCount = command.args().size();
 
         // Determine the current argument index based on positional args only
@@ -263,32 +264,28 @@ public final class TabCompletionHandler {
         }
 
         String first = providedArgs[0];
-        String firstLow = first.toLowerCase(Locale.ROOT);
-        SlashCommand sub = command.subcommands().get(firstLow);
+        SubcommandRouter router = command.subcommandRouter();
 
         if (providedArgs.length == 1) {
-            // Suggest subcommand aliases, filtered by permission
+            // Suggest subcommand aliases, filtered by permission (trie walk yields keys in sorted order)
             List<String> names = new ArrayList<>();
-            List<String> allSubcommandNames = new ArrayList<>();
-            for (Map.Entry<String, SlashCommand> e : command.subcommands().entrySet()) {
-                if (lacksPermission(sender, e.getValue().permission())) continue;
-                String key = e.getKey();
-                allSubcommandNames.add(key);
-                if (key.startsWith(firstLow)) {
+            router.forEachPrefixMatch(first, (key, target) -> {
+                if (!lacksPermission(sender, target.permission())) {
                     names.add(key);
                 }
-            }
+            });
 
             // If fuzzy matching is enabled and no exact prefix matches, suggest similar subcommands
-            if (names.isEmpty() && command.fuzzySubcommandMatching() && !firstLow.isEmpty()) {
-                List<String> similar = StringSimilarity.findSimilar(firstLow, allSubcommandNames, 3, 0.4);
+            if (names.isEmpty() && command.fuzzySubcommandMatching() && !first.isEmpty()) {
+                List<String> similar = router.findSimilar(
+                    first, 3, 0.4, target -> !lacksPermission(sender, target.permission()));
                 names.addAll(similar);
+                Collections.sort(names);
             }
-
-            Collections.sort(names);
             return names;
         }
 
+        SlashCommand sub = router.route(first);
         if (sub != null) {
             // Delegate to the subcommand for the remaining tokens
             String[] remaining = providedArgs.length > 1
@@ -332,6 +329,9 @@ public final class TabCompletionHandler {
 
     /**
      * Validate previously entered arguments during tab completion.
+     * <p>
+     * Leading tokens that are unchanged since the sender's previous key press are not parsed
+     * again; their values are restored from the {@link CompletionSession}.
      *
      * @return true if all previous arguments are valid, false otherwise
      */
@@ -343,6 +343,7 @@ public final class TabCompletionHandler {
         @NotNull Map<String, Object> parsedSoFar,
         @NotNull MessageProvider messages) {
 
+        int reused = CompletionSession.restoreParsed(sender, command, providedArgs, currentArgIndex, parsedSoFar);
         for (int i = 0; i < currentArgIndex; i++) {
             Arg<?> prev = command.args().get(i);
 
@@ -350,6 +351,9 @@ public final class TabCompletionHandler {
             if (lacksPermission(sender, prev.permission())) {
                 return false;
             }
+            if (i < reused) {
+                continue;
+            }
 
             String token = providedArgs[i];
             ParseResult<?> res = prev.parser().parse(token, sender);
@@ -362,9 +366,10 @@ public final class TabCompletionHandler {
 
             if (!res.isSuccess()) {
                 if (command.sendErrors()) {
-                    String msg = res.error().orElse("invalid value");
+                    String msg = res.errorMessage(messages);
                     sender.sendMessage(messages.invalidArgumentValue(prev.name(), prev.parser().getTypeName(), msg));
                 }
+                CompletionSession.rememberParsed(sender, command, providedArgs, i, parsedSoFar);
                 return false;
             }
 
@@ -378,11 +383,15 @@ public final class TabCompletionHandler {
                 if (command.sendErrors()) {
                     sender.sendMessage(messages.validationFailed(prev.name(), validationError));
                 }
+                CompletionSession.rememberParsed(sender, command, providedArgs, i, parsedSoFar);
                 return false;
             }
 
             parsedSoFar.put(prev.name(), parsedValue);
         }
+        if (reused < currentArgIndex) {
+            CompletionSession.rememberParsed(sender, command, providedArgs, currentArgIndex, parsedSoFar);
+        }
         return true;
     }
 
@@ -411,11 +420,6 @@ public final class TabCompletionHandler {
         return providedArgs[index];
     }
 
-    /**
-     * Default timeout for async completion operations in milliseconds.
-     */
-    private static final long ASYNC_COMPLETION_TIMEOUT_MS = 2000;
-
     /**
      * Generate completion suggestions for the current argument.
      */
@@ -429,11 +433,28 @@ public final class TabCompletionHandler {
         @NotNull SlashCommand command,
         @NotNull Map<String, Object> parsedSoFar) {
 
-        List<String> completions = current.context().completionsPredefined();
+        // Check for predefined completions first; they were compiled into a prefix index at build time
+        CompletionIndex predefined = current.context().completionIndex();
+        if (!predefined.isEmpty()) {
+            return predefined.matching(prefix);
+        }
 
-        // Check for predefined completions first
-        if (!completions.isEmpty()) {
-            return filterAndSort(completions, prefix);
+        // Narrow the sender's previous provider result if the prefix only grew since the last key press.
+        // Non-blocking async sources narrow through their stale result instead, so refreshes get through.
+        AsyncCompletionPolicy asyncPolicy = current.context().asyncCompletionPolicy();
+        boolean narrow = current.context().narrowCompletions()
+            && (current.context().completionsDynamic() != null
+                || (asyncPolicy.isBlocking()
+                    && (current.context().completionsPredefinedAsync() != null
+                        || current.context().completionsDynamicAsync() != null)));
+        if (narrow) {
+            List<String> previous = CompletionSession.previous(
+                sender, command, current, providedArgs, currentArgIndex, prefix);
+            if (previous != null) {
+                List<String> narrowed = filterAndSort(previous, prefix);
+                CompletionSession.remember(sender, command, current, providedArgs, currentArgIndex, prefix, narrowed);
+                return narrowed;
+            }
         }
 
         // Check for dynamic completion provider
@@ -445,24 +466,35 @@ public final class TabCompletionHandler {
             );
             List<String> dyn = provider.provide(dctx);
             if (dyn == null) dyn = Collections.emptyList();
-            return filterAndSort(dyn, prefix);
+            List<String> filtered = filterAndSort(dyn, prefix);
+            if (narrow) {
+                CompletionSession.remember(sender, command, current, providedArgs, currentArgIndex, prefix, filtered);
+            }
+            return filtered;
         }
 
         // Check for async predefined completion supplier
         if (current.context().completionsPredefinedAsync() != null) {
             ArgContext.AsyncPredefinedCompletionSupplier supplier = current.context().completionsPredefinedAsync();
-            try {
-                CompletableFuture<List<String>> future = supplier.supplyAsync();
-                List<String> asyncCompletions = future.get(ASYNC_COMPLETION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-                if (asyncCompletions == null) asyncCompletions = Collections.emptyList();
-                return filterAndSort(asyncCompletions, prefix);
-            } catch (Exception e) {
-                // Log the error and fall through to other completion sources
-                if (command.plugin() != null) {
-                    command.plugin().getLogger().log(
-                        Level.WARNING,
-                        "Async predefined completion failed for argument '" + current.name() + "'", e
-                    );
+            if (!asyncPolicy.isBlocking()) {
+                List<String> stale = StaleCompletionCache.predefined(supplier, asyncPolicy, error ->
+                    logAsyncFailure(command, "Async predefined completion failed for argument '" + current.name() + "'", error));
+                if (stale != null) {
+                    return filterAndSort(stale, prefix);
+                }
+            } else {
+                try {
+                    CompletableFuture<List<String>> future = supplier.supplyAsync();
+                    List<String> asyncCompletions = future.get(asyncPolicy.timeoutMillis(), TimeUnit.MILLISECONDS);
+                    if (asyncCompletions == null) asyncCompletions = Collections.emptyList();
+                    List<String> filtered = filterAndSort(asyncCompletions, prefix);
+                    if (narrow) {
+                        CompletionSession.remember(sender, command, current, providedArgs, currentArgIndex, prefix, filtered);
+                    }
+                    return filtered;
+                } catch (Exception e) {
+                    // Log the error and fall through to other completion sources
+                    logAsyncFailure(command, "Async predefined completion failed for argument '" + current.name() + "'", e);
                 }
             }
         }
@@ -474,18 +506,26 @@ public final class TabCompletionHandler {
                 sender, alias, providedArgs, currentArgIndex, prefix,
                 command.args(), parsedSoFar, command
             );
-            try {
-                CompletableFuture<List<String>> future = provider.provideAsync(dctx);
-                List<String> asyncDyn = future.get(ASYNC_COMPLETION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-                if (asyncDyn == null) asyncDyn = Collections.emptyList();
-                return filterAndSort(asyncDyn, prefix);
-            } catch (Exception e) {
-                // Log the error and fall through to parser completions
-                if (command.plugin() != null) {
-                    command.plugin().getLogger().log(
-                        Level.WARNING,
-                        "Async dynamic completion failed for argument '" + current.name() + "'", e
-                    );
+            if (!asyncPolicy.isBlocking()) {
+                List<String> stale = StaleCompletionCache.dynamic(
+                    provider, dctx, providedArgs, currentArgIndex, current.context().narrowCompletions(), asyncPolicy,
+                    error -> logAsyncFailure(command, "Async dynamic completion failed for argument '" + current.name() + "'", error));
+                if (stale != null) {
+                    return filterAndSort(stale, prefix);
+                }
+            } else {
+                try {
+                    CompletableFuture<List<String>> future = provider.provideAsync(dctx);
+                    List<String> asyncDyn = future.get(asyncPolicy.timeoutMillis(), TimeUnit.MILLISECONDS);
+                    if (asyncDyn == null) asyncDyn = Collections.emptyList();
+                    List<String> filtered = filterAndSort(asyncDyn, prefix);
+                    if (narrow) {
+                        CompletionSession.remember(sender, command, current, providedArgs, currentArgIndex, prefix, filtered);
+                    }
+                    return filtered;
+                } catch (Exception e) {
+                    // Log the error and fall through to parser completions
+                    logAsyncFailure(command, "Async dynamic completion failed for argument '" + current.name() + "'", e);
                 }
             }
         }
@@ -501,6 +541,12 @@ public final class TabCompletionHandler {
         return suggestions;
     }
 
+    private static void logAsyncFailure(@NotNull SlashCommand command, @NotNull String message, @NotNull Throwable error) {
+        if (command.plugin() != null) {
+            command.plugin().getLogger().log(Level.WARNING, message, error);
+        }
+    }
+
     /**
      * Filter completions by prefix and sort them.
      * Enhanced to support smart filtering: exact matches first, then prefix matches, then substring matches.
@@ -0,0 +1,357 @@
+package de.feelix.leviathan.command.completion;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.command.argument.ArgContext;
+import de.feelix.leviathan.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Opt-in substring index for large, changing completion sources (item IDs, shop listings, regions).
+ * <p>
+ * Every entry is split into its case-folded trigrams (three-character windows), each with a posting
+ * list of the entries containing it. A query of three or more characters intersects the posting lists
+ * of its own trigrams, starting with the shortest, instead of scanning every entry. Results keep the
+ * ranking of {@code TabCompletionHandler}: exact match, then prefix matches (from a sorted map), then
+ * substring matches, each tier alphabetical, cut off after {@code limit} results.
+ * <p>
+ * Queries of one or two characters have no trigram and only match exact and prefix tiers.
+ * Entries are unique ignoring case. The index can be updated at any time; reads and writes are
+ * guarded by a {@link ReadWriteLock}, so asynchronous tab completion may query it concurrently.
+ * <pre>{@code
+ * TrigramIndex listings = TrigramIndex.of(shop.listingNames());
+ * shop.onListingAdded(name -> listings.add(name));
+ *
+ * ArgContext.builder()
+ *     .completionsDynamic(listings.provider(50))
+ *     .narrowCompletions(false) // results are capped, so a longer prefix may find new entries
+ *     .build();
+ * }</pre>
+ */
+public final class TrigramIndex {
+
+    // Compact once this many entries were removed and they outnumber the live ones
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Folded entry -> id; sorted for exact and prefix lookups
+    private final TreeMap<String, Integer> idsByFolded = new TreeMap<>();
+    // Original and folded spelling by id (null once removed); ids only grow, so postings stay sorted
+    private final List<String> values = new ArrayList<>();
+    private final List<String> foldedValues = new ArrayList<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private int removed;
+
+    private TrigramIndex() {
+    }
+
+    /**
+     * @return a new, empty index
+     */
+    public static @NotNull TrigramIndex create() {
+        return new TrigramIndex();
+    }
+
+    /**
+     * Create an index over the given entries.
+     *
+     * @param entries the entries; null entries are ignored
+     * @return a new index
+     */
+    public static @NotNull TrigramIndex of(@NotNull Collection<String> entries) {
+        TrigramIndex index = new TrigramIndex();
+        index.addAll(entries);
+        return index;
+    }
+
+    // ==================== Updates ====================
+
+    /**
+     * Add an entry. An entry differing only by case replaces the spelling of the existing one.
+     *
+     * @param entry the entry
+     */
+    public void add(@NotNull String entry) {
+        Preconditions.checkNotNull(entry, "entry");
+        lock.writeLock().lock();
+        try {
+            addLocked(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add several entries under a single lock.
+     *
+     * @param entries the entries; null entries are ignored
+     */
+    public void addAll(@NotNull Collection<String> entries) {
+        Preconditions.checkNotNull(entries, "entries");
+        lock.writeLock().lock();
+        try {
+            for (String entry : entries) {
+                if (entry != null) {
+                    addLocked(entry);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an entry, ignoring case.
+     *
+     * @param entry the entry
+     * @return true if the entry was indexed
+     */
+    public boolean remove(@NotNull String entry) {
+        Preconditions.checkNotNull(entry, "entry");
+        String folded = fold(entry);
+        lock.writeLock().lock();
+        try {
+            Integer id = idsByFolded.remove(folded);
+            if (id == null) {
+                return false;
+            }
+            forEachTrigram(folded, key -> {
+                Postings list = postings.get(key);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(key);
+                }
+            });
+            values.set(id, null);
+            foldedValues.set(id, null);
+            removed++;
+            if (removed > COMPACT_THRESHOLD && removed > idsByFolded.size()) {
+                compact();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            idsByFolded.clear();
+            values.clear();
+            foldedValues.clear();
+            postings.clear();
+            removed = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(String entry) {
+        String folded = fold(entry);
+        Integer existing = idsByFolded.get(folded);
+        if (existing != null) {
+            values.set(existing, entry);
+            return;
+        }
+        int id = values.size();
+        values.add(entry);
+        foldedValues.add(folded);
+        idsByFolded.put(folded, id);
+        forEachTrigram(folded, key -> postings.computeIfAbsent(key, k -> new Postings()).append(id));
+    }
+
+    /**
+     * Renumber the live entries, dropping removed ids from all lists.
+     */
+    private void compact() {
+        List<String> live = new ArrayList<>(idsByFolded.size());
+        for (Integer id : idsByFolded.values()) {
+            live.add(values.get(id));
+        }
+        idsByFolded.clear();
+        values.clear();
+        foldedValues.clear();
+        postings.clear();
+        removed = 0;
+        for (String entry : live) {
+            addLocked(entry);
+        }
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Find entries matching the typed text: exact, then prefix, then substring matches.
+     *
+     * @param query the typed text (case-insensitive)
+     * @param limit the maximum number of results
+     * @return the ranked matches
+     */
+    public @NotNull List<String> search(@NotNull String query, int limit) {
+        Preconditions.checkNotNull(query, "query");
+        Preconditions.checkArgument(limit > 0, "limit must be positive");
+        String folded = fold(query);
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        lock.readLock().lock();
+        try {
+            // Exact and prefix tiers: the folded query itself sorts first in its prefix range
+            Iterator<Map.Entry<String, Integer>> range = idsByFolded.tailMap(folded, true).entrySet().iterator();
+            while (result.size() < limit && range.hasNext()) {
+                Map.Entry<String, Integer> entry = range.next();
+                if (!entry.getKey().startsWith(folded)) {
+                    break;
+                }
+                result.add(values.get(entry.getValue()));
+            }
+            if (result.size() < limit && folded.length() >= 3) {
+                collectSubstringMatches(folded, limit - result.size(), result);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Create a completion provider answering from this index.
+     *
+     * @param limit the maximum number of suggestions per key press
+     * @return a dynamic completion provider
+     */
+    public @NotNull ArgContext.DynamicCompletionProvider provider(int limit) {
+        Preconditions.checkArgument(limit > 0, "limit must be positive");
+        return ctx -> search(ctx.prefix(), limit);
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return idsByFolded.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param entry the entry
+     * @return true if the entry is indexed, ignoring case
+     */
+    public boolean contains(@NotNull String entry) {
+        Preconditions.checkNotNull(entry, "entry");
+        String folded = fold(entry);
+        lock.readLock().lock();
+        try {
+            return idsByFolded.containsKey(folded);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collectSubstringMatches(String folded, int limit, List<String> result) {
+        List<Postings> lists = new ArrayList<>();
+        boolean[] missing = new boolean[1];
+        forEachTrigram(folded, key -> {
+            Postings list = postings.get(key);
+            if (list == null) {
+                missing[0] = true;
+            } else if (!lists.contains(list)) {
+                lists.add(list);
+            }
+        });
+        if (missing[0] || lists.isEmpty()) {
+            return;
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        // Walk the shortest list and keep ids present in all others
+        Postings shortest = lists.get(0);
+        List<String> matches = new ArrayList<>();
+        for (int i = 0; i < shortest.size; i++) {
+            int id = shortest.ids[i];
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) {
+                inAll = lists.get(j).contains(id);
+            }
+            if (!inAll) {
+                continue;
+            }
+            // Trigrams may match out of order; prefix matches were already collected
+            String candidate = foldedValues.get(id);
+            if (!candidate.startsWith(folded) && candidate.contains(folded)) {
+                matches.add(candidate);
+            }
+        }
+        matches.sort(null);
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            result.add(values.get(idsByFolded.get(matches.get(i))));
+        }
+    }
+
+    // ==================== Trigrams ====================
+
+    private static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static void forEachTrigram(String folded, TrigramConsumer consumer) {
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            long key = ((long) folded.charAt(i) << 32) | ((long) folded.charAt(i + 1) << 16) | folded.charAt(i + 2);
+            consumer.accept(key);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TrigramConsumer {
+        void accept(long key);
+    }
+
+    /**
+     * Sorted, growable list of entry ids.
+     */
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void append(int id) {
+            // The same trigram can occur twice in one entry
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size << 1);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,613 @@
+package de.feelix.leviathan.command.cooldown;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Optional persistence for {@link CooldownStore} cooldowns, so long cooldowns (daily rewards,
+ * weekly kits) survive server restarts.
+ * <p>
+ * Every cooldown update is appended to a memory-mapped journal file. Appends are handed to a
+ * background writer, which writes whatever has queued up and then flushes the mapping once per
+ * batch (group commit), so command execution never waits for disk I/O. When the journal fills up,
+ * and periodically, the writer compacts it: the live cooldowns of all stores are written to a
+ * snapshot file and the journal is reset.
+ * <p>
+ * On {@link #enable(JavaPlugin)} the snapshot is loaded with one sequential read and the journal is
+ * replayed on top of it. Cooldowns are matched to commands by the name a store registers them
+ * under, which for {@code SlashCommand}s is the full command path (e.g. {@code "warp list"}), so
+ * commands built before or after enabling the journal both get their cooldowns back.
+ * Entries of commands that are not registered in this run are kept until they expire.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * @Override
+ * public void onEnable() {
+ *     CooldownJournal.enable(this);
+ *     // register commands...
+ * }
+ *
+ * @Override
+ * public void onDisable() {
+ *     CooldownJournal.disable();
+ *     ResourceCleanup.cleanupAll();
+ * }
+ * }</pre>
+ */
+public final class CooldownJournal {
+
+    private static final String SNAPSHOT_FILE = "cooldowns.snapshot";
+    private static final String JOURNAL_FILE = "cooldowns.journal";
+    private static final int SNAPSHOT_MAGIC = 0x4C434453; // "LCDS"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    // Initial size of the mapped journal region (1 MiB)
+    private static final int JOURNAL_CAPACITY = 1 << 20;
+    // Compact once the journal is three quarters full
+    private static final double COMPACTION_THRESHOLD = 0.75;
+    // Compact at least this often while there are journal records
+    private static final long COMPACTION_INTERVAL_MILLIS = 10 * 60 * 1000L;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000L;
+
+    private static final byte TYPE_USER = 1;
+    private static final byte TYPE_SERVER = 2;
+    private static final byte TYPE_CLEAR_COMMAND = 3;
+
+    // Record header: payload length + CRC32 of the payload
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_NAME_BYTES = Short.MAX_VALUE;
+
+    private static final Object LIFECYCLE_LOCK = new Object();
+    private static volatile @Nullable CooldownJournal active;
+
+    // Metrics
+    private static final LongAdder appended = new LongAdder();
+    private static final LongAdder commits = new LongAdder();
+    private static final LongAdder compactions = new LongAdder();
+    private static final LongAdder restored = new LongAdder();
+
+    private final Path directory;
+    private final Logger logger;
+    private final LinkedBlockingQueue<Record> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Loaded cooldowns not yet claimed by a registered command (guarded by this)
+    private final Map<String, CommandEntries> unclaimed = new HashMap<>();
+
+    // Journal file state, only touched by the writer thread after construction
+    private FileChannel journalChannel;
+    private MappedByteBuffer journal;
+    private long lastCompactionMillis = System.currentTimeMillis();
+
+    private CooldownJournal(@NotNull Path directory, @NotNull Logger logger) throws IOException {
+        this.directory = directory;
+        this.logger = logger;
+        Files.createDirectories(directory);
+        loadSnapshot();
+        openJournal();
+        this.writer = new Thread(this::runWriter, "leviathan-cooldown-journal");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Enable persistence in the plugin's data folder ({@code <dataFolder>/cooldowns}).
+     *
+     * @param plugin the plugin
+     * @return true if the journal was enabled, false if it could not be opened (the error is logged)
+     */
+    public static boolean enable(@NotNull JavaPlugin plugin) {
+        Preconditions.checkNotNull(plugin, "plugin");
+        return enable(plugin.getDataFolder().toPath().resolve("cooldowns"), plugin.getLogger());
+    }
+
+    /**
+     * Enable persistence in the given directory.
+     * <p>
+     * Loads the snapshot and journal, restores the cooldowns of all existing stores and starts the
+     * background writer. Has no effect if a journal is already enabled.
+     *
+     * @param directory the directory holding the snapshot and journal files
+     * @param logger    the logger for I/O errors
+     * @return true if the journal was enabled, false if it could not be opened (the error is logged)
+     */
+    public static boolean enable(@NotNull Path directory, @NotNull Logger logger) {
+        Preconditions.checkNotNull(directory, "directory");
+        Preconditions.checkNotNull(logger, "logger");
+        synchronized (LIFECYCLE_LOCK) {
+            if (active != null) {
+                return true;
+            }
+            CooldownJournal journal;
+            try {
+                journal = new CooldownJournal(directory, logger);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Failed to open cooldown journal in " + directory, e);
+                return false;
+            }
+            active = journal;
+            for (CooldownStore store : CooldownStore.liveStores()) {
+                store.restoreAll();
+            }
+            journal.writer.start();
+            return true;
+        }
+    }
+
+    /**
+     * Disable persistence: writes the pending updates, compacts the journal into a snapshot and
+     * closes the files. Call this in {@code onDisable()} before clearing any cooldowns.
+     */
+    public static void disable() {
+        CooldownJournal journal;
+        synchronized (LIFECYCLE_LOCK) {
+            journal = active;
+            if (journal == null) {
+                return;
+            }
+            active = null;
+        }
+        journal.running = false;
+        journal.queue.offer(Record.WAKE_UP);
+        try {
+            journal.writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return true if cooldown updates are being persisted
+     */
+    public static boolean isEnabled() {
+        return active != null;
+    }
+
+    // ==================== Store Hooks ====================
+
+    /**
+     * Record a per-user deadline (0 = cleared). Never blocks.
+     */
+    static void recordUser(@NotNull String commandName, long mostBits, long leastBits, long deadline) {
+        CooldownJournal journal = active;
+        if (journal != null) {
+            journal.queue.offer(new Record(TYPE_USER, commandName, mostBits, leastBits, deadline));
+        }
+    }
+
+    /**
+     * Record a per-server deadline (0 = cleared). Never blocks.
+     */
+    static void recordServer(@NotNull String commandName, long deadline) {
+        CooldownJournal journal = active;
+        if (journal != null) {
+            journal.queue.offer(new Record(TYPE_SERVER, commandName, 0L, 0L, deadline));
+        }
+    }
+
+    /**
+     * Record that all cooldowns of a command were cleared. Never blocks.
+     */
+    static void recordClear(@NotNull String commandName) {
+        CooldownJournal journal = active;
+        if (journal != null) {
+            journal.queue.offer(new Record(TYPE_CLEAR_COMMAND, commandName, 0L, 0L, 0L));
+        }
+    }
+
+    /**
+     * Hand the loaded cooldowns of a command to the store that registered it.
+     * Called with the store's lock held.
+     */
+    static void restoreInto(@NotNull CooldownStore store, int commandId, @NotNull String commandName) {
+        CooldownJournal journal = active;
+        if (journal == null) {
+            return;
+        }
+        CommandEntries entries;
+        synchronized (journal) {
+            entries = journal.unclaimed.remove(commandName);
+        }
+        if (entries == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (entries.serverDeadline > now) {
+            store.restoreServer(commandId, entries.serverDeadline);
+            restored.increment();
+        }
+        for (Map.Entry<UUID, Long> user : entries.users.entrySet()) {
+            if (user.getValue() > now) {
+                store.restoreUser(commandId, user.getKey(), user.getValue());
+                restored.increment();
+            }
+        }
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * @return the total number of records written to the journal
+     */
+    public static long getAppendedCount() {
+        return appended.sum();
+    }
+
+    /**
+     * @return the total number of group commits (flushes of the journal)
+     */
+    public static long getCommitCount() {
+        return commits.sum();
+    }
+
+    /**
+     * @return the total number of compactions into the snapshot
+     */
+    public static long getCompactionCount() {
+        return compactions.sum();
+    }
+
+    /**
+     * @return the total number of cooldowns restored into stores
+     */
+    public static long getRestoredCount() {
+        return restored.sum();
+    }
+
+    /**
+     * @return the number of updates waiting for the writer
+     */
+    public static int getPendingWriteCount() {
+        CooldownJournal journal = active;
+        return journal != null ? journal.queue.size() : 0;
+    }
+
+    // ==================== Writer ====================
+
+    private void runWriter() {
+        List<Record> batch = new ArrayList<>();
+        try {
+            while (running || !queue.isEmpty()) {
+                Record first = queue.poll(COMPACTION_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                    writeBatch(batch);
+                    batch.clear();
+                }
+                if (journal.position() > 0
+                    && System.currentTimeMillis() - lastCompactionMillis >= COMPACTION_INTERVAL_MILLIS) {
+                    compact();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.SEVERE, "Cooldown journal writer failed; cooldown updates are no longer persisted", e);
+            synchronized (LIFECYCLE_LOCK) {
+                if (active == this) {
+                    active = null;
+                }
+            }
+        } finally {
+            shutdown();
+        }
+    }
+
+    // Writes a batch and flushes it with a single force (group commit)
+    private void writeBatch(@NotNull List<Record> batch) throws IOException {
+        int written = 0;
+        for (Record record : batch) {
+            if (record == Record.WAKE_UP) {
+                continue;
+            }
+            byte[] payload = record.encode();
+            int needed = HEADER_BYTES + payload.length;
+            if (journal.remaining() < needed + HEADER_BYTES
+                || journal.position() + needed > journal.capacity() * COMPACTION_THRESHOLD) {
+                // Persist what this batch wrote so far, then fold everything into the snapshot
+                journal.force();
+                compact();
+                if (journal.remaining() < needed + HEADER_BYTES) {
+                    growJournal(needed);
+                }
+            }
+            writeRecord(journal, payload);
+            written++;
+        }
+        if (written > 0) {
+            journal.force();
+            appended.add(written);
+            commits.increment();
+        }
+    }
+
+    // Writes the live cooldowns of all stores (and unclaimed loaded ones) to the snapshot, then resets the journal
+    private void compact() throws IOException {
+        long now = System.currentTimeMillis();
+        SnapshotBuilder builder = new SnapshotBuilder(now);
+        // Unclaimed entries first: a command registering meanwhile then shows up twice, never not at all
+        synchronized (this) {
+            for (Iterator<Map.Entry<String, CommandEntries>> it = unclaimed.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, CommandEntries> entry = it.next();
+                CommandEntries entries = entry.getValue();
+                entries.users.values().removeIf(deadline -> deadline <= now);
+                if (entries.serverDeadline <= now && entries.users.isEmpty()) {
+                    it.remove();
+                    continue;
+                }
+                builder.server(entry.getKey(), entries.serverDeadline);
+                for (Map.Entry<UUID, Long> user : entries.users.entrySet()) {
+                    builder.user(entry.getKey(), user.getKey().getMostSignificantBits(),
+                        user.getKey().getLeastSignificantBits(), user.getValue());
+                }
+            }
+        }
+        for (CooldownStore store : CooldownStore.liveStores()) {
+            store.exportLive(builder);
+        }
+
+        // Write to a temporary file first so a crash never leaves a half-written snapshot
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = builder.finish();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+
+        // The snapshot now covers every journal record; replaying them again would be harmless
+        int used = journal.position();
+        for (int i = 0; i < used; i++) {
+            journal.put(i, (byte) 0);
+        }
+        journal.position(0);
+        journal.force();
+        lastCompactionMillis = now;
+        compactions.increment();
+    }
+
+    private void shutdown() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to compact cooldown journal on shutdown", e);
+        }
+        try {
+            journalChannel.close();
+        } catch (IOException ignored) {
+            // Nothing left to persist
+        }
+    }
+
+    // ==================== Loading ====================
+
+    // Reads the snapshot with one sequential read
+    private void loadSnapshot() throws IOException {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < 8 || buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+            logger.warning("Ignoring unreadable cooldown snapshot " + file);
+            return;
+        }
+        while (readRecord(buffer)) {
+            // Apply every intact record
+        }
+    }
+
+    private void openJournal() throws IOException {
+        Path file = directory.resolve(JOURNAL_FILE);
+        journalChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        int capacity = (int) Math.max(JOURNAL_CAPACITY, Math.min(journalChannel.size(), Integer.MAX_VALUE));
+        journal = journalChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        while (readRecord(journal)) {
+            // Replay every intact record on top of the snapshot
+        }
+        // Wipe a torn or corrupt tail so new records are never followed by stale bytes
+        int end = journal.position();
+        for (int i = end; i < journal.capacity() && journal.get(i) != 0; i++) {
+            journal.put(i, (byte) 0);
+        }
+        journal.position(end);
+    }
+
+    private void growJournal(int needed) throws IOException {
+        int used = journal.position();
+        long capacity = (long) journal.capacity() * 2;
+        while (capacity - used < (long) needed + HEADER_BYTES) {
+            capacity *= 2;
+        }
+        journal = journalChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(capacity, Integer.MAX_VALUE));
+        journal.position(used);
+    }
+
+    // Reads and applies one record at the buffer's position; returns false at the end or on a damaged record
+    private boolean readRecord(@NotNull ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return false;
+        }
+        int start = buffer.position();
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining()) {
+            buffer.position(start);
+            return false;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+            buffer.position(start);
+            return false;
+        }
+        apply(ByteBuffer.wrap(payload));
+        return true;
+    }
+
+    private void apply(@NotNull ByteBuffer payload) {
+        byte type = payload.get();
+        byte[] nameBytes = new byte[payload.getShort() & 0xFFFF];
+        payload.get(nameBytes);
+        String commandName = new String(nameBytes, StandardCharsets.UTF_8);
+        long mostBits = payload.getLong();
+        long leastBits = payload.getLong();
+        long deadline = payload.getLong();
+
+        synchronized (this) {
+            if (type == TYPE_CLEAR_COMMAND) {
+                unclaimed.remove(commandName);
+                return;
+            }
+            CommandEntries entries = unclaimed.computeIfAbsent(commandName, k -> new CommandEntries());
+            if (type == TYPE_SERVER) {
+                entries.serverDeadline = deadline;
+            } else if (type == TYPE_USER) {
+                UUID userId = new UUID(mostBits, leastBits);
+                if (deadline == 0L) {
+                    entries.users.remove(userId);
+                } else {
+                    entries.users.put(userId, deadline);
+                }
+            }
+        }
+    }
+
+    private static void writeRecord(@NotNull ByteBuffer buffer, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+    }
+
+    // ==================== Records ====================
+
+    /**
+     * A queued cooldown update.
+     */
+    private static final class Record {
+        // Wakes the writer up without writing anything
+        static final Record WAKE_UP = new Record((byte) 0, "", 0L, 0L, 0L);
+
+        final byte type;
+        final String commandName;
+        final long mostBits;
+        final long leastBits;
+        final long deadline;
+
+        Record(byte type, String commandName, long mostBits, long leastBits, long deadline) {
+            this.type = type;
+            this.commandName = commandName;
+            this.mostBits = mostBits;
+            this.leastBits = leastBits;
+            this.deadline = deadline;
+        }
+
+        byte[] encode() {
+            return CooldownJournal.encode(type, commandName, mostBits, leastBits, deadline);
+        }
+    }
+
+    private static byte[] encode(byte type, @NotNull String commandName, long mostBits, long leastBits,
+                                           long deadline) {
+        byte[] name = commandName.getBytes(StandardCharsets.UTF_8);
+        Preconditions.checkArgument(name.length <= MAX_NAME_BYTES, "Command name too long: " + commandName);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 2 + name.length + 3 * Long.BYTES);
+        buffer.put(type);
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        buffer.putLong(mostBits);
+        buffer.putLong(leastBits);
+        buffer.putLong(deadline);
+        return buffer.array();
+    }
+
+    /**
+     * Loaded cooldowns of one command.
+     */
+    private static final class CommandEntries {
+        long serverDeadline;
+        final Map<UUID, Long> users = new HashMap<>();
+    }
+
+    /**
+     * Collects live cooldowns into the snapshot format.
+     */
+    static final class SnapshotBuilder {
+        private final long now;
+        private ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        private SnapshotBuilder(long now) {
+            this.now = now;
+            buffer.putInt(SNAPSHOT_MAGIC);
+            buffer.putInt(SNAPSHOT_VERSION);
+        }
+
+        /**
+         * Add a per-user cooldown; expired deadlines are skipped.
+         */
+        void user(@NotNull String commandName, long mostBits, long leastBits, long deadline) {
+            if (deadline > now) {
+                add(encode(TYPE_USER, commandName, mostBits, leastBits, deadline));
+            }
+        }
+
+        /**
+         * Add a per-server cooldown; expired deadlines are skipped.
+         */
+        void server(@NotNull String commandName, long deadline) {
+            if (deadline > now) {
+                add(encode(TYPE_SERVER, commandName, 0L, 0L, deadline));
+            }
+        }
+
+        private void add(byte[] payload) {
+            if (buffer.remaining() < HEADER_BYTES + payload.length) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2,
+                    buffer.position() + HEADER_BYTES + payload.length));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+            writeRecord(buffer, payload);
+        }
+
+        private @NotNull ByteBuffer finish() {
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
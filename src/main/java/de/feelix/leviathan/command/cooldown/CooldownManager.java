@@ -1,12 +1,15 @@
 package de.feelix.leviathan.command.cooldown;
 
 import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.util.ExpiryWheel;
 import de.feelix.leviathan.util.LazyCleanupProvider;
 import de.feelix.leviathan.util.Preconditions;
 
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Manages cooldowns for commands, supporting both per-user and per-server (global) cooldowns.
@@ -15,8 +18,13 @@ import java.util.concurrent.ConcurrentHashMap;
  * across multiple command executions.
  * <p>
  * The manager includes automatic cleanup of expired cooldown entries to prevent memory leaks
- * on long-running servers. Cleanup is performed lazily via {@link #lazyCleanup()} or can be
- * triggered manually via {@link #cleanupExpired()}.
+ * on long-running servers. Every recorded execution registers its own removal on the shared
+ * {@link ExpiryWheel}, replacing the pending removal of the previous execution of the same command
+ * and user; clearing a cooldown cancels it. Checks never pay for sweeping; {@link #cleanupExpired()} can still be
+ * triggered manually, e.g. to drop empty per-command maps.
+ * <p>
+ * {@code SlashCommand} keeps its own cooldowns in a {@link CooldownStore}; this manager remains
+ * available for cooldowns tracked by name outside of commands.
  */
 public final class CooldownManager {
     // Cooldown tracking: commandName -> (userId -> lastExecutionTime)
@@ -26,9 +34,14 @@ public final class CooldownManager {
     // Cooldown durations: commandName -> cooldownMillis (for cleanup reference)
     private static final Map<String, Long> userCooldownDurations = new ConcurrentHashMap<>();
     private static final Map<String, Long> serverCooldownDurations = new ConcurrentHashMap<>();
+    // Pending removals on the expiry wheel, replaced on every execution and cancelled when cleared
+    private static final Map<String, ExpiryWheel.Handle> serverExpiries = new ConcurrentHashMap<>();
+    private static final Map<UserKey, ExpiryWheel.Handle> userExpiries = new ConcurrentHashMap<>();
 
-    // Lazy cleanup using shared utility (interval of 25 for more aggressive cleanup)
-    private static final LazyCleanupProvider cleanupProvider = LazyCleanupProvider.withInterval(25);
+    // Statistics for manual sweeps
+    private static final LazyCleanupProvider cleanupProvider = LazyCleanupProvider.createDefault();
+    // Entries removed by their expiry callback
+    private static final LongAdder expiredRemovals = new LongAdder();
 
     // Grace period after cooldown expires before cleanup (30 seconds - reduced from 60 to prevent memory buildup)
     private static final long CLEANUP_GRACE_PERIOD_MS = 30 * 1000L;
@@ -40,6 +53,8 @@ public final class CooldownManager {
         // Utility class - prevent instantiation
     }
 
+    private record UserKey(String commandName, String userId) {}
+
     /**
      * Check if a per-server cooldown is active for the given command.
      *
@@ -50,15 +65,12 @@ public final class CooldownManager {
     public static @NotNull CooldownResult checkServerCooldown(@NotNull String commandName, long cooldownMillis) {
         Preconditions.checkNotNull(commandName, "commandName");
 
-        // Lazy cleanup on access
-        lazyCleanup();
-
         if (cooldownMillis <= 0) {
             return CooldownResult.notOnCooldown();
         }
 
         // Store duration for cleanup reference
-        serverCooldownDurations.put(commandName, cooldownMillis);
+        recordDuration(serverCooldownDurations, commandName, cooldownMillis);
 
         Long lastExecution = perServerCooldowns.get(commandName);
         if (lastExecution == null) {
@@ -88,15 +100,12 @@ public final class CooldownManager {
         Preconditions.checkNotNull(commandName, "commandName");
         Preconditions.checkNotNull(userId, "userId");
 
-        // Lazy cleanup on access
-        lazyCleanup();
-
         if (cooldownMillis <= 0) {
             return CooldownResult.notOnCooldown();
         }
 
         // Store duration for cleanup reference
-        userCooldownDurations.put(commandName, cooldownMillis);
+        recordDuration(userCooldownDurations, commandName, cooldownMillis);
 
         Map<String, Long> userCooldowns = perUserCooldowns.get(commandName);
         if (userCooldowns == null) {
@@ -118,6 +127,15 @@ public final class CooldownManager {
         return CooldownResult.notOnCooldown();
     }
 
+    // Writes only when the duration changed, so repeated checks stay read-only
+    private static void recordDuration(@NotNull Map<String, Long> durations, @NotNull String commandName,
+                                       long cooldownMillis) {
+        Long previous = durations.get(commandName);
+        if (previous == null || previous != cooldownMillis) {
+            durations.put(commandName, cooldownMillis);
+        }
+    }
+
     /**
      * Update the server cooldown timestamp for the given command.
      *
@@ -125,7 +143,7 @@ public final class CooldownManager {
      */
     public static void updateServerCooldown(@NotNull String commandName) {
         Preconditions.checkNotNull(commandName, "commandName");
-        perServerCooldowns.put(commandName, System.currentTimeMillis());
+        recordServerExecution(commandName, serverCooldownDurations.getOrDefault(commandName, DEFAULT_CLEANUP_DURATION_MS));
     }
 
     /**
@@ -136,9 +154,11 @@ public final class CooldownManager {
      */
     public static void updateServerCooldown(@NotNull String commandName, long cooldownMillis) {
         Preconditions.checkNotNull(commandName, "commandName");
-        perServerCooldowns.put(commandName, System.currentTimeMillis());
         if (cooldownMillis > 0) {
             serverCooldownDurations.put(commandName, cooldownMillis);
+            recordServerExecution(commandName, cooldownMillis);
+        } else {
+            updateServerCooldown(commandName);
         }
     }
 
@@ -151,8 +171,7 @@ public final class CooldownManager {
     public static void updateUserCooldown(@NotNull String commandName, @NotNull String userId) {
         Preconditions.checkNotNull(commandName, "commandName");
         Preconditions.checkNotNull(userId, "userId");
-        Map<String, Long> userCooldowns = perUserCooldowns.computeIfAbsent(commandName, k -> new ConcurrentHashMap<>());
-        userCooldowns.put(userId, System.currentTimeMillis());
+        recordUserExecution(commandName, userId, userCooldownDurations.getOrDefault(commandName, DEFAULT_CLEANUP_DURATION_MS));
     }
 
     /**
@@ -165,10 +184,51 @@ public final class CooldownManager {
     public static void updateUserCooldown(@NotNull String commandName, @NotNull String userId, long cooldownMillis) {
         Preconditions.checkNotNull(commandName, "commandName");
         Preconditions.checkNotNull(userId, "userId");
-        Map<String, Long> userCooldowns = perUserCooldowns.computeIfAbsent(commandName, k -> new ConcurrentHashMap<>());
-        userCooldowns.put(userId, System.currentTimeMillis());
         if (cooldownMillis > 0) {
             userCooldownDurations.put(commandName, cooldownMillis);
+            recordUserExecution(commandName, userId, cooldownMillis);
+        } else {
+            updateUserCooldown(commandName, userId);
+        }
+    }
+
+    /**
+     * Record a server execution and schedule its removal once the cooldown and grace period passed.
+     */
+    private static void recordServerExecution(@NotNull String commandName, long durationMillis) {
+        final Long timestamp = System.currentTimeMillis();
+        perServerCooldowns.put(commandName, timestamp);
+        ExpiryWheel.Handle handle = ExpiryWheel.shared().schedule(durationMillis + CLEANUP_GRACE_PERIOD_MS, () -> {
+            // Only remove if the command was not executed again in the meantime
+            if (perServerCooldowns.remove(commandName, timestamp)) {
+                serverExpiries.remove(commandName);
+                expiredRemovals.increment();
+            }
+        });
+        cancel(serverExpiries.put(commandName, handle));
+    }
+
+    /**
+     * Record a user execution and schedule its removal once the cooldown and grace period passed.
+     */
+    private static void recordUserExecution(@NotNull String commandName, @NotNull String userId, long durationMillis) {
+        final Long timestamp = System.currentTimeMillis();
+        Map<String, Long> userCooldowns = perUserCooldowns.computeIfAbsent(commandName, k -> new ConcurrentHashMap<>());
+        userCooldowns.put(userId, timestamp);
+        UserKey key = new UserKey(commandName, userId);
+        ExpiryWheel.Handle handle = ExpiryWheel.shared().schedule(durationMillis + CLEANUP_GRACE_PERIOD_MS, () -> {
+            // Only remove if the user did not execute the command again in the meantime
+            if (userCooldowns.remove(userId, timestamp)) {
+                userExpiries.remove(key);
+                expiredRemovals.increment();
+            }
+        });
+        cancel(userExpiries.put(key, handle));
+    }
+
+    private static void cancel(@Nullable ExpiryWheel.Handle handle) {
+        if (handle != null) {
+            handle.cancel();
         }
     }
 
@@ -207,6 +267,14 @@ public final class CooldownManager {
         perUserCooldowns.remove(commandName);
         serverCooldownDurations.remove(commandName);
         userCooldownDurations.remove(commandName);
+        cancel(serverExpiries.remove(commandName));
+        userExpiries.entrySet().removeIf(entry -> {
+            if (!entry.getKey().commandName().equals(commandName)) {
+                return false;
+            }
+            entry.getValue().cancel();
+            return true;
+        });
     }
 
     /**
@@ -218,24 +286,28 @@ public final class CooldownManager {
         perUserCooldowns.clear();
         serverCooldownDurations.clear();
         userCooldownDurations.clear();
+        serverExpiries.values().forEach(ExpiryWheel.Handle::cancel);
+        serverExpiries.clear();
+        userExpiries.values().forEach(ExpiryWheel.Handle::cancel);
+        userExpiries.clear();
     }
 
     /**
-     * Perform lazy cleanup if the operation count threshold is reached.
-     * This is called automatically on cooldown operations to keep the data clean
-     * without requiring background threads.
+     * Manually trigger cleanup of expired cooldown entries.
+     * This method is automatically called by the cleanup task if started.
+     *
+     * @return number of entries cleaned up
      */
-    private static void lazyCleanup() {
-        cleanupProvider.maybeCleanup(CooldownManager::cleanupExpired);
+    public static int cleanupExpired() {
+        return cleanupProvider.forceCleanup(CooldownManager::sweepExpired);
     }
 
     /**
-     * Manually trigger cleanup of expired cooldown entries.
-     * This method is automatically called by the cleanup task if started.
+     * Remove expired entries and empty per-command maps.
      *
      * @return number of entries cleaned up
      */
-    public static int cleanupExpired() {
+    private static int sweepExpired() {
         long currentTime = System.currentTimeMillis();
         int cleanedCount = 0;
 
@@ -259,6 +331,7 @@ public final class CooldownManager {
                 Map.Entry<String, Long> userEntry = userIterator.next();
                 if (userEntry.getValue() < expirationThreshold) {
                     userIterator.remove();
+                    cancel(userExpiries.remove(new UserKey(commandName, userEntry.getKey())));
                     cleanedCount++;
                 }
             }
@@ -286,6 +359,7 @@ public final class CooldownManager {
             if (entry.getValue() < expirationThreshold) {
                 serverIterator.remove();
                 serverCooldownDurations.remove(commandName);
+                cancel(serverExpiries.remove(commandName));
                 cleanedCount++;
             }
         }
@@ -337,7 +411,7 @@ public final class CooldownManager {
      * @return total cleaned entries count
      */
     public static long getTotalCleanedEntries() {
-        return cleanupProvider.getTotalCleanedEntries();
+        return cleanupProvider.getTotalCleanedEntries() + expiredRemovals.sum();
     }
 
     /**
@@ -354,6 +428,7 @@ public final class CooldownManager {
      */
     public static void resetStatistics() {
         cleanupProvider.reset();
+        expiredRemovals.reset();
     }
 
     /**
@@ -369,6 +444,7 @@ public final class CooldownManager {
         if (userCooldowns != null) {
             userCooldowns.remove(userId);
         }
+        cancel(userExpiries.remove(new UserKey(commandName, userId)));
     }
 
     /**
@@ -380,6 +456,7 @@ public final class CooldownManager {
         Preconditions.checkNotNull(commandName, "commandName");
         perServerCooldowns.remove(commandName);
         serverCooldownDurations.remove(commandName);
+        cancel(serverExpiries.remove(commandName));
     }
 
     /**
@@ -423,6 +500,13 @@ public final class CooldownManager {
                 removed++;
             }
         }
+        userExpiries.entrySet().removeIf(entry -> {
+            if (!entry.getKey().userId().equals(userId)) {
+                return false;
+            }
+            entry.getValue().cancel();
+            return true;
+        });
         return removed;
     }
 }
@@ -0,0 +1,502 @@
+package de.feelix.leviathan.command.cooldown;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * Instance-scoped cooldown store with primitive keys and values.
+ * <p>
+ * Unlike the static {@link CooldownManager}, which keys nested maps by command and player name
+ * with boxed timestamps, each store keeps the expiry deadlines of its commands in an
+ * open-addressing table keyed by {@code (commandId, UUID)}, with command IDs as dense ints and the
+ * UUID held as its two longs. Checking a cooldown is a single probe without allocation, and the
+ * table is only written when a cooldown starts.
+ * <p>
+ * Every {@code SlashCommand} owns a store unless one is shared through
+ * {@code SlashCommandBuilder.cooldownStore(...)}; commands sharing a store register their own IDs.
+ * Expired entries are dropped lazily when they are looked up and whenever the table is rebuilt.
+ * While a {@link CooldownJournal} is enabled, every update is also persisted.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * CooldownStore store = CooldownStore.create();
+ * int kitId = store.registerCommand("kit");
+ *
+ * long remaining = store.userRemaining(kitId, player.getUniqueId());
+ * if (remaining == 0) {
+ *     store.startUser(kitId, player.getUniqueId(), 60_000L);
+ * }
+ * }</pre>
+ */
+public final class CooldownStore {
+
+    // Live stores, tracked weakly so plugin-wide cleanup can reach every command's cooldowns
+    private static final Set<CooldownStore> STORES = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private static final int INITIAL_CAPACITY = 16;
+    // Golden-ratio multiplier used to spread keys over the table
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    // Command name -> dense ID, and the reverse (guarded by this)
+    private final Map<String, Integer> commandIds = new HashMap<>();
+    private final List<String> commandNames = new ArrayList<>();
+    // Per-server deadlines indexed by command ID, 0 = none (guarded by this)
+    private long[] serverDeadlines = new long[4];
+
+    // Open-addressing table with linear probing (guarded by this).
+    // A slot is empty when its command entry is 0; occupied slots store commandId + 1.
+    private int[] commands;
+    private long[] mostBits;
+    private long[] leastBits;
+    private long[] deadlines;
+    private int mask;
+    private int size;
+
+    private CooldownStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create a new empty store.
+     *
+     * @return the store
+     */
+    public static @NotNull CooldownStore create() {
+        CooldownStore store = new CooldownStore();
+        synchronized (STORES) {
+            STORES.add(store);
+        }
+        return store;
+    }
+
+    /**
+     * Register a command with this store.
+     * Registering the same name twice returns the same ID, so the name must identify the command
+     * uniquely; {@code SlashCommand}s register under their full command path.
+     *
+     * @param commandName the unique command name, also the key of persisted cooldowns
+     * @return the dense command ID used for all other operations
+     */
+    public synchronized int registerCommand(@NotNull String commandName) {
+        Preconditions.checkNotNull(commandName, "commandName");
+        Integer existing = commandIds.get(commandName);
+        if (existing != null) {
+            return existing;
+        }
+        int id = commandIds.size();
+        commandIds.put(commandName, id);
+        commandNames.add(commandName);
+        if (id >= serverDeadlines.length) {
+            serverDeadlines = Arrays.copyOf(serverDeadlines, serverDeadlines.length * 2);
+        }
+        // Pick up cooldowns persisted by a previous run
+        CooldownJournal.restoreInto(this, id, commandName);
+        return id;
+    }
+
+    /**
+     * Resolve the cooldown key of a sender: the UUID for players, a stable name-based UUID otherwise.
+     *
+     * @param sender the command sender
+     * @return the key identifying the sender in a store
+     */
+    public static @NotNull UUID keyOf(@NotNull CommandSender sender) {
+        Preconditions.checkNotNull(sender, "sender");
+        if (sender instanceof Player) {
+            return ((Player) sender).getUniqueId();
+        }
+        return UUID.nameUUIDFromBytes(("sender:" + sender.getName()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ==================== Per-Server Cooldowns ====================
+
+    /**
+     * Get the remaining per-server cooldown of a command.
+     *
+     * @param commandId the command ID
+     * @return remaining time in milliseconds, or 0 if not on cooldown
+     */
+    public synchronized long serverRemaining(int commandId) {
+        checkId(commandId);
+        long deadline = serverDeadlines[commandId];
+        if (deadline == 0L) {
+            return 0L;
+        }
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0L) {
+            serverDeadlines[commandId] = 0L;
+            return 0L;
+        }
+        return remaining;
+    }
+
+    /**
+     * Start the per-server cooldown of a command.
+     *
+     * @param commandId      the command ID
+     * @param cooldownMillis cooldown duration in milliseconds (values {@code <= 0} are ignored)
+     */
+    public synchronized void startServer(int commandId, long cooldownMillis) {
+        checkId(commandId);
+        if (cooldownMillis > 0) {
+            long deadline = System.currentTimeMillis() + cooldownMillis;
+            serverDeadlines[commandId] = deadline;
+            CooldownJournal.recordServer(commandNames.get(commandId), deadline);
+        }
+    }
+
+    /**
+     * Clear the per-server cooldown of a command.
+     *
+     * @param commandId the command ID
+     */
+    public synchronized void clearServer(int commandId) {
+        checkId(commandId);
+        if (serverDeadlines[commandId] != 0L) {
+            serverDeadlines[commandId] = 0L;
+            CooldownJournal.recordServer(commandNames.get(commandId), 0L);
+        }
+    }
+
+    // ==================== Per-User Cooldowns ====================
+
+    /**
+     * Get the remaining cooldown of a user on a command.
+     *
+     * @param commandId the command ID
+     * @param userId    the user's key, see {@link #keyOf(CommandSender)}
+     * @return remaining time in milliseconds, or 0 if not on cooldown
+     */
+    public synchronized long userRemaining(int commandId, @NotNull UUID userId) {
+        checkId(commandId);
+        int slot = find(commandId + 1, userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+        if (slot < 0) {
+            return 0L;
+        }
+        long remaining = deadlines[slot] - System.currentTimeMillis();
+        if (remaining <= 0L) {
+            removeAt(slot);
+            return 0L;
+        }
+        return remaining;
+    }
+
+    /**
+     * Start a user's cooldown on a command.
+     *
+     * @param commandId      the command ID
+     * @param userId         the user's key, see {@link #keyOf(CommandSender)}
+     * @param cooldownMillis cooldown duration in milliseconds (values {@code <= 0} are ignored)
+     */
+    public synchronized void startUser(int commandId, @NotNull UUID userId, long cooldownMillis) {
+        checkId(commandId);
+        if (cooldownMillis <= 0) {
+            return;
+        }
+        int command = commandId + 1;
+        long most = userId.getMostSignificantBits();
+        long least = userId.getLeastSignificantBits();
+        long deadline = System.currentTimeMillis() + cooldownMillis;
+        CooldownJournal.recordUser(commandNames.get(commandId), most, least, deadline);
+        put(command, most, least, deadline);
+    }
+
+    // Inserts or overwrites a per-user deadline
+    private void put(int command, long most, long least, long deadline) {
+        int slot = find(command, most, least);
+        if (slot >= 0) {
+            deadlines[slot] = deadline;
+            return;
+        }
+        // Keep the load factor at or below 1/2; rebuilding also drops expired entries
+        if ((size + 1) * 2 > commands.length) {
+            rebuild(System.currentTimeMillis());
+        }
+        slot = indexFor(command, most, least);
+        while (commands[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        commands[slot] = command;
+        mostBits[slot] = most;
+        leastBits[slot] = least;
+        deadlines[slot] = deadline;
+        size++;
+    }
+
+    /**
+     * Clear a user's cooldown on a command.
+     *
+     * @param commandId the command ID
+     * @param userId    the user's key
+     * @return true if a cooldown was cleared
+     */
+    public synchronized boolean clearUser(int commandId, @NotNull UUID userId) {
+        checkId(commandId);
+        int slot = find(commandId + 1, userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        CooldownJournal.recordUser(commandNames.get(commandId), userId.getMostSignificantBits(),
+            userId.getLeastSignificantBits(), 0L);
+        return true;
+    }
+
+    /**
+     * Clear a user's cooldowns on all commands of this store.
+     *
+     * @param userId the user's key
+     * @return the number of entries removed
+     */
+    public synchronized int clearUser(@NotNull UUID userId) {
+        Preconditions.checkNotNull(userId, "userId");
+        long most = userId.getMostSignificantBits();
+        long least = userId.getLeastSignificantBits();
+        int removed = 0;
+        for (int id = 0; id < commandIds.size(); id++) {
+            int slot = find(id + 1, most, least);
+            if (slot >= 0) {
+                removeAt(slot);
+                CooldownJournal.recordUser(commandNames.get(id), most, least, 0L);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // ==================== Maintenance ====================
+
+    /**
+     * Clear all cooldowns of this store. Registered command IDs stay valid.
+     */
+    public synchronized void clear() {
+        Arrays.fill(serverDeadlines, 0L);
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+        for (String commandName : commandNames) {
+            CooldownJournal.recordClear(commandName);
+        }
+    }
+
+    /**
+     * Drop all expired entries and shrink the table if it became sparse.
+     *
+     * @return the number of entries removed
+     */
+    public synchronized int cleanupExpired() {
+        long now = System.currentTimeMillis();
+        for (int id = 0; id < serverDeadlines.length; id++) {
+            if (serverDeadlines[id] != 0L && serverDeadlines[id] <= now) {
+                serverDeadlines[id] = 0L;
+            }
+        }
+        int before = size;
+        rebuild(now);
+        return before - size;
+    }
+
+    /**
+     * @return the number of per-user entries currently stored (including not yet dropped expired ones)
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Clear the cooldowns of all live stores.
+     */
+    public static void clearAll() {
+        for (CooldownStore store : liveStores()) {
+            store.clear();
+        }
+    }
+
+    /**
+     * Clear a user's cooldowns in all live stores, e.g. when they disconnect.
+     *
+     * @param userId the user's key
+     * @return the number of entries removed
+     */
+    public static int clearAllForUser(@NotNull UUID userId) {
+        Preconditions.checkNotNull(userId, "userId");
+        int removed = 0;
+        for (CooldownStore store : liveStores()) {
+            removed += store.clearUser(userId);
+        }
+        return removed;
+    }
+
+    /**
+     * Drop expired entries in all live stores.
+     *
+     * @return the number of entries removed
+     */
+    public static int cleanupAllExpired() {
+        int removed = 0;
+        for (CooldownStore store : liveStores()) {
+            removed += store.cleanupExpired();
+        }
+        return removed;
+    }
+
+    /**
+     * @return the number of per-user entries across all live stores
+     */
+    public static int getTotalEntryCount() {
+        int total = 0;
+        for (CooldownStore store : liveStores()) {
+            total += store.size();
+        }
+        return total;
+    }
+
+    static @NotNull List<CooldownStore> liveStores() {
+        synchronized (STORES) {
+            return new ArrayList<>(STORES);
+        }
+    }
+
+    // ==================== Persistence ====================
+
+    /**
+     * Restore the persisted cooldowns of all registered commands.
+     */
+    synchronized void restoreAll() {
+        for (int id = 0; id < commandNames.size(); id++) {
+            CooldownJournal.restoreInto(this, id, commandNames.get(id));
+        }
+    }
+
+    /**
+     * Restore a per-server deadline, keeping a later in-memory one.
+     */
+    synchronized void restoreServer(int commandId, long deadline) {
+        serverDeadlines[commandId] = Math.max(serverDeadlines[commandId], deadline);
+    }
+
+    /**
+     * Restore a per-user deadline, keeping a later in-memory one.
+     */
+    synchronized void restoreUser(int commandId, @NotNull UUID userId, long deadline) {
+        int command = commandId + 1;
+        long most = userId.getMostSignificantBits();
+        long least = userId.getLeastSignificantBits();
+        int slot = find(command, most, least);
+        if (slot < 0 || deadlines[slot] < deadline) {
+            put(command, most, least, deadline);
+        }
+    }
+
+    /**
+     * Write the live cooldowns of this store into a journal snapshot.
+     */
+    synchronized void exportLive(@NotNull CooldownJournal.SnapshotBuilder builder) {
+        for (int id = 0; id < commandNames.size(); id++) {
+            builder.server(commandNames.get(id), serverDeadlines[id]);
+        }
+        for (int slot = 0; slot < commands.length; slot++) {
+            if (commands[slot] != 0) {
+                builder.user(commandNames.get(commands[slot] - 1), mostBits[slot], leastBits[slot], deadlines[slot]);
+            }
+        }
+    }
+
+    // ==================== Table Mechanics ====================
+
+    private void checkId(int commandId) {
+        Preconditions.checkArgument(commandId >= 0 && commandId < commandIds.size(),
+            "Unknown command ID: " + commandId);
+    }
+
+    private void allocate(int capacity) {
+        commands = new int[capacity];
+        mostBits = new long[capacity];
+        leastBits = new long[capacity];
+        deadlines = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private int indexFor(int command, long most, long least) {
+        long hash = (most ^ Long.rotateLeft(least, 32) ^ command) * MIX;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private int find(int command, long most, long least) {
+        int slot = indexFor(command, most, least);
+        while (commands[slot] != 0) {
+            if (commands[slot] == command && mostBits[slot] == most && leastBits[slot] == least) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Backward-shift deletion: moves later entries of the probe chain into the gap, so no tombstones are needed
+    private void removeAt(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (commands[next] != 0) {
+            int home = indexFor(commands[next], mostBits[next], leastBits[next]);
+            // Move the entry if its home slot is not cyclically within (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                commands[gap] = commands[next];
+                mostBits[gap] = mostBits[next];
+                leastBits[gap] = leastBits[next];
+                deadlines[gap] = deadlines[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        commands[gap] = 0;
+        size--;
+    }
+
+    // Re-inserts all live entries into a table sized for about four times their count
+    private void rebuild(long now) {
+        int[] oldCommands = commands;
+        long[] oldMost = mostBits;
+        long[] oldLeast = leastBits;
+        long[] oldDeadlines = deadlines;
+
+        int live = 0;
+        for (int i = 0; i < oldCommands.length; i++) {
+            if (oldCommands[i] != 0 && oldDeadlines[i] > now) {
+                live++;
+            }
+        }
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < (live + 1) * 4) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldCommands.length; i++) {
+            if (oldCommands[i] == 0 || oldDeadlines[i] <= now) {
+                continue;
+            }
+            int slot = indexFor(oldCommands[i], oldMost[i], oldLeast[i]);
+            while (commands[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            commands[slot] = oldCommands[i];
+            mostBits[slot] = oldMost[i];
+            leastBits[slot] = oldLeast[i];
+            deadlines[slot] = oldDeadlines[i];
+            size++;
+        }
+    }
+}
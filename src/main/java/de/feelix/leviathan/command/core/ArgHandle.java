@@ -0,0 +1,66 @@
+package de.feelix.leviathan.command.core;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.util.Preconditions;
+
+/**
+ * Typed, pre-resolved reference to a command argument.
+ * <p>
+ * A handle binds an argument name to the slot index it occupies in the command's compiled
+ * layout, so {@link CommandContext#get(ArgHandle)} reads the value straight from the context's
+ * slot array instead of hashing the name. Handles are obtained from
+ * {@link SlashCommandBuilder#handle(String, Class)} after the argument has been added:
+ * <pre>{@code
+ * SlashCommandBuilder builder = SlashCommand.builder("give")
+ *     .argPlayer("target")
+ *     .argInt("amount");
+ * ArgHandle<Player> target = builder.handle("target", Player.class);
+ * ArgHandle<Integer> amount = builder.handle("amount", Integer.class);
+ *
+ * builder.executes((sender, ctx) -> {
+ *     Player player = ctx.require(target);
+ *     int count = ctx.getInt(amount, 1); // unboxed for int parsers
+ * }).register(plugin);
+ * }</pre>
+ * If a handle is used with a context that was not produced by its command, the lookup falls
+ * back to the by-name API, so handles are always safe to use.
+ *
+ * @param <T> value type of the argument
+ */
+public final class ArgHandle<T> {
+    private final String name;
+    private final Class<T> type;
+    private final int slot;
+
+    ArgHandle(@NotNull String name, @NotNull Class<T> type, int slot) {
+        this.name = Preconditions.checkNotNull(name, "name");
+        this.type = Preconditions.checkNotNull(type, "type");
+        this.slot = slot;
+    }
+
+    /**
+     * @return the primary argument name
+     */
+    public @NotNull String name() {
+        return name;
+    }
+
+    /**
+     * @return the expected value type
+     */
+    public @NotNull Class<T> type() {
+        return type;
+    }
+
+    /**
+     * @return the slot index of the argument in its command's layout
+     */
+    public int slot() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return "ArgHandle{" + name + ':' + type.getSimpleName() + '@' + slot + '}';
+    }
+}
@@ -4,8 +4,10 @@ import de.feelix.leviathan.annotations.NotNull;
 import de.feelix.leviathan.annotations.Nullable;
 import de.feelix.leviathan.command.mapping.OptionMapping;
 import de.feelix.leviathan.command.mapping.OptionType;
+import de.feelix.leviathan.command.performance.CommandPrecompiler.CompiledCommand;
 import de.feelix.leviathan.exceptions.ApiMisuseException;
 import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
@@ -39,6 +41,17 @@ public final class CommandContext {
     private final Map<String, List<Object>> multiValuePairs;
     private final String[] rawArgs;
     private final Map<String, String> aliasToNameMap; // Maps alias -> primary name
+    // Slot-backed storage (set only for contexts built by the dispatcher; null otherwise)
+    @Nullable
+    private final CompiledCommand slotLayout;
+    @Nullable
+    private final Object[] slotValues;
+    // Unboxed values of slots marked with a PrimitiveSlot (null if the command has none)
+    @Nullable
+    private final long[] primitiveValues;
+    // Records replies while the result is being cached (set by the dispatcher; null otherwise)
+    @Nullable
+    private OutputCapture output;
 
     /**
      * Create a new command context.
@@ -89,6 +102,57 @@ public final class CommandContext {
         this.multiValuePairs = Map.copyOf(Preconditions.checkNotNull(multiValuePairs, "multiValuePairs"));
         this.rawArgs = Preconditions.checkNotNull(rawArgs, "rawArgs").clone();
         this.aliasToNameMap = Map.copyOf(Preconditions.checkNotNull(aliasToNameMap, "aliasToNameMap"));
+        this.slotLayout = null;
+        this.slotValues = null;
+        this.primitiveValues = null;
+    }
+
+    /**
+     * Create a context backed by a slot array laid out by the command's compiled plan.
+     * <p>
+     * Nothing is copied: the slot array and maps are owned by the context from here on, and the
+     * by-name API is served by a read-only view over the slots. The caller must not modify any
+     * of the passed structures afterwards.
+     *
+     * @param layout          compiled layout mapping argument names and aliases to slots
+     * @param slotValues      argument values indexed by slot ({@code null} = absent)
+     * @param primitiveValues unboxed values for slots holding a {@link PrimitiveSlot} marker, or null
+     * @param flagValues      parsed flag values
+     * @param keyValuePairs   parsed key-value pairs
+     * @param multiValuePairs parsed multi-value pairs
+     * @param rawArgs         raw argument tokens
+     * @param aliasToNameMap  mapping of aliases to primary names
+     * @return a slot-backed context
+     */
+    static CommandContext fromSlots(@NotNull CompiledCommand layout,
+                                    @NotNull Object[] slotValues,
+                                    @Nullable long[] primitiveValues,
+                                    @NotNull Map<String, Boolean> flagValues,
+                                    @NotNull Map<String, Object> keyValuePairs,
+                                    @NotNull Map<String, List<Object>> multiValuePairs,
+                                    @NotNull String[] rawArgs,
+                                    @NotNull Map<String, String> aliasToNameMap) {
+        return new CommandContext(layout, slotValues, primitiveValues, flagValues, keyValuePairs, multiValuePairs, rawArgs, aliasToNameMap);
+    }
+
+    // Private constructor for slot-backed contexts
+    private CommandContext(@NotNull CompiledCommand layout,
+                           @NotNull Object[] slotValues,
+                           @Nullable long[] primitiveValues,
+                           @NotNull Map<String, Boolean> flagValues,
+                           @NotNull Map<String, Object> keyValuePairs,
+                           @NotNull Map<String, List<Object>> multiValuePairs,
+                           @NotNull String[] rawArgs,
+                           @NotNull Map<String, String> aliasToNameMap) {
+        this.slotLayout = Preconditions.checkNotNull(layout, "layout");
+        this.slotValues = Preconditions.checkNotNull(slotValues, "slotValues");
+        this.primitiveValues = primitiveValues;
+        this.values = new SlotValueMap(layout, slotValues, primitiveValues);
+        this.flagValues = Collections.unmodifiableMap(Preconditions.checkNotNull(flagValues, "flagValues"));
+        this.keyValuePairs = Collections.unmodifiableMap(Preconditions.checkNotNull(keyValuePairs, "keyValuePairs"));
+        this.multiValuePairs = Collections.unmodifiableMap(Preconditions.checkNotNull(multiValuePairs, "multiValuePairs"));
+        this.rawArgs = Preconditions.checkNotNull(rawArgs, "rawArgs");
+        this.aliasToNameMap = Collections.unmodifiableMap(Preconditions.checkNotNull(aliasToNameMap, "aliasToNameMap"));
     }
 
     /**
@@ -140,6 +204,9 @@ public final class CommandContext {
             this.rawArgs = Preconditions.checkNotNull(rawArgs, "rawArgs").clone(); // Always clone to prevent external mutation
             this.aliasToNameMap = Collections.unmodifiableMap(Preconditions.checkNotNull(aliasToNameMap, "aliasToNameMap"));
         }
+        this.slotLayout = null;
+        this.slotValues = null;
+        this.primitiveValues = null;
     }
 
     /**
@@ -241,6 +308,265 @@ public final class CommandContext {
         return (T) o;
     }
 
+    // ==================== Replies ====================
+
+    /**
+     * Send messages to the sender of this command.
+     * <p>
+     * For commands built with {@code cacheResults(...)}, only messages sent through this method are
+     * cached and replayed to later senders; messages sent to the sender directly are not. Messages
+     * to any other recipient are sent but never cached.
+     *
+     * @param sender the sender of this command
+     * @param lines  the messages to send
+     */
+    public void reply(@NotNull CommandSender sender, @NotNull String... lines) {
+        Preconditions.checkNotNull(sender, "sender");
+        Preconditions.checkNotNull(lines, "lines");
+        OutputCapture capture = (output != null && output.records(sender)) ? output : null;
+        for (String line : lines) {
+            if (line == null) {
+                continue;
+            }
+            sender.sendMessage(line);
+            if (capture != null) {
+                capture.record(line);
+            }
+        }
+    }
+
+    /**
+     * Record the replies sent through this context.
+     *
+     * @param capture the capture receiving the replies, or null to stop recording
+     */
+    void captureReplies(@Nullable OutputCapture capture) {
+        this.output = capture;
+    }
+
+    // ==================== Handle-based Access ====================
+
+    /**
+     * Read the raw value for a handle: a direct array read when this context uses the handle's
+     * layout, otherwise a by-name lookup.
+     */
+    private @Nullable Object valueOf(@NotNull ArgHandle<?> handle) {
+        Object[] slots = this.slotValues;
+        int slot = handle.slot();
+        if (slots != null && slot < slots.length && handle.name().equals(slotLayout.getArgumentName(slot))) {
+            return PrimitiveSlot.decode(slots[slot], primitiveValues, slot);
+        }
+        return values.get(resolveName(handle.name()));
+    }
+
+    /**
+     * Locate the unboxed slot for a handle.
+     *
+     * @return the slot index, or -1 if the value is not held unboxed with the given kind in this context
+     */
+    private int primitiveSlotOf(@NotNull ArgHandle<?> handle, @NotNull PrimitiveSlot kind) {
+        Object[] slots = this.slotValues;
+        int slot = handle.slot();
+        if (primitiveValues != null && slot < slots.length && slots[slot] == kind
+            && handle.name().equals(slotLayout.getArgumentName(slot))) {
+            return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieve an {@code int} argument by handle without boxing.
+     * <p>
+     * Arguments parsed by an {@link de.feelix.leviathan.command.argument.IntArgumentParser} are
+     * read straight from the context's primitive slots; other values fall back to
+     * {@link #require(ArgHandle)}.
+     *
+     * @param handle argument handle
+     * @return the value
+     * @throws ApiMisuseException if missing or type-incompatible
+     */
+    public int getInt(@NotNull ArgHandle<Integer> handle) {
+        Preconditions.checkNotNull(handle, "handle");
+        int slot = primitiveSlotOf(handle, PrimitiveSlot.INT);
+        return slot >= 0 ? (int) primitiveValues[slot] : require(handle);
+    }
+
+    /**
+     * Retrieve an {@code int} argument by handle without boxing, or a default when it is absent.
+     *
+     * @param handle       argument handle
+     * @param defaultValue value returned when the argument is absent
+     * @return the value or the default
+     */
+    public int getInt(@NotNull ArgHandle<Integer> handle, int defaultValue) {
+        Preconditions.checkNotNull(handle, "handle");
+        int slot = primitiveSlotOf(handle, PrimitiveSlot.INT);
+        if (slot >= 0) {
+            return (int) primitiveValues[slot];
+        }
+        Integer value = get(handle);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Retrieve a {@code long} argument by handle without boxing.
+     *
+     * @param handle argument handle
+     * @return the value
+     * @throws ApiMisuseException if missing or type-incompatible
+     * @see #getInt(ArgHandle)
+     */
+    public long getLong(@NotNull ArgHandle<Long> handle) {
+        Preconditions.checkNotNull(handle, "handle");
+        int slot = primitiveSlotOf(handle, PrimitiveSlot.LONG);
+        return slot >= 0 ? primitiveValues[slot] : require(handle);
+    }
+
+    /**
+     * Retrieve a {@code long} argument by handle without boxing, or a default when it is absent.
+     *
+     * @param handle       argument handle
+     * @param defaultValue value returned when the argument is absent
+     * @return the value or the default
+     */
+    public long getLong(@NotNull ArgHandle<Long> handle, long defaultValue) {
+        Preconditions.checkNotNull(handle, "handle");
+        int slot = primitiveSlotOf(handle, PrimitiveSlot.LONG);
+        if (slot >= 0) {
+            return primitiveValues[slot];
+        }
+        Long value = get(handle);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Retrieve a {@code double} argument by handle without boxing.
+     *
+     * @param handle argument handle
+     * @return the value
+     * @throws ApiMisuseException if missing or type-incompatible
+     * @see #getInt(ArgHandle)
+     */
+    public double getDouble(@NotNull ArgHandle<Double> handle) {
+        Preconditions.checkNotNull(handle, "handle");
+        int slot = primitiveSlotOf(handle, PrimitiveSlot.DOUBLE);
+        return slot >= 0 ? Double.longBitsToDouble(primitiveValues[slot]) : require(handle);
+    }
+
+    /**
+     * Retrieve a {@code double} argument by handle without boxing, or a default when it is absent.
+     *
+     * @param handle       argument handle
+     * @param defaultValue value returned when the argument is absent
+     * @return the value or the default
+     */
+    public double getDouble(@NotNull ArgHandle<Double> handle, double defaultValue) {
+        Preconditions.checkNotNull(handle, "handle");
+        int slot = primitiveSlotOf(handle, PrimitiveSlot.DOUBLE);
+        if (slot >= 0) {
+            return Double.longBitsToDouble(primitiveValues[slot]);
+        }
+        Double value = get(handle);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Retrieve a {@code boolean} argument by handle without boxing.
+     *
+     * @param handle argument handle
+     * @return the value
+     * @throws ApiMisuseException if missing or type-incompatible
+     * @see #getInt(ArgHandle)
+     */
+    public boolean getBoolean(@NotNull ArgHandle<Boolean> handle) {
+        Preconditions.checkNotNull(handle, "handle");
+        int slot = primitiveSlotOf(handle, PrimitiveSlot.BOOLEAN);
+        return slot >= 0 ? primitiveValues[slot] != 0L : require(handle);
+    }
+
+    /**
+     * Retrieve a {@code boolean} argument by handle without boxing, or a default when it is absent.
+     *
+     * @param handle       argument handle
+     * @param defaultValue value returned when the argument is absent
+     * @return the value or the default
+     */
+    public boolean getBoolean(@NotNull ArgHandle<Boolean> handle, boolean defaultValue) {
+        Preconditions.checkNotNull(handle, "handle");
+        int slot = primitiveSlotOf(handle, PrimitiveSlot.BOOLEAN);
+        if (slot >= 0) {
+            return primitiveValues[slot] != 0L;
+        }
+        Boolean value = get(handle);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Retrieve a typed value by handle, returning null when missing or of a different type.
+     *
+     * @param handle argument handle
+     * @return the value or null
+     */
+    public @Nullable <T> T get(@NotNull ArgHandle<T> handle) {
+        Preconditions.checkNotNull(handle, "handle");
+        Object o = valueOf(handle);
+        return handle.type().isInstance(o) ? handle.type().cast(o) : null;
+    }
+
+    /**
+     * Retrieve an optional typed value by handle.
+     *
+     * @param handle argument handle
+     * @return Optional of the value if present and of the handle's type, otherwise empty
+     */
+    public @NotNull <T> Optional<T> optional(@NotNull ArgHandle<T> handle) {
+        return Optional.ofNullable(get(handle));
+    }
+
+    /**
+     * Retrieve a typed value by handle, or a default when missing or of a different type.
+     *
+     * @param handle       argument handle
+     * @param defaultValue value returned when the argument is absent
+     * @return the value or the default
+     */
+    public @NotNull <T> T getOrDefault(@NotNull ArgHandle<T> handle, @NotNull T defaultValue) {
+        T value = get(handle);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Strictly retrieve a value by handle, throwing if it is missing or of the wrong type.
+     *
+     * @param handle argument handle
+     * @return non-null value of the handle's type
+     * @throws ApiMisuseException if missing or type-incompatible
+     */
+    public @NotNull <T> T require(@NotNull ArgHandle<T> handle) {
+        Preconditions.checkNotNull(handle, "handle");
+        Object o = valueOf(handle);
+        if (o == null) {
+            throw new ApiMisuseException("Required argument '" + handle.name() + "' is missing in CommandContext");
+        }
+        if (!handle.type().isInstance(o)) {
+            throw new ApiMisuseException(
+                "Argument '" + handle.name() + "' has type " + o.getClass().getName()
+                + ", not assignable to " + handle.type().getName());
+        }
+        return handle.type().cast(o);
+    }
+
+    /**
+     * Whether the argument referenced by the handle has a value in this context.
+     *
+     * @param handle argument handle
+     * @return true if a value is present
+     */
+    public boolean has(@NotNull ArgHandle<?> handle) {
+        Preconditions.checkNotNull(handle, "handle");
+        return valueOf(handle) != null;
+    }
+
     /**
      * Alias for {@link #orThrow(String, Class)} for readability when a required argument is expected.
      */
@@ -0,0 +1,55 @@
+package de.feelix.leviathan.command.core;
+
+import de.feelix.leviathan.annotations.NotNull;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records the messages a command sends through {@link CommandContext#reply(CommandSender, String...)}
+ * so they can be replayed from the result cache.
+ * <p>
+ * The action still receives the real sender, so {@code Player} casts, identity checks and map
+ * keys keep working. Messages sent to the sender directly, and replies to anyone but the sender,
+ * are not recorded.
+ */
+final class OutputCapture {
+
+    private final CommandSender sender;
+    private final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * @param sender the sender of the command whose replies are recorded
+     */
+    OutputCapture(@NotNull CommandSender sender) {
+        this.sender = sender;
+    }
+
+    /**
+     * @param recipient the recipient of a reply
+     * @return true if the reply goes to the sender of the command and is recorded
+     */
+    boolean records(@NotNull CommandSender recipient) {
+        return recipient == sender;
+    }
+
+    /**
+     * Record a line sent to the sender.
+     *
+     * @param line the message
+     */
+    void record(@NotNull String line) {
+        lines.add(line);
+    }
+
+    /**
+     * @return a snapshot of the recorded lines, in the order they were sent
+     */
+    @NotNull List<String> lines() {
+        synchronized (lines) {
+            return List.copyOf(lines);
+        }
+    }
+}
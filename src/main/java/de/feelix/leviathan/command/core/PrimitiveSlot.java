@@ -0,0 +1,149 @@
+package de.feelix.leviathan.command.core;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.command.argument.Arg;
+import de.feelix.leviathan.command.argument.ArgContext;
+import de.feelix.leviathan.command.argument.ArgumentParser;
+import de.feelix.leviathan.command.argument.BooleanArgumentParser;
+import de.feelix.leviathan.command.argument.DoubleArgumentParser;
+import de.feelix.leviathan.command.argument.IntArgumentParser;
+import de.feelix.leviathan.command.argument.LongArgumentParser;
+import de.feelix.leviathan.command.message.MessageProvider;
+import de.feelix.leviathan.command.validation.ValidationHelper;
+import de.feelix.leviathan.exceptions.InvalidArgumentValueException;
+import org.bukkit.command.CommandSender;
+
+/**
+ * Kind of an argument stored unboxed in a context's {@code long[]} primitive slots.
+ * <p>
+ * The constant itself is placed in the object slot as a marker, so "absent" is still a
+ * {@code null} object slot and by-name readers box the primitive only when they ask for it.
+ * Values are stored as their {@code long} widening, doubles as their raw bits, booleans as 0/1.
+ */
+enum PrimitiveSlot {
+    INT {
+        @Override
+        long parse(ArgumentParser<?> parser, String input, CommandSender sender) {
+            return ((IntArgumentParser) parser).parseInt(input, sender);
+        }
+
+        @Override
+        @Nullable String validateRange(long bits, ArgContext ctx, MessageProvider messages) {
+            return ValidationHelper.validateIntRange((int) bits, ctx, messages);
+        }
+
+        @Override
+        Object box(long bits) {
+            return (int) bits;
+        }
+    },
+    LONG {
+        @Override
+        long parse(ArgumentParser<?> parser, String input, CommandSender sender) {
+            return ((LongArgumentParser) parser).parseLong(input, sender);
+        }
+
+        @Override
+        @Nullable String validateRange(long bits, ArgContext ctx, MessageProvider messages) {
+            return ValidationHelper.validateLongRange(bits, ctx, messages);
+        }
+
+        @Override
+        Object box(long bits) {
+            return bits;
+        }
+    },
+    DOUBLE {
+        @Override
+        long parse(ArgumentParser<?> parser, String input, CommandSender sender) {
+            return Double.doubleToRawLongBits(((DoubleArgumentParser) parser).parseDouble(input, sender));
+        }
+
+        @Override
+        @Nullable String validateRange(long bits, ArgContext ctx, MessageProvider messages) {
+            return ValidationHelper.validateDoubleRange(Double.longBitsToDouble(bits), ctx, messages);
+        }
+
+        @Override
+        Object box(long bits) {
+            return Double.longBitsToDouble(bits);
+        }
+    },
+    BOOLEAN {
+        @Override
+        long parse(ArgumentParser<?> parser, String input, CommandSender sender) {
+            return ((BooleanArgumentParser) parser).parseBoolean(input, sender) ? 1L : 0L;
+        }
+
+        @Override
+        @Nullable String validateRange(long bits, ArgContext ctx, MessageProvider messages) {
+            return null;
+        }
+
+        @Override
+        Object box(long bits) {
+            return bits != 0L;
+        }
+    };
+
+    /**
+     * Parse the token into its slot encoding.
+     *
+     * @throws InvalidArgumentValueException if the input is not a valid value
+     */
+    abstract long parse(ArgumentParser<?> parser, String input, CommandSender sender);
+
+    /**
+     * Check the decoded value against the argument's numeric range.
+     *
+     * @return null if valid, or an error message
+     */
+    abstract @Nullable String validateRange(long bits, ArgContext ctx, MessageProvider messages);
+
+    /**
+     * Decode a slot into its boxed value, for by-name access.
+     */
+    abstract Object box(long bits);
+
+    /**
+     * Decode an object slot: markers are resolved against the primitive slots, other values pass through.
+     */
+    static @Nullable Object decode(@Nullable Object raw, @Nullable long[] primitives, int slot) {
+        if (raw instanceof PrimitiveSlot && primitives != null) {
+            return ((PrimitiveSlot) raw).box(primitives[slot]);
+        }
+        return raw;
+    }
+
+    /**
+     * Determine whether an argument can be parsed unboxed.
+     * <p>
+     * Arguments with transformers or custom validators need the boxed value and keep the generic path.
+     *
+     * @return the slot kind, or null for the boxed path
+     */
+    static @Nullable PrimitiveSlot of(@NotNull Arg<?> arg) {
+        if (arg.transformer() != null) {
+            return null;
+        }
+        ArgContext ctx = arg.context();
+        if (ctx.hasTransformers() || !ctx.customValidators().isEmpty()) {
+            return null;
+        }
+        ArgumentParser<?> parser = arg.parser();
+        if (parser instanceof IntArgumentParser) {
+            return INT;
+        }
+        if (parser instanceof LongArgumentParser) {
+            return LONG;
+        }
+        if (parser instanceof DoubleArgumentParser) {
+            return DOUBLE;
+        }
+        if (parser instanceof BooleanArgumentParser) {
+            return BOOLEAN;
+        }
+        return null;
+    }
+}
@@ -6,6 +6,7 @@ import de.feelix.leviathan.command.argument.Arg;
 import de.feelix.leviathan.command.argument.ArgContext;
 import de.feelix.leviathan.command.argument.ArgumentGroup;
 import de.feelix.leviathan.command.argument.ArgumentParser;
+import de.feelix.leviathan.command.argument.AsyncArgumentParser;
 import de.feelix.leviathan.command.argument.ParseResult;
 import de.feelix.leviathan.command.batch.BatchAction;
 import de.feelix.leviathan.command.batch.BatchConfig;
@@ -21,15 +22,27 @@ import de.feelix.leviathan.command.parsing.ParseOptions;
 import de.feelix.leviathan.command.parsing.PartialParseOptions;
 import de.feelix.leviathan.command.parsing.PartialParseResult;
 import de.feelix.leviathan.command.parsing.QuotedStringTokenizer;
+import de.feelix.leviathan.command.parsing.TokenSpans;
 import de.feelix.leviathan.command.permission.PermissionCascadeMode;
 import de.feelix.leviathan.command.permission.PermissionCascade;
+import de.feelix.leviathan.command.permission.PermissionDecisionCache;
+import de.feelix.leviathan.command.ratelimit.RateLimits;
+import de.feelix.leviathan.command.ratelimit.TokenBucketLimiter;
 import de.feelix.leviathan.command.async.CancellationToken;
+import de.feelix.leviathan.command.async.CommandExecutionBackend;
+import de.feelix.leviathan.command.async.DeadlineScheduler;
 import de.feelix.leviathan.command.async.Progress;
 import de.feelix.leviathan.command.completion.TabCompletionHandler;
 import de.feelix.leviathan.command.cooldown.CooldownManager;
-import de.feelix.leviathan.command.cooldown.CooldownResult;
+import de.feelix.leviathan.command.cooldown.CooldownStore;
 import de.feelix.leviathan.command.pagination.PaginationHelper;
 import de.feelix.leviathan.command.pagination.config.PaginationConfig;
+import de.feelix.leviathan.command.performance.CacheScope;
+import de.feelix.leviathan.command.performance.CommandPrecompiler.CompiledCommand;
+import de.feelix.leviathan.command.performance.OfflinePlayerResolver;
+import de.feelix.leviathan.command.performance.OnlinePlayerIndex;
+import de.feelix.leviathan.command.performance.ResultCache;
+import de.feelix.leviathan.command.performance.TickBudget;
 import de.feelix.leviathan.command.error.ErrorType;
 import de.feelix.leviathan.command.error.ExceptionHandler;
 import de.feelix.leviathan.command.flag.Flag;
@@ -43,7 +56,9 @@ import de.feelix.leviathan.command.validation.ValidationHelper;
 import de.feelix.leviathan.exceptions.ApiMisuseException;
 import de.feelix.leviathan.exceptions.CommandConfigurationException;
 import de.feelix.leviathan.exceptions.CommandExecutionException;
+import de.feelix.leviathan.exceptions.InvalidArgumentValueException;
 import de.feelix.leviathan.exceptions.ParsingException;
+import de.feelix.leviathan.util.ExpiryWheel;
 import de.feelix.leviathan.util.Preconditions;
 import de.feelix.leviathan.util.StringSimilarity;
 import org.bukkit.command.Command;
@@ -59,6 +74,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -71,8 +87,11 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -96,16 +115,13 @@ import java.util.stream.Collectors;
  */
 public final class SlashCommand implements CommandExecutor, TabCompleter {
 
-    // Confirmation tracking: maps "commandName:senderName" to expiration time (System.currentTimeMillis())
-    private static final Map<String, Long> pendingConfirmations = new ConcurrentHashMap<>();
+    // Confirmation tracking: maps "commandName:senderName" to the pending confirmation.
+    // Entries remove themselves through the shared ExpiryWheel when they expire.
+    private static final Map<String, PendingConfirmation> pendingConfirmations = new ConcurrentHashMap<>();
     private static final long CONFIRMATION_TIMEOUT_MILLIS = 10000L; // 10 seconds
     // Maximum number of pending confirmations to prevent unbounded growth / resource exhaustion
     private static final int MAX_PENDING_CONFIRMATIONS = 500;
 
-    // Lazy cleanup for confirmations
-    private static final AtomicLong confirmationOpCount = new AtomicLong(0);
-    private static final int CONFIRMATION_CLEANUP_INTERVAL = 20; // Clean every N operations
-
     private static final Logger LOGGER = Logger.getLogger(SlashCommand.class.getName());
 
     // Cached regex pattern for whitespace normalization (avoids recompilation on every call)
@@ -113,7 +129,8 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
 
     /**
      * Clean up expired confirmation entries.
-     * Called automatically via lazy cleanup, but can also be called manually.
+     * Expired entries are normally removed by the {@link ExpiryWheel} as soon as they expire;
+     * this sweep only catches entries whose expiry callback has not run yet.
      *
      * @return the number of expired entries removed
      */
@@ -121,7 +138,8 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         final long currentTime = System.currentTimeMillis();
         int[] removed = {0};
         pendingConfirmations.entrySet().removeIf(entry -> {
-            if (entry.getValue() < currentTime) {
+            if (entry.getValue().expiresAt < currentTime) {
+                entry.getValue().expiry.cancel();
                 removed[0]++;
                 return true;
             }
@@ -145,6 +163,9 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
      * Use with caution - primarily for plugin shutdown.
      */
     public static void clearAllConfirmations() {
+        for (PendingConfirmation pending : pendingConfirmations.values()) {
+            pending.expiry.cancel();
+        }
         pendingConfirmations.clear();
     }
 
@@ -159,6 +180,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         int[] removed = {0};
         pendingConfirmations.entrySet().removeIf(entry -> {
             if (entry.getKey().endsWith(":" + senderName)) {
+                entry.getValue().expiry.cancel();
                 removed[0]++;
                 return true;
             }
@@ -168,12 +190,90 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
     }
 
     /**
-     * Perform lazy cleanup of expired confirmations.
+     * Take an execution token from the global limit (root commands only, so routing to a
+     * subcommand is not charged twice) and from this command's own limit.
+     *
+     * @return true if the execution may proceed
+     */
+    private boolean tryAcquireExecution(@NotNull CommandSender sender) {
+        if (parent == null) {
+            TokenBucketLimiter global = RateLimits.commandLimit();
+            if (global != null && !global.tryAcquire(sender)) {
+                return false;
+            }
+        }
+        return rateLimiter == null || rateLimiter.tryAcquire(sender);
+    }
+
+    /**
+     * Take a completion token from the global limit and from this command's own limit.
+     *
+     * @return true if completions may be generated
+     */
+    private boolean tryAcquireCompletion(@NotNull CommandSender sender) {
+        TokenBucketLimiter global = RateLimits.completionLimit();
+        if (global != null && !global.tryAcquire(sender)) {
+            return false;
+        }
+        return completionRateLimiter == null || completionRateLimiter.tryAcquire(sender);
+    }
+
+    /**
+     * @return the remaining per-server cooldown in milliseconds, or 0 if none is active
+     */
+    private long serverCooldownRemaining() {
+        return perServerCooldownMillis > 0 ? cooldownStore.serverRemaining(cooldownId()) : 0L;
+    }
+
+    /**
+     * @return the remaining cooldown of the sender in milliseconds, or 0 if none is active
+     */
+    private long userCooldownRemaining(@NotNull CommandSender sender) {
+        return perUserCooldownMillis > 0 ? cooldownStore.userRemaining(cooldownId(), CooldownStore.keyOf(sender)) : 0L;
+    }
+
+    /**
+     * Consume the sender's pending confirmation for this command, or register a new one.
+     * <p>
+     * Uses an atomic compute to prevent race conditions between concurrent executions.
+     *
+     * @param senderName the sender's name
+     * @return true if a valid confirmation was consumed, false if the sender has to confirm first
+     */
+    private boolean consumeConfirmation(@NotNull String senderName) {
+        final String confirmationKey = name + ":" + senderName;
+        final long currentTime = System.currentTimeMillis();
+        final boolean[] confirmed = {false};
+        pendingConfirmations.compute(confirmationKey, (key, existing) -> {
+            if (existing != null) {
+                existing.expiry.cancel();
+                if (existing.expiresAt >= currentTime) {
+                    // Valid confirmation exists - consume it (return null to remove)
+                    confirmed[0] = true;
+                    return null;
+                }
+            } else if (pendingConfirmations.size() >= MAX_PENDING_CONFIRMATIONS) {
+                // At capacity and this is a brand new entry - reject to prevent unbounded growth
+                return null;
+            }
+            // No valid confirmation - create new pending confirmation that removes itself on expiry
+            PendingConfirmation pending = new PendingConfirmation(currentTime + CONFIRMATION_TIMEOUT_MILLIS);
+            pending.expiry = ExpiryWheel.shared().schedule(CONFIRMATION_TIMEOUT_MILLIS,
+                () -> pendingConfirmations.remove(key, pending));
+            return pending;
+        });
+        return confirmed[0];
+    }
+
+    /**
+     * A confirmation awaiting the sender's second execution.
      */
-    private static void lazyConfirmationCleanup() {
-        long ops = confirmationOpCount.incrementAndGet();
-        if (ops % CONFIRMATION_CLEANUP_INTERVAL == 0) {
-            cleanupExpiredConfirmations();
+    private static final class PendingConfirmation {
+        final long expiresAt;
+        ExpiryWheel.Handle expiry;
+
+        PendingConfirmation(long expiresAt) {
+            this.expiresAt = expiresAt;
         }
     }
 
@@ -210,19 +310,46 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
     final boolean validateOnTab;
     final List<Arg<?>> args;
     final Map<String, SlashCommand> subcommands;
+    // Compiled case-insensitive trie + fuzzy index over subcommand names and aliases
+    private final SubcommandRouter subcommandRouter;
     private final CommandAction action;
     private final AsyncCommandAction asyncActionAdv;
     private final long asyncTimeoutMillis;
+    // Where async actions run (Bukkit pool, virtual threads, custom executor)
+    private final CommandExecutionBackend executionBackend;
+    // Async timeout metrics
+    private final LongAdder asyncTimeouts = new LongAdder();
+    private final AtomicInteger abandonedAsyncWorkers = new AtomicInteger();
     final List<Guard> guards;
     private final List<CrossArgumentValidator> crossArgumentValidators;
     @Nullable
     ExceptionHandler exceptionHandler;
     private final long perUserCooldownMillis;
     private final long perServerCooldownMillis;
+    // Cooldown deadlines of this command, keyed by its ID in the (possibly shared) store
+    private final CooldownStore cooldownStore;
+    // Registered on first use, once the parent chain (and so the full command path) is known; -1 until then
+    private volatile int cooldownId = -1;
+    // Per-sender load shedding for executions and tab completions (null = unlimited)
+    private final @Nullable TokenBucketLimiter rateLimiter;
+    private final @Nullable TokenBucketLimiter completionRateLimiter;
+    // Subject to the main-thread TickBudget; higher priorities are drained first when deferred
+    private final boolean heavy;
+    private final int heavyPriority;
+    // Replays captured output of synchronous executions (null = not cached)
+    private final @Nullable ResultCache resultCache;
+    private final long resultCacheTtlMillis;
+    private final CacheScope resultCacheScope;
+    // Set once a cached run replied nothing through the context, so the warning is logged once
+    private volatile boolean warnedEmptyResult = false;
     private final boolean enableHelp;
     private final int helpPageSize;
     private final String cachedUsage;
     private final Map<String, String> cachedAliasMap;
+    // Immutable execution plan compiled at build time (arg flags, greedy index, required count)
+    private final CompiledCommand executionPlan;
+    // Per-argument unboxed parsing kind (null entry = boxed path; null array = no primitive arguments)
+    private final @Nullable PrimitiveSlot[] primitiveSlots;
     private final MessageProvider messages;
     private final boolean sanitizeInputs;
     private final boolean fuzzySubcommandMatching;
@@ -319,6 +446,8 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         }
         pc.setExecutor(this);
         pc.setTabCompleter(this);
+        OnlinePlayerIndex.register(plugin);
+        OfflinePlayerResolver.register(plugin);
     }
 
     /**
@@ -609,6 +738,13 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         return Map.copyOf(subcommands);
     }
 
+    /**
+     * @return the compiled router used to resolve subcommand names and aliases
+     */
+    public @NotNull SubcommandRouter subcommandRouter() {
+        return subcommandRouter;
+    }
+
     /**
      * @return an immutable list of guards
      */
@@ -630,6 +766,127 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         return List.copyOf(keyValues);
     }
 
+    /**
+     * Get the backend that runs this command's asynchronous actions.
+     * <p>
+     * Async actions can use {@link CommandExecutionBackend#runOnMainThread} to hop back to the
+     * main thread for replies or world access.
+     *
+     * @return the execution backend
+     */
+    public @NotNull CommandExecutionBackend executionBackend() {
+        return executionBackend;
+    }
+
+    /**
+     * Get the store holding this command's cooldowns, e.g. to clear a player's cooldown.
+     *
+     * @return the cooldown store
+     * @see #cooldownId()
+     */
+    public @NotNull CooldownStore cooldownStore() {
+        return cooldownStore;
+    }
+
+    /**
+     * Get this command's ID within its {@link #cooldownStore() cooldown store}.
+     * <p>
+     * The command is registered under its {@link #fullCommandPath(String) full command path}, so
+     * same-named subcommands of different parents (e.g. {@code warp list} and {@code home list})
+     * keep separate cooldowns, also in the {@link de.feelix.leviathan.command.cooldown.CooldownJournal}.
+     * Registration happens on first use, after the command tree has been built.
+     *
+     * @return the cooldown command ID
+     */
+    public int cooldownId() {
+        int id = cooldownId;
+        if (id < 0) {
+            synchronized (this) {
+                id = cooldownId;
+                if (id < 0) {
+                    id = cooldownStore.registerCommand(fullCommandPath(name));
+                    cooldownId = id;
+                }
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Get the limiter applied to executions of this command.
+     *
+     * @return the rate limiter, or null if executions are not limited per command
+     */
+    public @Nullable TokenBucketLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Get the limiter applied to tab completions of this command.
+     *
+     * @return the completion rate limiter, or null if completions are not limited per command
+     */
+    public @Nullable TokenBucketLimiter completionRateLimiter() {
+        return completionRateLimiter;
+    }
+
+    /**
+     * Check whether this command is heavy, i.e. deferred to a later tick when the
+     * {@link TickBudget} of the current tick is used up.
+     *
+     * @return true if the command is heavy
+     */
+    public boolean heavy() {
+        return heavy;
+    }
+
+    /**
+     * Get the cache replaying this command's output.
+     *
+     * @return the result cache, or null if results are not cached
+     */
+    public @Nullable ResultCache resultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Drop all cached results of this command, e.g. after the data it displays changed.
+     * Does nothing if results are not cached.
+     */
+    public void invalidateCachedResults() {
+        if (resultCache != null) {
+            resultCache.invalidateCommand(fullCommandPath(name));
+        }
+    }
+
+    /**
+     * Get how many async actions of this command exceeded their timeout.
+     *
+     * @return the number of timed-out executions
+     */
+    public long asyncTimeoutCount() {
+        return asyncTimeouts.sum();
+    }
+
+    /**
+     * Get how many timed-out async actions are still running after being interrupted.
+     * <p>
+     * A value that keeps growing points at handlers stuck in calls that ignore both
+     * interrupts and the {@link CancellationToken}.
+     *
+     * @return the number of abandoned workers that have not returned yet
+     */
+    public int abandonedAsyncWorkerCount() {
+        return abandonedAsyncWorkers.get();
+    }
+
+    /**
+     * @return the execution plan compiled for this command when it was built
+     */
+    public @NotNull CompiledCommand executionPlan() {
+        return executionPlan;
+    }
+
     /**
      * @return the plugin instance this command is registered with, or null if not yet registered
      */
@@ -684,7 +941,12 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
                  List<ArgumentGroup> argumentGroups, boolean enableQuotedStrings,
                  PermissionCascadeMode permissionCascadeMode, @Nullable String permissionPrefix,
                  @Nullable BatchConfig batchConfig, @Nullable BatchAction<?> batchAction,
-                 @Nullable String batchTargetArg, @Nullable WizardDefinition wizardDefinition) {
+                 @Nullable String batchTargetArg, @Nullable WizardDefinition wizardDefinition,
+                 @Nullable CommandExecutionBackend executionBackend, @Nullable CooldownStore cooldownStore,
+                 @Nullable TokenBucketLimiter rateLimiter, @Nullable TokenBucketLimiter completionRateLimiter,
+                 boolean heavy, int heavyPriority,
+                 @Nullable ResultCache resultCache, long resultCacheTtlMillis, CacheScope resultCacheScope,
+                 CompiledCommand executionPlan) {
         this.name = Preconditions.checkNotNull(name, "name");
         this.aliases = List.copyOf(aliases == null ? List.of() : aliases);
         this.description = (description == null) ? "" : description;
@@ -695,15 +957,26 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         this.validateOnTab = validateOnTab;
         this.args = List.copyOf(Preconditions.checkNotNull(args, "args"));
         this.subcommands = Map.copyOf(Preconditions.checkNotNull(subcommands, "subcommands"));
+        // Iterate the builder's LinkedHashMap so fuzzy ties resolve in registration order
+        this.subcommandRouter = SubcommandRouter.compile(subcommands);
         this.action = Preconditions.checkNotNull(action, "action");
         this.asyncActionAdv = asyncActionAdv;
         this.asyncTimeoutMillis = asyncTimeoutMillis;
+        this.executionBackend = executionBackend != null ? executionBackend : CommandExecutionBackend.bukkit();
         this.guards = List.copyOf(guards == null ? List.of() : guards);
         this.crossArgumentValidators = List.copyOf(
             crossArgumentValidators == null ? List.of() : crossArgumentValidators);
         this.exceptionHandler = exceptionHandler;
         this.perUserCooldownMillis = perUserCooldownMillis;
         this.perServerCooldownMillis = perServerCooldownMillis;
+        this.cooldownStore = cooldownStore != null ? cooldownStore : CooldownStore.create();
+        this.rateLimiter = rateLimiter;
+        this.completionRateLimiter = completionRateLimiter;
+        this.heavy = heavy;
+        this.heavyPriority = heavyPriority;
+        this.resultCache = resultCache;
+        this.resultCacheTtlMillis = resultCacheTtlMillis;
+        this.resultCacheScope = resultCacheScope;
         this.enableHelp = enableHelp;
         this.helpPageSize = helpPageSize > 0 ? helpPageSize : 10; // default to 10 items per page
         this.messages = (messages != null) ? messages : new DefaultMessageProvider();
@@ -734,6 +1007,154 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         this.cachedUsage = computeUsageString();
         // Pre-compute alias map for argument alias support
         this.cachedAliasMap = Collections.unmodifiableMap(buildAliasMap());
+        this.executionPlan = Preconditions.checkNotNull(executionPlan, "executionPlan");
+        this.primitiveSlots = computePrimitiveSlots(this.args);
+    }
+
+    /**
+     * Called on the deadline thread when an async action exceeds its timeout: cancels the token,
+     * interrupts the worker and reports the timeout without waiting for the action to return.
+     */
+    private void onAsyncDeadline(@NotNull CommandSender sender, @NotNull CommandContext ctx,
+                                 @NotNull AsyncRun run, long startTime) {
+        if (!run.settled.compareAndSet(false, true)) {
+            return;
+        }
+        asyncTimeouts.increment();
+        run.token.cancel();
+        if (run.abandon()) {
+            abandonedAsyncWorkers.incrementAndGet();
+        }
+        final long executionTime = System.currentTimeMillis() - startTime;
+        final TimeoutException timeout = new TimeoutException(
+            "Command '" + name + "' timed out after " + asyncTimeoutMillis + "ms");
+        // After-hooks are user code: keep them off the deadline thread
+        executionBackend.runOnMainThread(plugin, () ->
+            runAfterHooks(sender, ctx, ExecutionHook.AfterContext.failure(timeout, executionTime)));
+        reportAsyncError(sender, ErrorType.TIMEOUT, messages.commandTimeout(asyncTimeoutMillis), timeout);
+    }
+
+    /**
+     * Deliver an async failure to the exception handler and sender on the main thread.
+     */
+    private void reportAsyncError(@NotNull CommandSender sender, @NotNull ErrorType errorType,
+                                  @NotNull String errorMsg, @NotNull Throwable cause) {
+        executionBackend.runOnMainThread(plugin, () -> {
+            boolean suppressDefault = false;
+            if (exceptionHandler != null) {
+                try {
+                    suppressDefault = exceptionHandler.handle(sender, errorType, errorMsg, cause);
+                } catch (Throwable handlerException) {
+                    sender.sendMessage(messages.exceptionHandlerError(handlerException.getMessage()));
+                    plugin.getLogger().severe("Exception handler threw an exception while handling "
+                        + errorType + ": " + handlerException.getMessage());
+                    logException(handlerException);
+                }
+            }
+            if (sendErrors && !suppressDefault) {
+                sender.sendMessage(errorMsg);
+            }
+        });
+    }
+
+    /**
+     * State of one advanced async invocation, shared by its worker and its deadline.
+     * Exactly one of them wins {@link #settled} and reports the outcome.
+     */
+    private static final class AsyncRun {
+        final CancellationToken token = new CancellationToken();
+        final AtomicBoolean settled = new AtomicBoolean();
+        private Thread worker;       // guarded by this
+        private boolean abandoned;   // guarded by this
+
+        // Registers the worker thread; false if the deadline has already passed
+        synchronized boolean begin() {
+            if (settled.get()) {
+                return false;
+            }
+            worker = Thread.currentThread();
+            return true;
+        }
+
+        // Unregisters the worker; true if it was interrupted and abandoned at the deadline
+        synchronized boolean end() {
+            worker = null;
+            return abandoned;
+        }
+
+        // Interrupts a still-running worker; false if the action is not running
+        synchronized boolean abandon() {
+            if (worker == null) {
+                return false;
+            }
+            abandoned = true;
+            worker.interrupt();
+            return true;
+        }
+    }
+
+    /**
+     * Report that the execution backend refused an async action because it is saturated.
+     */
+    private void rejectAsyncExecution(@NotNull CommandSender sender, @NotNull CommandContext ctx, long startTime) {
+        sendErrorMessage(sender, ErrorType.OVERLOADED, messages.commandBusy(), null);
+        ExecutionHook.AfterContext afterContext = ExecutionHook.AfterContext.failure(
+            new RejectedExecutionException("Execution backend is saturated"),
+            System.currentTimeMillis() - startTime);
+        runAfterHooks(sender, ctx, afterContext);
+    }
+
+    /**
+     * Split the arguments at unquoted whitespace if quoted strings are enabled, as {@code execute()}
+     * does before parsing.
+     *
+     * @param providedArgs the raw argument tokens
+     * @return the offset table of the tokens to parse (check {@link TokenSpans#isSuccess()}), or null
+     *         if the arguments are parsed as they are
+     */
+    private @Nullable TokenSpans quotedSpans(@NotNull String[] providedArgs) {
+        if (!enableQuotedStrings || providedArgs.length == 0) {
+            return null;
+        }
+        return QuotedStringTokenizer.tokenizeSpans(providedArgs);
+    }
+
+    /**
+     * Build the value of a greedy argument from the remaining positional tokens.
+     * <p>
+     * When the tokens still line up with the tokenizer's offset table, the text is taken from
+     * {@link TokenSpans#remainder(int)}: the original input with quotes removed from the tokens, so
+     * the spacing between them is preserved. Otherwise the token texts are joined with single
+     * spaces; without quoted strings, Bukkit keeps repeated spaces as empty tokens, so the original
+     * spacing survives the join as well.
+     *
+     * @param tokens the positional tokens
+     * @param from   index of the first remaining token
+     * @param spans  offset table matching {@code tokens} one-to-one, or null
+     * @return the greedy argument text
+     */
+    private static @NotNull String joinRemaining(@NotNull String[] tokens, int from, @Nullable TokenSpans spans) {
+        if (from >= tokens.length) {
+            return "";
+        }
+        if (spans != null && spans.size() == tokens.length) {
+            return spans.remainder(from);
+        }
+        if (from == tokens.length - 1) {
+            return tokens[from];
+        }
+        int capacity = tokens.length - from - 1;
+        for (int i = from; i < tokens.length; i++) {
+            capacity += tokens[i].length();
+        }
+        StringBuilder sb = new StringBuilder(capacity);
+        for (int i = from; i < tokens.length; i++) {
+            if (i > from) {
+                sb.append(' ');
+            }
+            sb.append(tokens[i]);
+        }
+        return sb.toString();
     }
 
     /**
@@ -900,20 +1321,25 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         Preconditions.checkNotNull(label, "label");
         Preconditions.checkNotNull(providedArgs, "providedArgs");
         try {
-            // Lazy cleanup of expired confirmations to prevent memory leaks
-            lazyConfirmationCleanup();
             return execute(sender, label, providedArgs);
         } catch (Throwable t) {
             // Top-level catch to ensure no exception escapes from command execution
-            sendErrorMessage(sender, ErrorType.INTERNAL_ERROR, messages.internalError(), t);
-            if (plugin != null) {
-                plugin.getLogger().severe("Unhandled exception in command '" + name + "': " + t.getMessage());
-                logException(t);
-            }
+            reportUnhandled(sender, t);
             return true;
         }
     }
 
+    /**
+     * Report an exception that escaped command execution to the sender and the log.
+     */
+    private void reportUnhandled(@NotNull CommandSender sender, @NotNull Throwable t) {
+        sendErrorMessage(sender, ErrorType.INTERNAL_ERROR, messages.internalError(), t);
+        if (plugin != null) {
+            plugin.getLogger().severe("Unhandled exception in command '" + name + "': " + t.getMessage());
+            logException(t);
+        }
+    }
+
     /**
      * Sends an error message to the sender, optionally invoking the exception handler.
      * This helper method encapsulates the repetitive pattern of checking the exception handler
@@ -1008,16 +1434,115 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         Preconditions.checkNotNull(label, "label");
         Preconditions.checkNotNull(providedArgs, "providedArgs");
 
+        // Load shedding: drop the request silently before doing any parsing work
+        if (!tryAcquireExecution(sender)) {
+            return true;
+        }
+
+        // Heavy synchronous commands wait for a later tick once this one is over budget
+        if (heavy && !async) {
+            if (TickBudget.shouldDefer()) {
+                TickBudget.defer(heavyPriority, () -> runDeferred(sender, label, providedArgs));
+                return true;
+            }
+            long start = System.nanoTime();
+            try {
+                return dispatch(sender, label, providedArgs, null);
+            } finally {
+                TickBudget.recordUsage(System.nanoTime() - start);
+            }
+        }
+
+        return dispatch(sender, label, providedArgs, null);
+    }
+
+    /**
+     * Look an argument up asynchronously, then dispatch the command again on the main thread with
+     * the result filled in. Earlier lookups of the same dispatch are carried along in {@code resolved}.
+     */
+    private void resumeAfterLookup(@NotNull CommandSender sender, @NotNull String label, @NotNull String[] providedArgs,
+                                   @Nullable Map<Integer, ParseResult<?>> resolved, @NotNull Arg<?> arg,
+                                   int argIndex, @NotNull String token) {
+        AsyncArgumentParser<?> parser = (AsyncArgumentParser<?>) arg.parser();
+        Map<Integer, ParseResult<?>> results = (resolved != null) ? resolved : new HashMap<>(4);
+        CompletableFuture<? extends ParseResult<?>> lookup;
+        try {
+            lookup = parser.parseAsync(token, sender);
+        } catch (Throwable t) {
+            lookup = CompletableFuture.failedFuture(t);
+        }
+        lookup.whenComplete((result, error) -> {
+            Runnable resume = () -> {
+                // The player may have left while the lookup was running
+                if (sender instanceof Player && !((Player) sender).isOnline()) {
+                    return;
+                }
+                if (error != null || result == null) {
+                    Throwable cause = (error != null) ? unwrapException(error)
+                        : new ParsingException("Parser " + parser.getClass().getName()
+                                               + " completed with a null ParseResult for argument '" + arg.name() + "'");
+                    sendErrorMessage(sender, ErrorType.INTERNAL_ERROR, messages.argumentParsingError(arg.name()), cause);
+                    if (plugin != null) {
+                        plugin.getLogger().severe("Async lookup for argument '" + arg.name() + "' failed: "
+                                                  + cause.getMessage());
+                        logException(cause);
+                    }
+                    return;
+                }
+                results.put(argIndex, result);
+                try {
+                    dispatch(sender, label, providedArgs, results);
+                } catch (Throwable t) {
+                    reportUnhandled(sender, t);
+                }
+            };
+            if (plugin != null) {
+                executionBackend.runOnMainThread(plugin, resume);
+            } else {
+                resume.run();
+            }
+        });
+    }
+
+    /**
+     * Run a command that was deferred by the {@link TickBudget}.
+     */
+    private void runDeferred(@NotNull CommandSender sender, @NotNull String label, @NotNull String[] providedArgs) {
+        // The player may have left while the command was queued
+        if (sender instanceof Player && !((Player) sender).isOnline()) {
+            return;
+        }
+        try {
+            dispatch(sender, label, providedArgs, null);
+        } catch (Throwable t) {
+            reportUnhandled(sender, t);
+        }
+    }
+
+    /**
+     * Parse the arguments, run all checks and execute the command or route to a subcommand.
+     *
+     * @param sender       the command sender
+     * @param label        the label used to execute the command
+     * @param providedArgs the raw argument tokens as typed by the user
+     * @param resolved     results of asynchronous argument lookups by argument index, when resuming
+     *                     after one; null for a fresh dispatch
+     * @return true to indicate the command was handled
+     */
+    private boolean dispatch(@NotNull CommandSender sender, @NotNull String label, @NotNull String[] providedArgs,
+                             @Nullable Map<Integer, ParseResult<?>> resolved) {
         // Handle quoted string parsing if enabled
         String[] effectiveArgs = providedArgs;
+        // Offset table over the raw line; lets greedy arguments slice the original input
+        TokenSpans tokenSpans = null;
         if (enableQuotedStrings && providedArgs.length > 0) {
-            QuotedStringTokenizer.TokenizeResult tokenResult = QuotedStringTokenizer.tokenize(providedArgs);
-            if (!tokenResult.isSuccess()) {
+            tokenSpans = QuotedStringTokenizer.tokenizeSpans(providedArgs);
+            if (!tokenSpans.isSuccess()) {
                 // Report parsing error for unclosed quotes
-                sendErrorMessage(sender, ErrorType.PARSING, messages.quotedStringError(tokenResult.error()), null);
+                sendErrorMessage(sender, ErrorType.PARSING, messages.quotedStringError(tokenSpans.error()), null);
                 return true;
             }
-            effectiveArgs = tokenResult.tokens().toArray(new String[0]);
+            effectiveArgs = tokenSpans.toArray();
         }
 
         // Use effectiveArgs from here on instead of providedArgs for argument parsing
@@ -1048,51 +1573,24 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         }
 
         // Cooldown checks
-        CooldownResult serverCooldown = CooldownManager.checkServerCooldown(
-            name, perServerCooldownMillis);
-        if (serverCooldown.onCooldown()) {
-            String formattedTime = CooldownManager.formatCooldownMessage("%s", serverCooldown.remainingMillis());
+        long serverCooldownRemaining = serverCooldownRemaining();
+        if (serverCooldownRemaining > 0) {
+            String formattedTime = CooldownManager.formatCooldownMessage("%s", serverCooldownRemaining);
             sendErrorMessage(sender, ErrorType.GUARD_FAILED, messages.serverCooldown(formattedTime), null);
             return true;
         }
 
-        CooldownResult userCooldown = CooldownManager.checkUserCooldown(
-            name, sender.getName(), perUserCooldownMillis);
-        if (userCooldown.onCooldown()) {
-            String formattedTime = CooldownManager.formatCooldownMessage("%s", userCooldown.remainingMillis());
+        long userCooldownRemaining = userCooldownRemaining(sender);
+        if (userCooldownRemaining > 0) {
+            String formattedTime = CooldownManager.formatCooldownMessage("%s", userCooldownRemaining);
             sendErrorMessage(sender, ErrorType.GUARD_FAILED, messages.userCooldown(formattedTime), null);
             return true;
         }
 
         // Confirmation check: if awaitConfirmation is enabled, require the user to send the command twice
-        // Uses atomic operations to prevent race conditions in concurrent scenarios
-        if (awaitConfirmation) {
-            String confirmationKey = name + ":" + sender.getName();
-            final long currentTime = System.currentTimeMillis();
-            final long newExpiry = currentTime + CONFIRMATION_TIMEOUT_MILLIS;
-
-            // Clean up expired confirmations on every check
-            pendingConfirmations.entrySet().removeIf(entry -> entry.getValue() < currentTime);
-
-            // Use compute for atomic check-and-update to prevent race conditions
-            // Returns null if confirmation was valid and consumed, non-null if new pending was created
-            final boolean[] needsConfirmation = {false};
-            pendingConfirmations.compute(confirmationKey, (key, existingExpiry) -> {
-                if (existingExpiry != null && existingExpiry >= currentTime) {
-                    // Valid confirmation exists - consume it (return null to remove)
-                    return null;
-                } else if (pendingConfirmations.size() >= MAX_PENDING_CONFIRMATIONS && existingExpiry == null) {
-                    // At capacity and this is a brand new entry - reject to prevent unbounded growth
-                    needsConfirmation[0] = true;
-                    return null;
-                } else {
-                    // No valid confirmation - create new pending confirmation
-                    needsConfirmation[0] = true;
-                    return newExpiry;
-                }
-            });
-
-            if (needsConfirmation[0]) {
+        // (a dispatch resumed after an argument lookup already consumed the confirmation)
+        if (awaitConfirmation && resolved == null) {
+            if (!consumeConfirmation(sender.getName())) {
                 // First execution - ask for confirmation
                 sendErrorMessage(sender, ErrorType.GUARD_FAILED, messages.awaitConfirmation(), null);
                 return true;
@@ -1103,20 +1601,17 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         // Auto help: display help message when enabled and no arguments provided
         if (enableHelp && processedArgs.length == 0) {
             // Show help if command has subcommands or required arguments
-            int required = 0;
-            for (Arg<?> arg : args) {
-                if (!arg.optional()) required++;
-            }
-            if (!subcommands.isEmpty() || required > 0) {
+            if (!subcommands.isEmpty() || executionPlan.hasRequiredArguments()) {
                 generateHelpMessage(label, 1, sender);
                 return true;
             }
         }
 
         // Automatic subcommand routing: if the first token matches a registered subcommand, delegate to it
-        if (!subcommands.isEmpty() && processedArgs.length >= 1) {
-            String first = processedArgs[0].toLowerCase(Locale.ROOT);
-            SlashCommand sub = subcommands.get(first);
+        if (!subcommandRouter.isEmpty() && processedArgs.length >= 1) {
+            String first = processedArgs[0];
+            // Trie lookup folds ASCII case in place, so the common hit path does not allocate
+            SlashCommand sub = subcommandRouter.route(first);
 
             // Check if first argument is a page number for help pagination
             if (sub == null && enableHelp) {
@@ -1133,13 +1628,13 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
 
             // Fuzzy matching: if no exact match found and fuzzy matching is enabled, try to find a similar subcommand
             if (sub == null && fuzzySubcommandMatching) {
-                List<String> subcommandNames = new ArrayList<>(subcommands.keySet());
-                List<String> similar = StringSimilarity.findSimilar(first, subcommandNames, 1, fuzzyMatchThreshold);
-                if (!similar.isEmpty()) {
-                    sub = subcommands.get(similar.get(0));
+                first = first.toLowerCase(Locale.ROOT);
+                String closest = subcommandRouter.findClosest(first, fuzzyMatchThreshold);
+                if (closest != null) {
+                    sub = subcommandRouter.route(closest);
                     // Log fuzzy match for audit purposes in debug mode
                     if (debugMode && plugin != null) {
-                        plugin.getLogger().info("[Fuzzy Match] '" + first + "' matched to '" + similar.get(0) + "'");
+                        plugin.getLogger().info("[Fuzzy Match] '" + first + "' matched to '" + closest + "'");
                     }
                 }
             }
@@ -1155,7 +1650,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
                     return sub.execute(sender, sub.name(), remaining);
                 } catch (Throwable t) {
                     // Catch any unexpected exception during subcommand execution
-                    String errorMsg = messages.subcommandInternalError(first);
+                    String errorMsg = messages.subcommandInternalError(first.toLowerCase(Locale.ROOT));
                     sendErrorMessage(sender, ErrorType.INTERNAL_ERROR, errorMsg, t);
                     if (plugin != null) {
                         plugin.getLogger()
@@ -1204,9 +1699,16 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
             // Use remaining args (after extracting flags/key-values) for positional argument parsing
             positionalArgs = flagKvResult.remainingArgs().toArray(new String[0]);
         }
+        // Spans only describe positional tokens if flag extraction did not remove any
+        TokenSpans positionalSpans = (positionalArgs == processedArgs) ? tokenSpans : null;
 
-        Map<String, Object> values = new LinkedHashMap<>();
-        boolean lastIsGreedy = !args.isEmpty() && args.get(args.size() - 1).greedy();
+        // Parsed values live in slots indexed like args
+        Object[] slotValues = new Object[args.size()];
+        long[] primitiveValues = (primitiveSlots != null) ? new long[args.size()] : null;
+        // One live, read-only view over the slots serves every condition, validator and group check;
+        // it sees each value as soon as it is parsed, so no per-check context has to be created
+        CommandContext parsingView = CommandContext.fromSlots(executionPlan, slotValues, primitiveValues, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
+        boolean lastIsGreedy = executionPlan.hasGreedyArgument();
 
         // NOTE: Cannot validate required arg count upfront because:
         // 1. Conditional arguments might be skipped
@@ -1214,99 +1716,91 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         // Instead, we validate after parsing and check for missing required args
 
         // Parse arguments using arg index and token index (support greedy last argument)
+        boolean gated = executionPlan.hasGatedArguments();
+        boolean conditional = executionPlan.hasConditionalArguments();
         int argIndex = 0;
         int tokenIndex = 0;
         while (argIndex < args.size() && tokenIndex < positionalArgs.length) {
             Arg<?> arg = args.get(argIndex);
 
-            // Evaluate conditional argument
-            if (arg.condition() != null) {
-                // Include flags and key-values in the context for condition evaluation
-                CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
-                try {
-                    if (!arg.condition().test(tempCtx)) {
-                        // Condition is false, skip this argument entirely (don't consume token)
-                        argIndex++;
-                        continue;
-                    }
-                } catch (Throwable t) {
-                    String errorMsg = messages.argumentConditionError(arg.name());
-                    sendErrorMessage(sender, ErrorType.INTERNAL_ERROR, errorMsg, t);
-                    if (plugin != null) {
-                        plugin.getLogger()
-                            .severe("Condition evaluation failed for argument '" + arg.name() + "': " + t.getMessage());
-                        logException(t);
+            // Conditions and argument permissions are only evaluated if the plan has any
+            if (gated) {
+                // Evaluate conditional argument
+                if (conditional && executionPlan.isConditional(argIndex)) {
+                    // Include flags and key-values in the context for condition evaluation
+                    try {
+                        if (!arg.condition().test(parsingView)) {
+                            // Condition is false, skip this argument entirely (don't consume token)
+                            argIndex++;
+                            continue;
+                        }
+                    } catch (Throwable t) {
+                        String errorMsg = messages.argumentConditionError(arg.name());
+                        sendErrorMessage(sender, ErrorType.INTERNAL_ERROR, errorMsg, t);
+                        if (plugin != null) {
+                            plugin.getLogger()
+                                .severe("Condition evaluation failed for argument '" + arg.name() + "': " + t.getMessage());
+                            logException(t);
+                        }
+                        return true;
                     }
-                    return true;
                 }
-            }
 
-            // Per-argument permission check
-            if (arg.permission() != null && !arg.permission().isEmpty() && !sender.hasPermission(arg.permission())) {
-                // If a required argument is permission-gated and user lacks permission, fail
-                if (!arg.optional()) {
-                    sendErrorMessage(
-                        sender, ErrorType.ARGUMENT_PERMISSION,
-                        messages.argumentPermissionDenied(arg.name()), null
-                    );
-                    return true;
+                // Per-argument permission check
+                String argPermission = executionPlan.getArgumentPermission(argIndex);
+                if (argPermission != null && !PermissionDecisionCache.hasPermission(sender, argPermission)) {
+                    // If a required argument is permission-gated and user lacks permission, fail
+                    if (!arg.optional()) {
+                        sendErrorMessage(
+                            sender, ErrorType.ARGUMENT_PERMISSION,
+                            messages.argumentPermissionDenied(arg.name()), null
+                        );
+                        return true;
+                    }
+                    // Optional arg without permission: skip it
+                    argIndex++;
+                    continue;
                 }
-                // Optional arg without permission: skip it
-                argIndex++;
-                continue;
             }
             ArgumentParser<?> parser = arg.parser();
             String token;
 
-            // Check if this is the last argument to be parsed (accounting for conditionals and permissions after it)
-            boolean isLastArgToBeParsed = true;
-            for (int checkIdx = argIndex + 1; checkIdx < args.size(); checkIdx++) {
-                Arg<?> futureArg = args.get(checkIdx);
-
-                // Check if future arg will be skipped by condition
-                boolean willBeSkippedByCondition = false;
-                if (futureArg.condition() != null) {
-                    try {
-                        CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
-                        willBeSkippedByCondition = !futureArg.condition().test(tempCtx);
-                    } catch (RuntimeException e) {
-                        LOGGER.log(Level.FINE, "Exception evaluating argument condition", e);
-                    }
-                }
-
-                // Check if future arg will be skipped by permission
-                boolean willBeSkippedByPermission = futureArg.permission() != null
-                    && !futureArg.permission().isEmpty()
-                    && !sender.hasPermission(futureArg.permission())
-                    && futureArg.optional();
-
-                // If this future arg will actually be parsed, current is not the last
-                if (!willBeSkippedByCondition && !willBeSkippedByPermission) {
-                    isLastArgToBeParsed = false;
-                    break;
-                }
-            }
-
-            if (isLastArgToBeParsed && arg.greedy()) {
-                // Safety check for greedy argument token index
-                if (tokenIndex >= positionalArgs.length) {
-                    token = "";
-                } else {
-                    token = String.join(" ", Arrays.asList(positionalArgs).subList(tokenIndex, positionalArgs.length));
-                }
+            // Greedy arguments are always last (enforced at build time), so the compiled plan
+            // already knows which index consumes the remaining tokens - no lookahead needed
+            if (argIndex == executionPlan.getGreedyArgumentIndex()) {
+                token = joinRemaining(positionalArgs, tokenIndex, positionalSpans);
                 tokenIndex = positionalArgs.length; // consume all remaining tokens
             } else {
                 token = positionalArgs[tokenIndex++];
             }
             ParseResult<?> res;
+            PrimitiveSlot primitive = (primitiveSlots != null) ? primitiveSlots[argIndex] : null;
             try {
-                res = parser.parse(token, sender);
-                if (res == null) {
-                    throw new ParsingException(
-                        "Parser " + parser.getClass().getName() + " returned null ParseResult for argument '"
-                        + arg.name()
-                        + "'");
+                if (primitive != null) {
+                    // Unboxed fast path: parse and range-check without allocating
+                    primitiveValues[argIndex] = primitive.parse(parser, token, sender);
+                    res = null;
+                } else if (parser instanceof AsyncArgumentParser) {
+                    // Answer from local data; on a miss, suspend and resume once the lookup completed
+                    res = (resolved != null) ? resolved.get(argIndex) : null;
+                    if (res == null) {
+                        res = ((AsyncArgumentParser<?>) parser).parseNow(token, sender);
+                    }
+                    if (res == null) {
+                        resumeAfterLookup(sender, label, providedArgs, resolved, arg, argIndex, token);
+                        return true;
+                    }
+                } else {
+                    res = parser.parse(token, sender);
+                    if (res == null) {
+                        throw new ParsingException(
+                            "Parser " + parser.getClass().getName() + " returned null ParseResult for argument '"
+                            + arg.name()
+                            + "'");
+                    }
                 }
+            } catch (InvalidArgumentValueException invalid) {
+                res = ParseResult.error(invalid.code(), invalid.arguments());
             } catch (ParsingException pe) {
                 // Re-throw ParsingException as it indicates a developer error
                 throw pe;
@@ -1322,8 +1816,21 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
                 }
                 return true;
             }
+            if (res == null) {
+                String rangeError = primitive.validateRange(primitiveValues[argIndex], arg.context(), messages);
+                if (rangeError != null) {
+                    sendErrorMessage(
+                        sender, ErrorType.VALIDATION,
+                        messages.validationFailed(arg.name(), rangeError), null
+                    );
+                    return true;
+                }
+                slotValues[argIndex] = primitive;
+                argIndex++;
+                continue;
+            }
             if (!res.isSuccess()) {
-                String msg = res.error().orElse("invalid value");
+                String msg = res.errorMessage(messages);
                 String errorMsg = messages.invalidArgumentValue(arg.name(), parser.getTypeName(), msg);
                 sendErrorMessage(sender, ErrorType.PARSING, errorMsg, null);
 
@@ -1416,7 +1923,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
                 return true;
             }
 
-            values.put(arg.name(), parsedValue);
+            slotValues[argIndex] = parsedValue;
             argIndex++;
         }
 
@@ -1425,14 +1932,14 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         List<Arg<?>> missingInteractiveArgs = new ArrayList<>();
         boolean hasMissingRequired = false;
 
-        for (Arg<?> arg : args) {
-            if (!values.containsKey(arg.name())) {
+        for (int i = 0; i < args.size(); i++) {
+            Arg<?> arg = args.get(i);
+            if (slotValues[i] == null) {
                 // Check if this arg was skipped due to condition
                 boolean skippedByCondition = false;
                 if (arg.condition() != null) {
                     try {
-                        CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
-                        skippedByCondition = !arg.condition().test(tempCtx);
+                        skippedByCondition = !arg.condition().test(parsingView);
                     } catch (RuntimeException ignored) {
                         // If condition evaluation fails here, we already handled it during parsing
                     }
@@ -1441,7 +1948,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
                 // Check if this arg was skipped due to permission
                 boolean skippedByPermission = false;
                 if (arg.permission() != null && !arg.permission().isEmpty()
-                    && !sender.hasPermission(arg.permission())) {
+                    && !PermissionDecisionCache.hasPermission(sender, arg.permission())) {
                     skippedByPermission = arg.optional(); // Only skip if optional
                 }
 
@@ -1469,7 +1976,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
 
                 if (!requiredInteractiveArgs.isEmpty()) {
                     // Start interactive prompt session
-                    final Map<String, Object> currentValues = new LinkedHashMap<>(values);
+                    final Map<String, Object> currentValues = new LinkedHashMap<>(parsingView.allArguments());
                     final Map<String, Boolean> finalFlagValues = flagValues;
                     final Map<String, Object> finalKvPairs = keyValuePairs;
                     final Map<String, List<Object>> finalMultiPairs = multiValuePairs;
@@ -1507,9 +2014,9 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         }
 
         // Apply default values for missing optional arguments
-        for (Arg<?> arg : args) {
-            if (!values.containsKey(arg.name()) && arg.context().defaultValue() != null) {
-                values.put(arg.name(), arg.context().defaultValue());
+        for (int i = 0; i < args.size(); i++) {
+            if (slotValues[i] == null) {
+                slotValues[i] = args.get(i).context().defaultValue();
             }
         }
 
@@ -1521,11 +2028,10 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
 
         // Cross-argument validation: validate relationships between multiple arguments
         if (!crossArgumentValidators.isEmpty()) {
-            CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
             for (CrossArgumentValidator validator : crossArgumentValidators) {
                 String error;
                 try {
-                    error = validator.validate(tempCtx);
+                    error = validator.validate(parsingView);
                 } catch (Throwable t) {
                     // Catch any unexpected exception during cross-argument validation
                     String errorMsg = messages.crossValidationInternalError();
@@ -1547,13 +2053,12 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
 
         // Argument group validation
         if (!argumentGroups.isEmpty()) {
-            CommandContext groupCtx = new CommandContext(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
             for (ArgumentGroup group : argumentGroups) {
                 // Count how many members of this group are present
                 int presentCount = 0;
                 List<String> presentNames = new ArrayList<>();
                 for (String memberName : group.memberNames()) {
-                    if (groupCtx.has(memberName) || groupCtx.getFlag(memberName)) {
+                    if (parsingView.has(memberName) || parsingView.getFlag(memberName)) {
                         presentCount++;
                         presentNames.add(memberName);
                     }
@@ -1589,7 +2094,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         // Update cooldown tracking after successful validation
         if (perServerCooldownMillis > 0) {
             try {
-                CooldownManager.updateServerCooldown(name);
+                cooldownStore.startServer(cooldownId(), perServerCooldownMillis);
             } catch (Throwable t) {
                 // Log but don't fail the command if cooldown update fails
                 if (plugin != null) {
@@ -1600,7 +2105,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         }
         if (perUserCooldownMillis > 0) {
             try {
-                CooldownManager.updateUserCooldown(name, sender.getName());
+                cooldownStore.startUser(cooldownId(), CooldownStore.keyOf(sender), perUserCooldownMillis);
             } catch (Throwable t) {
                 // Log but don't fail the command if cooldown update fails
                 if (plugin != null) {
@@ -1614,7 +2119,8 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
 
         // Optional arguments not provided: simply absent from context
 
-        CommandContext ctx = new CommandContext(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
+        // Parsing is complete: the parsing view already holds every value and becomes the action's context
+        CommandContext ctx = parsingView;
 
         // Handle wizard commands: start interactive wizard session
         if (isWizardCommand() && wizardDefinition != null) {
@@ -1730,89 +2236,81 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
                     throw new CommandExecutionException("Error executing command '" + name + "'", executionError);
                 }
             } else if (asyncActionAdv != null) {
-                // Advanced async with cancellation, progress, and timeout using Bukkit scheduler
-                final CancellationToken token = new CancellationToken();
+                // Advanced async with cancellation, progress, and an enforced deadline
+                final AsyncRun run = new AsyncRun();
                 final Progress progress = (msg) -> {
                     try {
-                        plugin.getServer().getScheduler().runTask(plugin, () -> sender.sendMessage(msg));
+                        executionBackend.runOnMainThread(plugin, () -> sender.sendMessage(msg));
                     } catch (Throwable t) {
                         plugin.getLogger().warning(
                             "Failed to send progress message for command '" + name + "': " + t.getMessage());
                     }
                 };
 
-                // Use Bukkit's async scheduler instead of CompletableFuture
-                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+                // Arm the deadline before submitting so time spent queued in the backend counts too
+                final DeadlineScheduler.Deadline deadline = (asyncTimeoutMillis > 0L)
+                    ? DeadlineScheduler.shared().schedule(
+                        asyncTimeoutMillis - (System.currentTimeMillis() - startTime),
+                        () -> onAsyncDeadline(sender, ctx, run, startTime))
+                    : null;
+
+                // Hand the action to the configured execution backend
+                boolean accepted = executionBackend.submit(plugin, () -> {
+                    if (!run.begin()) {
+                        // Deadline passed while the task was queued; the timeout has been reported
+                        return;
+                    }
                     Throwable executionError = null;
-                    boolean timedOut = false;
-
                     try {
-                        // Periodically check for timeout if configured
-                        if (asyncTimeoutMillis > 0L) {
-                            // Execute with timeout awareness - action should check token.isCancelled()
-                            asyncActionAdv.execute(sender, ctx, token, progress);
-
-                            // Check if we exceeded timeout after execution
-                            if (System.currentTimeMillis() - startTime > asyncTimeoutMillis) {
-                                timedOut = true;
-                                token.cancel();
-                            }
-                        } else {
-                            asyncActionAdv.execute(sender, ctx, token, progress);
-                        }
+                        asyncActionAdv.execute(sender, ctx, run.token, progress);
                     } catch (Throwable t) {
                         executionError = (t.getCause() != null) ? t.getCause() : t;
                     }
+                    boolean abandoned = run.end();
+                    if (deadline != null) {
+                        deadline.cancel();
+                    }
+                    if (abandoned) {
+                        // Clear the interrupt delivered at the deadline so it does not leak into the pool thread
+                        Thread.interrupted();
+                        abandonedAsyncWorkers.decrementAndGet();
+                    }
+                    if (!run.settled.compareAndSet(false, true)) {
+                        // The deadline already reported a timeout; this late result is dropped
+                        return;
+                    }
 
                     // Run after-hooks
                     final long executionTime = System.currentTimeMillis() - startTime;
                     final Throwable finalError = executionError;
-                    final boolean finalTimedOut = timedOut;
 
-                    ExecutionHook.AfterContext afterContext = (finalError == null && !finalTimedOut)
+                    ExecutionHook.AfterContext afterContext = (finalError == null)
                         ? ExecutionHook.AfterContext.success(executionTime)
-                        : ExecutionHook.AfterContext.failure(
-                            finalError != null ? finalError : new TimeoutException("Command timed out"),
-                            executionTime);
+                        : ExecutionHook.AfterContext.failure(finalError, executionTime);
                     runAfterHooks(sender, ctx, afterContext);
 
                     // Handle errors - send messages on main thread
-                    if (finalTimedOut || finalError != null) {
-                        final String errorMsg = finalTimedOut
-                            ? messages.commandTimeout(asyncTimeoutMillis)
-                            : messages.executionError();
-                        final ErrorType errorType = finalTimedOut ? ErrorType.TIMEOUT : ErrorType.EXECUTION;
-                        final Throwable errorCause = finalTimedOut
-                            ? new TimeoutException("Command timed out")
-                            : finalError;
-
-                        plugin.getServer().getScheduler().runTask(plugin, () -> {
-                            boolean suppressDefault = false;
-                            if (exceptionHandler != null) {
-                                try {
-                                    suppressDefault = exceptionHandler.handle(sender, errorType, errorMsg, errorCause);
-                                } catch (Throwable handlerException) {
-                                    sender.sendMessage(messages.exceptionHandlerError(handlerException.getMessage()));
-                                    plugin.getLogger().severe("Exception handler threw an exception while handling "
-                                        + errorType + ": " + handlerException.getMessage());
-                                    logException(handlerException);
-                                }
-                            }
-                            if (sendErrors && !suppressDefault) {
-                                sender.sendMessage(errorMsg);
-                            }
-                        });
-
-                        if (finalError != null) {
-                            plugin.getLogger().severe("Error executing command '" + name + "' asynchronously: "
-                                + finalError.getMessage());
-                            logException(finalError);
-                        }
+                    if (finalError != null) {
+                        reportAsyncError(sender, ErrorType.EXECUTION, messages.executionError(), finalError);
+                        plugin.getLogger().severe("Error executing command '" + name + "' asynchronously: "
+                            + finalError.getMessage());
+                        logException(finalError);
+                    }
+                }, () -> {
+                    // Refused after it was queued; report it unless the timeout already was
+                    if (deadline == null || deadline.cancel()) {
+                        rejectAsyncExecution(sender, ctx, startTime);
                     }
                 });
+                if (!accepted) {
+                    if (deadline != null) {
+                        deadline.cancel();
+                    }
+                    rejectAsyncExecution(sender, ctx, startTime);
+                }
             } else {
-                // Simple async execution using Bukkit scheduler
-                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+                // Simple async execution on the configured execution backend
+                boolean accepted = executionBackend.submit(plugin, () -> {
                     Throwable executionError = null;
                     try {
                         action.execute(sender, ctx);
@@ -1822,7 +2320,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
                         final String errorMsg = messages.executionError();
 
                         // Send error message on main thread
-                        plugin.getServer().getScheduler().runTask(plugin, () -> {
+                        executionBackend.runOnMainThread(plugin, () -> {
                             boolean suppressDefault = false;
                             if (exceptionHandler != null) {
                                 try {
@@ -1853,14 +2351,48 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
                         ? ExecutionHook.AfterContext.success(executionTime)
                         : ExecutionHook.AfterContext.failure(finalExecutionError, executionTime);
                     runAfterHooks(sender, ctx, afterContext);
-                });
+                }, () -> rejectAsyncExecution(sender, ctx, startTime));
+                if (!accepted) {
+                    rejectAsyncExecution(sender, ctx, startTime);
+                }
             }
         } else {
+            // Replay cached output instead of running the action
+            String cacheKey = (resultCache != null) ? resultCacheKey(sender, ctx) : null;
+            if (cacheKey != null) {
+                List<String> cached = resultCache.get(cacheKey);
+                if (cached != null) {
+                    for (String line : cached) {
+                        sender.sendMessage(line);
+                    }
+                    runAfterHooks(sender, ctx,
+                        ExecutionHook.AfterContext.success(System.currentTimeMillis() - startTime));
+                    return true;
+                }
+            }
+            OutputCapture capture = null;
+            if (cacheKey != null) {
+                capture = new OutputCapture(sender);
+                ctx.captureReplies(capture);
+            }
+
             // Synchronous execution with after-hooks
             Throwable executionError = null;
             try {
                 action.execute(sender, ctx);
                 executionSuccess = true;
+                if (capture != null) {
+                    ctx.captureReplies(null);
+                    List<String> lines = capture.lines();
+                    if (!lines.isEmpty()) {
+                        resultCache.put(cacheKey, lines, resultCacheTtlMillis);
+                    } else if (!warnedEmptyResult && plugin != null) {
+                        // Replaying nothing would turn the command into a no-op for the TTL
+                        warnedEmptyResult = true;
+                        plugin.getLogger().warning("Command '" + fullCommandPath(name) + "' caches its results "
+                            + "but sent nothing through CommandContext.reply(...); the result was not cached");
+                    }
+                }
             } catch (Throwable t) {
                 executionSuccess = false;
                 executionException = (t.getCause() != null) ? t.getCause() : t;
@@ -2028,7 +2560,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         List<CommandParseError> errors = new ArrayList<>();
 
         // Permission check
-        if (permission != null && !permission.isEmpty() && !sender.hasPermission(permission)) {
+        if (permission != null && !permission.isEmpty() && !PermissionDecisionCache.hasPermission(sender, permission)) {
             return CommandParseResult.failure(
                 CommandParseError.permission(messages.noPermission()),
                 providedArgs
@@ -2060,15 +2592,25 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
             }
         }
 
+        // Split quoted input the same way execute() does
+        TokenSpans tokenSpans = quotedSpans(providedArgs);
+        if (tokenSpans != null && !tokenSpans.isSuccess()) {
+            return CommandParseResult.failure(
+                CommandParseError.of(ErrorType.PARSING, messages.quotedStringError(tokenSpans.error())),
+                providedArgs
+            );
+        }
+        String[] tokens = (tokenSpans != null) ? tokenSpans.toArray() : providedArgs;
+
         // Parse flags and key-value pairs
         Map<String, Boolean> flagValues = Collections.emptyMap();
         Map<String, Object> keyValuePairs = Collections.emptyMap();
         Map<String, List<Object>> multiValuePairs = Collections.emptyMap();
-        String[] positionalArgs = providedArgs;
+        String[] positionalArgs = tokens;
 
         if (!flags.isEmpty() || !keyValues.isEmpty()) {
             FlagAndKeyValueParser flagKvParser = cachedFlagKvParser != null ? cachedFlagKvParser : new FlagAndKeyValueParser(flags, keyValues);
-            FlagAndKeyValueParser.ParsedResult flagKvResult = flagKvParser.parse(providedArgs, sender);
+            FlagAndKeyValueParser.ParsedResult flagKvResult = flagKvParser.parse(tokens, sender);
 
             if (!flagKvResult.isSuccess()) {
                 // Collect all flag/key-value parsing errors
@@ -2091,74 +2633,57 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
             positionalArgs = flagKvResult.remainingArgs().toArray(new String[0]);
         }
 
+        // Spans only describe positional tokens if flag extraction did not remove any
+        TokenSpans positionalSpans = (positionalArgs == tokens) ? tokenSpans : null;
+
         Map<String, Object> values = new LinkedHashMap<>();
-        boolean lastIsGreedy = !args.isEmpty() && args.get(args.size() - 1).greedy();
+        // Single live view over the maps for condition and validator checks (maps are wrapped, not copied)
+        CommandContext parsingView = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
+        boolean lastIsGreedy = executionPlan.hasGreedyArgument();
 
         // Parse arguments
+        boolean gated = executionPlan.hasGatedArguments();
+        boolean conditional = executionPlan.hasConditionalArguments();
         int argIndex = 0;
         int tokenIndex = 0;
         while (argIndex < args.size() && tokenIndex < positionalArgs.length) {
             Arg<?> arg = args.get(argIndex);
 
-            // Evaluate conditional argument
-            if (arg.condition() != null) {
-                CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
-                try {
-                    if (!arg.condition().test(tempCtx)) {
-                        argIndex++;
-                        continue;
+            // Conditions and argument permissions are only evaluated if the plan has any
+            if (gated) {
+                // Evaluate conditional argument
+                if (conditional && executionPlan.isConditional(argIndex)) {
+                    try {
+                        if (!arg.condition().test(parsingView)) {
+                            argIndex++;
+                            continue;
+                        }
+                    } catch (Throwable t) {
+                        errors.add(CommandParseError.internal(messages.argumentConditionError(arg.name()))
+                            .forArgument(arg.name()));
+                        return CommandParseResult.failure(errors, providedArgs);
                     }
-                } catch (Throwable t) {
-                    errors.add(CommandParseError.internal(messages.argumentConditionError(arg.name()))
-                        .forArgument(arg.name()));
-                    return CommandParseResult.failure(errors, providedArgs);
                 }
-            }
 
-            // Per-argument permission check
-            if (arg.permission() != null && !arg.permission().isEmpty() && !sender.hasPermission(arg.permission())) {
-                if (!arg.optional()) {
-                    errors.add(CommandParseError.argumentPermission(arg.name(), messages.argumentPermissionDenied(arg.name())));
-                    return CommandParseResult.failure(errors, providedArgs);
+                // Per-argument permission check
+                String argPermission = executionPlan.getArgumentPermission(argIndex);
+                if (argPermission != null && !PermissionDecisionCache.hasPermission(sender, argPermission)) {
+                    if (!arg.optional()) {
+                        errors.add(CommandParseError.argumentPermission(arg.name(), messages.argumentPermissionDenied(arg.name())));
+                        return CommandParseResult.failure(errors, providedArgs);
+                    }
+                    argIndex++;
+                    continue;
                 }
-                argIndex++;
-                continue;
             }
 
             ArgumentParser<?> parser = arg.parser();
             String token;
 
-            // Check if this is the last argument to be parsed
-            boolean isLastArgToBeParsed = true;
-            for (int checkIdx = argIndex + 1; checkIdx < args.size(); checkIdx++) {
-                Arg<?> futureArg = args.get(checkIdx);
-
-                boolean willBeSkippedByCondition = false;
-                if (futureArg.condition() != null) {
-                    try {
-                        CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
-                        willBeSkippedByCondition = !futureArg.condition().test(tempCtx);
-                    } catch (RuntimeException ignored) {
-                    }
-                }
-
-                boolean willBeSkippedByPermission = futureArg.permission() != null
-                    && !futureArg.permission().isEmpty()
-                    && !sender.hasPermission(futureArg.permission())
-                    && futureArg.optional();
-
-                if (!willBeSkippedByCondition && !willBeSkippedByPermission) {
-                    isLastArgToBeParsed = false;
-                    break;
-                }
-            }
-
-            if (isLastArgToBeParsed && arg.greedy()) {
-                if (tokenIndex >= positionalArgs.length) {
-                    token = "";
-                } else {
-                    token = String.join(" ", Arrays.asList(positionalArgs).subList(tokenIndex, positionalArgs.length));
-                }
+            // Greedy arguments are always last (enforced at build time), so the compiled plan
+            // already knows which index consumes the remaining tokens - no lookahead needed
+            if (argIndex == executionPlan.getGreedyArgumentIndex()) {
+                token = joinRemaining(positionalArgs, tokenIndex, positionalSpans);
                 tokenIndex = positionalArgs.length;
             } else {
                 token = positionalArgs[tokenIndex++];
@@ -2182,7 +2707,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
             }
 
             if (!res.isSuccess()) {
-                String msg = res.error().orElse("invalid value");
+                String msg = res.errorMessage(messages);
                 String errorMsg = messages.invalidArgumentValue(arg.name(), parser.getTypeName(), msg);
                 errors.add(CommandParseError.parsing(arg.name(), errorMsg).withInput(token));
                 return CommandParseResult.failure(errors, providedArgs);
@@ -2247,15 +2772,14 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
                 boolean skippedByCondition = false;
                 if (arg.condition() != null) {
                     try {
-                        CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
-                        skippedByCondition = !arg.condition().test(tempCtx);
+                        skippedByCondition = !arg.condition().test(parsingView);
                     } catch (RuntimeException ignored) {
                     }
                 }
 
                 boolean skippedByPermission = false;
                 if (arg.optional() && arg.permission() != null && !arg.permission().isEmpty()
-                    && !sender.hasPermission(arg.permission())) {
+                    && !PermissionDecisionCache.hasPermission(sender, arg.permission())) {
                     skippedByPermission = true;
                 }
 
@@ -2281,11 +2805,10 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
 
         // Cross-argument validation
         if (!crossArgumentValidators.isEmpty()) {
-            CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
             for (CrossArgumentValidator validator : crossArgumentValidators) {
                 String error;
                 try {
-                    error = validator.validate(tempCtx);
+                    error = validator.validate(parsingView);
                 } catch (Throwable t) {
                     errors.add(CommandParseError.internal(messages.crossValidationInternalError()));
                     return CommandParseResult.failure(errors, providedArgs);
@@ -2346,7 +2869,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
 
         // Permission check (unless skipped)
         if (!options.skipPermissionChecks()) {
-            if (permission != null && !permission.isEmpty() && !sender.hasPermission(permission)) {
+            if (permission != null && !permission.isEmpty() && !PermissionDecisionCache.hasPermission(sender, permission)) {
                 return CommandParseResult.failure(
                     CommandParseError.permission(messages.noPermission()),
                     providedArgs
@@ -2383,18 +2906,18 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
 
         // Cooldown checks (if enabled in options)
         if (options.checkCooldowns()) {
-            CooldownResult serverCooldown = CooldownManager.checkServerCooldown(name, perServerCooldownMillis);
-            if (serverCooldown.onCooldown()) {
-                String formattedTime = CooldownManager.formatCooldownMessage("%s", serverCooldown.remainingMillis());
+            long serverCooldownRemaining = serverCooldownRemaining();
+            if (serverCooldownRemaining > 0) {
+                String formattedTime = CooldownManager.formatCooldownMessage("%s", serverCooldownRemaining);
                 return CommandParseResult.failure(
                     CommandParseError.cooldown(messages.serverCooldown(formattedTime)),
                     providedArgs
                 );
             }
 
-            CooldownResult userCooldown = CooldownManager.checkUserCooldown(name, sender.getName(), perUserCooldownMillis);
-            if (userCooldown.onCooldown()) {
-                String formattedTime = CooldownManager.formatCooldownMessage("%s", userCooldown.remainingMillis());
+            long userCooldownRemaining = userCooldownRemaining(sender);
+            if (userCooldownRemaining > 0) {
+                String formattedTime = CooldownManager.formatCooldownMessage("%s", userCooldownRemaining);
                 return CommandParseResult.failure(
                     CommandParseError.cooldown(messages.userCooldown(formattedTime)),
                     providedArgs
@@ -2404,27 +2927,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
 
         // Confirmation check (if enabled in options)
         if (options.checkConfirmation() && awaitConfirmation) {
-            String confirmationKey = name + ":" + sender.getName();
-            final long currentTime = System.currentTimeMillis();
-            final long newExpiry = currentTime + CONFIRMATION_TIMEOUT_MILLIS;
-
-            pendingConfirmations.entrySet().removeIf(entry -> entry.getValue() < currentTime);
-
-            final boolean[] needsConfirmation = {false};
-            pendingConfirmations.compute(confirmationKey, (key, existingExpiry) -> {
-                if (existingExpiry != null && existingExpiry >= currentTime) {
-                    return null;
-                } else if (pendingConfirmations.size() >= MAX_PENDING_CONFIRMATIONS && existingExpiry == null) {
-                    // At capacity - reject new entries to prevent unbounded growth
-                    needsConfirmation[0] = true;
-                    return null;
-                } else {
-                    needsConfirmation[0] = true;
-                    return newExpiry;
-                }
-            });
-
-            if (needsConfirmation[0]) {
+            if (!consumeConfirmation(sender.getName())) {
                 return CommandParseResult.failure(
                     CommandParseError.confirmationRequired(messages.awaitConfirmation()),
                     providedArgs
@@ -2432,30 +2935,39 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
             }
         }
 
+        // Split quoted input the same way execute() does
+        TokenSpans tokenSpans = quotedSpans(providedArgs);
+        if (tokenSpans != null && !tokenSpans.isSuccess()) {
+            return CommandParseResult.failure(
+                CommandParseError.of(ErrorType.PARSING, messages.quotedStringError(tokenSpans.error())),
+                providedArgs
+            );
+        }
+        String[] tokens = (tokenSpans != null) ? tokenSpans.toArray() : providedArgs;
+
         // Subcommand routing (if enabled in options)
-        if (options.includeSubcommands() && !subcommands.isEmpty() && providedArgs.length >= 1) {
-            String first = providedArgs[0].toLowerCase(Locale.ROOT);
-            SlashCommand sub = subcommands.get(first);
+        if (options.includeSubcommands() && !subcommandRouter.isEmpty() && tokens.length >= 1) {
+            String first = tokens[0].toLowerCase(Locale.ROOT);
+            SlashCommand sub = subcommandRouter.route(first);
 
             // Fuzzy matching
             if (sub == null && fuzzySubcommandMatching) {
-                List<String> subcommandNames = new ArrayList<>(subcommands.keySet());
-                List<String> similar = StringSimilarity.findSimilar(first, subcommandNames, 1, fuzzyMatchThreshold);
-                if (!similar.isEmpty()) {
-                    sub = subcommands.get(similar.get(0));
+                String closest = subcommandRouter.findClosest(first, fuzzyMatchThreshold);
+                if (closest != null) {
+                    sub = subcommandRouter.route(closest);
                 }
             }
 
             if (sub != null) {
-                String[] remaining = providedArgs.length > 1
-                    ? Arrays.copyOfRange(providedArgs, 1, providedArgs.length)
+                String[] remaining = tokens.length > 1
+                    ? Arrays.copyOfRange(tokens, 1, tokens.length)
                     : new String[0];
                 return sub.parse(sender, sub.name(), remaining, options);
             } else if (!args.isEmpty()) {
                 // Has positional args, don't fail on unknown subcommand - let it be parsed as arg
             } else {
                 // No positional args expected - this is an unknown subcommand
-                List<String> similar = StringSimilarity.findSimilar(first, new ArrayList<>(subcommands.keySet()));
+                List<String> similar = subcommandRouter.findSimilar(first, 3, 0.4, null);
                 if (options.includeSuggestions() && !similar.isEmpty()) {
                     return CommandParseResult.failure(
                         CommandParseError.subcommandNotFound(first,
@@ -2476,11 +2988,11 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         Map<String, Boolean> flagValues = Collections.emptyMap();
         Map<String, Object> keyValuePairs = Collections.emptyMap();
         Map<String, List<Object>> multiValuePairs = Collections.emptyMap();
-        String[] positionalArgs = providedArgs;
+        String[] positionalArgs = tokens;
 
         if (!flags.isEmpty() || !keyValues.isEmpty()) {
             FlagAndKeyValueParser flagKvParser = cachedFlagKvParser != null ? cachedFlagKvParser : new FlagAndKeyValueParser(flags, keyValues);
-            FlagAndKeyValueParser.ParsedResult flagKvResult = flagKvParser.parse(providedArgs, sender);
+            FlagAndKeyValueParser.ParsedResult flagKvResult = flagKvParser.parse(tokens, sender);
 
             if (!flagKvResult.isSuccess()) {
                 for (String errorMsg : flagKvResult.errors()) {
@@ -2509,81 +3021,62 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
             return CommandParseResult.failure(errors, providedArgs);
         }
 
+        // Spans only describe positional tokens if flag extraction did not remove any
+        TokenSpans positionalSpans = (positionalArgs == tokens) ? tokenSpans : null;
+
         Map<String, Object> values = new LinkedHashMap<>();
-        boolean lastIsGreedy = !args.isEmpty() && args.get(args.size() - 1).greedy();
+        // Single live view over the maps for condition and validator checks (maps are wrapped, not copied)
+        CommandContext parsingView = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
+        boolean lastIsGreedy = executionPlan.hasGreedyArgument();
 
         // Parse arguments
+        boolean gated = executionPlan.hasGatedArguments();
+        boolean conditional = executionPlan.hasConditionalArguments();
         int argIndex = 0;
         int tokenIndex = 0;
         while (argIndex < args.size() && tokenIndex < positionalArgs.length) {
             Arg<?> arg = args.get(argIndex);
 
-            // Evaluate conditional argument
-            if (arg.condition() != null) {
-                CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
-                try {
-                    if (!arg.condition().test(tempCtx)) {
-                        argIndex++;
-                        continue;
-                    }
-                } catch (Throwable t) {
-                    errors.add(CommandParseError.internal(messages.argumentConditionError(arg.name()))
-                        .forArgument(arg.name()));
-                    if (!options.collectAllErrors()) {
-                        return CommandParseResult.failure(errors, providedArgs);
+            // Conditions and argument permissions are only evaluated if the plan has any
+            if (gated) {
+                // Evaluate conditional argument
+                if (conditional && executionPlan.isConditional(argIndex)) {
+                    try {
+                        if (!arg.condition().test(parsingView)) {
+                            argIndex++;
+                            continue;
+                        }
+                    } catch (Throwable t) {
+                        errors.add(CommandParseError.internal(messages.argumentConditionError(arg.name()))
+                            .forArgument(arg.name()));
+                        if (!options.collectAllErrors()) {
+                            return CommandParseResult.failure(errors, providedArgs);
+                        }
                     }
                 }
-            }
 
-            // Per-argument permission check
-            if (!options.skipPermissionChecks() && arg.permission() != null && !arg.permission().isEmpty()
-                && !sender.hasPermission(arg.permission())) {
-                if (!arg.optional()) {
-                    errors.add(CommandParseError.argumentPermission(arg.name(),
-                        messages.argumentPermissionDenied(arg.name())));
-                    if (!options.collectAllErrors()) {
-                        return CommandParseResult.failure(errors, providedArgs);
+                // Per-argument permission check
+                String argPermission = executionPlan.getArgumentPermission(argIndex);
+                if (!options.skipPermissionChecks() && argPermission != null && !PermissionDecisionCache.hasPermission(sender, argPermission)) {
+                    if (!arg.optional()) {
+                        errors.add(CommandParseError.argumentPermission(arg.name(),
+                            messages.argumentPermissionDenied(arg.name())));
+                        if (!options.collectAllErrors()) {
+                            return CommandParseResult.failure(errors, providedArgs);
+                        }
                     }
+                    argIndex++;
+                    continue;
                 }
-                argIndex++;
-                continue;
             }
 
             ArgumentParser<?> parser = arg.parser();
             String token;
 
-            // Check if this is the last argument to be parsed
-            boolean isLastArgToBeParsed = true;
-            for (int checkIdx = argIndex + 1; checkIdx < args.size(); checkIdx++) {
-                Arg<?> futureArg = args.get(checkIdx);
-
-                boolean willBeSkippedByCondition = false;
-                if (futureArg.condition() != null) {
-                    try {
-                        CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
-                        willBeSkippedByCondition = !futureArg.condition().test(tempCtx);
-                    } catch (RuntimeException ignored) {
-                    }
-                }
-
-                boolean willBeSkippedByPermission = !options.skipPermissionChecks()
-                    && futureArg.permission() != null
-                    && !futureArg.permission().isEmpty()
-                    && !sender.hasPermission(futureArg.permission())
-                    && futureArg.optional();
-
-                if (!willBeSkippedByCondition && !willBeSkippedByPermission) {
-                    isLastArgToBeParsed = false;
-                    break;
-                }
-            }
-
-            if (isLastArgToBeParsed && arg.greedy()) {
-                if (tokenIndex >= positionalArgs.length) {
-                    token = "";
-                } else {
-                    token = String.join(" ", Arrays.asList(positionalArgs).subList(tokenIndex, positionalArgs.length));
-                }
+            // Greedy arguments are always last (enforced at build time), so the compiled plan
+            // already knows which index consumes the remaining tokens - no lookahead needed
+            if (argIndex == executionPlan.getGreedyArgumentIndex()) {
+                token = joinRemaining(positionalArgs, tokenIndex, positionalSpans);
                 tokenIndex = positionalArgs.length;
             } else {
                 token = positionalArgs[tokenIndex++];
@@ -2611,7 +3104,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
             }
 
             if (!res.isSuccess()) {
-                String msg = res.error().orElse("invalid value");
+                String msg = res.errorMessage(messages);
                 String errorMsg = messages.invalidArgumentValue(arg.name(), parser.getTypeName(), msg);
                 CommandParseError parseError = CommandParseError.parsing(arg.name(), errorMsg).withInput(token);
 
@@ -2706,15 +3199,14 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
                 boolean skippedByCondition = false;
                 if (arg.condition() != null) {
                     try {
-                        CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
-                        skippedByCondition = !arg.condition().test(tempCtx);
+                        skippedByCondition = !arg.condition().test(parsingView);
                     } catch (RuntimeException ignored) {
                     }
                 }
 
                 boolean skippedByPermission = false;
                 if (arg.optional() && arg.permission() != null && !arg.permission().isEmpty()
-                    && !sender.hasPermission(arg.permission())) {
+                    && !PermissionDecisionCache.hasPermission(sender, arg.permission())) {
                     skippedByPermission = true;
                 }
 
@@ -2744,11 +3236,10 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
 
         // Cross-argument validation
         if (!crossArgumentValidators.isEmpty()) {
-            CommandContext tempCtx = CommandContext.createInternal(values, flagValues, keyValuePairs, multiValuePairs, providedArgs, cachedAliasMap);
             for (CrossArgumentValidator validator : crossArgumentValidators) {
                 String error;
                 try {
-                    error = validator.validate(tempCtx);
+                    error = validator.validate(parsingView);
                 } catch (Throwable t) {
                     errors.add(CommandParseError.internal(messages.crossValidationInternalError()));
                     if (!options.collectAllErrors()) {
@@ -2800,18 +3291,18 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         Preconditions.checkNotNull(providedArgs, "providedArgs");
 
         // Check cooldowns first
-        CooldownResult serverCooldown = CooldownManager.checkServerCooldown(name, perServerCooldownMillis);
-        if (serverCooldown.onCooldown()) {
-            String formattedTime = CooldownManager.formatCooldownMessage("%s", serverCooldown.remainingMillis());
+        long serverCooldownRemaining = serverCooldownRemaining();
+        if (serverCooldownRemaining > 0) {
+            String formattedTime = CooldownManager.formatCooldownMessage("%s", serverCooldownRemaining);
             return CommandParseResult.failure(
                 CommandParseError.guardFailed(messages.serverCooldown(formattedTime)),
                 providedArgs
             );
         }
 
-        CooldownResult userCooldown = CooldownManager.checkUserCooldown(name, sender.getName(), perUserCooldownMillis);
-        if (userCooldown.onCooldown()) {
-            String formattedTime = CooldownManager.formatCooldownMessage("%s", userCooldown.remainingMillis());
+        long userCooldownRemaining = userCooldownRemaining(sender);
+        if (userCooldownRemaining > 0) {
+            String formattedTime = CooldownManager.formatCooldownMessage("%s", userCooldownRemaining);
             return CommandParseResult.failure(
                 CommandParseError.guardFailed(messages.userCooldown(formattedTime)),
                 providedArgs
@@ -2862,7 +3353,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
             // Update cooldowns after successful parse
             if (perServerCooldownMillis > 0) {
                 try {
-                    CooldownManager.updateServerCooldown(name);
+                    cooldownStore.startServer(cooldownId(), perServerCooldownMillis);
                 } catch (Throwable t) {
                     if (plugin != null) {
                         plugin.getLogger().warning("Failed to update server cooldown for command '" + name + "': " + t.getMessage());
@@ -2871,7 +3362,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
             }
             if (perUserCooldownMillis > 0) {
                 try {
-                    CooldownManager.updateUserCooldown(name, sender.getName());
+                    cooldownStore.startUser(cooldownId(), CooldownStore.keyOf(sender), perUserCooldownMillis);
                 } catch (Throwable t) {
                     if (plugin != null) {
                         plugin.getLogger().warning(
@@ -3151,7 +3642,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
             .withRawArgs(providedArgs);
 
         // Permission check (unless skipped)
-        if (!options.skipPermissionChecks() && permission != null && !sender.hasPermission(permission)) {
+        if (!options.skipPermissionChecks() && permission != null && !PermissionDecisionCache.hasPermission(sender, permission)) {
             return resultBuilder
                 .withError(CommandParseError.permission(messages.noPermission()))
                 .build();
@@ -3234,7 +3725,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
                     parsedCount++;
                 } else {
                     // Parsing failed
-                    CommandParseError error = CommandParseError.parsing(arg.name(), parseResult.errorMessage())
+                    CommandParseError error = CommandParseError.parsing(arg.name(), parseResult.errorMessage(messages))
                         .withInput(input);
 
                     if (options.stopOnFirstError()) {
@@ -3454,7 +3945,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         // Arguments section - filter by permission
         List<Arg<?>> visibleArgs = new ArrayList<>();
         for (Arg<?> arg : args) {
-            if (arg.permission() == null || sender.hasPermission(arg.permission())) {
+            if (arg.permission() == null || PermissionDecisionCache.hasPermission(sender, arg.permission())) {
                 visibleArgs.add(arg);
             }
         }
@@ -3478,7 +3969,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         // Flags section - filter by permission
         List<Flag> visibleFlags = new ArrayList<>();
         for (Flag flag : flags) {
-            if (flag.permission() == null || sender.hasPermission(flag.permission())) {
+            if (flag.permission() == null || PermissionDecisionCache.hasPermission(sender, flag.permission())) {
                 visibleFlags.add(flag);
             }
         }
@@ -3505,7 +3996,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         // Key-Values section - filter by permission
         List<KeyValue<?>> visibleKeyValues = new ArrayList<>();
         for (KeyValue<?> kv : keyValues) {
-            if (kv.permission() == null || sender.hasPermission(kv.permission())) {
+            if (kv.permission() == null || PermissionDecisionCache.hasPermission(sender, kv.permission())) {
                 visibleKeyValues.add(kv);
             }
         }
@@ -3546,7 +4037,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         StringBuilder usage = new StringBuilder();
         for (Arg<?> arg : args) {
             // Skip args the sender doesn't have permission for
-            if (arg.permission() != null && !sender.hasPermission(arg.permission())) {
+            if (arg.permission() != null && !PermissionDecisionCache.hasPermission(sender, arg.permission())) {
                 continue;
             }
 
@@ -3564,7 +4055,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         // Add visible flags hint
         boolean hasVisibleFlags = false;
         for (Flag flag : flags) {
-            if (flag.permission() == null || sender.hasPermission(flag.permission())) {
+            if (flag.permission() == null || PermissionDecisionCache.hasPermission(sender, flag.permission())) {
                 hasVisibleFlags = true;
                 break;
             }
@@ -3577,7 +4068,7 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         // Add visible key-values hint
         boolean hasVisibleKeyValues = false;
         for (KeyValue<?> kv : keyValues) {
-            if (kv.permission() == null || sender.hasPermission(kv.permission())) {
+            if (kv.permission() == null || PermissionDecisionCache.hasPermission(sender, kv.permission())) {
                 hasVisibleKeyValues = true;
                 break;
             }
@@ -3590,6 +4081,65 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
         return usage.length() > 0 ? usage.toString() : "";
     }
 
+    // ==================== Result Caching ====================
+
+    /**
+     * Build the result cache key from the command path, the parsed values and, for
+     * {@link CacheScope#SENDER}, the sender.
+     */
+    private @NotNull String resultCacheKey(@NotNull CommandSender sender, @NotNull CommandContext ctx) {
+        ResultCache.CacheKeyBuilder key = ResultCache.CacheKeyBuilder.forCommand(fullCommandPath(name));
+        if (resultCacheScope == CacheScope.SENDER) {
+            key.withSender(sender);
+        } else {
+            key.global();
+        }
+        return withInvocation(key, ctx).build();
+    }
+
+    /**
+     * Build the default single-flight key: the command path and the parsed values, for all senders.
+     */
+    @NotNull String singleFlightKey(@NotNull CommandContext ctx) {
+        return withInvocation(ResultCache.CacheKeyBuilder.forCommand(fullCommandPath(name)).global(), ctx).build();
+    }
+
+    /**
+     * Append the parsed arguments, key-values, flags and multi-values of an invocation to a key.
+     */
+    private static @NotNull ResultCache.CacheKeyBuilder withInvocation(@NotNull ResultCache.CacheKeyBuilder key,
+                                                                      @NotNull CommandContext ctx) {
+        key.withArgs(ctx.allArguments()).withArgs(ctx.allKeyValues());
+        for (Map.Entry<String, Boolean> flag : ctx.allFlags().entrySet()) {
+            key.withArg(flag.getKey(), flag.getValue());
+        }
+        for (Map.Entry<String, List<Object>> values : ctx.allMultiValues().entrySet()) {
+            key.withArg(values.getKey(), values.getValue());
+        }
+        return key;
+    }
+
+    // ==================== Primitive Slots ====================
+
+    /**
+     * Determine which arguments are parsed into unboxed slots.
+     *
+     * @return the per-argument kinds, or null if no argument qualifies
+     */
+    private static @Nullable PrimitiveSlot[] computePrimitiveSlots(@NotNull List<Arg<?>> args) {
+        PrimitiveSlot[] kinds = null;
+        for (int i = 0; i < args.size(); i++) {
+            PrimitiveSlot kind = PrimitiveSlot.of(args.get(i));
+            if (kind != null) {
+                if (kinds == null) {
+                    kinds = new PrimitiveSlot[args.size()];
+                }
+                kinds[i] = kind;
+            }
+        }
+        return kinds;
+    }
+
     // ==================== Execution Hook Helpers ====================
 
     /**
@@ -3657,6 +4207,10 @@ public final class SlashCommand implements CommandExecutor, TabCompleter {
     public @NotNull List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command,
                                                @NotNull String alias, @NotNull String[] providedArgs) {
         try {
+            // Load shedding: skip completion entirely for senders over their budget
+            if (!tryAcquireCompletion(sender)) {
+                return Collections.emptyList();
+            }
             return TabCompletionHandler.generateCompletions(sender, alias, providedArgs, this, messages);
         } catch (Throwable t) {
             // Top-level catch to ensure no exception escapes from tab completion
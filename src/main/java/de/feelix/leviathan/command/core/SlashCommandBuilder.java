@@ -7,14 +7,22 @@ import de.feelix.leviathan.command.argument.ArgContext;
 import de.feelix.leviathan.command.argument.ArgumentGroup;
 import de.feelix.leviathan.command.argument.ChoiceArg;
 import de.feelix.leviathan.command.argument.VariadicArg;
+import de.feelix.leviathan.command.async.CommandExecutionBackend;
+import de.feelix.leviathan.command.async.SingleFlight;
 import de.feelix.leviathan.command.batch.BatchAction;
 import de.feelix.leviathan.command.batch.BatchConfig;
+import de.feelix.leviathan.command.cooldown.CooldownStore;
 import de.feelix.leviathan.command.error.DetailedExceptionHandler;
 import de.feelix.leviathan.command.permission.PermissionCascadeMode;
+import de.feelix.leviathan.command.ratelimit.TokenBucketLimiter;
 import de.feelix.leviathan.command.error.ExceptionHandler;
 import de.feelix.leviathan.command.flag.Flag;
 import de.feelix.leviathan.command.flag.KeyValue;
 import de.feelix.leviathan.command.guard.Guard;
+import de.feelix.leviathan.command.performance.CacheScope;
+import de.feelix.leviathan.command.performance.CommandPrecompiler;
+import de.feelix.leviathan.command.performance.ResultCache;
+import de.feelix.leviathan.command.performance.TickBudget;
 import de.feelix.leviathan.command.message.DefaultMessageProvider;
 import de.feelix.leviathan.command.message.MessageProvider;
 import de.feelix.leviathan.command.validation.CrossArgumentValidator;
@@ -36,10 +44,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -61,6 +72,20 @@ public final class SlashCommandBuilder {
     // Async advanced
     private AsyncCommandAction asyncAction = null;
     private Long asyncTimeoutMillis = null;
+    private @Nullable CommandExecutionBackend executionBackend = null;
+    private @Nullable CooldownStore cooldownStore = null;
+    // Rate limits
+    private @Nullable TokenBucketLimiter rateLimiter = null;
+    private @Nullable TokenBucketLimiter completionRateLimiter = null;
+    // Tick budget
+    private boolean heavy = false;
+    private int heavyPriority = 0;
+    // Result caching
+    private @Nullable ResultCache resultCache = null;
+    private long resultCacheTtlMillis = 0L;
+    private CacheScope resultCacheScope = CacheScope.SENDER;
+    // The last command built by this builder (read by the default single-flight key)
+    private final AtomicReference<SlashCommand> built = new AtomicReference<>();
     // Guards
     private final List<Guard> guards = new ArrayList<>();
     // Cross-argument validators
@@ -1580,6 +1605,29 @@ public final class SlashCommandBuilder {
         return this;
     }
 
+    /**
+     * Obtain a typed handle for an argument that has already been added to this builder.
+     * <p>
+     * The handle carries the argument's slot index, letting actions read values with
+     * {@link CommandContext#get(ArgHandle)} without a by-name lookup.
+     *
+     * @param name argument name or alias
+     * @param type expected value type
+     * @return a handle bound to the argument's slot
+     * @throws CommandConfigurationException if no argument with that name has been added yet
+     */
+    public <T> @NotNull ArgHandle<T> handle(@NotNull String name, @NotNull Class<T> type) {
+        Preconditions.checkNotNull(name, "name");
+        Preconditions.checkNotNull(type, "type");
+        for (int i = 0; i < args.size(); i++) {
+            Arg<?> arg = args.get(i);
+            if (arg.matchesNameOrAlias(name)) {
+                return new ArgHandle<>(arg.name(), type, i);
+            }
+        }
+        throw new CommandConfigurationException("Cannot create handle: no argument named '" + name + "' has been added");
+    }
+
     /**
      * Add a generic argument using a custom {@link ArgumentParser}.
      *
@@ -2331,7 +2379,8 @@ public final class SlashCommandBuilder {
     }
 
     /**
-     * Configure whether the action should run asynchronously via {@link CompletableFuture}.
+     * Configure whether the action should run asynchronously on the configured
+     * {@link #executionBackend(CommandExecutionBackend) execution backend}.
      *
      * @param async true to execute off the main thread
      * @return this builder
@@ -2357,6 +2406,10 @@ public final class SlashCommandBuilder {
     /**
      * Define an asynchronous command action with optional timeout, supporting cancellation tokens
      * and progress reporting.
+     * <p>
+     * The timeout is enforced by {@link de.feelix.leviathan.command.async.DeadlineScheduler}: once it
+     * passes, the token is cancelled, the worker thread is interrupted and the sender receives the
+     * timeout message right away. Whatever the action returns afterwards is discarded.
      *
      * @param action        async action implementation
      * @param timeoutMillis timeout in milliseconds ({@code <= 0} for no timeout)
@@ -2375,6 +2428,109 @@ public final class SlashCommandBuilder {
         return executesAsync(action, 0L);
     }
 
+    /**
+     * Define an asynchronous action whose identical concurrent invocations share one computation.
+     * <p>
+     * Invocations are identical when they have the same command path and the same arguments,
+     * flags and key-values, regardless of sender. See {@link #executesSingleFlight(SingleFlight, Function, SingleFlight.Computation,
+     * SingleFlight.ResultHandler, long)} for details.
+     *
+     * @param compute  computes the shared result
+     * @param onResult delivers the result to each invocation
+     * @param <T>      the result type
+     * @return this builder
+     */
+    public <T> @NotNull SlashCommandBuilder executesSingleFlight(@NotNull SingleFlight.Computation<T> compute,
+                                                                @NotNull SingleFlight.ResultHandler<T> onResult) {
+        // The full path is only known once the command is built and attached to its parent
+        return executesSingleFlight(ctx -> built.get().singleFlightKey(ctx), compute, onResult);
+    }
+
+    /**
+     * Define an asynchronous action whose concurrent invocations with the same key share one computation.
+     *
+     * @param key      derives the deduplication key, e.g. with {@link ResultCache.CacheKeyBuilder}
+     * @param compute  computes the shared result
+     * @param onResult delivers the result to each invocation
+     * @param <T>      the result type
+     * @return this builder
+     */
+    public <T> @NotNull SlashCommandBuilder executesSingleFlight(@NotNull Function<CommandContext, String> key,
+                                                                @NotNull SingleFlight.Computation<T> compute,
+                                                                @NotNull SingleFlight.ResultHandler<T> onResult) {
+        return executesSingleFlight(SingleFlight.create(), key, compute, onResult, 0L);
+    }
+
+    /**
+     * Define an asynchronous action whose concurrent invocations with the same key share one computation.
+     * <p>
+     * The first invocation for a key runs {@code compute}; invocations arriving while it is in
+     * flight wait for it instead of starting their own. Each invocation then receives the result
+     * through {@code onResult} (or the failure through the usual error handling). Once the
+     * computation completes the key is released, so this complements
+     * {@link ResultCache#getOrComputeGlobal} by covering the window before a result is cached.
+     * <p>
+     * Pass the same {@link SingleFlight} group to several commands to deduplicate across them.
+     *
+     * @param group         the single-flight group tracking in-flight computations
+     * @param key           derives the deduplication key, e.g. with {@link ResultCache.CacheKeyBuilder}
+     * @param compute       computes the shared result
+     * @param onResult      delivers the result to each invocation
+     * @param timeoutMillis per-invocation timeout in milliseconds ({@code <= 0} for no timeout)
+     * @param <T>           the result type
+     * @return this builder
+     */
+    public <T> @NotNull SlashCommandBuilder executesSingleFlight(@NotNull SingleFlight group,
+                                                                @NotNull Function<CommandContext, String> key,
+                                                                @NotNull SingleFlight.Computation<T> compute,
+                                                                @NotNull SingleFlight.ResultHandler<T> onResult,
+                                                                long timeoutMillis) {
+        Preconditions.checkNotNull(group, "group");
+        Preconditions.checkNotNull(key, "key");
+        Preconditions.checkNotNull(compute, "compute");
+        Preconditions.checkNotNull(onResult, "onResult");
+        return executesAsync((sender, ctx, token, progress) -> {
+            T result;
+            try {
+                result = group.run(key.apply(ctx), () -> compute.compute(ctx, token));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for in-flight computation");
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+            onResult.accept(sender, ctx, result);
+        }, timeoutMillis);
+    }
+
+    /**
+     * Choose where asynchronous actions run. Defaults to {@link CommandExecutionBackend#bukkit()}.
+     * <p>
+     * Use {@link CommandExecutionBackend#virtualThreads()} for handlers that block on I/O, and
+     * {@link CommandExecutionBackend#withConcurrencyLimit(int, int)} to cap concurrent executions.
+     * Share one bounded backend between commands to apply a common limit.
+     *
+     * @param backend the execution backend
+     * @return this builder
+     */
+    public @NotNull SlashCommandBuilder executionBackend(@NotNull CommandExecutionBackend backend) {
+        this.executionBackend = Preconditions.checkNotNull(backend, "backend");
+        return this;
+    }
+
+    /**
+     * Run asynchronous actions on virtual threads (Java 21+), falling back to the Bukkit async
+     * pool on older runtimes.
+     *
+     * @return this builder
+     * @see CommandExecutionBackend#virtualThreads()
+     */
+    public @NotNull SlashCommandBuilder virtualThreads() {
+        return executionBackend(CommandExecutionBackend.virtualThreads());
+    }
+
     /**
      * Set a per-user cooldown for this command.
      * Each user must wait the specified duration before executing the command again.
@@ -2399,6 +2555,146 @@ public final class SlashCommandBuilder {
         return this;
     }
 
+    /**
+     * Keep this command's cooldowns in the given store instead of a store of its own.
+     * <p>
+     * Commands sharing a store still have independent cooldowns; sharing only lets them be
+     * inspected and cleared together.
+     *
+     * @param store the cooldown store
+     * @return this builder
+     */
+    public @NotNull SlashCommandBuilder cooldownStore(@NotNull CooldownStore store) {
+        this.cooldownStore = Preconditions.checkNotNull(store, "store");
+        return this;
+    }
+
+    // ==================== Rate Limits ====================
+
+    /**
+     * Limit how often each player may execute this command.
+     * <p>
+     * Unlike cooldowns, requests over the limit are dropped silently before any parsing, which
+     * protects the main thread from clients spamming the command. Global limits are configured via
+     * {@link de.feelix.leviathan.command.ratelimit.RateLimits}.
+     *
+     * @param burst           the number of executions a player may make at once
+     * @param refillPerSecond the sustained number of executions per second
+     * @return this builder
+     */
+    public @NotNull SlashCommandBuilder rateLimit(int burst, double refillPerSecond) {
+        return rateLimiter(TokenBucketLimiter.of(burst, refillPerSecond));
+    }
+
+    /**
+     * Limit executions with the given limiter. Share one limiter between commands to apply a common budget.
+     *
+     * @param limiter the limiter
+     * @return this builder
+     */
+    public @NotNull SlashCommandBuilder rateLimiter(@NotNull TokenBucketLimiter limiter) {
+        this.rateLimiter = Preconditions.checkNotNull(limiter, "limiter");
+        return this;
+    }
+
+    /**
+     * Limit how often each player may request tab completions for this command.
+     * Requests over the limit get no suggestions.
+     *
+     * @param burst           the number of completion requests a player may make at once
+     * @param refillPerSecond the sustained number of completion requests per second
+     * @return this builder
+     */
+    public @NotNull SlashCommandBuilder completionRateLimit(int burst, double refillPerSecond) {
+        return completionRateLimiter(TokenBucketLimiter.of(burst, refillPerSecond));
+    }
+
+    /**
+     * Limit tab completions with the given limiter. Share one limiter between commands to apply a common budget.
+     *
+     * @param limiter the limiter
+     * @return this builder
+     */
+    public @NotNull SlashCommandBuilder completionRateLimiter(@NotNull TokenBucketLimiter limiter) {
+        this.completionRateLimiter = Preconditions.checkNotNull(limiter, "limiter");
+        return this;
+    }
+
+    /**
+     * Mark this command as expensive for the main thread.
+     * <p>
+     * While the {@link TickBudget} is enabled, executions that arrive after heavy commands used up
+     * the current tick's budget are queued and run in a later tick; the time this command runs
+     * counts against the budget. Has no effect on asynchronous commands.
+     *
+     * @return this builder
+     */
+    public @NotNull SlashCommandBuilder heavy() {
+        return heavy(0);
+    }
+
+    /**
+     * Mark this command as expensive for the main thread, with a priority for the deferral queue.
+     *
+     * @param priority higher values are run first when deferred; equal priorities run in arrival order
+     * @return this builder
+     * @see #heavy()
+     */
+    public @NotNull SlashCommandBuilder heavy(int priority) {
+        this.heavy = true;
+        this.heavyPriority = priority;
+        return this;
+    }
+
+    // ==================== Result Caching ====================
+
+    /**
+     * Cache the messages this command sends and replay them instead of running the action.
+     * <p>
+     * Results are kept in {@link ResultCache#shared()}, keyed by the command path, the parsed
+     * arguments, flags and key-values, and (for {@link CacheScope#SENDER}) the sender. On a hit the
+     * cached lines are sent to the sender and the action is skipped; permission checks, guards,
+     * validation, cooldowns and before-hooks still run. Only messages sent through
+     * {@link CommandContext#reply(CommandSender, String...)} during the action are captured; the
+     * action gets the real sender, and messages sent to it directly are not cached. Only successful
+     * executions that replied something are cached; a run without replies is not cached and logs a
+     * warning once. Use {@link SlashCommand#invalidateCachedResults()} when the underlying
+     * data changes.
+     * <pre>{@code
+     * SlashCommand.create("top")
+     *     .cacheResults(30_000L, CacheScope.GLOBAL)
+     *     .executes((sender, ctx) -> ctx.reply(sender, leaderboard.render()))
+     *     .build();
+     * }</pre>
+     * <p>
+     * Only synchronous actions are cached.
+     *
+     * @param ttlMillis how long a result is replayed, in milliseconds (must be positive)
+     * @param scope     whether results are per sender or shared by all senders
+     * @return this builder
+     */
+    public @NotNull SlashCommandBuilder cacheResults(long ttlMillis, @NotNull CacheScope scope) {
+        return cacheResults(ResultCache.shared(), ttlMillis, scope);
+    }
+
+    /**
+     * Cache the messages this command sends in the given cache.
+     *
+     * @param cache     the cache holding the results
+     * @param ttlMillis how long a result is replayed, in milliseconds (must be positive)
+     * @param scope     whether results are per sender or shared by all senders
+     * @return this builder
+     * @see #cacheResults(long, CacheScope)
+     */
+    public @NotNull SlashCommandBuilder cacheResults(@NotNull ResultCache cache, long ttlMillis,
+                                                    @NotNull CacheScope scope) {
+        Preconditions.checkArgument(ttlMillis > 0, "ttlMillis must be positive");
+        this.resultCache = Preconditions.checkNotNull(cache, "cache");
+        this.resultCacheScope = Preconditions.checkNotNull(scope, "scope");
+        this.resultCacheTtlMillis = ttlMillis;
+        return this;
+    }
+
     // ==================== Argument Groups ====================
 
     /**
@@ -2809,6 +3105,10 @@ public final class SlashCommandBuilder {
                     "Command cannot be both a batch processor and a wizard. These modes are mutually exclusive.");
             }
         }
+        if (resultCache != null && (async || asyncAction != null || batchConfig != null || wizardDefinition != null)) {
+            throw new CommandConfigurationException(
+                "Result caching is only supported for synchronous actions");
+        }
         SlashCommand cmd = new SlashCommand(
             name, aliases, description, permission, playerOnly, sendErrors, args, action, async, validateOnTab, subs,
             asyncAction, (asyncTimeoutMillis == null ? 0L : asyncTimeoutMillis),
@@ -2817,7 +3117,10 @@ public final class SlashCommandBuilder {
             fuzzySubcommandMatching, fuzzyMatchThreshold, debugMode,
             flags, keyValues, awaitConfirmation, beforeHooks, afterHooks, argumentGroups, enableQuotedStrings,
             permissionCascadeMode, permissionPrefix,
-            batchConfig, batchAction, batchTargetArg, wizardDefinition
+            batchConfig, batchAction, batchTargetArg, wizardDefinition,
+            executionBackend, cooldownStore, rateLimiter, completionRateLimiter, heavy, heavyPriority,
+            resultCache, resultCacheTtlMillis, resultCacheScope,
+            CommandPrecompiler.compileUncached(name, args)
         );
 
         // Set parent reference for all subcommands
@@ -2825,6 +3128,7 @@ public final class SlashCommandBuilder {
             subCmd.setParent(cmd);
         }
 
+        built.set(cmd);
         return cmd;
     }
 
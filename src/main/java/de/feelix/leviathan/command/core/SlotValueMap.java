@@ -0,0 +1,110 @@
+package de.feelix.leviathan.command.core;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.command.performance.CommandPrecompiler.CompiledCommand;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only, by-name view over slot-indexed argument values.
+ * <p>
+ * Slots are laid out in argument declaration order by the command's {@link CompiledCommand},
+ * which also resolves names and aliases to slot indices. A {@code null} slot means the argument
+ * has no value; a {@link PrimitiveSlot} marker means the value is held unboxed in the primitive
+ * slots and is boxed when read. The view is live: writes to the backing array are visible immediately, which
+ * lets the dispatcher fill slots while conditions and validators read them by name.
+ */
+final class SlotValueMap extends AbstractMap<String, Object> {
+
+    private final CompiledCommand layout;
+    private final Object[] slots;
+    private final @Nullable long[] primitives;
+
+    SlotValueMap(@NotNull CompiledCommand layout, @NotNull Object[] slots, @Nullable long[] primitives) {
+        this.layout = layout;
+        this.slots = slots;
+        this.primitives = primitives;
+    }
+
+    @Override
+    public @Nullable Object get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int slot = layout.getArgumentIndex((String) key);
+        return slot >= 0 && slot < slots.length ? PrimitiveSlot.decode(slots[slot], primitives, slot) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        int count = 0;
+        for (Object value : slots) {
+            if (value != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Object value : slots) {
+            if (value != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public @NotNull Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Map.Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        int i = from;
+                        while (i < slots.length && slots[i] == null) {
+                            i++;
+                        }
+                        return i;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < slots.length;
+                    }
+
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        if (next >= slots.length) {
+                            throw new NoSuchElementException();
+                        }
+                        int slot = next;
+                        next = advance(slot + 1);
+                        return new AbstractMap.SimpleImmutableEntry<>(
+                            layout.getArgumentName(slot), PrimitiveSlot.decode(slots[slot], primitives, slot));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return SlotValueMap.this.size();
+            }
+        };
+    }
+}
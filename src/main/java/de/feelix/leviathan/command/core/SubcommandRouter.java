@@ -0,0 +1,397 @@
+package de.feelix.leviathan.command.core;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.util.Preconditions;
+import de.feelix.leviathan.util.StringSimilarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Compiled, immutable routing table for the subcommands of a single {@link SlashCommand}.
+ * <p>
+ * Every primary name and alias is stored in a case-insensitive radix trie, so resolving the
+ * first token of an invocation costs one walk over its characters, independent of how many
+ * subcommands are registered. Tokens consisting of ASCII characters are folded on the fly and
+ * never copied; only tokens containing non-ASCII characters fall back to
+ * {@link String#toLowerCase(Locale)} with {@link Locale#ROOT}, which matches how the routing
+ * keys were normalized.
+ * <p>
+ * Fuzzy lookups ("did you mean") are served from a BK-tree built over the same keys, so a
+ * routing miss only compares against candidates that can actually lie within the similarity
+ * threshold instead of scanning every registered name.
+ * <p>
+ * Routers are built once per command in the {@link SlashCommand} constructor. Because every
+ * command level owns its own router, deep trees such as {@code /admin <module> <action>}
+ * resolve each level independently.
+ */
+public final class SubcommandRouter {
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final Node root;
+    private final BkNode fuzzyRoot;
+    private final int size;
+    private final int maxKeyLength;
+
+    private SubcommandRouter(Node root, @Nullable BkNode fuzzyRoot, int size, int maxKeyLength) {
+        this.root = root;
+        this.fuzzyRoot = fuzzyRoot;
+        this.size = size;
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    /**
+     * Compile a router from a routing map.
+     * <p>
+     * Keys are normalized with {@code toLowerCase(Locale.ROOT)}; the map produced by
+     * {@link SlashCommandBuilder#build()} already contains primary names and aliases in that form.
+     *
+     * @param routes map of subcommand names and aliases to their commands
+     * @return a compiled router
+     */
+    public static @NotNull SubcommandRouter compile(@NotNull Map<String, SlashCommand> routes) {
+        Preconditions.checkNotNull(routes, "routes");
+        Node root = new Node("");
+        BkNode fuzzyRoot = null;
+        int maxKeyLength = 0;
+        int order = 0;
+        for (Map.Entry<String, SlashCommand> e : routes.entrySet()) {
+            String key = e.getKey().toLowerCase(Locale.ROOT);
+            if (key.isEmpty()) {
+                continue;
+            }
+            insert(root, key, e.getValue());
+            BkNode fuzzyNode = new BkNode(key, e.getValue(), order++);
+            if (fuzzyRoot == null) {
+                fuzzyRoot = fuzzyNode;
+            } else {
+                fuzzyRoot.add(fuzzyNode);
+            }
+            maxKeyLength = Math.max(maxKeyLength, Math.min(key.length(), StringSimilarity.MAX_STRING_LENGTH));
+        }
+        return new SubcommandRouter(root, fuzzyRoot, routes.size(), maxKeyLength);
+    }
+
+    /**
+     * @return true if no subcommands are routed
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of routing keys (primary names plus aliases)
+     */
+    public int size() {
+        return size;
+    }
+
+    // ==================== Exact Routing ====================
+
+    /**
+     * Resolve a token to a subcommand, ignoring case.
+     *
+     * @param token the raw token as typed by the sender
+     * @return the matching subcommand, or null if the token is not a name or alias
+     */
+    public @Nullable SlashCommand route(@NotNull CharSequence token) {
+        Preconditions.checkNotNull(token, "token");
+        Node node = root;
+        int pos = 0;
+        int len = token.length();
+        while (pos < len) {
+            char c = token.charAt(pos);
+            if (c >= 0x80) {
+                return routeLowerCased(token);
+            }
+            int idx = Arrays.binarySearch(node.firstChars, foldAscii(c));
+            if (idx < 0) {
+                return null;
+            }
+            Node child = node.children[idx];
+            String label = child.label;
+            int labelLen = label.length();
+            if (pos + labelLen > len) {
+                return null;
+            }
+            for (int i = 1; i < labelLen; i++) {
+                char t = token.charAt(pos + i);
+                if (t >= 0x80) {
+                    return routeLowerCased(token);
+                }
+                if (foldAscii(t) != label.charAt(i)) {
+                    return null;
+                }
+            }
+            pos += labelLen;
+            node = child;
+        }
+        return node.target;
+    }
+
+    /**
+     * Slow path for tokens containing non-ASCII characters.
+     */
+    private @Nullable SlashCommand routeLowerCased(@NotNull CharSequence token) {
+        Node node = find(root, token.toString().toLowerCase(Locale.ROOT), true);
+        return node != null ? node.target : null;
+    }
+
+    /**
+     * Invoke the consumer for every routing key starting with the given prefix (ignoring case),
+     * in lexicographic key order.
+     *
+     * @param prefix   the prefix typed so far
+     * @param consumer receives each matching key and its subcommand
+     */
+    public void forEachPrefixMatch(@NotNull CharSequence prefix, @NotNull BiConsumer<String, SlashCommand> consumer) {
+        Preconditions.checkNotNull(prefix, "prefix");
+        Preconditions.checkNotNull(consumer, "consumer");
+        Node start = find(root, prefix.toString().toLowerCase(Locale.ROOT), false);
+        if (start != null) {
+            visit(start, consumer);
+        }
+    }
+
+    private static void visit(Node node, BiConsumer<String, SlashCommand> consumer) {
+        if (node.target != null) {
+            consumer.accept(node.key, node.target);
+        }
+        for (Node child : node.children) {
+            visit(child, consumer);
+        }
+    }
+
+    /**
+     * Walk the trie with an already lower-cased key.
+     *
+     * @param exact if true the key must end on a node boundary; otherwise the node whose
+     *              subtree contains every key starting with {@code key} is returned
+     */
+    private static @Nullable Node find(Node root, String key, boolean exact) {
+        Node node = root;
+        int pos = 0;
+        int len = key.length();
+        while (pos < len) {
+            int idx = Arrays.binarySearch(node.firstChars, key.charAt(pos));
+            if (idx < 0) {
+                return null;
+            }
+            Node child = node.children[idx];
+            String label = child.label;
+            int labelLen = label.length();
+            if (pos + labelLen > len) {
+                if (exact || !label.startsWith(key.substring(pos))) {
+                    return null;
+                }
+                return child;
+            }
+            if (!key.startsWith(label, pos)) {
+                return null;
+            }
+            pos += labelLen;
+            node = child;
+        }
+        return node;
+    }
+
+    private static char foldAscii(char c) {
+        return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static void insert(Node node, String key, SlashCommand target) {
+        int pos = 0;
+        while (true) {
+            if (pos == key.length()) {
+                node.target = target;
+                node.key = key;
+                return;
+            }
+            char c = key.charAt(pos);
+            int idx = Arrays.binarySearch(node.firstChars, c);
+            if (idx < 0) {
+                Node leaf = new Node(key.substring(pos));
+                leaf.target = target;
+                leaf.key = key;
+                node.addChild(-(idx + 1), leaf);
+                return;
+            }
+            Node child = node.children[idx];
+            String label = child.label;
+            int common = 0;
+            int max = Math.min(label.length(), key.length() - pos);
+            while (common < max && label.charAt(common) == key.charAt(pos + common)) {
+                common++;
+            }
+            if (common < label.length()) {
+                // Split the edge: the shared prefix becomes a new intermediate node
+                Node split = new Node(label.substring(0, common));
+                child.label = label.substring(common);
+                split.addChild(0, child);
+                node.children[idx] = split;
+                child = split;
+            }
+            node = child;
+            pos += common;
+        }
+    }
+
+    // ==================== Fuzzy Routing ====================
+
+    /**
+     * Find the routing key most similar to the token.
+     * <p>
+     * Similarity is defined as in {@link StringSimilarity#findSimilar(String, List, int, double)}.
+     *
+     * @param token         the token as typed by the sender
+     * @param minSimilarity minimum similarity (0.0 to 1.0)
+     * @return the closest key, or null if none meets the threshold
+     */
+    public @Nullable String findClosest(@NotNull String token, double minSimilarity) {
+        List<String> similar = findSimilar(token, 1, minSimilarity, null);
+        return similar.isEmpty() ? null : similar.get(0);
+    }
+
+    /**
+     * Find routing keys similar to the token, most similar first.
+     *
+     * @param token          the token as typed by the sender
+     * @param maxSuggestions maximum number of keys to return
+     * @param minSimilarity  minimum similarity (0.0 to 1.0)
+     * @param filter         optional filter on the routed subcommand (e.g. a permission check)
+     * @return matching keys sorted by similarity
+     */
+    public @NotNull List<String> findSimilar(@NotNull String token, int maxSuggestions, double minSimilarity,
+                                             @Nullable Predicate<SlashCommand> filter) {
+        Preconditions.checkNotNull(token, "token");
+        if (fuzzyRoot == null || maxSuggestions <= 0) {
+            return Collections.emptyList();
+        }
+        String query = token.toLowerCase(Locale.ROOT);
+        int queryLen = Math.min(query.length(), StringSimilarity.MAX_STRING_LENGTH);
+        // Largest distance any key can have while still meeting the threshold
+        int radius = (int) Math.floor((1.0 - minSimilarity) * Math.max(queryLen, maxKeyLength));
+
+        List<Candidate> candidates = new ArrayList<>();
+        List<BkNode> stack = new ArrayList<>();
+        stack.add(fuzzyRoot);
+        while (!stack.isEmpty()) {
+            BkNode node = stack.remove(stack.size() - 1);
+            int distance = StringSimilarity.levenshteinDistance(query, node.key);
+            if (distance <= radius && (filter == null || filter.test(node.target))) {
+                int maxLen = Math.max(queryLen, Math.min(node.key.length(), StringSimilarity.MAX_STRING_LENGTH));
+                double sim = maxLen == 0 ? 1.0 : 1.0 - ((double) distance / maxLen);
+                if (sim >= minSimilarity) {
+                    candidates.add(new Candidate(node.key, sim, node.order));
+                }
+            }
+            // Triangle inequality: only subtrees at edge distance within [d - r, d + r] can match
+            for (int i = 0; i < node.childCount; i++) {
+                int edge = node.childDistances[i];
+                if (edge >= distance - radius && edge <= distance + radius) {
+                    stack.add(node.children[i]);
+                }
+            }
+        }
+        candidates.sort((a, b) -> {
+            int cmp = Double.compare(b.similarity, a.similarity);
+            return cmp != 0 ? cmp : Integer.compare(a.order, b.order);
+        });
+        List<String> result = new ArrayList<>(Math.min(maxSuggestions, candidates.size()));
+        for (int i = 0; i < candidates.size() && i < maxSuggestions; i++) {
+            result.add(candidates.get(i).key);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SubcommandRouter{keys=" + size + '}';
+    }
+
+    // ==================== Internal Structures ====================
+
+    /**
+     * Radix trie node. Mutated only while the router is being compiled.
+     */
+    private static final class Node {
+        String label;
+        @Nullable String key;
+        @Nullable SlashCommand target;
+        char[] firstChars = NO_CHARS;
+        Node[] children = NO_NODES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        void addChild(int insertAt, Node child) {
+            int n = children.length;
+            char[] chars = new char[n + 1];
+            Node[] nodes = new Node[n + 1];
+            System.arraycopy(firstChars, 0, chars, 0, insertAt);
+            System.arraycopy(children, 0, nodes, 0, insertAt);
+            chars[insertAt] = child.label.charAt(0);
+            nodes[insertAt] = child;
+            System.arraycopy(firstChars, insertAt, chars, insertAt + 1, n - insertAt);
+            System.arraycopy(children, insertAt, nodes, insertAt + 1, n - insertAt);
+            this.firstChars = chars;
+            this.children = nodes;
+        }
+    }
+
+    /**
+     * BK-tree node keyed by Levenshtein distance to its parent.
+     */
+    private static final class BkNode {
+        final String key;
+        final SlashCommand target;
+        final int order;
+        int[] childDistances = new int[0];
+        BkNode[] children = new BkNode[0];
+        int childCount = 0;
+
+        BkNode(String key, SlashCommand target, int order) {
+            this.key = key;
+            this.target = target;
+            this.order = order;
+        }
+
+        void add(BkNode node) {
+            BkNode current = this;
+            while (true) {
+                int distance = StringSimilarity.levenshteinDistance(node.key, current.key);
+                if (distance == 0) {
+                    return;
+                }
+                BkNode next = null;
+                for (int i = 0; i < current.childCount; i++) {
+                    if (current.childDistances[i] == distance) {
+                        next = current.children[i];
+                        break;
+                    }
+                }
+                if (next == null) {
+                    current.childDistances = Arrays.copyOf(current.childDistances, current.childCount + 1);
+                    current.children = Arrays.copyOf(current.children, current.childCount + 1);
+                    current.childDistances[current.childCount] = distance;
+                    current.children[current.childCount] = node;
+                    current.childCount++;
+                    return;
+                }
+                current = next;
+            }
+        }
+    }
+
+    private record Candidate(String key, double similarity, int order) {}
+}
@@ -117,6 +117,16 @@ public enum ErrorType {
         "Optimize long-running operations"
     ),
 
+    /**
+     * Async execution backend rejected the command because it is at capacity
+     */
+    OVERLOADED(
+        ErrorCategory.PERFORMANCE,
+        "The async execution backend is at its concurrency limit",
+        "Raise the backend's concurrency or queue limit",
+        "Check for slow or blocked command handlers"
+    ),
+
     /**
      * Invalid argument count
      */
@@ -6,7 +6,7 @@ import de.feelix.leviathan.command.argument.Arg;
 import de.feelix.leviathan.command.core.CommandContext;
 import de.feelix.leviathan.command.message.DefaultMessageProvider;
 import de.feelix.leviathan.command.message.MessageProvider;
-import de.feelix.leviathan.util.LazyCleanupProvider;
+import de.feelix.leviathan.util.ExpiryWheel;
 import de.feelix.leviathan.util.Preconditions;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -46,24 +46,14 @@ public final class InteractivePrompt {
     // Session timeout in seconds
     private static final long DEFAULT_TIMEOUT_SECONDS = 60;
 
-    // Lazy cleanup using shared utility
-    private static final LazyCleanupProvider cleanupProvider = LazyCleanupProvider.withInterval(10);
-
     private InteractivePrompt() {
         throw new AssertionError("Utility class");
     }
 
-    /**
-     * Perform lazy cleanup of expired/inactive sessions.
-     * Called automatically on session operations.
-     */
-    private static void lazyCleanup() {
-        cleanupProvider.maybeCleanup(InteractivePrompt::cleanupExpiredSessions);
-    }
-
     /**
      * Clean up all expired or inactive sessions.
-     * This removes sessions that have timed out or are no longer active.
+     * Sessions time out on their own through the {@link ExpiryWheel}; this sweep only removes
+     * sessions whose timeout has not been processed yet.
      *
      * @return the number of sessions cleaned up
      */
@@ -75,6 +65,7 @@ public final class InteractivePrompt {
             PromptSession session = entry.getValue();
             // Remove if session is no longer active or has timed out
             if (!session.isActive() || session.isTimedOut()) {
+                session.cancelExpiry();
                 iterator.remove();
                 cleaned++;
             }
@@ -150,9 +141,6 @@ public final class InteractivePrompt {
         Preconditions.checkNotNull(onCancel, "onCancel");
         Preconditions.checkNotNull(messages, "messages");
 
-        // Lazy cleanup on access
-        lazyCleanup();
-
         // Cancel any existing session
         cancelSession(player);
 
@@ -171,7 +159,6 @@ public final class InteractivePrompt {
      */
     public static boolean hasActiveSession(@NotNull Player player) {
         Preconditions.checkNotNull(player, "player");
-        lazyCleanup();
         PromptSession session = activeSessions.get(player.getUniqueId());
         return session != null && session.isActive();
     }
@@ -184,7 +171,6 @@ public final class InteractivePrompt {
      */
     public static @Nullable PromptSession getSession(@NotNull Player player) {
         Preconditions.checkNotNull(player, "player");
-        lazyCleanup();
         return activeSessions.get(player.getUniqueId());
     }
 
@@ -199,8 +185,6 @@ public final class InteractivePrompt {
         Preconditions.checkNotNull(player, "player");
         Preconditions.checkNotNull(message, "message");
 
-        lazyCleanup();
-
         PromptSession session = activeSessions.get(player.getUniqueId());
         if (session == null || !session.isActive()) {
             return false;
@@ -232,7 +216,7 @@ public final class InteractivePrompt {
      */
     public static void cleanupPlayer(@NotNull Player player) {
         Preconditions.checkNotNull(player, "player");
-        activeSessions.remove(player.getUniqueId());
+        cleanupPlayer(player.getUniqueId());
     }
 
     /**
@@ -243,7 +227,10 @@ public final class InteractivePrompt {
      */
     public static void cleanupPlayer(@NotNull UUID playerUuid) {
         Preconditions.checkNotNull(playerUuid, "playerUuid");
-        activeSessions.remove(playerUuid);
+        PromptSession session = activeSessions.remove(playerUuid);
+        if (session != null) {
+            session.cancelExpiry();
+        }
     }
 
     /**
@@ -263,6 +250,8 @@ public final class InteractivePrompt {
         private int currentArgIndex = 0;
         private boolean active = false;
         private boolean cancelled = false;
+        @Nullable
+        private volatile ExpiryWheel.Handle expiry;
 
         private PromptSession(JavaPlugin plugin, Player player, List<Arg<?>> missingArgs,
                               Consumer<Map<String, Object>> onComplete, Runnable onCancel,
@@ -290,12 +279,26 @@ public final class InteractivePrompt {
             active = true;
             promptCurrentArg();
 
-            // Schedule timeout check
-            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                if (isActive() && isTimedOut()) {
-                    timeout();
+            // Register the timeout on the shared wheel; the session is ended on the main thread
+            expiry = ExpiryWheel.shared().schedule(timeoutMillis, () -> {
+                if (plugin.isEnabled()) {
+                    plugin.getServer().getScheduler().runTask(plugin, () -> {
+                        if (isActive()) {
+                            timeout();
+                        }
+                    });
                 }
-            }, timeoutMillis / 50); // Convert to ticks
+            });
+        }
+
+        /**
+         * Cancel the pending timeout, if any.
+         */
+        void cancelExpiry() {
+            ExpiryWheel.Handle handle = expiry;
+            if (handle != null) {
+                handle.cancel();
+            }
         }
 
         /**
@@ -402,6 +405,7 @@ public final class InteractivePrompt {
          */
         private void complete() {
             active = false;
+            cancelExpiry();
             activeSessions.remove(player.getUniqueId());
             player.sendMessage(messages.interactiveSessionComplete());
             onComplete.accept(collectedValues);
@@ -414,6 +418,7 @@ public final class InteractivePrompt {
             if (cancelled) return;
             cancelled = true;
             active = false;
+            cancelExpiry();
             activeSessions.remove(player.getUniqueId());
             player.sendMessage(messages.interactiveSessionCancelled());
             onCancel.run();
@@ -1,6 +1,7 @@
 package de.feelix.leviathan.command.message;
 
 import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.command.argument.ParseErrorCode;
 
 /**
  * Provides customizable messages for the SlashCommand API.
@@ -133,6 +134,21 @@ public interface MessageProvider {
     String invalidArgumentValue(@NotNull String argumentName, @NotNull String expectedType,
                                 @NotNull String errorDetail);
 
+    /**
+     * Error detail for a failed parse, passed to {@link #invalidArgumentValue(String, String, String)}.
+     * <p>
+     * Only called when the error is actually shown. Override to translate parser errors; the
+     * default uses the code's English template.
+     *
+     * @param code the reason reported by the parser
+     * @param args the arguments reported with the code (see {@link ParseErrorCode})
+     * @return the error detail
+     */
+    @NotNull
+    default String parseError(@NotNull ParseErrorCode code, @NotNull Object... args) {
+        return code.format(args);
+    }
+
     /**
      * "Did you mean" suggestion message.
      *
@@ -276,6 +292,16 @@ public interface MessageProvider {
     @NotNull
     String commandTimeout(long timeoutMillis);
 
+    /**
+     * Message when an async command is rejected because the execution backend is saturated.
+     *
+     * @return the busy message
+     */
+    @NotNull
+    default String commandBusy() {
+        return "§cThe server is busy processing other commands. Please try again in a moment.";
+    }
+
     /**
      * Generic message when internal error occurs during command execution.
      *
@@ -5,6 +5,7 @@ import de.feelix.leviathan.annotations.Nullable;
 import de.feelix.leviathan.util.Preconditions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -93,17 +94,159 @@ public final class QuotedStringTokenizer {
      *
      * @param input the raw command input string
      * @return a TokenizeResult containing the tokens and success status
+     * @see #tokenizeSpans(String)
      */
     public static @NotNull TokenizeResult tokenize(@NotNull String input) {
         Preconditions.checkNotNull(input, "input");
 
-        List<String> tokens = new ArrayList<>();
-        StringBuilder currentToken = new StringBuilder();
+        TokenSpans spans = tokenizeSpans(input);
+        List<String> tokens = new ArrayList<>(spans.size());
+        for (int i = 0; i < spans.size(); i++) {
+            tokens.add(spans.token(i));
+        }
+        return spans.isSuccess()
+            ? TokenizeResult.success(tokens)
+            : TokenizeResult.error(tokens, spans.error());
+    }
+
+    /**
+     * Tokenize a command input string into an offset table over the original input.
+     * <p>
+     * Uses the same rules as {@link #tokenize(String)}, but does not copy tokens: plain and
+     * fully quoted tokens are recorded as {@code [start, end)} slices of {@code input}. Greedy
+     * arguments can then take {@link TokenSpans#remainder(int)} as a single substring that keeps
+     * the original spacing.
+     * <p>
+     * On an unclosed quote, the returned spans contain the tokens read so far (including the
+     * partial one) and {@link TokenSpans#isSuccess()} returns false.
+     *
+     * @param input the raw command input string
+     * @return the token offset table
+     */
+    public static @NotNull TokenSpans tokenizeSpans(@NotNull String input) {
+        Preconditions.checkNotNull(input, "input");
+
+        int length = input.length();
+        long[] rawSpans = null;
+        long[] contentSpans = null;
+        String[] materialized = null;
+        int count = 0;
+        int i = 0;
+
+        while (true) {
+            // Skip whitespace between tokens
+            while (i < length && Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+            if (i >= length) {
+                break;
+            }
+
+            // Find the end of this token: the first whitespace outside quotes
+            int start = i;
+            boolean inDoubleQuotes = false;
+            boolean inSingleQuotes = false;
+            boolean plain = true;
+            while (i < length) {
+                char c = input.charAt(i);
+                if (c == '\\' && (inDoubleQuotes || inSingleQuotes)) {
+                    plain = false;
+                    i += 2;
+                    continue;
+                }
+                if (c == '"' && !inSingleQuotes) {
+                    inDoubleQuotes = !inDoubleQuotes;
+                    plain = false;
+                } else if (c == '\'' && !inDoubleQuotes) {
+                    inSingleQuotes = !inSingleQuotes;
+                    plain = false;
+                } else if (!inDoubleQuotes && !inSingleQuotes && Character.isWhitespace(c)) {
+                    break;
+                }
+                i++;
+            }
+            int end = Math.min(i, length);
+            boolean unclosed = inDoubleQuotes || inSingleQuotes;
+
+            // Resolve the token text as a slice when possible, otherwise materialize it
+            int contentStart = start;
+            int contentEnd = end;
+            String text = null;
+            if (!plain) {
+                if (!unclosed && isSimpleQuoted(input, start, end)) {
+                    contentStart = start + 1;
+                    contentEnd = end - 1;
+                } else {
+                    text = unquote(input, start, end);
+                }
+            }
+
+            // Empty tokens (e.g. "") are dropped, as in the original tokenizer
+            boolean empty = text != null ? text.isEmpty() : contentStart == contentEnd;
+            if (!empty) {
+                if (rawSpans == null) {
+                    rawSpans = new long[8];
+                    contentSpans = new long[8];
+                } else if (count == rawSpans.length) {
+                    rawSpans = Arrays.copyOf(rawSpans, count * 2);
+                    contentSpans = Arrays.copyOf(contentSpans, count * 2);
+                }
+                rawSpans[count] = TokenSpans.pack(start, end);
+                contentSpans[count] = TokenSpans.pack(contentStart, contentEnd);
+                if (text != null) {
+                    if (materialized == null) {
+                        materialized = new String[rawSpans.length];
+                    } else if (materialized.length < rawSpans.length) {
+                        materialized = Arrays.copyOf(materialized, rawSpans.length);
+                    }
+                    materialized[count] = text;
+                }
+                count++;
+            }
+
+            if (unclosed) {
+                String error = inDoubleQuotes ? "Unclosed double quote" : "Unclosed single quote";
+                return new TokenSpans(input, orEmpty(rawSpans), orEmpty(contentSpans), materialized, count, error);
+            }
+        }
+
+        if (count == 0) {
+            return TokenSpans.empty(input);
+        }
+        return new TokenSpans(input, rawSpans, contentSpans, materialized, count, null);
+    }
+
+    /**
+     * Check whether {@code input[start, end)} is one quoted section with no escapes inside,
+     * so that its text is exactly {@code input[start + 1, end - 1)}.
+     */
+    private static boolean isSimpleQuoted(@NotNull String input, int start, int end) {
+        if (end - start < 2) {
+            return false;
+        }
+        char quote = input.charAt(start);
+        if ((quote != '"' && quote != '\'') || input.charAt(end - 1) != quote) {
+            return false;
+        }
+        for (int i = start + 1; i < end - 1; i++) {
+            char c = input.charAt(i);
+            if (c == quote || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Build the text of a single token whose quotes or escapes prevent slicing.
+     */
+    private static @NotNull String unquote(@NotNull String input, int start, int end) {
+        StringBuilder currentToken = new StringBuilder(end - start);
         boolean inDoubleQuotes = false;
         boolean inSingleQuotes = false;
         boolean escaped = false;
 
-        for (int i = 0; i < input.length(); i++) {
+        for (int i = start; i < end; i++) {
             char c = input.charAt(i);
 
             if (escaped) {
@@ -112,71 +255,27 @@ public final class QuotedStringTokenizer {
                 escaped = false;
                 continue;
             }
-
             if (c == '\\' && (inDoubleQuotes || inSingleQuotes)) {
                 // Start escape sequence within quotes
                 escaped = true;
                 continue;
             }
-
             if (c == '"' && !inSingleQuotes) {
-                if (inDoubleQuotes) {
-                    // End of double-quoted string
-                    inDoubleQuotes = false;
-                } else {
-                    // Start of double-quoted string
-                    inDoubleQuotes = true;
-                }
+                inDoubleQuotes = !inDoubleQuotes;
                 continue;
             }
-
             if (c == '\'' && !inDoubleQuotes) {
-                if (inSingleQuotes) {
-                    // End of single-quoted string
-                    inSingleQuotes = false;
-                } else {
-                    // Start of single-quoted string
-                    inSingleQuotes = true;
-                }
+                inSingleQuotes = !inSingleQuotes;
                 continue;
             }
-
-            if (Character.isWhitespace(c) && !inDoubleQuotes && !inSingleQuotes) {
-                // Whitespace outside quotes - end of current token
-                if (currentToken.length() > 0) {
-                    tokens.add(currentToken.toString());
-                    currentToken.setLength(0);
-                }
-                continue;
-            }
-
-            // Regular character - add to current token
+            // Regular character (whitespace here is always inside quotes)
             currentToken.append(c);
         }
+        return currentToken.toString();
+    }
 
-        // Check for unclosed quotes
-        if (inDoubleQuotes) {
-            // Add partial token and return error
-            if (currentToken.length() > 0) {
-                tokens.add(currentToken.toString());
-            }
-            return TokenizeResult.error(tokens, "Unclosed double quote");
-        }
-
-        if (inSingleQuotes) {
-            // Add partial token and return error
-            if (currentToken.length() > 0) {
-                tokens.add(currentToken.toString());
-            }
-            return TokenizeResult.error(tokens, "Unclosed single quote");
-        }
-
-        // Add final token if present
-        if (currentToken.length() > 0) {
-            tokens.add(currentToken.toString());
-        }
-
-        return TokenizeResult.success(tokens);
+    private static long[] orEmpty(@Nullable long[] spans) {
+        return spans != null ? spans : new long[0];
     }
 
     /**
@@ -199,6 +298,21 @@ public final class QuotedStringTokenizer {
         return tokenize(String.join(" ", args));
     }
 
+    /**
+     * Tokenize a command arguments array into an offset table.
+     * <p>
+     * The arguments are joined with single spaces, which reproduces the line as typed because
+     * Bukkit splits on single spaces and keeps empty entries for repeated ones.
+     *
+     * @param args the argument array from Bukkit
+     * @return the token offset table over the joined line
+     * @see #tokenizeSpans(String)
+     */
+    public static @NotNull TokenSpans tokenizeSpans(@NotNull String[] args) {
+        Preconditions.checkNotNull(args, "args");
+        return tokenizeSpans(args.length == 0 ? "" : String.join(" ", args));
+    }
+
     /**
      * Check if a string needs quote escaping for safe usage in commands.
      *
@@ -0,0 +1,225 @@
+package de.feelix.leviathan.command.parsing;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+
+import java.nio.CharBuffer;
+
+/**
+ * Offset table over a raw command line, produced by {@link QuotedStringTokenizer#tokenizeSpans(String)}.
+ * <p>
+ * Instead of copying every token into its own string, the tokenizer records where each token
+ * lives in the original input. Each token keeps two packed {@code long} spans
+ * ({@code start << 32 | end}):
+ * <ul>
+ *   <li>the <em>raw</em> span, covering the token exactly as typed (including quotes)</li>
+ *   <li>the <em>content</em> span, covering the token text without surrounding quotes</li>
+ * </ul>
+ * Plain tokens ({@code abc}) and fully quoted tokens without escapes ({@code "hello world"})
+ * are pure slices of the input. Only tokens whose text cannot be expressed as a single slice
+ * (escape sequences, or quotes in the middle of a token such as {@code ab"c d"e}) are
+ * materialized while tokenizing.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * TokenSpans spans = QuotedStringTokenizer.tokenizeSpans("msg Notch \"hi there\"   and more");
+ * spans.token(1);      // "Notch"
+ * spans.view(2);       // CharSequence view of: hi there
+ * spans.remainder(2);  // "hi there   and more" - tokens unquoted, spacing kept
+ * }</pre>
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class TokenSpans {
+
+    private static final long[] NO_SPANS = new long[0];
+
+    private final String source;
+    private final long[] rawSpans;
+    private final long[] contentSpans;
+    @Nullable
+    private final String[] materialized;
+    private final int size;
+    @Nullable
+    private final String error;
+
+    TokenSpans(@NotNull String source, long[] rawSpans, long[] contentSpans, @Nullable String[] materialized,
+               int size, @Nullable String error) {
+        this.source = source;
+        this.rawSpans = rawSpans;
+        this.contentSpans = contentSpans;
+        this.materialized = materialized;
+        this.size = size;
+        this.error = error;
+    }
+
+    /**
+     * Create an empty span table.
+     *
+     * @param source the (blank) input
+     * @return a successful result without tokens
+     */
+    static @NotNull TokenSpans empty(@NotNull String source) {
+        return new TokenSpans(source, NO_SPANS, NO_SPANS, null, 0, null);
+    }
+
+    static long pack(int start, int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the raw input these spans refer to
+     */
+    public @NotNull String source() {
+        return source;
+    }
+
+    /**
+     * @return the number of tokens
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if tokenization was successful
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return the error message, or null if successful
+     */
+    public @Nullable String error() {
+        return error;
+    }
+
+    /**
+     * Check whether the token text is a plain slice of the source.
+     *
+     * @param index the token index
+     * @return true if {@link #view(int)} does not need a materialized copy
+     */
+    public boolean isSlice(int index) {
+        checkIndex(index);
+        return materialized == null || materialized[index] == null;
+    }
+
+    /**
+     * @param index the token index
+     * @return the offset where the token starts in the source, including an opening quote
+     */
+    public int rawStart(int index) {
+        checkIndex(index);
+        return (int) (rawSpans[index] >>> 32);
+    }
+
+    /**
+     * @param index the token index
+     * @return the offset (exclusive) where the token ends in the source, including a closing quote
+     */
+    public int rawEnd(int index) {
+        checkIndex(index);
+        return (int) rawSpans[index];
+    }
+
+    /**
+     * Get the token text as a zero-copy view over the source.
+     *
+     * @param index the token index
+     * @return a character sequence with the token text (quotes removed, escapes resolved)
+     */
+    public @NotNull CharSequence view(int index) {
+        checkIndex(index);
+        if (materialized != null && materialized[index] != null) {
+            return materialized[index];
+        }
+        long span = contentSpans[index];
+        return CharBuffer.wrap(source, (int) (span >>> 32), (int) span);
+    }
+
+    /**
+     * Get the token text as a string.
+     *
+     * @param index the token index
+     * @return the token text (quotes removed, escapes resolved)
+     */
+    public @NotNull String token(int index) {
+        checkIndex(index);
+        if (materialized != null && materialized[index] != null) {
+            return materialized[index];
+        }
+        long span = contentSpans[index];
+        return source.substring((int) (span >>> 32), (int) span);
+    }
+
+    /**
+     * Get the rest of the input starting at the given token, as greedy arguments consume it.
+     * <p>
+     * This is the source from the given token to the end, with each token replaced by its text
+     * (quotes removed, escapes resolved, as in {@link #token(int)}); the whitespace between tokens is
+     * kept as typed. When none of the remaining tokens is quoted, the result is one substring of the
+     * source.
+     *
+     * @param fromIndex the first token to include
+     * @return the remaining input, or an empty string if {@code fromIndex} is past the last token
+     */
+    public @NotNull String remainder(int fromIndex) {
+        if (fromIndex >= size) {
+            return "";
+        }
+        if (fromIndex == size - 1) {
+            return token(fromIndex);
+        }
+        if (isPlainRun(fromIndex)) {
+            return source.substring(rawStart(fromIndex), rawEnd(size - 1));
+        }
+        StringBuilder sb = new StringBuilder(rawEnd(size - 1) - rawStart(fromIndex));
+        for (int i = fromIndex; i < size; i++) {
+            if (i > fromIndex) {
+                // Whitespace between the tokens, as typed
+                sb.append(source, rawEnd(i - 1), rawStart(i));
+            }
+            sb.append(view(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Check whether the tokens from the given index on are all unquoted slices, so that their text
+     * with the whitespace between them equals the source.
+     */
+    private boolean isPlainRun(int fromIndex) {
+        for (int i = fromIndex; i < size; i++) {
+            if (rawSpans[i] != contentSpans[i] || (materialized != null && materialized[i] != null)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Materialize all tokens.
+     *
+     * @return a new array containing the text of every token
+     */
+    public @NotNull String[] toArray() {
+        String[] tokens = new String[size];
+        for (int i = 0; i < size; i++) {
+            tokens[i] = token(i);
+        }
+        return tokens;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Token index " + index + " out of bounds for " + size + " tokens");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TokenSpans{tokens=" + size + (error != null ? ", error='" + error + '\'' : "") + '}';
+    }
+}
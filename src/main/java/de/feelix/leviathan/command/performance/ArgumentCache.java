@@ -2,6 +2,7 @@ package de.feelix.leviathan.command.performance;
 
 import de.feelix.leviathan.annotations.NotNull;
 import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.command.argument.SymbolTable;
 import de.feelix.leviathan.util.LazyCleanupProvider;
 import de.feelix.leviathan.util.Preconditions;
 import org.bukkit.Bukkit;
@@ -12,12 +13,10 @@ import org.bukkit.entity.Player;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -92,22 +91,8 @@ public final class ArgumentCache {
         TimeUnit.SECONDS.toMillis(30) // Worlds change rarely
     );
 
-    // Material names cache (static, never changes)
-    private static final List<String> MATERIAL_NAMES;
-    private static final Set<String> MATERIAL_NAMES_SET;
-
-    static {
-        Material[] materials = Material.values();
-        List<String> names = new ArrayList<>(materials.length);
-        Set<String> namesSet = new HashSet<>(materials.length);
-        for (Material m : materials) {
-            String name = m.name().toLowerCase(Locale.ROOT);
-            names.add(name);
-            namesSet.add(name);
-        }
-        MATERIAL_NAMES = Collections.unmodifiableList(names);
-        MATERIAL_NAMES_SET = Collections.unmodifiableSet(namesSet);
-    }
+    // Material names (static, never changes); shared with ArgParsers.materialParser()
+    private static final SymbolTable<Material> MATERIALS = SymbolTable.ofEnum(Material.class);
 
     // Generic key-value cache with TTL
     private static final Map<String, CacheEntry<?>> genericCache = new ConcurrentHashMap<>();
@@ -122,11 +107,15 @@ public final class ArgumentCache {
     /**
      * Get cached list of online player names.
      * <p>
-     * This is refreshed every 5 seconds automatically.
+     * Reads the {@link OnlinePlayerIndex} when it is registered; otherwise the list is
+     * refreshed every 5 seconds automatically.
      *
      * @return unmodifiable list of player names
      */
     public static @NotNull List<String> getPlayerNames() {
+        if (OnlinePlayerIndex.isRegistered()) {
+            return OnlinePlayerIndex.names();
+        }
         if (!enabled) {
             return getPlayerNamesFresh();
         }
@@ -141,6 +130,9 @@ public final class ArgumentCache {
      */
     public static @NotNull List<String> getPlayerNamesStartingWith(@NotNull String prefix) {
         Preconditions.checkNotNull(prefix, "prefix");
+        if (OnlinePlayerIndex.isRegistered()) {
+            return OnlinePlayerIndex.startingWith(prefix);
+        }
         String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
         List<String> all = getPlayerNames();
         List<String> result = new ArrayList<>();
@@ -169,7 +161,8 @@ public final class ArgumentCache {
     /**
      * Invalidate the player names cache.
      * <p>
-     * Call this when players join/leave if immediate accuracy is needed.
+     * Call this when players join/leave if immediate accuracy is needed. Not needed while the
+     * {@link OnlinePlayerIndex} is registered.
      */
     public static void invalidatePlayerNames() {
         playerNamesCache.invalidate();
@@ -234,7 +227,7 @@ public final class ArgumentCache {
      * @return unmodifiable list of material names
      */
     public static @NotNull List<String> getMaterialNames() {
-        return MATERIAL_NAMES;
+        return MATERIALS.names();
     }
 
     /**
@@ -245,14 +238,7 @@ public final class ArgumentCache {
      */
     public static @NotNull List<String> getMaterialNamesStartingWith(@NotNull String prefix) {
         Preconditions.checkNotNull(prefix, "prefix");
-        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
-        List<String> result = new ArrayList<>();
-        for (String name : MATERIAL_NAMES) {
-            if (name.startsWith(lowerPrefix)) {
-                result.add(name);
-            }
-        }
-        return result;
+        return MATERIALS.startingWithDeclared(prefix);
     }
 
     /**
@@ -263,7 +249,7 @@ public final class ArgumentCache {
      */
     public static boolean isValidMaterial(@NotNull String name) {
         Preconditions.checkNotNull(name, "name");
-        return MATERIAL_NAMES_SET.contains(name.toLowerCase(Locale.ROOT));
+        return MATERIALS.contains(name);
     }
 
     // ==================== Generic Cache ====================
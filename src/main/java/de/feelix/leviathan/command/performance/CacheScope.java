@@ -0,0 +1,18 @@
+package de.feelix.leviathan.command.performance;
+
+/**
+ * Who shares a cached command result.
+ *
+ * @see ResultCache
+ */
+public enum CacheScope {
+    /**
+     * Each sender has their own cached output, e.g. for personal statistics.
+     */
+    SENDER,
+
+    /**
+     * All senders share the cached output, e.g. for leaderboards or server info.
+     */
+    GLOBAL
+}
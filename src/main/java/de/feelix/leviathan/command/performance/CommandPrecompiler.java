@@ -90,6 +90,25 @@ public final class CommandPrecompiler {
         return compiled;
     }
 
+    /**
+     * Pre-compile a command structure without consulting or populating the global cache.
+     * <p>
+     * The global cache is keyed by command name only, so two subcommands named e.g. {@code "list"}
+     * under different parents would share an entry. Command builders use this method to obtain a
+     * plan that belongs to exactly one command instance.
+     *
+     * @param commandName the command name
+     * @param args        the argument list
+     * @return a compiled command structure
+     */
+    public static @NotNull CompiledCommand compileUncached(@NotNull String commandName,
+                                                            @NotNull List<Arg<?>> args) {
+        Preconditions.checkNotNull(commandName, "commandName");
+        Preconditions.checkNotNull(args, "args");
+        compilations.incrementAndGet();
+        return doCompile(commandName, args);
+    }
+
     /**
      * Pre-compile a command with subcommands.
      *
@@ -312,6 +331,26 @@ public final class CommandPrecompiler {
         }
         builder.permissionedArgumentCount(permissionedArgs);
 
+        // Per-index execution flags, so the dispatcher never re-inspects Arg instances for them
+        int greedyIndex = -1;
+        String[] slotNames = new String[args.size()];
+        boolean[] conditional = new boolean[args.size()];
+        String[] argPermissions = new String[args.size()];
+        for (int i = 0; i < args.size(); i++) {
+            Arg<?> arg = args.get(i);
+            slotNames[i] = arg.name();
+            if (arg.greedy()) {
+                greedyIndex = i;
+            }
+            conditional[i] = arg.condition() != null;
+            String perm = arg.permission();
+            argPermissions[i] = (perm != null && !perm.isEmpty()) ? perm : null;
+        }
+        builder.argumentNames(slotNames);
+        builder.greedyArgumentIndex(greedyIndex);
+        builder.conditionalArguments(conditional);
+        builder.argumentPermissions(argPermissions);
+
         return builder;
     }
 
@@ -333,6 +372,12 @@ public final class CommandPrecompiler {
         private final boolean hasGreedyArgument;
         private final int permissionedArgumentCount;
         private final Map<String, CompiledCommand> subcommands;
+        private final String[] argumentNames;
+        private final int greedyArgumentIndex;
+        private final boolean[] conditionalArguments;
+        private final String[] argumentPermissions;
+        private final boolean hasConditionalArguments;
+        private final boolean hasGatedArguments;
         private final long compiledAt;
 
         private CompiledCommand(Builder builder) {
@@ -350,6 +395,20 @@ public final class CommandPrecompiler {
             this.subcommands = builder.subcommands != null
                 ? Collections.unmodifiableMap(new LinkedHashMap<>(builder.subcommands))
                 : Collections.emptyMap();
+            this.argumentNames = builder.argumentNames.clone();
+            this.greedyArgumentIndex = builder.greedyArgumentIndex;
+            this.conditionalArguments = builder.conditionalArguments.clone();
+            this.argumentPermissions = builder.argumentPermissions.clone();
+            boolean anyConditional = false;
+            for (boolean c : conditionalArguments) {
+                anyConditional |= c;
+            }
+            boolean anyPermission = false;
+            for (String p : argumentPermissions) {
+                anyPermission |= p != null;
+            }
+            this.hasConditionalArguments = anyConditional;
+            this.hasGatedArguments = anyConditional || anyPermission;
             this.compiledAt = System.currentTimeMillis();
         }
 
@@ -454,6 +513,67 @@ public final class CommandPrecompiler {
 
         public boolean hasGreedyArgument() { return hasGreedyArgument; }
         public int getPermissionedArgumentCount() { return permissionedArgumentCount; }
+        public boolean hasRequiredArguments() { return !requiredArguments.isEmpty(); }
+
+        /**
+         * Get the primary name of the argument occupying a slot.
+         * <p>
+         * Slots are argument indices in declaration order; {@link #getArgumentIndex(String)}
+         * maps names and aliases back to them.
+         *
+         * @param slot the argument index
+         * @return the primary argument name
+         */
+        public @NotNull String getArgumentName(int slot) {
+            return argumentNames[slot];
+        }
+
+        /**
+         * Get the position of the greedy argument.
+         * <p>
+         * Builders only accept a greedy argument in the last position, so this is either
+         * {@code -1} or the index of the last argument.
+         *
+         * @return the greedy argument index, or -1 if the command has none
+         */
+        public int getGreedyArgumentIndex() { return greedyArgumentIndex; }
+
+        /**
+         * Check whether the argument at the given position has a condition attached.
+         *
+         * @param index the argument index
+         * @return true if the argument is conditional
+         */
+        public boolean isConditional(int index) {
+            return conditionalArguments[index];
+        }
+
+        /**
+         * Get the permission required for the argument at the given position.
+         *
+         * @param index the argument index
+         * @return the permission, or null if the argument is not permission-gated (blank permissions count as none)
+         */
+        public @Nullable String getArgumentPermission(int index) {
+            return argumentPermissions[index];
+        }
+
+        /**
+         * Check whether any argument has a condition, so the dispatcher can skip condition lookups otherwise.
+         *
+         * @return true if at least one argument is conditional
+         */
+        public boolean hasConditionalArguments() { return hasConditionalArguments; }
+
+        /**
+         * Check whether any argument can be skipped at runtime by a condition or a permission.
+         * <p>
+         * When this returns false every argument is parsed strictly in declaration order, so the
+         * dispatcher can skip all per-argument condition and permission evaluation.
+         *
+         * @return true if at least one argument is conditional or permission-gated
+         */
+        public boolean hasGatedArguments() { return hasGatedArguments; }
 
         /**
          * Get a compiled subcommand.
@@ -499,6 +619,10 @@ public final class CommandPrecompiler {
             private boolean hasGreedyArgument = false;
             private int permissionedArgumentCount = 0;
             private Map<String, CompiledCommand> subcommands;
+            private String[] argumentNames = new String[0];
+            private int greedyArgumentIndex = -1;
+            private boolean[] conditionalArguments = new boolean[0];
+            private String[] argumentPermissions = new String[0];
 
             Builder(String commandName) {
                 this.commandName = commandName;
@@ -559,6 +683,26 @@ public final class CommandPrecompiler {
                 return this;
             }
 
+            public Builder argumentNames(String[] names) {
+                this.argumentNames = names;
+                return this;
+            }
+
+            public Builder greedyArgumentIndex(int index) {
+                this.greedyArgumentIndex = index;
+                return this;
+            }
+
+            public Builder conditionalArguments(boolean[] conditional) {
+                this.conditionalArguments = conditional;
+                return this;
+            }
+
+            public Builder argumentPermissions(String[] permissions) {
+                this.argumentPermissions = permissions;
+                return this;
+            }
+
             public CompiledCommand build() {
                 return new CompiledCommand(this);
             }
@@ -0,0 +1,261 @@
+package de.feelix.leviathan.command.performance;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resolves offline players by name without blocking the main thread.
+ * <p>
+ * {@code Bukkit.getOfflinePlayer(String)} may look the profile up over the network. This resolver
+ * keeps a local name-to-UUID index instead, seeded asynchronously from the server's
+ * {@code usercache.json} and player data and updated whenever a player joins. Indexed names resolve
+ * through {@code Bukkit.getOfflinePlayer(UUID)}, which never performs a lookup; unknown names are
+ * looked up on an async thread, concurrent lookups of the same name share one request, and the
+ * result is indexed for the next time.
+ * <p>
+ * {@link de.feelix.leviathan.command.argument.ArgParsers#offlinePlayerParser()} is built on this
+ * resolver. Registration happens automatically when a command is registered.
+ */
+public final class OfflinePlayerResolver implements Listener {
+
+    private static final Logger LOGGER = Logger.getLogger(OfflinePlayerResolver.class.getName());
+
+
+    private static final Object REGISTRATION_LOCK = new Object();
+    private static volatile @Nullable OfflinePlayerResolver listener;
+    private static volatile @Nullable JavaPlugin plugin;
+
+    // Lower-case name -> UUID
+    private static final Map<String, UUID> uuidsByName = new ConcurrentHashMap<>();
+    // Lookups in progress, keyed by lower-case name
+    private static final Map<String, CompletableFuture<OfflinePlayer>> pending = new ConcurrentHashMap<>();
+
+    private OfflinePlayerResolver() {
+    }
+
+    // ==================== Registration ====================
+
+    /**
+     * Register the join listener and start loading the name index in the background.
+     * <p>
+     * This method is idempotent - calling it multiple times has no effect
+     * after the first successful registration.
+     *
+     * @param plugin the plugin to register with
+     */
+    public static void register(@NotNull JavaPlugin plugin) {
+        Preconditions.checkNotNull(plugin, "plugin");
+        synchronized (REGISTRATION_LOCK) {
+            if (listener != null) {
+                return;
+            }
+            OfflinePlayerResolver resolver = new OfflinePlayerResolver();
+            plugin.getServer().getPluginManager().registerEvents(resolver, plugin);
+            OfflinePlayerResolver.plugin = plugin;
+            listener = resolver;
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, OfflinePlayerResolver::loadIndex);
+        }
+    }
+
+    /**
+     * Check if the resolver is registered.
+     *
+     * @return true if already registered
+     */
+    public static boolean isRegistered() {
+        return listener != null;
+    }
+
+    /**
+     * Unregister the listener and clear the name index.
+     * <p>
+     * Lookups still in flight complete, but their results are not indexed.
+     */
+    public static void reset() {
+        synchronized (REGISTRATION_LOCK) {
+            OfflinePlayerResolver resolver = listener;
+            if (resolver != null) {
+                HandlerList.unregisterAll(resolver);
+            }
+            listener = null;
+            plugin = null;
+            uuidsByName.clear();
+            pending.clear();
+        }
+    }
+
+    // ==================== Resolution ====================
+
+    /**
+     * Resolve a player from local data only.
+     * <p>
+     * Online players and indexed names are answered immediately; this method never blocks.
+     *
+     * @param name the player name (case-insensitive)
+     * @return the player, or null if the name is not known locally
+     */
+    @SuppressWarnings("deprecation")
+    public static @Nullable OfflinePlayer resolveNow(@NotNull String name) {
+        Preconditions.checkNotNull(name, "name");
+        Player online = OnlinePlayerIndex.isRegistered()
+            ? OnlinePlayerIndex.find(name)
+            : Bukkit.getPlayerExact(name);
+        if (online != null) {
+            return online;
+        }
+        UUID uuid = uuidsByName.get(name.toLowerCase(Locale.ROOT));
+        return uuid != null ? Bukkit.getOfflinePlayer(uuid) : null;
+    }
+
+    /**
+     * Resolve a player, looking unknown names up off the main thread.
+     *
+     * @param name the player name (case-insensitive)
+     * @return a future completing with the player
+     */
+    public static @NotNull CompletableFuture<OfflinePlayer> resolve(@NotNull String name) {
+        OfflinePlayer local = resolveNow(name);
+        if (local != null) {
+            return CompletableFuture.completedFuture(local);
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        CompletableFuture<OfflinePlayer> created = new CompletableFuture<>();
+        CompletableFuture<OfflinePlayer> existing = pending.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            lookupExecutor().execute(() -> lookup(name, key, created));
+        } catch (Throwable t) {
+            pending.remove(key, created);
+            created.completeExceptionally(t);
+        }
+        return created;
+    }
+
+    /**
+     * Add or update a name in the index.
+     *
+     * @param name the player name
+     * @param uuid the player's UUID
+     */
+    public static void remember(@NotNull String name, @NotNull UUID uuid) {
+        Preconditions.checkNotNull(name, "name");
+        Preconditions.checkNotNull(uuid, "uuid");
+        uuidsByName.put(name.toLowerCase(Locale.ROOT), uuid);
+    }
+
+    /**
+     * @return the number of indexed names
+     */
+    public static int size() {
+        return uuidsByName.size();
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void lookup(String name, String key, CompletableFuture<OfflinePlayer> future) {
+        try {
+            OfflinePlayer player = Bukkit.getOfflinePlayer(name);
+            // Only index real profiles, not the placeholder returned for unknown names
+            if (player.hasPlayedBefore() && player.getName() != null && isRegistered()) {
+                remember(player.getName(), player.getUniqueId());
+            }
+            future.complete(player);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        } finally {
+            pending.remove(key, future);
+        }
+    }
+
+    private static Executor lookupExecutor() {
+        JavaPlugin owner = plugin;
+        if (owner == null) {
+            return ForkJoinPool.commonPool();
+        }
+        return task -> owner.getServer().getScheduler().runTaskAsynchronously(owner, task);
+    }
+
+    // ==================== Index loading ====================
+
+    /**
+     * Seed the index from the usercache and player data. Runs on an async thread.
+     */
+    private static void loadIndex() {
+        File userCache = new File(Bukkit.getWorldContainer(), "usercache.json");
+        if (userCache.isFile()) {
+            try (Reader reader = Files.newBufferedReader(userCache.toPath(), StandardCharsets.UTF_8)) {
+                JsonElement root = JsonParser.parseReader(reader);
+                if (root.isJsonArray()) {
+                    for (JsonElement element : root.getAsJsonArray()) {
+                        if (!element.isJsonObject()) {
+                            continue;
+                        }
+                        JsonObject entry = element.getAsJsonObject();
+                        JsonElement name = entry.get("name");
+                        JsonElement uuid = entry.get("uuid");
+                        if (name != null && name.isJsonPrimitive() && uuid != null && uuid.isJsonPrimitive()) {
+                            // Existing entries come from joins, which are newer than the cache file
+                            uuidsByName.putIfAbsent(name.getAsString().toLowerCase(Locale.ROOT),
+                                UUID.fromString(uuid.getAsString()));
+                        }
+                    }
+                }
+            } catch (IOException | JsonParseException | IllegalArgumentException e) {
+                LOGGER.log(Level.WARNING, "Failed to read " + userCache + " for the offline player index", e);
+            }
+        }
+        try {
+            for (OfflinePlayer player : Bukkit.getOfflinePlayers()) {
+                String name = player.getName();
+                if (name != null) {
+                    uuidsByName.putIfAbsent(name.toLowerCase(Locale.ROOT), player.getUniqueId());
+                }
+            }
+        } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, "Failed to read player data for the offline player index", t);
+        }
+    }
+
+    // ==================== Events ====================
+
+    /**
+     * Index joining players, so renamed players resolve to their current name.
+     *
+     * @param event the join event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        remember(player.getName(), player.getUniqueId());
+    }
+}
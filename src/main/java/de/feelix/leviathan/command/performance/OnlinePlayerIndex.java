@@ -0,0 +1,295 @@
+package de.feelix.leviathan.command.performance;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Index of online player names, maintained by join and quit events.
+ * <p>
+ * Names are kept in an array sorted case-insensitively, next to the matching {@link Player}s.
+ * Tab completion binary-searches to the first name with the typed prefix and walks the matches,
+ * so a prefix query costs {@code O(log n + k)} instead of copying and filtering every online
+ * player on each key press. Exact lookups by name are a binary search and do not allocate.
+ * <p>
+ * The index is an immutable snapshot that is replaced on join and quit, so readers (including
+ * asynchronous tab completion) never lock. The player parsers and {@link ArgumentCache} use the
+ * index once it is registered and fall back to querying Bukkit otherwise. Registration happens
+ * automatically when a command is registered, but can also be done manually:
+ * <pre>{@code
+ * OnlinePlayerIndex.register(plugin);
+ *
+ * List<String> matches = OnlinePlayerIndex.startingWith("ste");
+ * Player player = OnlinePlayerIndex.find("Steve");
+ * Player closest = OnlinePlayerIndex.match("st");
+ * }</pre>
+ */
+public final class OnlinePlayerIndex implements Listener {
+
+    private static final Comparator<String> ORDER = String.CASE_INSENSITIVE_ORDER;
+
+    private static final Object REGISTRATION_LOCK = new Object();
+    private static volatile @Nullable OnlinePlayerIndex listener;
+
+    private static volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private OnlinePlayerIndex() {
+    }
+
+    // ==================== Registration ====================
+
+    /**
+     * Register the index listener and seed it with the players currently online.
+     * <p>
+     * This method is idempotent - calling it multiple times has no effect
+     * after the first successful registration.
+     *
+     * @param plugin the plugin to register with
+     */
+    public static void register(@NotNull JavaPlugin plugin) {
+        Preconditions.checkNotNull(plugin, "plugin");
+        synchronized (REGISTRATION_LOCK) {
+            if (listener != null) {
+                return;
+            }
+            OnlinePlayerIndex index = new OnlinePlayerIndex();
+            plugin.getServer().getPluginManager().registerEvents(index, plugin);
+            snapshot = Snapshot.of(plugin.getServer().getOnlinePlayers());
+            listener = index;
+        }
+    }
+
+    /**
+     * Check if the index is registered and kept up to date.
+     *
+     * @return true if already registered
+     */
+    public static boolean isRegistered() {
+        return listener != null;
+    }
+
+    /**
+     * Unregister the listener and drop all indexed players.
+     * <p>
+     * Called on plugin disable; the next call to {@link #register(JavaPlugin)} rebuilds the index.
+     */
+    public static void reset() {
+        synchronized (REGISTRATION_LOCK) {
+            OnlinePlayerIndex index = listener;
+            if (index != null) {
+                HandlerList.unregisterAll(index);
+            }
+            listener = null;
+            snapshot = Snapshot.EMPTY;
+        }
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Find an online player by exact name, ignoring case.
+     *
+     * @param name the player name
+     * @return the player, or null if no player with that name is indexed
+     */
+    public static @Nullable Player find(@NotNull String name) {
+        Preconditions.checkNotNull(name, "name");
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.names, name, ORDER);
+        return index >= 0 ? current.players[index] : null;
+    }
+
+    /**
+     * Find an online player the way {@code Bukkit.getPlayer(String)} does: an exact name first,
+     * otherwise the player whose name starts with the input and is closest to it in length.
+     *
+     * @param name the full name or a name prefix
+     * @return the player, or null if no name matches
+     */
+    public static @Nullable Player match(@NotNull String name) {
+        Preconditions.checkNotNull(name, "name");
+        Snapshot current = snapshot;
+        String[] names = current.names;
+        int from = lowerBound(names, name);
+        int length = name.length();
+        Player best = null;
+        int bestDelta = Integer.MAX_VALUE;
+        for (int i = from; i < names.length && names[i].regionMatches(true, 0, name, 0, length); i++) {
+            int delta = names[i].length() - length;
+            if (delta < bestDelta) {
+                best = current.players[i];
+                bestDelta = delta;
+                if (delta == 0) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the names of online players starting with a prefix, ignoring case.
+     *
+     * @param prefix the typed prefix
+     * @return matching names in case-insensitive order
+     */
+    public static @NotNull List<String> startingWith(@NotNull String prefix) {
+        Preconditions.checkNotNull(prefix, "prefix");
+        Snapshot current = snapshot;
+        String[] names = current.names;
+        int from = lowerBound(names, prefix);
+        int length = prefix.length();
+        int to = from;
+        while (to < names.length && names[to].regionMatches(true, 0, prefix, 0, length)) {
+            to++;
+        }
+        if (from == to) {
+            return new ArrayList<>(0);
+        }
+        return new ArrayList<>(current.nameList.subList(from, to));
+    }
+
+    /**
+     * @return an unmodifiable list of all indexed names in case-insensitive order
+     */
+    public static @NotNull List<String> names() {
+        return snapshot.nameList;
+    }
+
+    /**
+     * @return the number of indexed players
+     */
+    public static int size() {
+        return snapshot.names.length;
+    }
+
+    // ==================== Events ====================
+
+    /**
+     * Add joining players early, so other join handlers can already complete their name.
+     *
+     * @param event the join event
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        add(event.getPlayer());
+    }
+
+    /**
+     * Remove leaving players after all other quit handlers ran.
+     *
+     * @param event the quit event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer().getUniqueId());
+    }
+
+    private static void add(Player player) {
+        synchronized (REGISTRATION_LOCK) {
+            Snapshot current = snapshot;
+            String name = player.getName();
+            int index = Arrays.binarySearch(current.names, name, ORDER);
+            if (index >= 0) {
+                // Same name still indexed (e.g. a quit was missed): replace the entry
+                Player[] players = current.players.clone();
+                String[] names = current.names.clone();
+                players[index] = player;
+                names[index] = name;
+                snapshot = new Snapshot(names, players);
+                return;
+            }
+            int insert = -index - 1;
+            int size = current.names.length;
+            String[] names = new String[size + 1];
+            Player[] players = new Player[size + 1];
+            System.arraycopy(current.names, 0, names, 0, insert);
+            System.arraycopy(current.players, 0, players, 0, insert);
+            names[insert] = name;
+            players[insert] = player;
+            System.arraycopy(current.names, insert, names, insert + 1, size - insert);
+            System.arraycopy(current.players, insert, players, insert + 1, size - insert);
+            snapshot = new Snapshot(names, players);
+        }
+    }
+
+    private static void remove(UUID uuid) {
+        synchronized (REGISTRATION_LOCK) {
+            Snapshot current = snapshot;
+            Player[] players = current.players;
+            for (int i = 0; i < players.length; i++) {
+                if (players[i].getUniqueId().equals(uuid)) {
+                    int size = players.length;
+                    String[] newNames = new String[size - 1];
+                    Player[] newPlayers = new Player[size - 1];
+                    System.arraycopy(current.names, 0, newNames, 0, i);
+                    System.arraycopy(players, 0, newPlayers, 0, i);
+                    System.arraycopy(current.names, i + 1, newNames, i, size - i - 1);
+                    System.arraycopy(players, i + 1, newPlayers, i, size - i - 1);
+                    snapshot = new Snapshot(newNames, newPlayers);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Index of the first name that is not less than the prefix.
+     */
+    private static int lowerBound(String[] names, String prefix) {
+        int low = 0;
+        int high = names.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ORDER.compare(names[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Immutable sorted view of the online players.
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new String[0], new Player[0]);
+
+        final String[] names;
+        final Player[] players;
+        final List<String> nameList;
+
+        Snapshot(String[] names, Player[] players) {
+            this.names = names;
+            this.players = players;
+            this.nameList = Collections.unmodifiableList(Arrays.asList(names));
+        }
+
+        static Snapshot of(Collection<? extends Player> online) {
+            Player[] players = online.toArray(new Player[0]);
+            Arrays.sort(players, (a, b) -> ORDER.compare(a.getName(), b.getName()));
+            String[] names = new String[players.length];
+            for (int i = 0; i < players.length; i++) {
+                names[i] = players[i].getName();
+            }
+            return new Snapshot(names, players);
+        }
+    }
+}
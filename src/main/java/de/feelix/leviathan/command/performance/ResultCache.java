@@ -86,6 +86,17 @@ public final class ResultCache {
         this.cleanupProvider = LazyCleanupProvider.withInterval(50);
     }
 
+    private static final ResultCache SHARED = new ResultCache(DEFAULT_TTL_MILLIS, DEFAULT_MAX_SIZE);
+
+    /**
+     * Get the cache used by commands built with {@code cacheResults(...)} unless another cache is given.
+     *
+     * @return the shared ResultCache instance
+     */
+    public static @NotNull ResultCache shared() {
+        return SHARED;
+    }
+
     /**
      * Create a result cache with default settings.
      *
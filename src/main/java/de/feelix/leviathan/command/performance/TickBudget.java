@@ -0,0 +1,285 @@
+package de.feelix.leviathan.command.performance;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Main-thread execution budget for heavy synchronous commands.
+ * <p>
+ * Commands marked {@code heavy()} on the builder check the budget before running. Once heavy
+ * commands have used more than the budget in the current tick, further ones are queued instead and
+ * drained at the start of later ticks, in priority order and FIFO within the same priority, until
+ * the budget is used up again. At least one queued command runs per tick, so the queue always
+ * makes progress.
+ * <p>
+ * The budget counts the main-thread time actually spent running heavy commands, not the wall time
+ * of the tick: player commands mostly arrive while the server idles between ticks, which must not
+ * count against it. Bukkit has no tick-start hook, so a task running every tick in the scheduler
+ * phase acts as the heartbeat: it resets the used time and then drains the queue. Work of other
+ * plugins and of commands not marked heavy is not counted.
+ * <p>
+ * The budget is disabled by default; heavy commands then run inline as usual.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * @Override
+ * public void onEnable() {
+ *     TickBudget.enable(this, 10); // defer heavy commands once they ran 10 ms in a tick
+ * }
+ *
+ * SlashCommand.create("baltop")
+ *     .heavy()
+ *     .executes((sender, ctx) -> computeTopBalances(sender))
+ *     .build();
+ * }</pre>
+ */
+public final class TickBudget {
+
+    /**
+     * Default budget per tick (10 ms of the 50 ms tick).
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 10L;
+
+    // Queued commands beyond this run inline rather than being deferred indefinitely
+    private static final int MAX_QUEUE_DEPTH = 1000;
+
+    private static final Object LOCK = new Object();
+
+    // Pending commands ordered by priority, then arrival (guarded by LOCK)
+    private static final PriorityQueue<Deferred> queue = new PriorityQueue<>();
+    private static long sequence;
+
+    private static volatile boolean enabled = false;
+    private static volatile long budgetNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_BUDGET_MILLIS);
+    // Time spent running heavy commands since the last heartbeat (main thread only)
+    private static volatile long usedNanos;
+    private static @Nullable JavaPlugin owner;
+    private static @Nullable BukkitTask ticker;
+
+    // Metrics
+    private static final LongAdder deferred = new LongAdder();
+    private static final LongAdder drained = new LongAdder();
+    private static final LongAdder totalWaitNanos = new LongAdder();
+    private static volatile long maxWaitNanos;
+
+    private TickBudget() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Enable the budget with the default of {@value #DEFAULT_BUDGET_MILLIS} ms per tick.
+     *
+     * @param plugin the plugin used to schedule the per-tick task
+     */
+    public static void enable(@NotNull JavaPlugin plugin) {
+        enable(plugin, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Enable the budget.
+     *
+     * @param plugin       the plugin used to schedule the per-tick task
+     * @param budgetMillis milliseconds heavy commands may run per tick before further ones are
+     *                     deferred (must be positive)
+     */
+    public static void enable(@NotNull JavaPlugin plugin, long budgetMillis) {
+        Preconditions.checkNotNull(plugin, "plugin");
+        Preconditions.checkArgument(budgetMillis > 0, "budgetMillis must be positive");
+        synchronized (LOCK) {
+            budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+            if (ticker == null) {
+                owner = plugin;
+                usedNanos = 0L;
+                ticker = plugin.getServer().getScheduler().runTaskTimer(plugin, TickBudget::onTickStart, 1L, 1L);
+            }
+            enabled = true;
+        }
+    }
+
+    /**
+     * Disable the budget. Commands still queued are dropped.
+     *
+     * @return the number of queued commands that were dropped
+     */
+    public static int disable() {
+        synchronized (LOCK) {
+            enabled = false;
+            if (ticker != null) {
+                ticker.cancel();
+                ticker = null;
+            }
+            owner = null;
+            int dropped = queue.size();
+            queue.clear();
+            return dropped;
+        }
+    }
+
+    /**
+     * @return true if heavy commands are subject to the budget
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Check whether a heavy command should be queued instead of run now.
+     * <p>
+     * True when heavy commands have used up the budget of the current tick, or when other commands
+     * are already waiting (so a new command cannot overtake them).
+     *
+     * @return true if the command should be deferred via {@link #defer(int, Runnable)}
+     */
+    public static boolean shouldDefer() {
+        if (!enabled) {
+            return false;
+        }
+        synchronized (LOCK) {
+            if (queue.size() >= MAX_QUEUE_DEPTH) {
+                return false;
+            }
+            return !queue.isEmpty() || usedNanos > budgetNanos;
+        }
+    }
+
+    /**
+     * Count the time a heavy command ran inline against the current tick's budget.
+     * Must be called on the main thread.
+     *
+     * @param nanos the time spent running the command, in nanoseconds
+     */
+    public static void recordUsage(long nanos) {
+        if (enabled && nanos > 0) {
+            usedNanos += nanos;
+        }
+    }
+
+    /**
+     * Queue a command to run in a later tick.
+     *
+     * @param priority higher values run first; equal priorities run in arrival order
+     * @param task     the command execution
+     */
+    public static void defer(int priority, @NotNull Runnable task) {
+        Preconditions.checkNotNull(task, "task");
+        synchronized (LOCK) {
+            queue.add(new Deferred(priority, sequence++, System.nanoTime(), task));
+        }
+        deferred.increment();
+    }
+
+    // Heartbeat at the start of every tick: resets the used time, then drains within the budget
+    private static void onTickStart() {
+        usedNanos = 0L;
+        boolean first = true;
+        while (true) {
+            Deferred next;
+            synchronized (LOCK) {
+                if (queue.isEmpty() || (!first && usedNanos > budgetNanos)) {
+                    return;
+                }
+                next = queue.poll();
+            }
+            first = false;
+            long wait = System.nanoTime() - next.enqueuedNanos;
+            totalWaitNanos.add(wait);
+            if (wait > maxWaitNanos) {
+                maxWaitNanos = wait;
+            }
+            drained.increment();
+            long start = System.nanoTime();
+            try {
+                next.task.run();
+            } catch (Throwable t) {
+                JavaPlugin plugin = owner;
+                if (plugin != null) {
+                    plugin.getLogger().log(Level.SEVERE, "Deferred command threw an exception", t);
+                }
+            }
+            usedNanos += System.nanoTime() - start;
+        }
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * @return the number of commands currently waiting
+     */
+    public static int getQueueDepth() {
+        synchronized (LOCK) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * @return the total number of commands that were deferred
+     */
+    public static long getDeferredCount() {
+        return deferred.sum();
+    }
+
+    /**
+     * @return the total number of deferred commands that have run
+     */
+    public static long getDrainedCount() {
+        return drained.sum();
+    }
+
+    /**
+     * @return the average time deferred commands waited, in milliseconds
+     */
+    public static double getAverageWaitMillis() {
+        long count = drained.sum();
+        return count == 0 ? 0.0 : totalWaitNanos.sum() / (double) count / 1_000_000.0;
+    }
+
+    /**
+     * @return the longest time a deferred command waited, in milliseconds
+     */
+    public static double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    /**
+     * Reset the metrics.
+     */
+    public static void resetStatistics() {
+        deferred.reset();
+        drained.reset();
+        totalWaitNanos.reset();
+        maxWaitNanos = 0L;
+    }
+
+    /**
+     * A queued command execution.
+     */
+    private static final class Deferred implements Comparable<Deferred> {
+        final int priority;
+        final long sequence;
+        final long enqueuedNanos;
+        final Runnable task;
+
+        Deferred(int priority, long sequence, long enqueuedNanos, Runnable task) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.enqueuedNanos = enqueuedNanos;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(@NotNull Deferred other) {
+            if (priority != other.priority) {
+                return Integer.compare(other.priority, priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -78,6 +78,20 @@
  *         .build(),
  *     () -> computeWeeklyStats()
  * );
+ *
+ * // Or let the command replay its own output for 30 seconds
+ * SlashCommand.create("serverinfo")
+ *     .cacheResults(30_000, CacheScope.GLOBAL)
+ *     .executes((sender, ctx) -> sendServerInfo(sender))
+ *     .build();
+ * }</pre>
+ *
+ * <h3>{@link de.feelix.leviathan.command.performance.TickBudget}</h3>
+ * <p>Defers heavy synchronous commands to later ticks once the current tick is over budget.
+ * <pre>{@code
+ * TickBudget.enable(plugin, 10);
+ *
+ * SlashCommand.create("baltop").heavy().executes(...).build();
  * }</pre>
  *
  * <h3>{@link de.feelix.leviathan.command.performance.PerformanceManager}</h3>
@@ -102,6 +116,7 @@
  *   <li>Use ParallelParser only when you have 3+ expensive arguments to parse</li>
  *   <li>Use CommandPrecompiler for commands with complex validation patterns</li>
  *   <li>Use ResultCache for expensive operations that produce stable results</li>
+ *   <li>Mark expensive synchronous commands as heavy so TickBudget can smooth load spikes</li>
  * </ul>
  *
  * <h2>Thread Safety</h2>
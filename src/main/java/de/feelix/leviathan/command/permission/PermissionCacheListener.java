@@ -0,0 +1,73 @@
+package de.feelix.leviathan.command.permission;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Listener that drops cached permission decisions when they may have become stale.
+ * <p>
+ * Registered automatically by {@link PermissionDecisionCache#enable(JavaPlugin)}.
+ *
+ * @see PermissionDecisionCache
+ */
+public final class PermissionCacheListener implements Listener {
+
+    private static volatile boolean registered = false;
+    private static final Object REGISTRATION_LOCK = new Object();
+
+    private PermissionCacheListener() {
+    }
+
+    /**
+     * Register the listener with the plugin.
+     * <p>
+     * This method is idempotent - calling it multiple times has no effect
+     * after the first successful registration.
+     *
+     * @param plugin the plugin to register with
+     */
+    static void register(@NotNull JavaPlugin plugin) {
+        Preconditions.checkNotNull(plugin, "plugin");
+        synchronized (REGISTRATION_LOCK) {
+            if (!registered) {
+                plugin.getServer().getPluginManager().registerEvents(new PermissionCacheListener(), plugin);
+                registered = true;
+            }
+        }
+    }
+
+    /**
+     * Reset the registration state so the next {@link #register(JavaPlugin)} registers again.
+     */
+    static void resetRegistration() {
+        synchronized (REGISTRATION_LOCK) {
+            registered = false;
+        }
+    }
+
+    /**
+     * Drop the decisions of a disconnecting player.
+     *
+     * @param event the quit event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        PermissionDecisionCache.invalidate(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Drop the decisions of a player changing worlds, since permissions may be per-world.
+     *
+     * @param event the world change event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        PermissionDecisionCache.invalidate(event.getPlayer().getUniqueId());
+    }
+}
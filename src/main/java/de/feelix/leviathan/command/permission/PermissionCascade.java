@@ -8,12 +8,15 @@ import org.bukkit.command.CommandSender;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for handling permission cascading in command hierarchies.
  * <p>
  * This class provides methods to check, compute, and generate permissions
- * based on the configured {@link PermissionCascadeMode}.
+ * based on the configured {@link PermissionCascadeMode}. Checks go through
+ * {@link PermissionDecisionCache}, which answers repeated checks from its cache when enabled.
  * <p>
  * Example usage:
  * <pre>{@code
@@ -34,6 +37,9 @@ import java.util.List;
  */
 public final class PermissionCascade {
 
+    private static final int MAX_WILDCARD_CACHE_SIZE = 1024;
+    private static final Map<String, String> WILDCARD_CACHE = new ConcurrentHashMap<>();
+
     private PermissionCascade() {
         // Utility class
     }
@@ -59,14 +65,14 @@ public final class PermissionCascade {
         switch (mode) {
             case NONE:
                 // Only check own permission
-                return permission == null || sender.hasPermission(permission);
+                return permission == null || PermissionDecisionCache.hasPermission(sender, permission);
 
             case INHERIT:
                 // Check parent first, then own
                 if (parent != null && !parent.hasPermission(sender)) {
                     return false;
                 }
-                return permission == null || sender.hasPermission(permission);
+                return permission == null || PermissionDecisionCache.hasPermission(sender, permission);
 
             case INHERIT_FALLBACK:
                 // If no permission, inherit from parent
@@ -77,7 +83,7 @@ public final class PermissionCascade {
                 if (parent != null && !parent.hasPermission(sender)) {
                     return false;
                 }
-                return sender.hasPermission(permission);
+                return PermissionDecisionCache.hasPermission(sender, permission);
 
             case WILDCARD:
                 // Check parent with wildcards, then own
@@ -88,18 +94,18 @@ public final class PermissionCascade {
                     return true;
                 }
                 // Check explicit permission or wildcard
-                return sender.hasPermission(permission) ||
-                       sender.hasPermission(getWildcardPermission(permission));
+                return PermissionDecisionCache.hasPermission(sender, permission) ||
+                       PermissionDecisionCache.hasPermission(sender, wildcardOf(permission));
 
             case AUTO_PREFIX:
                 // Same as INHERIT for checking (generation happens at build time)
                 if (parent != null && !parent.hasPermission(sender)) {
                     return false;
                 }
-                return permission == null || sender.hasPermission(permission);
+                return permission == null || PermissionDecisionCache.hasPermission(sender, permission);
 
             default:
-                return permission == null || sender.hasPermission(permission);
+                return permission == null || PermissionDecisionCache.hasPermission(sender, permission);
         }
     }
 
@@ -167,6 +173,22 @@ public final class PermissionCascade {
         return permission.substring(0, lastDot) + ".*";
     }
 
+    /**
+     * Memoized {@link #getWildcardPermission(String)} for the check path, which derives the same
+     * wildcard for the same command permission on every execution.
+     */
+    private static @NotNull String wildcardOf(@NotNull String permission) {
+        String wildcard = WILDCARD_CACHE.get(permission);
+        if (wildcard == null) {
+            wildcard = getWildcardPermission(permission);
+            // Command permissions are a small fixed set; the bound only guards against misuse
+            if (WILDCARD_CACHE.size() < MAX_WILDCARD_CACHE_SIZE) {
+                WILDCARD_CACHE.put(permission, wildcard);
+            }
+        }
+        return wildcard;
+    }
+
     /**
      * Get all wildcard permissions that could grant access to a permission.
      * <p>
@@ -206,7 +228,7 @@ public final class PermissionCascade {
         Preconditions.checkNotNull(permission, "permission");
 
         for (String wildcard : getAllWildcardPermissions(permission)) {
-            if (sender.hasPermission(wildcard)) {
+            if (PermissionDecisionCache.hasPermission(sender, wildcard)) {
                 return true;
             }
         }
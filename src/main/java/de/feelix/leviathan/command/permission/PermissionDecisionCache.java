@@ -0,0 +1,208 @@
+package de.feelix.leviathan.command.permission;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches permission decisions per player and permission node.
+ * <p>
+ * Command dispatch and tab completion check the same nodes over and over: the command's own
+ * permission, every parent in the cascade, wildcard variants and per-argument permissions, on
+ * every execution and every completion keystroke. With permission plugins such as LuckPerms,
+ * {@code hasPermission} is not a simple field read, so the framework routes these checks through
+ * this cache.
+ * <p>
+ * The cache is disabled by default. When enabled:
+ * <ul>
+ *   <li>only {@link Player} decisions are cached; console and command blocks are always checked live</li>
+ *   <li>a player's decisions are dropped when they quit or change worlds (per-world permissions)</li>
+ *   <li>all of a player's decisions expire together after a short TTL, as a safety net for
+ *       permission changes that fire no Bukkit event</li>
+ * </ul>
+ * Permission plugins that recalculate permissions should call {@link #invalidate(UUID)} (or
+ * {@link #invalidateAll()} after a group change), for example from LuckPerms'
+ * {@code UserDataRecalculateEvent}.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * @Override
+ * public void onEnable() {
+ *     PermissionDecisionCache.enable(this);
+ *     luckPerms.getEventBus().subscribe(this, UserDataRecalculateEvent.class,
+ *         e -> PermissionDecisionCache.invalidate(e.getUser().getUniqueId()));
+ * }
+ * }</pre>
+ */
+public final class PermissionDecisionCache {
+
+    /**
+     * Default lifetime of cached decisions (5 seconds).
+     */
+    public static final long DEFAULT_TTL_MILLIS = 5_000L;
+
+    private static final Map<UUID, SenderDecisions> decisions = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = false;
+    private static volatile long ttlMillis = DEFAULT_TTL_MILLIS;
+
+    // Metrics
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private PermissionDecisionCache() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Enable the cache with the default TTL and register the invalidation listener.
+     *
+     * @param plugin the plugin used to register the quit/world-change listener
+     */
+    public static void enable(@NotNull JavaPlugin plugin) {
+        enable(plugin, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Enable the cache and register the invalidation listener.
+     *
+     * @param plugin    the plugin used to register the quit/world-change listener
+     * @param ttlMillis how long decisions are reused before being checked again (must be positive)
+     */
+    public static void enable(@NotNull JavaPlugin plugin, long ttlMillis) {
+        Preconditions.checkNotNull(plugin, "plugin");
+        Preconditions.checkArgument(ttlMillis > 0, "ttlMillis must be positive");
+        PermissionCacheListener.register(plugin);
+        PermissionDecisionCache.ttlMillis = ttlMillis;
+        decisions.clear();
+        enabled = true;
+    }
+
+    /**
+     * Disable the cache and drop all cached decisions.
+     * <p>
+     * Also resets the listener registration so that a later {@link #enable(JavaPlugin)} (e.g. after
+     * a plugin reload) registers it again.
+     */
+    public static void disable() {
+        enabled = false;
+        decisions.clear();
+        PermissionCacheListener.resetRegistration();
+    }
+
+    /**
+     * @return true if decisions are being cached
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Check a permission, reusing a cached decision when possible.
+     * <p>
+     * Equivalent to {@code sender.hasPermission(permission)} while the cache is disabled or the
+     * sender is not a player.
+     *
+     * @param sender     the command sender
+     * @param permission the permission node
+     * @return true if the sender has the permission
+     */
+    public static boolean hasPermission(@NotNull CommandSender sender, @NotNull String permission) {
+        if (!enabled || !(sender instanceof Player)) {
+            return sender.hasPermission(permission);
+        }
+        UUID playerId = ((Player) sender).getUniqueId();
+        long now = System.currentTimeMillis();
+
+        SenderDecisions entry = decisions.get(playerId);
+        if (entry == null || now >= entry.expiresAt) {
+            // Start a fresh window; all decisions of the previous one expire together
+            entry = new SenderDecisions(now + ttlMillis);
+            decisions.put(playerId, entry);
+        }
+
+        Boolean cached = entry.nodes.get(permission);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        boolean allowed = sender.hasPermission(permission);
+        entry.nodes.put(permission, allowed);
+        return allowed;
+    }
+
+    // ==================== Invalidation ====================
+
+    /**
+     * Drop all cached decisions for a player.
+     * Call this whenever the player's permissions are recalculated.
+     *
+     * @param playerId the player's UUID
+     */
+    public static void invalidate(@NotNull UUID playerId) {
+        Preconditions.checkNotNull(playerId, "playerId");
+        decisions.remove(playerId);
+    }
+
+    /**
+     * Drop all cached decisions for a sender. Has no effect for non-player senders.
+     *
+     * @param sender the command sender
+     */
+    public static void invalidate(@NotNull CommandSender sender) {
+        Preconditions.checkNotNull(sender, "sender");
+        if (sender instanceof Player) {
+            decisions.remove(((Player) sender).getUniqueId());
+        }
+    }
+
+    /**
+     * Drop all cached decisions, e.g. after a group's permissions changed.
+     */
+    public static void invalidateAll() {
+        decisions.clear();
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * @return the number of players with cached decisions
+     */
+    public static int getCachedSenderCount() {
+        return decisions.size();
+    }
+
+    /**
+     * @return the number of checks answered from the cache
+     */
+    public static long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of checks that had to ask the sender
+     */
+    public static long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Decisions of one player within one TTL window.
+     */
+    private static final class SenderDecisions {
+        final long expiresAt;
+        final Map<String, Boolean> nodes = new ConcurrentHashMap<>();
+
+        SenderDecisions(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+}
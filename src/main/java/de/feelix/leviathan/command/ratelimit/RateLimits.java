@@ -0,0 +1,93 @@
+package de.feelix.leviathan.command.ratelimit;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+import de.feelix.leviathan.util.Preconditions;
+
+import java.util.UUID;
+
+/**
+ * Global rate limits applied to every command, on top of per-command limits set with
+ * {@code SlashCommandBuilder.rateLimit(...)} and {@code completionRateLimit(...)}.
+ * <p>
+ * The command limit is checked once per command a client sends, before its arguments are
+ * tokenized; the completion limit is checked before tab completions are generated. A rejected
+ * request is dropped silently (no message is formatted or sent) and counted by the limiter, so
+ * abusive clients cannot eat into the tick budget.
+ * <p>
+ * Both limits are disabled by default.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * // Across all commands: bursts of 10, then 4 per second
+ * RateLimits.setCommandLimit(TokenBucketLimiter.of(10, 4.0));
+ * // Tab completion runs per keystroke, so allow more
+ * RateLimits.setCompletionLimit(TokenBucketLimiter.of(40, 20.0));
+ * }</pre>
+ */
+public final class RateLimits {
+
+    private static volatile @Nullable TokenBucketLimiter commandLimit;
+    private static volatile @Nullable TokenBucketLimiter completionLimit;
+
+    private RateLimits() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Set the global limit for command executions.
+     *
+     * @param limiter the limiter, or null to disable the global limit
+     */
+    public static void setCommandLimit(@Nullable TokenBucketLimiter limiter) {
+        commandLimit = limiter;
+    }
+
+    /**
+     * Set the global limit for tab completions.
+     *
+     * @param limiter the limiter, or null to disable the global limit
+     */
+    public static void setCompletionLimit(@Nullable TokenBucketLimiter limiter) {
+        completionLimit = limiter;
+    }
+
+    /**
+     * @return the global command limit, or null if disabled
+     */
+    public static @Nullable TokenBucketLimiter commandLimit() {
+        return commandLimit;
+    }
+
+    /**
+     * @return the global completion limit, or null if disabled
+     */
+    public static @Nullable TokenBucketLimiter completionLimit() {
+        return completionLimit;
+    }
+
+    /**
+     * Forget a player's buckets in the global limiters, e.g. when they disconnect.
+     *
+     * @param playerId the player's UUID
+     */
+    public static void forget(@NotNull UUID playerId) {
+        Preconditions.checkNotNull(playerId, "playerId");
+        TokenBucketLimiter command = commandLimit;
+        if (command != null) {
+            command.forget(playerId);
+        }
+        TokenBucketLimiter completion = completionLimit;
+        if (completion != null) {
+            completion.forget(playerId);
+        }
+    }
+
+    /**
+     * Disable both global limits.
+     */
+    public static void clear() {
+        commandLimit = null;
+        completionLimit = null;
+    }
+}
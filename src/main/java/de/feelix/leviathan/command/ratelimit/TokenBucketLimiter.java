@@ -0,0 +1,170 @@
+package de.feelix.leviathan.command.ratelimit;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.util.LazyCleanupProvider;
+import de.feelix.leviathan.util.Preconditions;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free per-sender token bucket.
+ * <p>
+ * Each player may spend up to {@code burst} tokens at once; tokens refill continuously at
+ * {@code refillPerSecond}. The bucket is stored as a single "theoretical arrival time" per player
+ * (the GCRA formulation of a token bucket), so acquiring a token is one CAS on an
+ * {@link AtomicLong} and never blocks.
+ * <p>
+ * Only players are limited; the console, command blocks and other senders always pass.
+ * Buckets that have fully refilled are indistinguishable from absent ones and are pruned lazily.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * // 10 commands at once, then 2 per second
+ * TokenBucketLimiter limiter = TokenBucketLimiter.of(10, 2.0);
+ * if (!limiter.tryAcquire(sender)) {
+ *     return; // shed the request
+ * }
+ * }</pre>
+ *
+ * @see RateLimits
+ */
+public final class TokenBucketLimiter {
+
+    private final int burst;
+    private final double refillPerSecond;
+    // Time for one token to refill, and how far ahead of now the bucket may run (burst - 1 tokens)
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    // Player UUID -> theoretical arrival time of the next token (System.nanoTime() based)
+    private final Map<UUID, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LazyCleanupProvider cleanupProvider = LazyCleanupProvider.withInterval(1024);
+
+    // Metrics
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private TokenBucketLimiter(int burst, double refillPerSecond) {
+        this.burst = burst;
+        this.refillPerSecond = refillPerSecond;
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    /**
+     * Create a limiter.
+     *
+     * @param burst           the number of requests a player may make at once (at least 1)
+     * @param refillPerSecond the sustained number of requests per second (must be positive)
+     * @return the limiter
+     */
+    public static @NotNull TokenBucketLimiter of(int burst, double refillPerSecond) {
+        Preconditions.checkArgument(burst >= 1, "burst must be at least 1");
+        Preconditions.checkArgument(refillPerSecond > 0 && !Double.isInfinite(refillPerSecond),
+            "refillPerSecond must be positive and finite");
+        return new TokenBucketLimiter(burst, refillPerSecond);
+    }
+
+    /**
+     * Try to take a token for the sender. Non-player senders always succeed.
+     *
+     * @param sender the command sender
+     * @return true if the request may proceed, false if it should be rejected
+     */
+    public boolean tryAcquire(@NotNull CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            return true;
+        }
+        return tryAcquire(((Player) sender).getUniqueId());
+    }
+
+    /**
+     * Try to take a token for a player.
+     *
+     * @param playerId the player's UUID
+     * @return true if the request may proceed, false if it should be rejected
+     */
+    public boolean tryAcquire(@NotNull UUID playerId) {
+        cleanupProvider.maybeCleanup(this::removeIdle);
+        final long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(playerId);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(playerId, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            // A bucket behind 'now' is full; start counting from the present
+            long base = arrival - now > 0 ? arrival : now;
+            if (base - now > toleranceNanos) {
+                rejected.increment();
+                return false;
+            }
+            if (bucket.compareAndSet(arrival, base + intervalNanos)) {
+                allowed.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Forget a player's bucket, e.g. when they disconnect.
+     *
+     * @param playerId the player's UUID
+     */
+    public void forget(@NotNull UUID playerId) {
+        Preconditions.checkNotNull(playerId, "playerId");
+        buckets.remove(playerId);
+    }
+
+    // Drops fully refilled buckets; a request racing with the removal at most gets one extra token
+    private int removeIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return Math.max(0, before - buckets.size());
+    }
+
+    /**
+     * @return the number of requests a player may make at once
+     */
+    public int burst() {
+        return burst;
+    }
+
+    /**
+     * @return the sustained number of requests per second
+     */
+    public double refillPerSecond() {
+        return refillPerSecond;
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * @return the total number of requests let through
+     */
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    /**
+     * @return the total number of requests rejected
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of players with a bucket that has not fully refilled (approximate)
+     */
+    public int getTrackedPlayerCount() {
+        return buckets.size();
+    }
+}
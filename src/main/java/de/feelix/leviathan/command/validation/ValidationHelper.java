@@ -44,6 +44,69 @@ public final class ValidationHelper {
         return null;
     }
 
+    /**
+     * Validates an {@code int} against the range in the ArgContext without boxing it.
+     *
+     * @param value    the value to validate
+     * @param ctx      the ArgContext containing the range
+     * @param messages the message provider for validation messages
+     * @return null if valid, or an error message string if invalid
+     */
+    public static @Nullable String validateIntRange(int value, @NotNull ArgContext ctx,
+                                                    @NotNull MessageProvider messages) {
+        Integer min = ctx.intMin();
+        if (min != null && value < min) {
+            return messages.numericTooSmall(min.toString(), Integer.toString(value));
+        }
+        Integer max = ctx.intMax();
+        if (max != null && value > max) {
+            return messages.numericTooLarge(max.toString(), Integer.toString(value));
+        }
+        return null;
+    }
+
+    /**
+     * Validates a {@code long} against the range in the ArgContext without boxing it.
+     *
+     * @param value    the value to validate
+     * @param ctx      the ArgContext containing the range
+     * @param messages the message provider for validation messages
+     * @return null if valid, or an error message string if invalid
+     */
+    public static @Nullable String validateLongRange(long value, @NotNull ArgContext ctx,
+                                                     @NotNull MessageProvider messages) {
+        Long min = ctx.longMin();
+        if (min != null && value < min) {
+            return messages.numericTooSmall(min.toString(), Long.toString(value));
+        }
+        Long max = ctx.longMax();
+        if (max != null && value > max) {
+            return messages.numericTooLarge(max.toString(), Long.toString(value));
+        }
+        return null;
+    }
+
+    /**
+     * Validates a {@code double} against the range in the ArgContext without boxing it.
+     *
+     * @param value    the value to validate
+     * @param ctx      the ArgContext containing the range
+     * @param messages the message provider for validation messages
+     * @return null if valid, or an error message string if invalid
+     */
+    public static @Nullable String validateDoubleRange(double value, @NotNull ArgContext ctx,
+                                                       @NotNull MessageProvider messages) {
+        Double min = ctx.doubleMin();
+        if (min != null && value < min) {
+            return messages.numericTooSmall(min.toString(), Double.toString(value));
+        }
+        Double max = ctx.doubleMax();
+        if (max != null && value > max) {
+            return messages.numericTooLarge(max.toString(), Double.toString(value));
+        }
+        return null;
+    }
+
     /**
      * Validates a parsed value against the validation rules defined in ArgContext.
      *
@@ -68,13 +131,13 @@ public final class ValidationHelper {
 
         // Numeric range validation using helper method
         if (value instanceof Integer intVal) {
-            String error = validateNumericRange(intVal, ctx.intMin(), ctx.intMax(), messages);
+            String error = validateIntRange(intVal, ctx, messages);
             if (error != null) return error;
         } else if (value instanceof Long longVal) {
-            String error = validateNumericRange(longVal, ctx.longMin(), ctx.longMax(), messages);
+            String error = validateLongRange(longVal, ctx, messages);
             if (error != null) return error;
         } else if (value instanceof Double doubleVal) {
-            String error = validateNumericRange(doubleVal, ctx.doubleMin(), ctx.doubleMax(), messages);
+            String error = validateDoubleRange(doubleVal, ctx, messages);
             if (error != null) return error;
         } else if (value instanceof Float floatVal) {
             String error = validateNumericRange(floatVal, ctx.floatMin(), ctx.floatMax(), messages);
@@ -3,6 +3,7 @@ package de.feelix.leviathan.command.wizard;
 import de.feelix.leviathan.annotations.NotNull;
 import de.feelix.leviathan.annotations.Nullable;
 import de.feelix.leviathan.command.core.CommandContext;
+import de.feelix.leviathan.util.ExpiryWheel;
 import de.feelix.leviathan.util.Preconditions;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -12,7 +13,6 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages active wizard sessions.
@@ -21,7 +21,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * <ul>
  *   <li>Session lifecycle management (create, track, cleanup)</li>
  *   <li>Input routing to active sessions</li>
- *   <li>Automatic timeout handling</li>
+ *   <li>Automatic timeout handling via the shared {@link ExpiryWheel}</li>
  *   <li>Player disconnect cleanup</li>
  * </ul>
  */
@@ -32,26 +32,15 @@ public final class WizardManager {
     // Maximum number of concurrent sessions to prevent unbounded memory growth
     private static final int MAX_ACTIVE_SESSIONS = 200;
 
-    // Lazy cleanup tracking
-    private static final AtomicLong operationCount = new AtomicLong(0);
-    private static final int CLEANUP_INTERVAL_OPS = 15;
-
     private WizardManager() {
         throw new AssertionError("Utility class");
     }
 
-    /**
-     * Perform lazy cleanup of expired/inactive sessions.
-     */
-    private static void lazyCleanup() {
-        long ops = operationCount.incrementAndGet();
-        if (ops % CLEANUP_INTERVAL_OPS == 0) {
-            cleanupExpiredSessions();
-        }
-    }
-
     /**
      * Clean up all expired or inactive sessions.
+     * <p>
+     * Sessions time out on their own through the {@link ExpiryWheel}; this sweep only removes
+     * sessions whose timeout has not been processed yet.
      *
      * @return the number of sessions cleaned up
      */
@@ -132,9 +121,6 @@ public final class WizardManager {
         // Ensure chat listener is registered (idempotent)
         WizardChatListener.register(plugin);
 
-        // Lazy cleanup
-        lazyCleanup();
-
         // Cancel any existing session
         cancelSession(player);
 
@@ -150,15 +136,21 @@ public final class WizardManager {
         WizardSession session = WizardSession.start(plugin, player, definition, commandContext);
         activeSessions.put(player.getUniqueId(), session);
 
-        // Schedule timeout check
-        if (definition.timeoutMillis() > 0) {
-            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                WizardSession s = activeSessions.get(player.getUniqueId());
-                if (s != null && s.sessionId().equals(session.sessionId()) && s.isActive() && s.isTimedOut()) {
-                    s.timeout();
-                    activeSessions.remove(player.getUniqueId());
+        // Register the timeout on the shared wheel; the session is ended on the main thread
+        if (definition.timeoutMillis() > 0 && session.isActive()) {
+            UUID playerId = player.getUniqueId();
+            session.attachExpiry(ExpiryWheel.shared().schedule(definition.timeoutMillis(), () -> {
+                if (!plugin.isEnabled()) {
+                    return;
                 }
-            }, definition.timeoutMillis() / 50); // Convert to ticks
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    WizardSession s = activeSessions.get(playerId);
+                    if (s != null && s.sessionId().equals(session.sessionId()) && s.isActive()) {
+                        s.timeout();
+                        activeSessions.remove(playerId, s);
+                    }
+                });
+            }));
         }
 
         return session;
@@ -172,7 +164,6 @@ public final class WizardManager {
      */
     public static boolean hasActiveSession(@NotNull Player player) {
         Preconditions.checkNotNull(player, "player");
-        lazyCleanup();
         WizardSession session = activeSessions.get(player.getUniqueId());
         return session != null && session.isActive();
     }
@@ -185,7 +176,6 @@ public final class WizardManager {
      */
     public static @Nullable WizardSession getSession(@NotNull Player player) {
         Preconditions.checkNotNull(player, "player");
-        lazyCleanup();
         WizardSession session = activeSessions.get(player.getUniqueId());
         if (session != null && !session.isActive()) {
             activeSessions.remove(player.getUniqueId());
@@ -205,8 +195,6 @@ public final class WizardManager {
         Preconditions.checkNotNull(player, "player");
         Preconditions.checkNotNull(message, "message");
 
-        lazyCleanup();
-
         WizardSession session = activeSessions.get(player.getUniqueId());
         if (session == null || !session.isActive()) {
             if (session != null) {
@@ -257,11 +245,7 @@ public final class WizardManager {
      */
     public static void cleanupPlayer(@NotNull Player player) {
         Preconditions.checkNotNull(player, "player");
-        WizardSession session = activeSessions.remove(player.getUniqueId());
-        if (session != null && session.isActive()) {
-            // Don't send messages to disconnected player
-            // Just clean up the session
-        }
+        cleanupPlayer(player.getUniqueId());
     }
 
     /**
@@ -271,7 +255,11 @@ public final class WizardManager {
      */
     public static void cleanupPlayer(@NotNull UUID playerUuid) {
         Preconditions.checkNotNull(playerUuid, "playerUuid");
-        activeSessions.remove(playerUuid);
+        WizardSession session = activeSessions.remove(playerUuid);
+        if (session != null) {
+            // Don't send messages to disconnected player, just drop the pending timeout
+            session.cancelExpiry();
+        }
     }
 
     // ==================== Utility Methods ====================
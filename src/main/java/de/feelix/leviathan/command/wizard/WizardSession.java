@@ -4,6 +4,7 @@ import de.feelix.leviathan.annotations.NotNull;
 import de.feelix.leviathan.annotations.Nullable;
 import de.feelix.leviathan.command.argument.ParseResult;
 import de.feelix.leviathan.command.core.CommandContext;
+import de.feelix.leviathan.util.ExpiryWheel;
 import de.feelix.leviathan.util.Preconditions;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -35,6 +36,8 @@ public final class WizardSession {
     private volatile boolean active = true;
     private volatile boolean awaitingConfirmation = false;
     private volatile @Nullable WizardOption pendingOption;
+    // Pending timeout registered by the WizardManager
+    private volatile @Nullable ExpiryWheel.Handle expiry;
 
     private WizardSession(JavaPlugin plugin, Player player, WizardDefinition definition,
                           @Nullable CommandContext commandContext) {
@@ -144,6 +147,29 @@ public final class WizardSession {
         return definition.timeoutMillis() > 0 && elapsedTimeMillis() >= definition.timeoutMillis();
     }
 
+    /**
+     * Attach the handle of the session's pending timeout.
+     *
+     * @param handle the expiry handle
+     */
+    void attachExpiry(@NotNull ExpiryWheel.Handle handle) {
+        this.expiry = handle;
+        if (!active) {
+            // Session ended while the timeout was being registered
+            handle.cancel();
+        }
+    }
+
+    /**
+     * Cancel the session's pending timeout, if any.
+     */
+    void cancelExpiry() {
+        ExpiryWheel.Handle handle = expiry;
+        if (handle != null) {
+            handle.cancel();
+        }
+    }
+
     // ==================== Input Handling ====================
 
     /**
@@ -439,6 +465,7 @@ public final class WizardSession {
     public void complete() {
         if (!active) return;
         active = false;
+        cancelExpiry();
         player.sendMessage(definition.completeMessage());
         context.complete();
     }
@@ -449,6 +476,7 @@ public final class WizardSession {
     public void cancel() {
         if (!active) return;
         active = false;
+        cancelExpiry();
         player.sendMessage(definition.cancelMessage());
         context.cancel();
     }
@@ -459,6 +487,7 @@ public final class WizardSession {
     public void timeout() {
         if (!active) return;
         active = false;
+        cancelExpiry();
         player.sendMessage(definition.timeoutMessage());
         context.cancel();
     }
@@ -0,0 +1,57 @@
+package de.feelix.leviathan.exceptions;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.command.argument.ParseErrorCode;
+import de.feelix.leviathan.util.Preconditions;
+
+/**
+ * Thrown by primitive argument parsers when the user's input is not a valid value.
+ * <p>
+ * Unlike {@link ParsingException}, this signals a user input mistake: the reason is shown to the
+ * sender like a {@code ParseResult} error. The exception carries no stack trace and formats its
+ * message only on request, so rejecting input costs a single allocation.
+ */
+public class InvalidArgumentValueException extends RuntimeException {
+    private final ParseErrorCode code;
+    private final Object[] arguments;
+
+    /**
+     * Create a new invalid-value exception from a reason code.
+     *
+     * @param code      the reason code
+     * @param arguments arguments for the code's message
+     */
+    public InvalidArgumentValueException(@NotNull ParseErrorCode code, @NotNull Object... arguments) {
+        super(null, null, false, false);
+        this.code = Preconditions.checkNotNull(code, "code");
+        this.arguments = Preconditions.checkNotNull(arguments, "arguments");
+    }
+
+    /**
+     * Create a new invalid-value exception with a free-form message.
+     *
+     * @param message human-readable reason shown to the sender (e.g. "not an integer")
+     */
+    public InvalidArgumentValueException(@NotNull String message) {
+        this(ParseErrorCode.CUSTOM, Preconditions.checkNotNull(message, "message"));
+    }
+
+    /**
+     * @return the reason code
+     */
+    public @NotNull ParseErrorCode code() {
+        return code;
+    }
+
+    /**
+     * @return the arguments for the reason code (must not be modified)
+     */
+    public @NotNull Object[] arguments() {
+        return arguments;
+    }
+
+    @Override
+    public String getMessage() {
+        return code.format(arguments);
+    }
+}
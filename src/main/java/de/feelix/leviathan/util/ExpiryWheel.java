@@ -0,0 +1,320 @@
+package de.feelix.leviathan.util;
+
+import de.feelix.leviathan.annotations.NotNull;
+import de.feelix.leviathan.annotations.Nullable;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hierarchical timing wheel that runs callbacks when entries expire.
+ * <p>
+ * Confirmations, interactive prompts, wizard sessions and cooldowns all register their expiry
+ * here instead of sweeping their maps or scheduling one Bukkit task per entry. Scheduling,
+ * cancelling and expiring an entry are O(1); the background thread only touches the slot of the
+ * current tick, so idle cost does not grow with the number of registered entries.
+ * <p>
+ * Layout: {@value #LEVELS} levels of {@value #WHEEL_SIZE} slots. Level 0 has a resolution of one
+ * tick ({@value #TICK_MILLIS} ms, one game tick); each higher level covers a full rotation of the
+ * level below, so the wheel spans roughly nine days. Entries on higher levels cascade down as
+ * their slot comes up; entries beyond the span are parked in the last slot and re-cascaded.
+ * <p>
+ * Callbacks run on the wheel's daemon thread and must be short. Anything touching the Bukkit API
+ * has to hop to the main thread, e.g. via {@code plugin.getServer().getScheduler().runTask(...)}.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * ExpiryWheel.Handle handle = ExpiryWheel.shared().schedule(10_000L, () -> pending.remove(key));
+ * // Entry was used before it expired:
+ * handle.cancel();
+ * }</pre>
+ */
+public final class ExpiryWheel {
+
+    private static final Logger LOGGER = Logger.getLogger(ExpiryWheel.class.getName());
+
+    /**
+     * Duration of one tick in milliseconds.
+     */
+    public static final long TICK_MILLIS = 50L;
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    // Ticks covered by the whole wheel (64^4 ticks, about 9.7 days)
+    private static final long SPAN_TICKS = 1L << (WHEEL_BITS * LEVELS);
+
+    private static final ExpiryWheel SHARED = new ExpiryWheel("leviathan-expiry");
+
+    // Sentinel heads of the circular slot lists, indexed [level][slot] (guarded by this)
+    private final Handle[][] slots = new Handle[LEVELS][WHEEL_SIZE];
+    private final long startNanos = System.nanoTime();
+    private final String threadName;
+    private long currentTick;
+    private int size;
+    private long expiredCount;
+    @Nullable
+    private ScheduledThreadPoolExecutor driver;
+
+    private ExpiryWheel(@NotNull String threadName) {
+        this.threadName = threadName;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                slots[level][slot] = Handle.sentinel();
+            }
+        }
+    }
+
+    /**
+     * @return the wheel shared by the framework's expiring resources
+     */
+    public static @NotNull ExpiryWheel shared() {
+        return SHARED;
+    }
+
+    /**
+     * Schedule a callback to run after a delay.
+     * <p>
+     * The callback fires on the first tick at or after the deadline, i.e. up to one tick late.
+     *
+     * @param delayMillis delay in milliseconds
+     * @param onExpire    callback to run on expiry
+     * @return a handle to cancel the entry
+     */
+    public @NotNull Handle schedule(long delayMillis, @NotNull Runnable onExpire) {
+        Preconditions.checkNotNull(onExpire, "onExpire");
+        Handle handle = new Handle(this, onExpire);
+        synchronized (this) {
+            ensureDriver();
+            long deadlineMillis = elapsedMillis() + Math.max(0L, delayMillis);
+            // Ceil to whole ticks so an entry never fires early
+            long deadlineTick = (deadlineMillis + TICK_MILLIS - 1) / TICK_MILLIS;
+            handle.deadlineTick = Math.max(deadlineTick, currentTick + 1);
+            insert(handle);
+            size++;
+        }
+        return handle;
+    }
+
+    /**
+     * @return the number of entries waiting to expire
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return the total number of entries that have expired
+     */
+    public synchronized long expiredCount() {
+        return expiredCount;
+    }
+
+    /**
+     * Stop the background thread. Call this when the plugin is disabled.
+     * <p>
+     * Pending entries are kept; the thread is started again by the next {@link #schedule}, which
+     * then also expires every entry whose deadline passed in the meantime.
+     */
+    public void shutdown() {
+        ScheduledThreadPoolExecutor executor;
+        synchronized (this) {
+            executor = driver;
+            if (executor == null) {
+                return;
+            }
+            driver = null;
+        }
+        // Wait outside the lock, a running tick needs it to finish
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== Wheel Mechanics ====================
+
+    private long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private long elapsedTicks() {
+        return elapsedMillis() / TICK_MILLIS;
+    }
+
+    // Starts the background thread on first use and after a shutdown (guarded by this)
+    private void ensureDriver() {
+        if (driver == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleAtFixedRate(this::advance, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+            driver = executor;
+        }
+    }
+
+    // Places a handle in the lowest level whose range covers its deadline (guarded by this)
+    private void insert(@NotNull Handle handle) {
+        long delta = handle.deadlineTick - currentTick;
+        if (delta <= 0) {
+            // Due now (only happens while cascading): fire with the current tick
+            link(slots[0][(int) (currentTick & WHEEL_MASK)], handle);
+            return;
+        }
+        if (delta >= SPAN_TICKS) {
+            // Beyond the wheel: park in the furthest top-level slot, re-cascaded when it comes up
+            long parked = currentTick + SPAN_TICKS - 1;
+            link(slots[LEVELS - 1][slotIndex(parked, LEVELS - 1)], handle);
+            return;
+        }
+        int level = 0;
+        while (delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        link(slots[level][slotIndex(handle.deadlineTick, level)], handle);
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+    }
+
+    private static void link(@NotNull Handle head, @NotNull Handle handle) {
+        handle.prev = head.prev;
+        handle.next = head;
+        head.prev.next = handle;
+        head.prev = handle;
+    }
+
+    private static void unlink(@NotNull Handle handle) {
+        handle.prev.next = handle.next;
+        handle.next.prev = handle.prev;
+        handle.prev = null;
+        handle.next = null;
+    }
+
+    // Driver callback: processes every tick up to the present, then runs the expired callbacks
+    private void advance() {
+        Handle expired = null;
+        synchronized (this) {
+            long targetTick = elapsedTicks();
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                Handle head = slots[0][(int) (currentTick & WHEEL_MASK)];
+                while (head.next != head) {
+                    Handle handle = head.next;
+                    unlink(handle);
+                    handle.state = Handle.EXPIRED;
+                    size--;
+                    expiredCount++;
+                    // Reuse 'next' to chain the expired handles for running outside the lock
+                    handle.next = expired;
+                    expired = handle;
+                }
+            }
+        }
+        while (expired != null) {
+            Handle handle = expired;
+            expired = handle.next;
+            handle.next = null;
+            try {
+                handle.onExpire.run();
+            } catch (Throwable t) {
+                LOGGER.log(Level.WARNING, "Expiry callback threw an exception", t);
+            }
+        }
+    }
+
+    // Moves entries of higher-level slots that come due at this tick down the hierarchy (guarded by this)
+    private void cascade() {
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            long levelMask = (1L << (WHEEL_BITS * level)) - 1;
+            if ((currentTick & levelMask) != 0) {
+                continue;
+            }
+            Handle head = slots[level][slotIndex(currentTick, level)];
+            while (head.next != head) {
+                Handle handle = head.next;
+                unlink(handle);
+                insert(handle);
+            }
+        }
+    }
+
+    /**
+     * Handle of a scheduled entry.
+     */
+    public static final class Handle {
+        private static final int PENDING = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+
+        // Owning wheel and callback, both null for sentinels
+        @Nullable
+        private final ExpiryWheel wheel;
+        @Nullable
+        private final Runnable onExpire;
+        private long deadlineTick;
+        private int state = PENDING;
+        private Handle prev;
+        private Handle next;
+
+        private Handle(@Nullable ExpiryWheel wheel, @Nullable Runnable onExpire) {
+            this.wheel = wheel;
+            this.onExpire = onExpire;
+        }
+
+        private static @NotNull Handle sentinel() {
+            Handle head = new Handle(null, null);
+            head.prev = head;
+            head.next = head;
+            return head;
+        }
+
+        /**
+         * Cancel the entry so its callback never runs.
+         *
+         * @return true if the entry was still pending
+         */
+        public boolean cancel() {
+            ExpiryWheel owner = wheel;
+            synchronized (owner) {
+                if (state != PENDING) {
+                    return false;
+                }
+                state = CANCELLED;
+                unlink(this);
+                owner.size--;
+                return true;
+            }
+        }
+
+        /**
+         * @return true if the callback has been (or is about to be) run
+         */
+        public boolean isExpired() {
+            synchronized (wheel) {
+                return state == EXPIRED;
+            }
+        }
+
+        /**
+         * @return true if the entry was cancelled
+         */
+        public boolean isCancelled() {
+            synchronized (wheel) {
+                return state == CANCELLED;
+            }
+        }
+    }
+}
@@ -1,11 +1,22 @@
 package de.feelix.leviathan.util;
 
+import de.feelix.leviathan.command.async.DeadlineScheduler;
 import de.feelix.leviathan.command.batch.BatchExecutor;
+import de.feelix.leviathan.command.completion.CompletionSession;
+import de.feelix.leviathan.command.completion.StaleCompletionCache;
+import de.feelix.leviathan.command.cooldown.CooldownJournal;
 import de.feelix.leviathan.command.cooldown.CooldownManager;
+import de.feelix.leviathan.command.cooldown.CooldownStore;
 import de.feelix.leviathan.command.core.SlashCommand;
 import de.feelix.leviathan.command.interactive.InteractivePrompt;
 import de.feelix.leviathan.command.performance.ArgumentCache;
 import de.feelix.leviathan.command.performance.CommandPrecompiler;
+import de.feelix.leviathan.command.performance.OfflinePlayerResolver;
+import de.feelix.leviathan.command.performance.OnlinePlayerIndex;
+import de.feelix.leviathan.command.performance.ResultCache;
+import de.feelix.leviathan.command.performance.TickBudget;
+import de.feelix.leviathan.command.permission.PermissionDecisionCache;
+import de.feelix.leviathan.command.ratelimit.RateLimits;
 import de.feelix.leviathan.command.wizard.WizardChatListener;
 import de.feelix.leviathan.command.wizard.WizardManager;
 
@@ -49,9 +60,15 @@ public final class ResourceCleanup {
      *   <li>All interactive prompt sessions</li>
      *   <li>All wizard sessions</li>
      *   <li>All pending confirmations</li>
-     *   <li>All cooldown data</li>
-     *   <li>All argument and command caches</li>
+     *   <li>All cooldown data (after the cooldown journal, if enabled, was flushed and closed)</li>
+     *   <li>All argument and command caches, the shared result cache, completion sessions and stale async completions</li>
+     *   <li>Cached permission decisions (the decision cache is disabled)</li>
+     *   <li>Global rate limits</li>
+     *   <li>The online player index and offline player name index (their listeners are unregistered)</li>
+     *   <li>The tick budget (queued heavy commands are dropped)</li>
      *   <li>Batch executor thread pool</li>
+     *   <li>The expiry wheel's background thread (restarted when an entry is scheduled again)</li>
+     *   <li>The async deadline scheduler thread (armed deadlines are dropped)</li>
      * </ul>
      */
     public static void cleanupAll() {
@@ -59,12 +76,25 @@ public final class ResourceCleanup {
         WizardManager.clearAllSessions();
         SlashCommand.clearAllConfirmations();
         CooldownManager.clearAllCooldowns();
+        // Persist cooldowns before clearing them, so the clear does not reach the journal
+        CooldownJournal.disable();
+        CooldownStore.clearAll();
         BatchExecutor.shutdown();
+        ExpiryWheel.shared().shutdown();
+        DeadlineScheduler.shared().shutdown();
         // Clean up caches and compiled command data
         ArgumentCache.clearAll();
         CommandPrecompiler.clearAll();
-        // Reset wizard listener registration so it re-registers on next plugin enable
+        ResultCache.shared().clear();
+        CompletionSession.clearAll();
+        StaleCompletionCache.clearAll();
+        PermissionDecisionCache.disable();
+        RateLimits.clear();
+        TickBudget.disable();
+        // Reset listener registrations so they re-register on next plugin enable
         WizardChatListener.resetRegistration();
+        OnlinePlayerIndex.reset();
+        OfflinePlayerResolver.reset();
     }
 
     /**
@@ -100,6 +130,20 @@ public final class ResourceCleanup {
 
         // Clean up cooldowns for this user
         CooldownManager.clearAllCooldownsForUser(playerName);
+        if (!CooldownJournal.isEnabled()) {
+            // Persisted cooldowns must outlive the session
+            CooldownStore.clearAllForUser(playerUuid);
+        }
+
+        // Drop cached permission decisions
+        PermissionDecisionCache.invalidate(playerUuid);
+
+        // Drop global rate limit buckets (per-command buckets are pruned lazily)
+        RateLimits.forget(playerUuid);
+
+        // Drop the remembered tab completions
+        CompletionSession.forget(playerUuid);
+        StaleCompletionCache.forget(playerUuid);
     }
 
     /**
@@ -123,7 +167,7 @@ public final class ResourceCleanup {
     public static CleanupResult cleanupExpired() {
         int sessions = InteractivePrompt.cleanupExpiredSessions();
         int confirmations = SlashCommand.cleanupExpiredConfirmations();
-        int cooldowns = CooldownManager.cleanupExpired();
+        int cooldowns = CooldownManager.cleanupExpired() + CooldownStore.cleanupAllExpired();
         return new CleanupResult(sessions, confirmations, cooldowns);
     }
 
@@ -136,7 +180,7 @@ public final class ResourceCleanup {
         return new ResourceStats(
             InteractivePrompt.getActiveSessionCount(),
             SlashCommand.getPendingConfirmationCount(),
-            CooldownManager.getTotalCooldownCount()
+            CooldownManager.getTotalCooldownCount() + CooldownStore.getTotalEntryCount()
         );
     }
 
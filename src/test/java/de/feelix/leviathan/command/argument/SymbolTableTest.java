@@ -0,0 +1,82 @@
+package de.feelix.leviathan.command.argument;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SymbolTableTest {
+
+    @Test
+    void everyMaterialIsFoundIgnoringCase() {
+        SymbolTable<Material> materials = SymbolTable.ofEnum(Material.class);
+        Material[] constants = Material.values();
+        assertEquals(constants.length, materials.size());
+        for (Material material : constants) {
+            String name = material.name();
+            assertSame(material, materials.get(name));
+            assertSame(material, materials.get(name.toLowerCase(Locale.ROOT)));
+            assertSame(material, materials.get(mixedCase(name)));
+        }
+    }
+
+    @Test
+    void unknownKeysAreNotFound() {
+        SymbolTable<Material> materials = SymbolTable.ofEnum(Material.class);
+        assertNull(materials.get(""));
+        assertNull(materials.get("not_a_material"));
+        assertFalse(materials.contains("stone_"));
+        assertFalse(materials.contains(" stone"));
+    }
+
+    @Test
+    void aliasesAreFoundButNotCompleted() {
+        SymbolTable<String> modes = SymbolTable.<String>builder()
+            .name("survival", "SURVIVAL")
+            .name("spectator", "SPECTATOR")
+            .alias("s", "SURVIVAL")
+            .build();
+        assertEquals("SURVIVAL", modes.get("S"));
+        assertEquals("SPECTATOR", modes.get("SpEcTaToR"));
+        assertEquals(3, modes.size());
+        assertEquals(List.of("spectator", "survival"), modes.startingWith("S"));
+        assertEquals(List.of("survival", "spectator"), modes.startingWithDeclared("s"));
+        assertTrue(modes.startingWith("x").isEmpty());
+    }
+
+    @Test
+    void largeTableFindsEveryKey() {
+        SymbolTable.Builder<Integer> builder = SymbolTable.builder();
+        for (int i = 0; i < 20_000; i++) {
+            builder.name("key_" + i, i);
+        }
+        SymbolTable<Integer> table = builder.build();
+        for (int i = 0; i < 20_000; i++) {
+            assertEquals(i, table.get("KEY_" + i));
+        }
+        assertNull(table.get("key_20000"));
+    }
+
+    @Test
+    void emptyTableFindsNothing() {
+        SymbolTable<String> table = SymbolTable.<String>builder().build();
+        assertNull(table.get("anything"));
+        assertTrue(table.startingWith("").isEmpty());
+    }
+
+    private static String mixedCase(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            sb.append(i % 2 == 0 ? Character.toUpperCase(c) : Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package de.feelix.leviathan.command.async;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedExecutionBackendTest {
+
+    private static final Plugin PLUGIN = (Plugin) Proxy.newProxyInstance(
+        Plugin.class.getClassLoader(), new Class<?>[]{Plugin.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getLogger")) {
+                return Logger.getLogger(BoundedExecutionBackendTest.class.getName());
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+    /**
+     * Holds accepted tasks until they are run by hand, and refuses everything once closed.
+     */
+    private static final class ManualBackend implements CommandExecutionBackend {
+        final List<Runnable> accepted = new ArrayList<>();
+        boolean closed;
+
+        @Override
+        public boolean submit(Plugin plugin, Runnable task) {
+            if (closed) {
+                return false;
+            }
+            accepted.add(task);
+            return true;
+        }
+
+        @Override
+        public void runOnMainThread(Plugin plugin, Runnable task) {
+            task.run();
+        }
+    }
+
+    @Test
+    void queuedTaskRunsWhenSlotFrees() {
+        ManualBackend delegate = new ManualBackend();
+        BoundedExecutionBackend backend = delegate.withConcurrencyLimit(1, 1);
+        AtomicInteger ran = new AtomicInteger();
+
+        assertTrue(backend.submit(PLUGIN, ran::incrementAndGet, () -> {}));
+        assertTrue(backend.submit(PLUGIN, ran::incrementAndGet, () -> {}));
+        assertFalse(backend.submit(PLUGIN, ran::incrementAndGet, () -> {}));
+        assertEquals(1, backend.queuedCount());
+        assertEquals(1L, backend.submittedCount());
+
+        delegate.accepted.get(0).run();
+        assertEquals(0, backend.queuedCount());
+        assertEquals(2L, backend.submittedCount());
+        delegate.accepted.get(1).run();
+        assertEquals(2, ran.get());
+        assertEquals(0, backend.activeCount());
+    }
+
+    @Test
+    void queuedTaskRefusedLaterRunsItsRejectionPath() {
+        ManualBackend delegate = new ManualBackend();
+        BoundedExecutionBackend backend = delegate.withConcurrencyLimit(1, 1);
+        AtomicBoolean rejected = new AtomicBoolean();
+
+        assertTrue(backend.submit(PLUGIN, () -> {}, () -> {}));
+        assertTrue(backend.submit(PLUGIN, () -> {}, () -> rejected.set(true)));
+
+        delegate.closed = true;
+        delegate.accepted.get(0).run();
+
+        assertTrue(rejected.get());
+        assertEquals(1L, backend.submittedCount());
+        assertEquals(1L, backend.rejectedCount());
+        assertEquals(0, backend.activeCount());
+        assertEquals(0, backend.queuedCount());
+    }
+}
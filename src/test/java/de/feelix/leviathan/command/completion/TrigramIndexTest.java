@@ -0,0 +1,58 @@
+package de.feelix.leviathan.command.completion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    @Test
+    void ranksExactThenPrefixThenSubstring() {
+        TrigramIndex index = TrigramIndex.of(List.of("Sword", "sword_case", "diamond_sword", "shield"));
+        assertEquals(List.of("Sword", "sword_case", "diamond_sword"), index.search("SWORD", 10));
+        assertEquals(List.of("Sword"), index.search("sword", 1));
+        assertEquals(List.of("shield", "Sword", "sword_case"), index.search("s", 10));
+    }
+
+    @Test
+    void removedEntriesLeaveThePostings() {
+        TrigramIndex index = TrigramIndex.of(List.of("iron_sword", "gold_sword", "iron_axe"));
+        assertTrue(index.remove("IRON_SWORD"));
+        assertFalse(index.remove("iron_sword"));
+        assertEquals(List.of("gold_sword"), index.search("sword", 10));
+        assertEquals(List.of("iron_axe"), index.search("iron", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void postingsSurviveCompaction() {
+        TrigramIndex index = TrigramIndex.create();
+        for (int i = 0; i < 3000; i++) {
+            index.add("item_" + i + (i % 2 == 0 ? "_even" : "_odd"));
+        }
+        // Enough removals to trigger a compaction, which renumbers the remaining entries
+        for (int i = 0; i < 3000; i++) {
+            if (i % 10 != 0) {
+                assertTrue(index.remove("item_" + i + (i % 2 == 0 ? "_even" : "_odd")));
+            }
+        }
+        assertEquals(300, index.size());
+
+        List<String> even = index.search("_even", 1000);
+        assertEquals(300, even.size());
+        assertTrue(even.contains("item_2990_even"));
+        assertTrue(index.search("_odd", 1000).isEmpty());
+        assertEquals(List.of("item_1230_even"), index.search("1230", 10));
+        assertTrue(index.search("1231", 10).isEmpty());
+        assertTrue(index.contains("ITEM_0_EVEN"));
+        assertFalse(index.contains("item_1_odd"));
+
+        // Entries added after compaction get fresh ids and are found as well
+        index.add("item_1231_odd");
+        assertEquals(List.of("item_1231_odd"), index.search("1231", 10));
+    }
+}
@@ -0,0 +1,58 @@
+package de.feelix.leviathan.command.cooldown;
+
+import de.feelix.leviathan.command.core.SlashCommand;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CooldownJournalTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final Logger LOGGER = Logger.getLogger(CooldownJournalTest.class.getName());
+
+    @Test
+    void sameNamedSubcommandsKeepTheirOwnCooldownsAcrossRestart() throws Exception {
+        Path directory = Files.createTempDirectory("leviathan-cooldowns");
+        UUID user = UUID.randomUUID();
+
+        assertTrue(CooldownJournal.enable(directory, LOGGER));
+        try {
+            SlashCommand warpList = subcommand("warp", "list");
+            SlashCommand homeList = subcommand("home", "list");
+            warpList.cooldownStore().startUser(warpList.cooldownId(), user, HOUR);
+            assertEquals(0L, homeList.cooldownStore().userRemaining(homeList.cooldownId(), user));
+        } finally {
+            CooldownJournal.disable();
+        }
+
+        // Simulate a restart: fresh stores, commands built again in a different order
+        assertTrue(CooldownJournal.enable(directory, LOGGER));
+        try {
+            SlashCommand homeList = subcommand("home", "list");
+            SlashCommand warpList = subcommand("warp", "list");
+            assertEquals(0L, homeList.cooldownStore().userRemaining(homeList.cooldownId(), user));
+            assertTrue(warpList.cooldownStore().userRemaining(warpList.cooldownId(), user) > 0L);
+        } finally {
+            CooldownJournal.disable();
+        }
+    }
+
+    private static SlashCommand subcommand(String parent, String name) {
+        SlashCommand sub = SlashCommand.create(name)
+            .perUserCooldown(HOUR)
+            .cooldownStore(CooldownStore.create())
+            .executes((sender, ctx) -> {})
+            .build();
+        SlashCommand.create(parent)
+            .sub(sub)
+            .executes((sender, ctx) -> {})
+            .build();
+        return sub;
+    }
+}
@@ -0,0 +1,40 @@
+package de.feelix.leviathan.command.cooldown;
+
+import de.feelix.leviathan.util.ExpiryWheel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CooldownManagerTest {
+
+    private static final long MINUTE = 60 * 1000L;
+
+    @Test
+    void repeatedExecutionsKeepOneExpiryPerUser() {
+        CooldownManager.clearAllCooldowns();
+        int before = ExpiryWheel.shared().size();
+        for (int i = 0; i < 5; i++) {
+            CooldownManager.updateUserCooldown("kit", "alice", MINUTE);
+            CooldownManager.updateServerCooldown("kit", MINUTE);
+        }
+        assertEquals(before + 2, ExpiryWheel.shared().size());
+        CooldownManager.clearAllCooldowns();
+    }
+
+    @Test
+    void clearingCooldownsCancelsTheirExpiries() {
+        CooldownManager.clearAllCooldowns();
+        int before = ExpiryWheel.shared().size();
+        CooldownManager.updateUserCooldown("kit", "alice", MINUTE);
+        CooldownManager.updateUserCooldown("kit", "bob", MINUTE);
+        CooldownManager.updateUserCooldown("warp", "alice", MINUTE);
+        CooldownManager.updateServerCooldown("kit", MINUTE);
+
+        CooldownManager.clearUserCooldown("kit", "bob");
+        assertEquals(before + 3, ExpiryWheel.shared().size());
+        CooldownManager.clearAllCooldownsForUser("alice");
+        assertEquals(before + 1, ExpiryWheel.shared().size());
+        CooldownManager.clearServerCooldown("kit");
+        assertEquals(before, ExpiryWheel.shared().size());
+    }
+}
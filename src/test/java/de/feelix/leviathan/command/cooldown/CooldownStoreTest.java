@@ -0,0 +1,80 @@
+package de.feelix.leviathan.command.cooldown;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CooldownStoreTest {
+
+    private static final long MINUTE = 60 * 1000L;
+
+    @Test
+    void startedCooldownsAreFoundPerCommandAndUser() {
+        CooldownStore store = CooldownStore.create();
+        int kit = store.registerCommand("kit");
+        int warp = store.registerCommand("warp");
+        assertEquals(kit, store.registerCommand("kit"));
+        UUID alice = UUID.randomUUID();
+
+        store.startUser(kit, alice, MINUTE);
+        assertTrue(store.userRemaining(kit, alice) > 0L);
+        assertEquals(0L, store.userRemaining(warp, alice));
+        assertEquals(0L, store.userRemaining(kit, UUID.randomUUID()));
+        store.startUser(kit, alice, 0L);
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void removingEntriesKeepsTheRestOfTheirProbeChains() {
+        CooldownStore store = CooldownStore.create();
+        int kit = store.registerCommand("kit");
+        int warp = store.registerCommand("warp");
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            UUID user = UUID.randomUUID();
+            users.add(user);
+            store.startUser(kit, user, MINUTE);
+            store.startUser(warp, user, MINUTE);
+        }
+        assertEquals(1000, store.size());
+
+        // Backward-shift deletion moves later chain entries into each gap; all of them must stay reachable
+        for (int i = 0; i < users.size(); i += 3) {
+            assertTrue(store.clearUser(kit, users.get(i)));
+            assertFalse(store.clearUser(kit, users.get(i)));
+        }
+        for (int i = 0; i < users.size(); i++) {
+            UUID user = users.get(i);
+            assertEquals(i % 3 != 0, store.userRemaining(kit, user) > 0L);
+            assertTrue(store.userRemaining(warp, user) > 0L);
+        }
+        assertEquals(1000 - 167, store.size());
+
+        assertEquals(2, store.clearUser(users.get(1)));
+        assertEquals(1, store.clearUser(users.get(3)));
+        assertEquals(0L, store.userRemaining(warp, users.get(1)));
+        assertEquals(1000 - 170, store.size());
+    }
+
+    @Test
+    void expiredEntriesAreDroppedOnCleanup() throws InterruptedException {
+        CooldownStore store = CooldownStore.create();
+        int kit = store.registerCommand("kit");
+        for (int i = 0; i < 40; i++) {
+            store.startUser(kit, UUID.randomUUID(), 200L);
+        }
+        UUID alice = UUID.randomUUID();
+        store.startUser(kit, alice, MINUTE);
+        Thread.sleep(300L);
+
+        assertEquals(40, store.cleanupExpired());
+        assertEquals(1, store.size());
+        assertTrue(store.userRemaining(kit, alice) > 0L);
+    }
+}
@@ -0,0 +1,50 @@
+package de.feelix.leviathan.command.parsing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenSpansTest {
+
+    @Test
+    void singleQuotedTokenIsUnquoted() {
+        TokenSpans spans = QuotedStringTokenizer.tokenizeSpans("say \"hello world\"");
+        assertEquals("hello world", spans.remainder(1));
+    }
+
+    @Test
+    void severalQuotedTokensAreUnquoted() {
+        TokenSpans spans = QuotedStringTokenizer.tokenizeSpans("say \"hello world\" 'good bye'");
+        assertEquals("hello world good bye", spans.remainder(1));
+    }
+
+    @Test
+    void mixedQuotedAndUnquotedTokens() {
+        TokenSpans spans = QuotedStringTokenizer.tokenizeSpans("say \"hello world\"   x");
+        assertEquals("hello world   x", spans.remainder(1));
+
+        spans = QuotedStringTokenizer.tokenizeSpans("say a  \"b \\\"c\\\"\" d");
+        assertEquals("a  b \"c\" d", spans.remainder(1));
+    }
+
+    @Test
+    void unquotedRemainderKeepsOriginalSpacing() {
+        String input = "say hello   there  world";
+        TokenSpans spans = QuotedStringTokenizer.tokenizeSpans(input);
+        assertEquals("hello   there  world", spans.remainder(1));
+        assertEquals("there  world", spans.remainder(2));
+    }
+
+    @Test
+    void remainderFromBukkitArgsKeepsOriginalSpacing() {
+        // Bukkit splits "say hello   there" at single spaces, keeping empty tokens
+        TokenSpans spans = QuotedStringTokenizer.tokenizeSpans(new String[]{"say", "hello", "", "", "there"});
+        assertEquals("hello   there", spans.remainder(1));
+    }
+
+    @Test
+    void remainderPastLastTokenIsEmpty() {
+        TokenSpans spans = QuotedStringTokenizer.tokenizeSpans("say");
+        assertEquals("", spans.remainder(1));
+    }
+}
@@ -0,0 +1,52 @@
+package de.feelix.leviathan.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiryWheelTest {
+
+    @Test
+    void shortDelayFiresOnLevelZero() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        ExpiryWheel.Handle handle = ExpiryWheel.shared().schedule(200L, fired::countDown);
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200L);
+        assertTrue(handle.isExpired());
+        assertFalse(handle.cancel());
+    }
+
+    @Test
+    void deadlineBeyondLevelZeroCascadesAndFires() throws InterruptedException {
+        // Level 0 covers 64 ticks (3.2 s); this entry starts on level 1 and cascades down
+        long delay = 64 * ExpiryWheel.TICK_MILLIS + 300L;
+        CountDownLatch fired = new CountDownLatch(1);
+        AtomicBoolean cancelledRan = new AtomicBoolean();
+        long start = System.nanoTime();
+        ExpiryWheel.Handle handle = ExpiryWheel.shared().schedule(delay, fired::countDown);
+        ExpiryWheel.Handle cancelled = ExpiryWheel.shared().schedule(delay, () -> cancelledRan.set(true));
+        assertTrue(cancelled.cancel());
+
+        assertTrue(fired.await(delay + 5000L, TimeUnit.MILLISECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= delay);
+        assertTrue(handle.isExpired());
+        assertTrue(cancelled.isCancelled());
+        assertFalse(cancelledRan.get());
+    }
+
+    @Test
+    void deadlineBeyondTheWheelIsParkedUntilCancelled() {
+        // Longer than the span of the wheel (about 9.7 days), so the entry is parked in the top level
+        ExpiryWheel.Handle handle = ExpiryWheel.shared().schedule(TimeUnit.DAYS.toMillis(30), () -> { });
+        assertFalse(handle.isExpired());
+        assertTrue(handle.cancel());
+        assertTrue(handle.isCancelled());
+        assertFalse(handle.cancel());
+    }
+}